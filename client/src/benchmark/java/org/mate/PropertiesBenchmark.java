@@ -0,0 +1,82 @@
+package org.mate;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATELog;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A small micro-benchmark comparing the per-access cost of a property getter with the former
+ * lookup, which determined the property key by walking the stack of the calling thread.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PropertiesBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20000;
+    private static final int MEASUREMENT_ITERATIONS = 200000;
+
+    /**
+     * The store of the former lookup.
+     */
+    private static final Map<String, Object> legacyStore = new HashMap<>();
+
+    /**
+     * Mirrors a property getter of the former lookup.
+     */
+    private static int MAX_NUMBER_EVENTS() {
+        return legacyPropertyOr(50);
+    }
+
+    /**
+     * Mirrors the former lookup via the name of the calling method.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T legacyPropertyOr(T defaultValue) {
+        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
+        String callerName = stackTrace[3].getMethodName().toLowerCase();
+        if (legacyStore.containsKey(callerName)) {
+            return ((T) legacyStore.get(callerName));
+        }
+        return defaultValue;
+    }
+
+    @After
+    public void tearDown() {
+        Registry.unregisterProperties();
+    }
+
+    @Test
+    public void benchmarkPropertyAccess() {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("max_number_events", "50");
+        Registry.registerProperties(new Properties(properties));
+        legacyStore.put("max_number_events", 50);
+
+        long sum = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sum += MAX_NUMBER_EVENTS();
+            sum += Properties.MAX_NUMBER_EVENTS();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            sum += MAX_NUMBER_EVENTS();
+        }
+        long legacyTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            sum += Properties.MAX_NUMBER_EVENTS();
+        }
+        long time = System.nanoTime() - start;
+
+        MATELog.log("Stack-walking lookup: " + (double) legacyTime / MEASUREMENT_ITERATIONS
+                + " ns/op, key-indexed lookup: " + (double) time / MEASUREMENT_ITERATIONS
+                + " ns/op (checksum " + sum + ")");
+    }
+}
@@ -0,0 +1,79 @@
+package org.mate.exploration.fuzzing.greybox;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATELog;
+import org.mate.exploration.fuzzing.greybox.SeedCorpusTest.CountingEvaluator;
+import org.mate.exploration.fuzzing.greybox.SeedCorpusTest.Seed;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.mate.exploration.fuzzing.greybox.SeedCorpusTest.seed;
+
+/**
+ * Counts the coverage requests of the {@link SeedCorpus} compared to scanning the seed corpus in
+ * every iteration.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SeedCorpusBenchmark {
+
+    /**
+     * Replays the seed selection of a fuzzing run in which every iteration adds an interesting
+     * seed with a given probability and compares the coverage requests of the previous linear
+     * scan, which requested the coverage of the current seed and the best seed for every seed,
+     * with the seed corpus.
+     */
+    @Test
+    public void benchmarkSeedSelection() {
+
+        final int initialSeeds = 20;
+        final int iterations = 500;
+        Random random = new Random(42);
+
+        CountingEvaluator evaluator = new CountingEvaluator();
+        SeedCorpus<Seed> corpus = new SeedCorpus<>(evaluator);
+        List<IChromosome<Seed>> seedCorpus = new ArrayList<>();
+        for (int i = 0; i < initialSeeds; i++) {
+            seedCorpus.add(seed(random.nextInt(100), random.nextInt(100)));
+        }
+
+        long scanRequests = 0;
+        long scanTime = 0;
+        long corpusTime = 0;
+
+        for (int i = 0; i < iterations; i++) {
+
+            long start = System.nanoTime();
+            IChromosome<Seed> best = seedCorpus.get(0);
+            for (IChromosome<Seed> s : seedCorpus) {
+                scanRequests += 2;
+                if (s.getValue().coverage > best.getValue().coverage) {
+                    best = s;
+                }
+            }
+            scanTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            corpus.addNew(seedCorpus);
+            IChromosome<Seed> chosen = corpus.getBest();
+            corpusTime += System.nanoTime() - start;
+
+            assertEquals(best.getValue().coverage, chosen.getValue().coverage, 0.0);
+
+            if (random.nextInt(3) == 0) {
+                seedCorpus.add(seed(random.nextInt(100), random.nextInt(100)));
+            }
+        }
+
+        MATELog.log("Coverage requests for " + iterations + " iterations with "
+                + seedCorpus.size() + " seeds: " + scanRequests + " scanning vs "
+                + evaluator.coverageRequests + " indexed");
+        MATELog.log("Selection time: " + scanTime / 1000 + " us scanning vs "
+                + corpusTime / 1000 + " us indexed (without round trips)");
+    }
+}
@@ -0,0 +1,42 @@
+package org.mate.exploration.genetic.chromosome_factory;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.interaction.action.ui.UIAction;
+import org.mate.commons.utils.MATELog;
+import org.mate.exploration.genetic.chromosome_factory.ActionStatisticsTest.FactorySelection;
+import org.mate.exploration.genetic.chromosome_factory.ActionStatisticsTest.MapSelection;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mate.exploration.genetic.chromosome_factory.ActionStatisticsTest.buildScreens;
+import static org.mate.exploration.genetic.chromosome_factory.ActionStatisticsTest.explore;
+
+/**
+ * Compares the time of the action selection of the {@link HeuristicalChromosomeFactory} with the
+ * previous map based bookkeeping for screens with hundreds of actions.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ActionStatisticsBenchmark {
+
+    @Test
+    public void benchmarkScreensWithHundredsOfActions() {
+
+        List<List<UIAction>> screens = buildScreens(50, 300);
+
+        long start = System.nanoTime();
+        List<UIAction> mapActions = explore(new MapSelection(), screens, 20, 50);
+        long mapTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<UIAction> factoryActions = explore(new FactorySelection(), screens, 20, 50);
+        long factoryTime = System.nanoTime() - start;
+
+        assertEquals(mapActions, factoryActions);
+        MATELog.log("Heuristical selection of 1000 actions on screens with 300 actions: "
+                + "maps " + mapTime / 1000000 + " ms vs action statistics "
+                + factoryTime / 1000000 + " ms");
+    }
+}
@@ -0,0 +1,127 @@
+package org.mate.exploration.genetic.fitness;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATELog;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.exploration.genetic.fitness.NoveltyIndexTest.CountingSource;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.mate.exploration.genetic.fitness.NoveltyIndexTest.chromosome;
+
+/**
+ * Counts the server requests of the client-side novelty computation of the {@link NoveltyIndex}
+ * compared to computing each novelty score on the server.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class NoveltyIndexBenchmark {
+
+    /**
+     * Replays the novelty computations of a novelty search run, i.e. the novelty of each
+     * offspring with respect to the new generation and the archive plus the archive update, and
+     * compares the server requests and transmitted chromosome ids of the previous server-side
+     * computation with the client-side computation.
+     */
+    @Test
+    public void benchmarkNoveltySearch() {
+
+        final int populationSize = 20;
+        final int bigPopulationSize = 40;
+        final int generations = 30;
+        final int archiveLimit = 10;
+        final int nearestNeighbours = 3;
+        final int numberOfBranches = 2000;
+        Random random = new Random(42);
+
+        CountingSource source = new CountingSource();
+        NoveltyIndex<double[]> index = new NoveltyIndex<>(source);
+        List<IChromosome<double[]>> archive = new ArrayList<>();
+        List<IChromosome<double[]>> population = new ArrayList<>();
+
+        long serverRequests = 0;
+        long transmittedIds = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < generations; i++) {
+
+            List<IChromosome<double[]>> newGeneration = new ArrayList<>(population);
+
+            while (newGeneration.size() < bigPopulationSize) {
+
+                double[] coverage = new double[numberOfBranches];
+                for (int branch = 0; branch < numberOfBranches; branch++) {
+                    coverage[branch] = random.nextInt(4) == 0 ? 1.0 : 0.0;
+                }
+                IChromosome<double[]> offspring = chromosome(coverage);
+
+                index.updateArchive(archive);
+                double novelty = index.getNovelty(offspring, newGeneration, nearestNeighbours);
+                serverRequests++;
+                transmittedIds += 1 + newGeneration.size() + archive.size();
+
+                assertEquals(bruteForce(offspring, newGeneration, archive, nearestNeighbours),
+                        novelty, 1e-9);
+
+                if (archive.size() < archiveLimit) {
+                    double archiveNovelty = index.getNovelty(offspring,
+                            Collections.<IChromosome<double[]>>emptyList(), nearestNeighbours);
+                    serverRequests++;
+                    transmittedIds += 1 + archive.size();
+                    if (archive.isEmpty() || archiveNovelty > 0.5) {
+                        archive.add(offspring);
+                    }
+                }
+
+                newGeneration.add(offspring);
+            }
+
+            population = new ArrayList<>(newGeneration.subList(
+                    newGeneration.size() - populationSize, newGeneration.size()));
+            index.retainAll(population);
+        }
+
+        long time = System.nanoTime() - start;
+
+        MATELog.log("Novelty requests for " + generations + " generations: "
+                + serverRequests + " server-side (" + transmittedIds + " chromosome ids) vs "
+                + source.requests + " client-side (" + source.vectors + " coverage vectors)");
+        MATELog.log("Client-side novelty computation incl. brute-force check: "
+                + time / 1000000 + " ms");
+    }
+
+    private static double bruteForce(IChromosome<double[]> chromosome,
+                                     List<IChromosome<double[]>> population,
+                                     List<IChromosome<double[]>> archive, int nearestNeighbours) {
+
+        List<Double> distances = new ArrayList<>();
+        List<IChromosome<double[]>> neighbours = new ArrayList<>(population);
+        neighbours.addAll(archive);
+
+        for (IChromosome<double[]> neighbour : neighbours) {
+            double sum = 0.0;
+            for (int i = 0; i < chromosome.getValue().length; i++) {
+                double difference = chromosome.getValue()[i] - neighbour.getValue()[i];
+                sum += difference * difference;
+            }
+            distances.add(Math.sqrt(sum / chromosome.getValue().length));
+        }
+
+        if (distances.isEmpty()) {
+            return 1.0;
+        }
+
+        Collections.sort(distances);
+        double sum = 0.0;
+        int k = Math.min(nearestNeighbours, distances.size());
+        for (int i = 0; i < k; i++) {
+            sum += distances.get(i);
+        }
+        return sum / k;
+    }
+}
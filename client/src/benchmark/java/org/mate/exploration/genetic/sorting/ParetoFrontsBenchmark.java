@@ -0,0 +1,85 @@
+package org.mate.exploration.genetic.sorting;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATELog;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mate.exploration.genetic.sorting.ParetoFrontsTest.objectives;
+
+/**
+ * Compares the non-dominated sorting algorithms for a large population with many objectives.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ParetoFrontsBenchmark {
+
+    /**
+     * Sorts a population of 1000 chromosomes whose coverage of up to 1000 branches resembles the
+     * coverage of test cases, i.e. a chromosome covers a prefix of the branches plus few others.
+     * The fast-non-dominated-sort and ENS-BS are compared on the same objective matrix.
+     */
+    @Test
+    public void benchmarkNonDominatedSorting() {
+
+        final int populationSize = 1000;
+
+        for (int numberOfObjectives : new int[]{2, 10, 100, 1000}) {
+
+            Random random = new Random(42);
+            List<IChromosome<double[]>> population = new ArrayList<>();
+            for (int i = 0; i < populationSize; i++) {
+                double[] coverage = new double[numberOfObjectives];
+                double prefix = random.nextDouble();
+                for (int j = 0; j < numberOfObjectives; j++) {
+                    coverage[j] = j < prefix * numberOfObjectives || random.nextInt(50) == 0 ? 1.0 : 0.0;
+                }
+                population.add(new Chromosome<>(coverage));
+            }
+
+            boolean[] isMaximising = new boolean[numberOfObjectives];
+            Arrays.fill(isMaximising, true);
+
+            long start = System.nanoTime();
+            double[][] objectives
+                    = ParetoFronts.getObjectiveMatrix(population, objectives(isMaximising));
+            long extractionTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int[] fastRanks = new FastNonDominatedSort().getRanks(objectives);
+            long fastTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int[] efficientRanks = new EfficientNonDominatedSort().getRanks(objectives);
+            long efficientTime = System.nanoTime() - start;
+
+            int[] solutions = new int[populationSize];
+            for (int i = 0; i < populationSize; i++) {
+                solutions[i] = i;
+            }
+            start = System.nanoTime();
+            ParetoFronts.getCrowdingDistances(objectives, solutions);
+            long crowdingTime = System.nanoTime() - start;
+
+            assertArrayEquals(fastRanks, efficientRanks);
+
+            int numberOfFronts = 0;
+            for (int rank : efficientRanks) {
+                numberOfFronts = Math.max(numberOfFronts, rank);
+            }
+
+            MATELog.log("N=" + populationSize + ", M=" + numberOfObjectives + " ("
+                    + numberOfFronts + " fronts): extraction " + extractionTime / 1000000
+                    + " ms, fast-non-dominated-sort " + fastTime / 1000000 + " ms, ENS-BS "
+                    + efficientTime / 1000000 + " ms, crowding distance "
+                    + crowdingTime / 1000000 + " ms");
+        }
+    }
+}
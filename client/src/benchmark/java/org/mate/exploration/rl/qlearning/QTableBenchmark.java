@@ -0,0 +1,153 @@
+package org.mate.exploration.rl.qlearning;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATELog;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the {@link QTable} with the nested maps previously used by the q-learning based
+ * strategies on a synthetic state space.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class QTableBenchmark {
+
+    /**
+     * A synthetic screen state that mimics the precomputed hash code and the widget-based
+     * equality of a real screen state.
+     */
+    private static final class SyntheticState {
+
+        private final List<String> widgets;
+        private final int hashCode;
+
+        private SyntheticState(List<String> widgets) {
+            this.widgets = widgets;
+            hashCode = widgets.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (o == null || getClass() != o.getClass()) {
+                return false;
+            } else {
+                SyntheticState other = (SyntheticState) o;
+                return hashCode == other.hashCode && widgets.equals(other.widgets);
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Replays random q-learning steps on a synthetic state space with both the q-table and the
+     * nested maps, where each step selects the best action and updates the q-value of a random
+     * action. The resulting q-values must be identical.
+     */
+    @Test
+    public void benchmarkSyntheticStateSpace() {
+
+        final int numberOfStates = 2000;
+        final int widgetsPerState = 50;
+        final int actionsPerState = 30;
+        final int steps = 200000;
+        final double discountFactor = 0.9;
+        Random random = new Random(42);
+
+        // the recorded states as handed out by the GUI model
+        List<SyntheticState> states = new ArrayList<>();
+        List<List<String>> actions = new ArrayList<>();
+        for (int s = 0; s < numberOfStates; s++) {
+            List<String> widgets = new ArrayList<>();
+            for (int w = 0; w < widgetsPerState; w++) {
+                widgets.add("widget-" + s + "-" + w);
+            }
+            states.add(new SyntheticState(widgets));
+            List<String> stateActions = new ArrayList<>();
+            for (int a = 0; a < actionsPerState; a++) {
+                stateActions.add("action-" + s + "-" + a);
+            }
+            actions.add(stateActions);
+        }
+
+        int[] stateSequence = new int[steps + 1];
+        int[] actionSequence = new int[steps];
+        double[] rewards = new double[steps];
+        for (int i = 0; i < steps; i++) {
+            stateSequence[i] = random.nextInt(numberOfStates);
+            actionSequence[i] = random.nextInt(actionsPerState);
+            rewards[i] = random.nextDouble();
+        }
+        stateSequence[steps] = random.nextInt(numberOfStates);
+
+        // nested maps
+        long start = System.nanoTime();
+        Map<SyntheticState, Map<String, Double>> qValues = new HashMap<>();
+        for (int i = 0; i < steps; i++) {
+            SyntheticState state = states.get(stateSequence[i]);
+            Map<String, Double> actionQValues = qValues.getOrDefault(state, new HashMap<>());
+            if (!qValues.containsKey(state)) {
+                for (String action : actions.get(stateSequence[i])) {
+                    actionQValues.put(action, 0.0);
+                }
+                qValues.put(state, actionQValues);
+            }
+            double maxQValue = Collections.max(actionQValues.values());
+            List<String> best = actionQValues.entrySet().stream()
+                    .filter(entry -> entry.getValue() == maxQValue)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            assertTrue(!best.isEmpty());
+
+            SyntheticState newState = states.get(stateSequence[i + 1]);
+            double futureReward = qValues.containsKey(newState)
+                    ? Collections.max(qValues.get(newState).values()) : 0.0;
+            String action = actions.get(stateSequence[i]).get(actionSequence[i]);
+            qValues.get(state).put(action, rewards[i] + discountFactor * futureReward);
+        }
+        long mapTime = System.nanoTime() - start;
+
+        // q-table
+        start = System.nanoTime();
+        QTable<SyntheticState> qTable = new QTable<>(0.0);
+        Random selectionRandom = new Random(42);
+        for (int i = 0; i < steps; i++) {
+            SyntheticState state = states.get(stateSequence[i]);
+            int stateId = qTable.addState(state, actionsPerState);
+            qTable.selectBestAction(stateId, selectionRandom);
+
+            int newStateId = qTable.getStateId(states.get(stateSequence[i + 1]));
+            double futureReward = newStateId != -1 ? qTable.getMaxQValue(newStateId) : 0.0;
+            qTable.setQValue(stateId, actionSequence[i], rewards[i] + discountFactor * futureReward);
+        }
+        long tableTime = System.nanoTime() - start;
+
+        for (int s = 0; s < numberOfStates; s++) {
+            int stateId = qTable.getStateId(states.get(s));
+            for (int a = 0; a < actionsPerState; a++) {
+                assertEquals(qValues.get(states.get(s)).get(actions.get(s).get(a)),
+                        qTable.getQValue(stateId, a), 0.0);
+            }
+        }
+
+        MATELog.log("Q-learning on " + numberOfStates + " states x " + actionsPerState
+                + " actions, " + steps + " steps: nested maps " + mapTime / 1000000
+                + " ms vs q-table " + tableTime / 1000000 + " ms");
+    }
+}
@@ -0,0 +1,55 @@
+package org.mate.exploration.rl.qlearning.autoblacktest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.utils.MATELog;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.mate.exploration.rl.qlearning.autoblacktest.WidgetDiffTest.buildListScreen;
+import static org.mate.exploration.rl.qlearning.autoblacktest.WidgetDiffTest.pairwiseStateDifference;
+import static org.mate.exploration.rl.qlearning.autoblacktest.WidgetDiffTest.pairwiseWidgetDifferences;
+
+/**
+ * Compares the time of the {@link WidgetDiff} with comparing each pair of widgets for list-heavy
+ * screens.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WidgetDiffBenchmark {
+
+    @Test
+    public void benchmarkListScreens() {
+
+        Random random = new Random(42);
+        List<List<Widget>> screens = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            screens.add(buildListScreen(1000, random));
+        }
+
+        long start = System.nanoTime();
+        double pairwise = 0;
+        for (int i = 0; i < 20; i++) {
+            pairwise += pairwiseStateDifference(screens.get(i + 1), screens.get(i))
+                    + pairwiseWidgetDifferences(screens.get(i), screens.get(i + 1));
+        }
+        long pairwiseTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        double indexed = 0;
+        for (int i = 0; i < 20; i++) {
+            WidgetDiff widgetDiff = new WidgetDiff(screens.get(i), screens.get(i + 1));
+            indexed += widgetDiff.getNumberOfAddedWidgets() + widgetDiff.getMatchedWidgetDifference();
+        }
+        long indexedTime = System.nanoTime() - start;
+
+        assertEquals(pairwise, indexed, 0.0);
+        MATELog.log("Reward computation for 20 actions on screens with 1000 widgets: "
+                + "pairwise " + pairwiseTime / 1000000 + " ms vs indexed "
+                + indexedTime / 1000000 + " ms");
+    }
+}
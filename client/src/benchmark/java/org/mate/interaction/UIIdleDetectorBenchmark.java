@@ -0,0 +1,41 @@
+package org.mate.interaction;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATELog;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the waiting time of the {@link UIIdleDetector} with the fixed sleeps it replaces on
+ * the simulated UI of {@link UIIdleDetectorTest}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class UIIdleDetectorBenchmark {
+
+    /**
+     * Simulates resets after which the AUT needs between 100 and 800 ms to settle, which would
+     * otherwise take the fixed 7 seconds each.
+     */
+    @Test
+    public void benchmarkResets() {
+
+        final int resets = 10;
+        final long fixedWait = 7000;
+        Random random = new Random(42);
+
+        long waitTime = 0;
+        for (int i = 0; i < resets; i++) {
+            UIIdleDetector detector = UIIdleDetectorTest.detector(
+                    new UIIdleDetectorTest.FakeClock(), 100 + random.nextInt(700), 0, 10000);
+            assertTrue(detector.waitForIdle(fixedWait));
+            waitTime += detector.getWaitTime();
+        }
+
+        MATELog.log("Waiting time of " + resets + " resets: " + waitTime
+                + " ms adaptive vs " + resets * fixedWait + " ms fixed");
+    }
+}
@@ -0,0 +1,116 @@
+package org.mate.interaction.trace;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATELog;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the latency of streaming traces from the {@link StandInTracer} through the
+ * {@link TraceChannel} with the traces.txt/info.txt file handshake.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TraceChannelBenchmark {
+
+    private static final long TIMEOUT = 5000;
+
+    private TraceChannel channel;
+
+    @Before
+    public void openChannel() throws IOException {
+        channel = new TraceChannel(new StandInTracer.LoopbackEndpoint(), new TraceIds());
+    }
+
+    @After
+    public void closeChannel() throws IOException {
+        channel.close();
+    }
+
+    @Test
+    public void benchmarkStreamingVersusFileHandshake() throws Exception {
+
+        final int numberOfTraces = 2000;
+        final int streamedDumps = 100;
+        final int fileDumps = 5;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < streamedDumps; i++) {
+            Future<BitSet> dump = channel.requestDump();
+            TraceChannelTest.broadcast(channel, TraceChannelTest.traces(i * 10, numberOfTraces),
+                    true);
+            assertEquals(numberOfTraces, dump.get(TIMEOUT, TimeUnit.MILLISECONDS).cardinality());
+        }
+        long streamingTime = (System.nanoTime() - start) / streamedDumps;
+
+        // the previous handshake: the tracer writes both files, the client polls every 200 ms
+        File directory = new File(System.getProperty("java.io.tmpdir"),
+                "mate-traces-" + System.nanoTime());
+        assertTrue(directory.mkdirs());
+        final File traceFile = new File(directory, "traces.txt");
+        final File infoFile = new File(directory, "info.txt");
+
+        start = System.nanoTime();
+        for (int i = 0; i < fileDumps; i++) {
+            final List<String> traces = TraceChannelTest.traces(i * 10, numberOfTraces);
+            Thread tracer = new Thread(() -> {
+                try (Writer writer = new FileWriter(traceFile)) {
+                    for (String trace : traces) {
+                        writer.write(trace);
+                        writer.write(System.lineSeparator());
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                try (Writer writer = new FileWriter(infoFile)) {
+                    writer.write(traces.size());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            tracer.start();
+
+            while (!infoFile.exists()) {
+                Thread.sleep(200);
+            }
+
+            Set<String> received = new HashSet<>();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new FileInputStream(traceFile)))) {
+                String line = reader.readLine();
+                while (line != null) {
+                    received.add(line);
+                    line = reader.readLine();
+                }
+            }
+            assertTrue(traceFile.delete());
+            assertTrue(infoFile.delete());
+            assertEquals(numberOfTraces, received.size());
+        }
+        long fileTime = (System.nanoTime() - start) / fileDumps;
+        assertTrue(directory.delete());
+
+        MATELog.log("Streamed dump of " + numberOfTraces + " traces: "
+                + streamingTime / 1000 + " us");
+        MATELog.log("File handshake dump of " + numberOfTraces + " traces: "
+                + fileTime / 1000 + " us");
+    }
+}
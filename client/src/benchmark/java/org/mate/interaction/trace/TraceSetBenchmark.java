@@ -0,0 +1,103 @@
+package org.mate.interaction.trace;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATELog;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the heap usage of the compressed trace sets with sets of trace strings.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TraceSetBenchmark {
+
+    /**
+     * Stores the traces of a synthetic exploration, i.e. a transition per action whose traces
+     * are drawn from a pool of basic blocks, once as sets of strings and once as trace sets.
+     */
+    @Test
+    public void benchmarkHeapUsage() {
+
+        final int numberOfBlocks = 20000;
+        final int numberOfTransitions = 2000;
+        final int tracesPerTransition = 300;
+
+        Random random = new Random(42);
+        int[][] transitions = new int[numberOfTransitions][tracesPerTransition];
+        for (int[] transition : transitions) {
+            // an action mostly covers a contiguous region of the app
+            int region = random.nextInt(numberOfBlocks - 2 * tracesPerTransition);
+            for (int i = 0; i < tracesPerTransition; i++) {
+                transition[i] = region + random.nextInt(2 * tracesPerTransition);
+            }
+        }
+
+        long baseline = usedMemory();
+
+        // each dump reads fresh strings from traces.txt
+        List<Set<String>> stringSets = new ArrayList<>(numberOfTransitions);
+        for (int[] transition : transitions) {
+            Set<String> traces = new HashSet<>();
+            for (int block : transition) {
+                traces.add(trace(block));
+            }
+            stringSets.add(traces);
+        }
+        long stringBytes = usedMemory() - baseline;
+
+        int sum = 0;
+        for (Set<String> traces : stringSets) {
+            sum += traces.size();
+        }
+        stringSets = null;
+        baseline = usedMemory();
+
+        TraceIds traceIds = new TraceIds();
+        List<TraceSet> traceSets = new ArrayList<>(numberOfTransitions);
+        long estimatedBytes = 0;
+        for (int[] transition : transitions) {
+            BitSet ids = new BitSet();
+            for (int block : transition) {
+                ids.set(traceIds.intern(trace(block)));
+            }
+            TraceSet traces = TraceSet.of(ids);
+            estimatedBytes += traces.getSizeInBytes();
+            traceSets.add(traces);
+        }
+        long traceSetBytes = usedMemory() - baseline;
+
+        int traceSetSum = 0;
+        for (TraceSet traces : traceSets) {
+            traceSetSum += traces.size();
+        }
+        assertEquals(sum, traceSetSum);
+
+        MATELog.log("Heap of " + numberOfTransitions + " transitions as string sets: "
+                + stringBytes / 1024 + " KB");
+        MATELog.log("Heap of " + numberOfTransitions + " transitions as trace sets"
+                + " (incl. dictionary of " + traceIds.size() + " traces): "
+                + traceSetBytes / 1024 + " KB, trace sets alone: " + estimatedBytes / 1024 + " KB");
+    }
+
+    private static String trace(int block) {
+        return new StringBuilder("com/example/app/ui/MainActivity->onCreate(Landroid/os/Bundle;)V->")
+                .append(block).toString();
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
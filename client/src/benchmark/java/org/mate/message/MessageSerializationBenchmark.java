@@ -0,0 +1,101 @@
+package org.mate.message;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATELog;
+import org.mate.message.serialization.BinaryParser;
+import org.mate.message.serialization.BinarySerializer;
+import org.mate.message.serialization.Parser;
+import org.mate.message.serialization.Serializer;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A small JMH-style benchmark comparing the text and the binary message protocol. Each case
+ * is warmed up first and then measured over a fixed number of iterations; the average time
+ * per round trip (serialize + parse) is printed. The cases mirror the ones of
+ * {@link SerializerTest} plus a fitness vector as sent by the MATE server for MIO/MOSA.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MessageSerializationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASUREMENT_ITERATIONS = 500;
+    private static final int FITNESS_VECTOR_SIZE = 20000;
+
+    private static Map<String, Message> benchmarkCases() {
+
+        Map<String, Message> cases = new LinkedHashMap<>();
+        cases.put("subjectOnly", new Message("test"));
+        cases.put("stringParameter", new Message.MessageBuilder("test")
+                .withParameter("key", "value")
+                .build());
+        cases.put("complexParameter", new Message.MessageBuilder("test")
+                .withParameter("key", String.valueOf(new Date()))
+                .build());
+        cases.put("multipleParameters", new Message.MessageBuilder("test")
+                .withParameter("key1", "value")
+                .withParameter("key2", String.valueOf(new Date()))
+                .build());
+
+        double[] fitnessVector = new double[FITNESS_VECTOR_SIZE];
+        for (int i = 0; i < fitnessVector.length; i++) {
+            fitnessVector[i] = (double) (i % 100) / 100;
+        }
+        cases.put("fitnessVector", new Message.MessageBuilder("/fitness/get_branch_fitness_vector")
+                .withParameter("branch_fitness_vector", fitnessVector)
+                .build());
+        return cases;
+    }
+
+    private static Message textRoundTrip(Message message) {
+        byte[] serializedMessage = Serializer.serialize(message);
+        Message parsedMessage = new Parser(new ByteArrayInputStream(serializedMessage)).nextMessage();
+        // the consumer of a vector always converts it into its numeric representation
+        for (String key : message.getArrayParameters().keySet()) {
+            parsedMessage.getDoubleArrayParameter(key);
+        }
+        return parsedMessage;
+    }
+
+    private static Message binaryRoundTrip(Message message) {
+        byte[] serializedMessage = BinarySerializer.serialize(message);
+        return new BinaryParser(new ByteArrayInputStream(serializedMessage)).nextMessage();
+    }
+
+    @Test
+    public void benchmarkTextVersusBinaryProtocol() {
+
+        for (Map.Entry<String, Message> benchmarkCase : benchmarkCases().entrySet()) {
+
+            Message message = benchmarkCase.getValue();
+            int iterations = message.getArrayParameters().isEmpty()
+                    ? MEASUREMENT_ITERATIONS * 10 : MEASUREMENT_ITERATIONS;
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                textRoundTrip(message);
+                binaryRoundTrip(message);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                textRoundTrip(message);
+            }
+            long textTime = (System.nanoTime() - start) / iterations;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                binaryRoundTrip(message);
+            }
+            long binaryTime = (System.nanoTime() - start) / iterations;
+
+            MATELog.log(benchmarkCase.getKey() + ": text " + textTime + " ns/op ("
+                    + Serializer.serialize(message).length + " bytes), binary " + binaryTime
+                    + " ns/op (" + BinarySerializer.serialize(message).length + " bytes)");
+        }
+    }
+}
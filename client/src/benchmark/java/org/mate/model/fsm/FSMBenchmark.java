@@ -0,0 +1,169 @@
+package org.mate.model.fsm;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ui.ActionType;
+import org.mate.commons.interaction.action.ui.MotifAction;
+import org.mate.commons.interaction.action.ui.UIAction;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.interaction.action.ui.WidgetAction;
+import org.mate.commons.utils.MATELog;
+import org.mate.state.IScreenState;
+import org.mate.state.ScreenStateType;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replays a synthetic exploration over a graph of 10k screen states through the {@link FSM} and
+ * reports the time spent for recording the transitions, looking up states, computing shortest
+ * paths and activity predecessors.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class FSMBenchmark {
+
+    private static final String PACKAGE_NAME = "com.example.app";
+    private static final int NUMBER_OF_STATES = 10000;
+    private static final int NUMBER_OF_ACTIVITIES = 50;
+    private static final int NUMBER_OF_TRANSITIONS = 50000;
+    private static final int NUMBER_OF_QUERIES = 1000;
+    private static final int NUMBER_OF_PATH_QUERIES = 100;
+
+    /**
+     * A minimal screen state that is identified by its number.
+     */
+    private static final class SyntheticScreenState implements IScreenState {
+
+        private final int number;
+        private String id;
+
+        private SyntheticScreenState(int number) {
+            this.number = number;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(String stateId) {
+            id = stateId;
+        }
+
+        @Override
+        public List<Widget> getWidgets() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<UIAction> getActions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<WidgetAction> getWidgetActions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<MotifAction> getMotifActions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public String getActivityName() {
+            return PACKAGE_NAME + ".Activity" + (number % NUMBER_OF_ACTIVITIES);
+        }
+
+        @Override
+        public String getPackageName() {
+            return PACKAGE_NAME;
+        }
+
+        @Override
+        public ScreenStateType getType() {
+            return ScreenStateType.ACTION_SCREEN_STATE;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SyntheticScreenState && ((SyntheticScreenState) o).number == number;
+        }
+
+        @Override
+        public int hashCode() {
+            return number;
+        }
+    }
+
+    @Test
+    public void benchmarkSyntheticExploration() {
+
+        Random random = new Random(42);
+        ActionType[] actionTypes = ActionType.values();
+
+        FSM fsm = new FSM(new State(0, new SyntheticScreenState(0)), PACKAGE_NAME);
+
+        // a random walk that jumps to a random state from time to time, i.e. a restart
+        long start = System.nanoTime();
+        IScreenState current = new SyntheticScreenState(0);
+        for (int i = 0; i < NUMBER_OF_TRANSITIONS; i++) {
+            IScreenState next = new SyntheticScreenState(i < NUMBER_OF_STATES
+                    ? i : random.nextInt(NUMBER_OF_STATES));
+            Action action = new UIAction(actionTypes[random.nextInt(actionTypes.length)],
+                    current.getActivityName());
+            fsm.addTransition(new Transition(fsm.getState(current), fsm.getState(next), action));
+            current = next;
+        }
+        long recordTime = System.nanoTime() - start;
+        assertEquals(NUMBER_OF_STATES, fsm.getNumberOfStates());
+
+        start = System.nanoTime();
+        for (int i = 0; i < NUMBER_OF_QUERIES; i++) {
+            IScreenState screenState = new SyntheticScreenState(random.nextInt(NUMBER_OF_STATES));
+            assertEquals(screenState, fsm.getRecordedState(screenState).getScreenState());
+        }
+        long lookupTime = (System.nanoTime() - start) / NUMBER_OF_QUERIES;
+
+        start = System.nanoTime();
+        for (int i = 0; i < NUMBER_OF_PATH_QUERIES; i++) {
+            State from = fsm.getState(new SyntheticScreenState(random.nextInt(NUMBER_OF_STATES)));
+            State to = fsm.getState(new SyntheticScreenState(random.nextInt(NUMBER_OF_STATES)));
+            Optional<List<Transition>> path = fsm.shortestPath(from, to);
+            if (path.isPresent() && !path.get().isEmpty()) {
+                assertEquals(from, path.get().get(0).getSource());
+                assertEquals(to, path.get().get(path.get().size() - 1).getTarget());
+            }
+        }
+        long shortestPathTime = (System.nanoTime() - start) / NUMBER_OF_PATH_QUERIES;
+
+        start = System.nanoTime();
+        for (int i = 0; i < NUMBER_OF_ACTIVITIES; i++) {
+            String activity = PACKAGE_NAME + ".Activity" + i;
+            assertFalse(fsm.getActivityPredecessors(activity).contains(activity));
+        }
+        long predecessorTime = (System.nanoTime() - start) / NUMBER_OF_ACTIVITIES;
+
+        // the action index must agree with the outgoing transitions
+        Action action = new UIAction(ActionType.BACK, new SyntheticScreenState(1).getActivityName());
+        for (Transition transition : fsm.getTransitions(action)) {
+            assertTrue(fsm.getOutgoingTransitions(transition.getSource()).contains(transition));
+            assertTrue(fsm.getIncomingTransitions(transition.getTarget()).contains(transition));
+        }
+
+        MATELog.log("Recording " + NUMBER_OF_TRANSITIONS + " transitions: "
+                + recordTime / 1000000 + " ms");
+        MATELog.log("State lookup: " + lookupTime + " ns/op");
+        MATELog.log("Shortest path: " + shortestPathTime + " ns/op");
+        MATELog.log("Activity predecessors: " + predecessorTime + " ns/op");
+    }
+}
@@ -0,0 +1,58 @@
+package org.mate.state.executables;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.utils.MATELog;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+import static org.mate.state.executables.ActionsScreenStateTest.STATUS_BAR;
+import static org.mate.state.executables.ActionsScreenStateTest.parseWidgetTree;
+import static org.mate.state.executables.ActionsScreenStateTest.readLines;
+
+/**
+ * Reports the time of the widget action extraction for a list-heavy screen.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ActionsScreenStateBenchmark {
+
+    @Test
+    public void benchmarkListScreen() throws IOException {
+
+        // repeat the list items of the recorded list screen
+        List<String> tree = readLines("list_screen.tree");
+        List<String> lines = new ArrayList<>();
+        int firstItem = -1;
+        int lastItem = -1;
+
+        for (int i = 0; i < tree.size(); i++) {
+            if (tree.get(i).startsWith("      android.widget.LinearLayout")) {
+                if (firstItem < 0) {
+                    firstItem = i;
+                }
+                lastItem = i;
+            }
+        }
+
+        lines.addAll(tree.subList(0, firstItem));
+        while (lines.size() < 5000) {
+            lines.addAll(tree.subList(firstItem, lastItem));
+        }
+        lines.addAll(tree.subList(lastItem, tree.size()));
+
+        List<Widget> widgets = parseWidgetTree(lines);
+
+        long start = System.nanoTime();
+        int widgetActions = ActionsScreenState.extractWidgetActions(widgets, STATUS_BAR).size();
+        long time = System.nanoTime() - start;
+
+        assertTrue(widgetActions > 0);
+        MATELog.log("Extracted " + widgetActions + " widget actions from " + widgets.size()
+                + " widgets in " + time / 1000000 + " ms");
+    }
+}
@@ -18,39 +18,40 @@ import org.mate.utils.testcase.OptimisationStrategy;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 public class Properties {
 
     // the timeout in minutes
-    public static int TIMEOUT() { return propertyOr(5); }
+    public static int TIMEOUT() { return propertyOr(Key.TIMEOUT, 5); }
 
     public static int ANT_GENERATION() {
-        return propertyOr(5);
+        return propertyOr(Key.ANT_GENERATION, 5);
     }
     public static int ANT_NUMBER() {
-        return propertyOr(5);
+        return propertyOr(Key.ANT_NUMBER, 5);
     }
 
     public static int ANT_LENGTH() {
-        return propertyOr(8);
+        return propertyOr(Key.ANT_LENGTH, 8);
     }
 
     public static float EVAPORATION_RATE() {
-        return propertyOr(0.1f);
+        return propertyOr(Key.EVAPORATION_RATE, 0.1f);
     }
 
     public static float INITIALIZATION_PHEROMONE() {
-        return propertyOr(5.0f);
+        return propertyOr(Key.INITIALIZATION_PHEROMONE, 5.0f);
     }
 
     public static float PROBABILITY_SELECT_BEST_ACTION() {
-        return propertyOr(0.5f);
+        return propertyOr(Key.PROBABILITY_SELECT_BEST_ACTION, 0.5f);
     }
 
     public static float BEST_ANT() {
-        return propertyOr(3);
+        return propertyOr(Key.BEST_ANT, 3f);
     }
 
     /**
@@ -59,7 +60,7 @@ public class Properties {
      * @return Returns the selected state equivalence check.
      */
     public static StateEquivalenceLevel STATE_EQUIVALENCE_LEVEL() {
-        return propertyOr(StateEquivalenceLevel.WIDGET);
+        return propertyOr(Key.STATE_EQUIVALENCE_LEVEL, StateEquivalenceLevel.WIDGET);
     }
 
     /**
@@ -68,12 +69,14 @@ public class Properties {
      * @return Returns {@code true} if the surrogate model should be used, otherwise {@code false}
      *          is returned.
      */
-    public static boolean SURROGATE_MODEL() { return propertyOr(false); }
+    public static boolean SURROGATE_MODEL() { return propertyOr(Key.SURROGATE_MODEL, false); }
 
     /*
     * Intent fuzzing related properties.
      */
-    public static float RELATIVE_INTENT_AMOUNT() { return propertyOr(0.0f); }
+    public static float RELATIVE_INTENT_AMOUNT() {
+        return propertyOr(Key.RELATIVE_INTENT_AMOUNT, 0.0f);
+    }
 
     /**
      * The optimisation strategy that should be applied.
@@ -81,75 +84,75 @@ public class Properties {
      * @return Returns the applied optimisation strategy.
      */
     public static OptimisationStrategy OPTIMISATION_STRATEGY() {
-        return propertyOr(OptimisationStrategy.NO_OPTIMISATION);
+        return propertyOr(Key.OPTIMISATION_STRATEGY, OptimisationStrategy.NO_OPTIMISATION);
     }
 
     /*
     * Whether to record stats about test cases or not.
      */
     public static boolean RECORD_TEST_CASE_STATS() {
-        return propertyOr(false);
+        return propertyOr(Key.RECORD_TEST_CASE_STATS, false);
     }
 
     /*
     * Whether to serialize a test case. Default: off.
      */
     public static boolean RECORD_TEST_CASE() {
-        return propertyOr(false);
+        return propertyOr(Key.RECORD_TEST_CASE, false);
     }
 
     /*
      * Misc properties
      */
     public static Long RANDOM_SEED() {
-        return propertyOr(null);
+        return propertyOr(Key.RANDOM_SEED, null);
     }
 
     /*
      * Genetic Algorithm properties
      */
     public static int POPULATION_SIZE() {
-        return propertyOr(20);
+        return propertyOr(Key.POPULATION_SIZE, 20);
     }
 
-    public static int BIG_POPULATION_SIZE() { return propertyOr(40); }
+    public static int BIG_POPULATION_SIZE() { return propertyOr(Key.BIG_POPULATION_SIZE, 40); }
 
     public static int NUMBER_TESTCASES() {
-        return propertyOr(2);
+        return propertyOr(Key.NUMBER_TESTCASES, 2);
     }
 
     public static int MAX_NUMBER_EVENTS() {
-        return propertyOr(50);
+        return propertyOr(Key.MAX_NUMBER_EVENTS, 50);
     }
 
     public static double P_CROSSOVER() {
-        return propertyOr(0.7);
+        return propertyOr(Key.P_CROSSOVER, 0.7);
     }
 
     public static double P_MUTATE() {
-        return propertyOr(0.3);
+        return propertyOr(Key.P_MUTATE, 0.3);
     }
 
     public static double P_SAMPLE_RANDOM() {
-        return propertyOr(0.5);
+        return propertyOr(Key.P_SAMPLE_RANDOM, 0.5);
     }
 
     public static double P_FOCUSED_SEARCH_START() {
-        return propertyOr(0.5);
+        return propertyOr(Key.P_FOCUSED_SEARCH_START, 0.5);
     }
 
     public static int EVO_ITERATIONS_NUMBER() {
-        return propertyOr(10);
+        return propertyOr(Key.EVO_ITERATIONS_NUMBER, 10);
     }
 
-    public static int MUTATION_RATE() { return propertyOr(1); }
+    public static int MUTATION_RATE() { return propertyOr(Key.MUTATION_RATE, 1); }
 
-    public static int TOURNAMENT_SIZE() { return propertyOr(2); }
+    public static int TOURNAMENT_SIZE() { return propertyOr(Key.TOURNAMENT_SIZE, 2); }
 
-    public static int DEFAULT_SELECTION_SIZE() { return propertyOr(2); }
+    public static int DEFAULT_SELECTION_SIZE() { return propertyOr(Key.DEFAULT_SELECTION_SIZE, 2); }
 
     public static FitnessFunction FITNESS_FUNCTION() {
-        return propertyOr(null);
+        return propertyOr(Key.FITNESS_FUNCTION, null);
     }
 
     /**
@@ -158,21 +161,31 @@ public class Properties {
      *
      * @return Returns the core fitness function used in the context of GE.
      */
-    public static FitnessFunction GE_FITNESS_FUNCTION() { return propertyOr(null); }
+    public static FitnessFunction GE_FITNESS_FUNCTION() {
+        return propertyOr(Key.GE_FITNESS_FUNCTION, null);
+    }
 
-    public static SelectionFunction SELECTION_FUNCTION() { return propertyOr(null); }
+    public static SelectionFunction SELECTION_FUNCTION() {
+        return propertyOr(Key.SELECTION_FUNCTION, null);
+    }
 
     public static MutationFunction MUTATION_FUNCTION() {
-        return propertyOr(null);
+        return propertyOr(Key.MUTATION_FUNCTION, null);
     }
 
-    public static CrossOverFunction CROSSOVER_FUNCTION() { return propertyOr(null); }
+    public static CrossOverFunction CROSSOVER_FUNCTION() {
+        return propertyOr(Key.CROSSOVER_FUNCTION, null);
+    }
 
-    public static TerminationCondition TERMINATION_CONDITION() { return propertyOr(null); }
+    public static TerminationCondition TERMINATION_CONDITION() {
+        return propertyOr(Key.TERMINATION_CONDITION, null);
+    }
 
-    public static ChromosomeFactory CHROMOSOME_FACTORY() { return propertyOr(null); }
+    public static ChromosomeFactory CHROMOSOME_FACTORY() {
+        return propertyOr(Key.CHROMOSOME_FACTORY, null);
+    }
 
-    public static Algorithm ALGORITHM() { return propertyOr(null); }
+    public static Algorithm ALGORITHM() { return propertyOr(Key.ALGORITHM, null); }
 
     /*
      * Begin Greybox Fuzzing properties
@@ -184,7 +197,7 @@ public class Properties {
      * @return Returns the coverage type that steers the exploration, defaults to activity coverage.
      */
     public static Coverage GREY_BOX_COVERAGE_CRITERION() {
-        return propertyOr(Coverage.ACTIVITY_COVERAGE);
+        return propertyOr(Key.GREY_BOX_COVERAGE_CRITERION, Coverage.ACTIVITY_COVERAGE);
     }
 
     /**
@@ -192,14 +205,14 @@ public class Properties {
      *
      * @return Returns the initial size of the seed corpus.
      */
-    public static int SEED_CORPUS_SIZE() { return propertyOr(10); }
+    public static int SEED_CORPUS_SIZE() { return propertyOr(Key.SEED_CORPUS_SIZE, 10); }
 
     /**
      * The maximal assignable energy p.
      *
      * @return Returns the maximal assignable energy.
      */
-    public static int MAX_ENERGY() { return propertyOr(10); }
+    public static int MAX_ENERGY() { return propertyOr(Key.MAX_ENERGY, 10); }
 
     /*
      * End Greybox Fuzzing properties
@@ -212,14 +225,14 @@ public class Properties {
      * @return Returns the objective or {@code null} if none was specified.
      */
     public static Objective OBJECTIVE() {
-        return propertyOr(null);
+        return propertyOr(Key.OBJECTIVE, null);
     }
 
     /*
      * Coverage properties
      */
     public static Coverage COVERAGE() {
-        return propertyOr(Coverage.NO_COVERAGE);
+        return propertyOr(Key.COVERAGE, Coverage.NO_COVERAGE);
     }
 
     /*
@@ -228,39 +241,39 @@ public class Properties {
 
     // the graph type, e.g. CFG or SGD
     public static GraphType GRAPH_TYPE() {
-        return propertyOr(null);
+        return propertyOr(Key.GRAPH_TYPE, null);
     }
 
     // the path to the APK file
     public static String APK() {
-        return propertyOr(null);
+        return propertyOr(Key.APK, null);
     }
 
     // specifies the method name when an intra CFG should be constructed
     public static String METHOD_NAME() {
-        return propertyOr(null);
+        return propertyOr(Key.METHOD_NAME, null);
     }
 
     // whether basic blocks should be used or not
     public static boolean BASIC_BLOCKS() {
-        return propertyOr(true);
+        return propertyOr(Key.BASIC_BLOCKS, true);
     }
 
     // whether only AUT classes should be resolved
     public static boolean RESOLVE_ONLY_AUT_CLASSES() {
-        return propertyOr(true);
+        return propertyOr(Key.RESOLVE_ONLY_AUT_CLASSES, true);
     }
 
     // whether ART classes should be excluded when constructing the graph
     public static boolean EXCLUDE_ART_CLASSES() {
-        return propertyOr(true);
+        return propertyOr(Key.EXCLUDE_ART_CLASSES, true);
     }
 
     // how and which target vertex should be selected, e.g. a random branch vertex
-    public static String TARGET() { return propertyOr("no_target"); }
+    public static String TARGET() { return propertyOr(Key.TARGET, "no_target"); }
 
     // whether to draw raw graph or 'extended' graph
-    public static boolean DRAW_RAW_GRAPH() { return propertyOr(true); }
+    public static boolean DRAW_RAW_GRAPH() { return propertyOr(Key.DRAW_RAW_GRAPH, true); }
 
     /*
     * End Graph properties
@@ -268,12 +281,12 @@ public class Properties {
 
     // Primitive actions or widget based actions?
     public static boolean WIDGET_BASED_ACTIONS() {
-        return propertyOr(true);
+        return propertyOr(Key.WIDGET_BASED_ACTIONS, true);
     }
 
     // stack trace
     public static boolean RECORD_STACK_TRACE() {
-        return propertyOr(false);
+        return propertyOr(Key.RECORD_STACK_TRACE, false);
     }
 
     /*
@@ -281,15 +294,16 @@ public class Properties {
      */
 
     public static int GE_SEQUENCE_LENGTH() {
-        return propertyOr(100);
+        return propertyOr(Key.GE_SEQUENCE_LENGTH, 100);
     }
 
     public static int GE_TEST_CASE_ENDING_BIAS_PER_TEN_THOUSAND() {
-        return propertyOr(AndroidListBasedBiasedMapping.BIAS_50_PERCENT);
+        return propertyOr(Key.GE_TEST_CASE_ENDING_BIAS_PER_TEN_THOUSAND,
+                AndroidListBasedBiasedMapping.BIAS_50_PERCENT);
     }
 
     public static int GE_MUTATION_COUNT() {
-        return propertyOr(3);
+        return propertyOr(Key.GE_MUTATION_COUNT, 3);
     }
 
     /*
@@ -302,14 +316,14 @@ public class Properties {
      *
      * @return Returns the novelty threshold T.
      */
-    public static double NOVELTY_THRESHOLD() { return propertyOr(0.0); }
+    public static double NOVELTY_THRESHOLD() { return propertyOr(Key.NOVELTY_THRESHOLD, 0.0); }
 
     /**
      * Novelty Search - Defines the maximal size of the archive.
      *
      * @return Returns the archive size L.
      */
-    public static int ARCHIVE_LIMIT() { return propertyOr(10); }
+    public static int ARCHIVE_LIMIT() { return propertyOr(Key.ARCHIVE_LIMIT, 10); }
 
     /**
      * Novelty Search - Defines the number of nearest neighbours that should be considered
@@ -317,14 +331,50 @@ public class Properties {
      *
      * @return Returns the number of nearest neighbours k.
      */
-    public static int NEAREST_NEIGHBOURS() { return propertyOr(3); }
+    public static int NEAREST_NEIGHBOURS() { return propertyOr(Key.NEAREST_NEIGHBOURS, 3); }
+
+    /**
+     * Novelty Search - Whether the novelty is computed on the client based on cached coverage
+     * vectors instead of sending the population and archive to the MATE server for each score.
+     * The client measures the distance between two chromosomes as the root mean square of the
+     * differences of their coverage vectors, which hasn't been verified against the computation
+     * of the MATE server yet, thus the client-side computation is opt-in.
+     *
+     * @return Returns {@code true} if novelty should be computed on the client.
+     */
+    public static boolean CLIENT_SIDE_NOVELTY() { return propertyOr(Key.CLIENT_SIDE_NOVELTY, false); }
 
     /**
      * Controls whether quick launch is enabled or disabled.
      *
      * @return Returns {@code true} if quick launch is enabled, otherwise {@code false} is returned.
      */
-    public static boolean QUICK_LAUNCH() { return propertyOr(true); }
+    public static boolean QUICK_LAUNCH() { return propertyOr(Key.QUICK_LAUNCH, true); }
+
+    /**
+     * Whether the waits after restarting the AUT or detecting a progress bar should end as soon
+     * as the UI is idle instead of sleeping for a fixed amount of time. The idle detection relies
+     * on the window changes reported by the activity tracker of the representation layer, thus
+     * the adaptive waiting is opt-in.
+     *
+     * @return Returns {@code true} if the adaptive waiting is enabled, otherwise {@code false}
+     *          is returned.
+     */
+    public static boolean ADAPTIVE_UI_WAIT() { return propertyOr(Key.ADAPTIVE_UI_WAIT, false); }
+
+    /**
+     * The time in milliseconds without any window change after which the UI is considered idle.
+     *
+     * @return Returns the quiet period in milliseconds.
+     */
+    public static int UI_IDLE_QUIET_PERIOD() { return propertyOr(Key.UI_IDLE_QUIET_PERIOD, 300); }
+
+    /**
+     * The upper bound in milliseconds of a single wait for the UI to become idle.
+     *
+     * @return Returns the maximal waiting time in milliseconds.
+     */
+    public static int UI_IDLE_MAX_WAIT() { return propertyOr(Key.UI_IDLE_MAX_WAIT, 10000); }
 
     /*
      * Begin AimDroid properties
@@ -335,35 +385,35 @@ public class Properties {
      *
      * @return Returns the epsilon used in the learning policy.
      */
-    public static double EPSILON() { return propertyOr(0.1d);}
+    public static double EPSILON() { return propertyOr(Key.EPSILON, 0.1d);}
 
     /**
      * The alpha used in the SARSA equation.
      *
      * @return Returns the alpha used in the SARSA equation.
      */
-    public static double ALPHA() { return propertyOr(0.8d); }
+    public static double ALPHA() { return propertyOr(Key.ALPHA, 0.8d); }
 
     /**
      * The gamma used in the SARSA equation.
      *
      * @return Returns the gamma used in the SARSA equation.
      */
-    public static double GAMMA() { return propertyOr(0.8d); }
+    public static double GAMMA() { return propertyOr(Key.GAMMA, 0.8d); }
 
     /**
      * The minL constant used in the bound method (the minimal number of actions).
      *
      * @return Returns the minL constant.
      */
-    public static int MIN_L() { return propertyOr(20); }
+    public static int MIN_L() { return propertyOr(Key.MIN_L, 20); }
 
     /**
      * The maxL constant used in the bound method (the maximal number of actions).
      *
      * @return Returns the maxL constant.
      */
-    public static int MAX_L() { return propertyOr(50); }
+    public static int MAX_L() { return propertyOr(Key.MAX_L, 50); }
 
     /*
      * End AimDroid properties
@@ -378,28 +428,32 @@ public class Properties {
      *
      * @return Returns the epsilon used in the greedy learning policy.
      */
-    public static float ABT_EPSILON() { return propertyOr(0.8f); }
+    public static float ABT_EPSILON() { return propertyOr(Key.ABT_EPSILON, 0.8f); }
 
     /**
      * The static discount factor used in equation (1).
      *
      * @return Returns the static discount factor.
      */
-    public static float ABT_DISCOUNT_FACTOR() { return propertyOr(0.9f); }
+    public static float ABT_DISCOUNT_FACTOR() { return propertyOr(Key.ABT_DISCOUNT_FACTOR, 0.9f); }
 
     /**
      * The maximal number of episodes (testcases).
      *
      * @return Returns the maximal number of episodes.
      */
-    public static int ABT_MAX_NUM_OF_EPISODES() { return propertyOr(100); }
+    public static int ABT_MAX_NUM_OF_EPISODES() {
+        return propertyOr(Key.ABT_MAX_NUM_OF_EPISODES, 100);
+    }
 
     /**
      * The maximal length of an episode (a test case).
      *
      * @return Returns the maximal episode length.
      */
-    public static int ABT_MAX_EPISODE_LENGTH() { return propertyOr(50); }
+    public static int ABT_MAX_EPISODE_LENGTH() {
+        return propertyOr(Key.ABT_MAX_EPISODE_LENGTH, 50);
+    }
 
     /*
      * End AutoBlackTest properties
@@ -414,56 +468,177 @@ public class Properties {
      *
      * @return Returns the probability for selecting the home button.
      */
-    public static float P_HOME_BUTTON() { return propertyOr(0.05f); }
+    public static float P_HOME_BUTTON() { return propertyOr(Key.P_HOME_BUTTON, 0.05f); }
 
     /**
      * The initial q-value for a new action.
      *
      * @return Returns the initial q-value for a new action.
      */
-    public static float INITIAL_Q_VALUE() { return propertyOr(500f); }
+    public static float INITIAL_Q_VALUE() { return propertyOr(Key.INITIAL_Q_VALUE, 500f); }
 
     /**
      * The maximal number of episodes (testcases).
      *
      * @return Returns the maximal number of episodes.
      */
-    public static int MAX_NUM_OF_EPISODES() { return propertyOr(100); }
+    public static int MAX_NUM_OF_EPISODES() { return propertyOr(Key.MAX_NUM_OF_EPISODES, 100); }
 
     /**
      * The maximal length of an episode (a test case).
      *
      * @return Returns the maximal episode length.
      */
-    public static int MAX_EPISODE_LENGTH() { return propertyOr(50); }
+    public static int MAX_EPISODE_LENGTH() { return propertyOr(Key.MAX_EPISODE_LENGTH, 50); }
 
     /*
      * End AutoDroid properties
      */
 
     /**
-     * Looks up the value of the property in the Properties object stored in the Registry using the
-     * name of the caller method as the key of the property. If no property with that key is stored
-     * the given default value will be returned.
+     * The keys of the properties, one per property getter. The lower case name of a key is the
+     * key of the property in the mate.properties file.
+     */
+    private enum Key {
+        TIMEOUT,
+        ANT_GENERATION,
+        ANT_NUMBER,
+        ANT_LENGTH,
+        EVAPORATION_RATE,
+        INITIALIZATION_PHEROMONE,
+        PROBABILITY_SELECT_BEST_ACTION,
+        BEST_ANT,
+        STATE_EQUIVALENCE_LEVEL,
+        SURROGATE_MODEL,
+        RELATIVE_INTENT_AMOUNT,
+        OPTIMISATION_STRATEGY,
+        RECORD_TEST_CASE_STATS,
+        RECORD_TEST_CASE,
+        RANDOM_SEED,
+        POPULATION_SIZE,
+        BIG_POPULATION_SIZE,
+        NUMBER_TESTCASES,
+        MAX_NUMBER_EVENTS,
+        P_CROSSOVER,
+        P_MUTATE,
+        P_SAMPLE_RANDOM,
+        P_FOCUSED_SEARCH_START,
+        EVO_ITERATIONS_NUMBER,
+        MUTATION_RATE,
+        TOURNAMENT_SIZE,
+        DEFAULT_SELECTION_SIZE,
+        FITNESS_FUNCTION,
+        GE_FITNESS_FUNCTION,
+        SELECTION_FUNCTION,
+        MUTATION_FUNCTION,
+        CROSSOVER_FUNCTION,
+        TERMINATION_CONDITION,
+        CHROMOSOME_FACTORY,
+        ALGORITHM,
+        GREY_BOX_COVERAGE_CRITERION,
+        SEED_CORPUS_SIZE,
+        MAX_ENERGY,
+        OBJECTIVE,
+        COVERAGE,
+        GRAPH_TYPE,
+        APK,
+        METHOD_NAME,
+        BASIC_BLOCKS,
+        RESOLVE_ONLY_AUT_CLASSES,
+        EXCLUDE_ART_CLASSES,
+        TARGET,
+        DRAW_RAW_GRAPH,
+        WIDGET_BASED_ACTIONS,
+        RECORD_STACK_TRACE,
+        GE_SEQUENCE_LENGTH,
+        GE_TEST_CASE_ENDING_BIAS_PER_TEN_THOUSAND,
+        GE_MUTATION_COUNT,
+        NOVELTY_THRESHOLD,
+        ARCHIVE_LIMIT,
+        NEAREST_NEIGHBOURS,
+        CLIENT_SIDE_NOVELTY,
+        QUICK_LAUNCH,
+        ADAPTIVE_UI_WAIT,
+        UI_IDLE_QUIET_PERIOD,
+        UI_IDLE_MAX_WAIT,
+        EPSILON,
+        ALPHA,
+        GAMMA,
+        MIN_L,
+        MAX_L,
+        ABT_EPSILON,
+        ABT_DISCOUNT_FACTOR,
+        ABT_MAX_NUM_OF_EPISODES,
+        ABT_MAX_EPISODE_LENGTH,
+        P_HOME_BUTTON,
+        INITIAL_Q_VALUE,
+        MAX_NUM_OF_EPISODES,
+        MAX_EPISODE_LENGTH
+    }
+
+    /**
+     * Maps the lower case name of a key to the key.
+     */
+    private static final Map<String, Key> KEYS = new HashMap<>();
+
+    static {
+        for (Key key : Key.values()) {
+            KEYS.put(key.name().toLowerCase(), key);
+        }
+    }
+
+    /**
+     * Marks a property that has not been set, since {@code null} is a valid property value.
+     */
+    private static final Object UNSET = new Object();
+
+    /**
+     * Looks up the value of the given property in the Properties object stored in the Registry.
+     * If the property has not been set, the given default value is returned.
+     *
+     * @param key The key of the property.
      * @param defaultValue Default value of the property
      * @param <T> Type of the property
      * @return Value of the property if stored otherwise the given default value
      */
     @SuppressWarnings("unchecked")
-    private static <T> T propertyOr(T defaultValue) {
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        String callerName = stackTrace[3].getMethodName().toLowerCase();
-        Properties propertiesInstance = Registry.getProperties();
-        if (propertiesInstance.store.containsKey(callerName)) {
-            return ((T) propertiesInstance.store.get(callerName));
-        }
-        return defaultValue;
+    private static <T> T propertyOr(Key key, T defaultValue) {
+        Object value = Registry.getProperties().values[key.ordinal()];
+        return value != UNSET ? (T) value : defaultValue;
+    }
+
+    /*
+     * The primitive variants of propertyOr() avoid boxing the default value on every access.
+     */
+
+    private static int propertyOr(Key key, int defaultValue) {
+        Object value = Registry.getProperties().values[key.ordinal()];
+        return value != UNSET ? (Integer) value : defaultValue;
     }
 
-    private final Map<String, Object> store;
+    private static float propertyOr(Key key, float defaultValue) {
+        Object value = Registry.getProperties().values[key.ordinal()];
+        return value != UNSET ? (Float) value : defaultValue;
+    }
+
+    private static double propertyOr(Key key, double defaultValue) {
+        Object value = Registry.getProperties().values[key.ordinal()];
+        return value != UNSET ? (Double) value : defaultValue;
+    }
+
+    private static boolean propertyOr(Key key, boolean defaultValue) {
+        Object value = Registry.getProperties().values[key.ordinal()];
+        return value != UNSET ? (Boolean) value : defaultValue;
+    }
+
+    /**
+     * The property values indexed by the ordinal of their key.
+     */
+    private final Object[] values;
 
     public Properties(Map<String, String> properties) {
-        store = new HashMap<>();
+        values = new Object[Key.values().length];
+        Arrays.fill(values, UNSET);
         readProperties(properties);
     }
 
@@ -475,15 +650,22 @@ public class Properties {
      */
     // TODO: Remove once all properties are enforced via the mate.properties file!
     public static void setProperty(String key, Object value) {
-        Registry.getProperties().store.put(key, value);
+        Key propertyKey = KEYS.get(key.toLowerCase());
+        if (propertyKey != null) {
+            Registry.getProperties().values[propertyKey.ordinal()] = value;
+        } else {
+            MATELog.log_acc("Unknown property with key: " + key);
+        }
     }
 
     private void readProperties(Map<String, String> properties) {
         Map<String, Class<?>> propertiesInfo = new HashMap<>();
 
+        // the types are only resolved once here, the property getters don't use reflection
         for (Method declaredMethod : Properties.class.getDeclaredMethods()) {
             if (Modifier.isPublic(declaredMethod.getModifiers())
-                    && Modifier.isStatic(declaredMethod.getModifiers())) {
+                    && Modifier.isStatic(declaredMethod.getModifiers())
+                    && KEYS.containsKey(declaredMethod.getName().toLowerCase())) {
                 propertiesInfo.put(
                         declaredMethod.getName().toLowerCase(),
                         declaredMethod.getReturnType());
@@ -497,7 +679,7 @@ public class Properties {
                     Object parsedObj = GenericParser.parse(
                             propertiesInfo.get(key),
                             property.getValue());
-                    store.put(key, parsedObj);
+                    values[KEYS.get(key).ordinal()] = parsedObj;
                 } catch (Exception e) {
                     MATELog.log_acc(
                             "Failure while trying to parse \""
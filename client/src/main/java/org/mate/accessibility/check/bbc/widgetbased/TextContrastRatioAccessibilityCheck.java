@@ -10,6 +10,11 @@ import org.mate.accessibility.check.IWidgetAccessibilityCheck;
 import org.mate.state.IScreenState;
 import org.mate.commons.interaction.action.ui.Widget;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Created by marceloeler on 26/06/17.
  */
@@ -22,6 +27,16 @@ public class TextContrastRatioAccessibilityCheck implements IWidgetAccessibility
     private double contratio;
     boolean screenShot;
 
+    /**
+     * The screen state whose contrast ratios have been retrieved last.
+     */
+    private IScreenState checkedState;
+
+    /**
+     * The contrast ratios of the text widgets of {@link #checkedState}.
+     */
+    private Map<Widget, Double> contrastRatios = new IdentityHashMap<>();
+
     public TextContrastRatioAccessibilityCheck(){
         contratio=21;
         screenShot=false;
@@ -35,7 +50,16 @@ public class TextContrastRatioAccessibilityCheck implements IWidgetAccessibility
         if (!needsTextContrastChecked(widget))
                 return null;
         contratio=21;
-        double contrastRatio = Registry.getEnvironmentManager().getContrastRatio(packageName,stateId,widget);
+
+        // retrieve the contrast ratios of all text widgets of a new screen state up front
+        if (state != checkedState) {
+            contrastRatios = getContrastRatios(state);
+            checkedState = state;
+        }
+
+        Double cachedContrastRatio = contrastRatios.get(widget);
+        double contrastRatio = cachedContrastRatio != null ? cachedContrastRatio
+                : Registry.getEnvironmentManager().getContrastRatio(packageName,stateId,widget);
         contratio=contrastRatio;
         //MATE.log("Checked: " + widget.getClazz()+" txt:"+ widget.getText()+ " hint: " + widget.getHint()+":"+widget.getContentDesc()+" contrast ratio: " + contrastRatio);
         if (contrastRatio< AccessibilitySettings.MIN_CONTRAST_RATIO)
@@ -43,6 +67,33 @@ public class TextContrastRatioAccessibilityCheck implements IWidgetAccessibility
         return null;
     }
 
+    /**
+     * Retrieves the contrast ratios of all widgets of the given screen state that need to be
+     * checked. The MATE server computes the contrast ratio per widget, thus a request is sent for
+     * each widget, but all requests are pipelined over the same connection.
+     *
+     * @param state The screen state.
+     * @return Returns the contrast ratio of each text widget.
+     */
+    public Map<Widget, Double> getContrastRatios(IScreenState state) {
+
+        List<Widget> textWidgets = new ArrayList<>();
+        for (Widget widget : state.getWidgets()) {
+            if (needsTextContrastChecked(widget)) {
+                textWidgets.add(widget);
+            }
+        }
+
+        double[] ratios = Registry.getEnvironmentManager()
+                .getContrastRatios(state.getPackageName(), state.getId(), textWidgets);
+
+        Map<Widget, Double> contrastRatios = new IdentityHashMap<>();
+        for (int i = 0; i < textWidgets.size(); i++) {
+            contrastRatios.put(textWidgets.get(i), ratios[i]);
+        }
+        return contrastRatios;
+    }
+
     public boolean needsTextContrastChecked(Widget widget) {
 
         if (!widget.isImportantForAccessibility())
@@ -21,9 +21,11 @@ public class GreyBoxCoverageFuzzer<T> extends GreyBoxFuzzing<T> {
 
     /**
      * We need to maintain the total coverage to check whether a mutated chromosome increased it.
-     * That way, we can decide whether a chromosome {@link #isInteresting(IChromosome)}.
+     * That way, we can decide whether a chromosome {@link #isInteresting(IChromosome)}. The total
+     * coverage is requested once and then updated with every mutated chromosome s', see
+     * {@link #isCrashing(IChromosome)}.
      */
-    private double totalCoverage = 0.0;
+    private double totalCoverage = Double.NaN;
 
     /**
      * Whether the last considered chromosome s' fulfills {@link #isInteresting(IChromosome)}.
@@ -35,6 +37,12 @@ public class GreyBoxCoverageFuzzer<T> extends GreyBoxFuzzing<T> {
      */
     private final Coverage coverageCriterion;
 
+    /**
+     * Caches the coverage and energy of the chromosomes in the seed corpus S and orders them by
+     * priority.
+     */
+    private final SeedCorpus<T> seeds;
+
     /**
      * Initialises the greybox fuzzer.
      *
@@ -53,28 +61,32 @@ public class GreyBoxCoverageFuzzer<T> extends GreyBoxFuzzing<T> {
                                  int maxEnergy) {
         super(chromosomeFactory, mutationFunction, terminationCondition, corpusSize, maxEnergy);
         this.coverageCriterion = coverageCriterion;
+        seeds = new SeedCorpus<>(new SeedCorpus.Evaluator<T>() {
+            @Override
+            public double getCoverage(IChromosome<T> seed) {
+                return CoverageUtils.getCoverage(coverageCriterion, seed)
+                        .getCoverage(coverageCriterion);
+            }
+
+            @Override
+            public int getEnergy(IChromosome<T> seed) {
+                return computeEnergy(seed);
+            }
+        });
     }
 
     /**
      * Chooses the next chromosome from the seed corpus S. We pick the chromosome with the
-     * highest coverage.
+     * highest coverage and among those the one with the highest energy. The coverage of a
+     * chromosome is only requested once, when it enters the seed corpus.
      *
      * @param seedCorpus The seed corpus S.
      * @return Returns the next chromosome from the seed corpus S.
      */
     @Override
     public IChromosome<T> chooseNext(List<IChromosome<T>> seedCorpus) {
-
-        IChromosome<T> best = seedCorpus.get(0);
-
-        for (IChromosome<T> s : seedCorpus) {
-            double coverage = CoverageUtils.getCoverage(coverageCriterion, s).getCoverage(coverageCriterion);
-            if (coverage > CoverageUtils.getCoverage(coverageCriterion, best).getCoverage(coverageCriterion)) {
-                best = s;
-            }
-        }
-
-        return best;
+        seeds.addNew(seedCorpus);
+        return seeds.getBest();
     }
 
     /**
@@ -88,10 +100,25 @@ public class GreyBoxCoverageFuzzer<T> extends GreyBoxFuzzing<T> {
     public int assignEnergy(IChromosome<T> s) {
 
         /*
-        * We need to make a snapshot of the total coverage here in order to tell whether a
-        * mutated chromosome s' is going to increase the total coverage or not.
+        * We need to know the total coverage here in order to tell whether a mutated chromosome s'
+        * is going to increase the total coverage or not. Afterwards, the total coverage is kept
+        * up to date by isCrashing().
          */
-        totalCoverage = CoverageUtils.getCombinedCoverage(coverageCriterion).getCoverage(coverageCriterion);
+        if (Double.isNaN(totalCoverage)) {
+            totalCoverage = CoverageUtils.getCombinedCoverage(coverageCriterion)
+                    .getCoverage(coverageCriterion);
+        }
+
+        return seeds.getEnergy(s);
+    }
+
+    /**
+     * Computes the energy of the given chromosome s, which is higher for shorter chromosomes.
+     *
+     * @param s The chromosome s.
+     * @return Returns the energy of the chromosome s.
+     */
+    private int computeEnergy(IChromosome<T> s) {
 
         if (s.getValue() instanceof TestCase) {
             int size = ((TestCase) s.getValue()).getEventSequence().size();
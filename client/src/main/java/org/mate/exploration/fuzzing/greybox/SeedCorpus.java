@@ -0,0 +1,176 @@
+package org.mate.exploration.fuzzing.greybox;
+
+import org.mate.exploration.genetic.chromosome.IChromosome;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Indexes the seed corpus S of a greybox fuzzer by priority. The coverage and the energy of a
+ * seed are determined exactly once, when the seed enters the corpus, and the seeds are kept in a
+ * priority queue ordered by descending coverage, then descending energy and finally by the order
+ * in which they entered the corpus. Hence, choosing the next seed requires neither a scan over
+ * the corpus nor any coverage request.
+ *
+ * @param <T> Either a {@link org.mate.model.TestCase} or a {@link org.mate.model.TestSuite}.
+ */
+public class SeedCorpus<T> {
+
+    /**
+     * Determines the priority of a seed.
+     *
+     * @param <T> Either a {@link org.mate.model.TestCase} or a {@link org.mate.model.TestSuite}.
+     */
+    public interface Evaluator<T> {
+
+        /**
+         * Determines the coverage of the given seed.
+         *
+         * @param seed The seed.
+         * @return Returns the coverage of the seed.
+         */
+        double getCoverage(IChromosome<T> seed);
+
+        /**
+         * Determines the energy of the given seed.
+         *
+         * @param seed The seed.
+         * @return Returns the energy of the seed.
+         */
+        int getEnergy(IChromosome<T> seed);
+    }
+
+    /**
+     * A seed together with its cached priority.
+     */
+    private static final class Seed<T> {
+
+        private final IChromosome<T> chromosome;
+        private final double coverage;
+        private final int energy;
+        private final int order;
+
+        private Seed(IChromosome<T> chromosome, double coverage, int energy, int order) {
+            this.chromosome = chromosome;
+            this.coverage = coverage;
+            this.energy = energy;
+            this.order = order;
+        }
+    }
+
+    private final Evaluator<T> evaluator;
+
+    /**
+     * The seeds ordered by priority, the head is the seed to be chosen next.
+     */
+    private final PriorityQueue<Seed<T>> seeds;
+
+    /**
+     * Maps a chromosome to its seed entry.
+     */
+    private final Map<IChromosome<T>, Seed<T>> entries = new IdentityHashMap<>();
+
+    /**
+     * The number of seeds of the fuzzer's seed corpus that have been added so far.
+     */
+    private int numberOfListedSeeds = 0;
+
+    /**
+     * Creates a new, empty seed corpus.
+     *
+     * @param evaluator Determines the coverage and energy of a seed.
+     */
+    public SeedCorpus(Evaluator<T> evaluator) {
+        this.evaluator = evaluator;
+        seeds = new PriorityQueue<>(11, new Comparator<Seed<T>>() {
+            @Override
+            public int compare(Seed<T> first, Seed<T> second) {
+                int comparison = Double.compare(second.coverage, first.coverage);
+                if (comparison == 0) {
+                    comparison = Integer.compare(second.energy, first.energy);
+                }
+                if (comparison == 0) {
+                    comparison = Integer.compare(first.order, second.order);
+                }
+                return comparison;
+            }
+        });
+    }
+
+    /**
+     * Adds a seed to the corpus. The coverage and energy of the seed are determined here.
+     *
+     * @param chromosome The new seed.
+     */
+    public void add(IChromosome<T> chromosome) {
+        if (!entries.containsKey(chromosome)) {
+            Seed<T> seed = new Seed<>(chromosome, evaluator.getCoverage(chromosome),
+                    evaluator.getEnergy(chromosome), entries.size());
+            entries.put(chromosome, seed);
+            seeds.add(seed);
+        }
+    }
+
+    /**
+     * Adds the seeds that have been appended to the given seed corpus since the last call. The
+     * greybox fuzzer only ever appends to the seed corpus.
+     *
+     * @param seedCorpus The seed corpus S.
+     */
+    public void addNew(List<IChromosome<T>> seedCorpus) {
+        for (; numberOfListedSeeds < seedCorpus.size(); numberOfListedSeeds++) {
+            add(seedCorpus.get(numberOfListedSeeds));
+        }
+    }
+
+    /**
+     * Returns the seed with the highest priority.
+     *
+     * @return Returns the next seed.
+     */
+    public IChromosome<T> getBest() {
+
+        Seed<T> best = seeds.peek();
+
+        if (best == null) {
+            throw new IllegalStateException("Empty seed corpus!");
+        }
+
+        return best.chromosome;
+    }
+
+    /**
+     * Returns the cached energy of the given seed. The energy of a chromosome that is not part of
+     * the corpus is determined on the fly.
+     *
+     * @param chromosome The seed.
+     * @return Returns the energy of the seed.
+     */
+    public int getEnergy(IChromosome<T> chromosome) {
+        Seed<T> seed = entries.get(chromosome);
+        return seed != null ? seed.energy : evaluator.getEnergy(chromosome);
+    }
+
+    /**
+     * Returns the cached coverage of the given seed.
+     *
+     * @param chromosome The seed.
+     * @return Returns the coverage of the seed.
+     */
+    public double getCoverage(IChromosome<T> chromosome) {
+        Seed<T> seed = entries.get(chromosome);
+        return seed != null ? seed.coverage : evaluator.getCoverage(chromosome);
+    }
+
+    /**
+     * Returns the number of seeds in the corpus.
+     *
+     * @return Returns the size of the corpus.
+     */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -274,6 +274,9 @@ public class MIO<T> extends GeneticAlgorithm<T> {
 
         MATELog.log_acc("Updating Archive...");
 
+        // retrieve the fitness vectors of all sampled chromosomes at once
+        FitnessUtils.prefetchFitness(population);
+
         // evaluate fitness and update archive
         for (IChromosome<T> chromosome : population) {
             for (IFitnessFunction<T> target : this.fitnessFunctions) {
@@ -90,6 +90,9 @@ public class MOSA<T> extends GeneticAlgorithm<T> {
     public void createInitialPopulation() {
 
         super.createInitialPopulation();
+
+        // retrieve the fitness vectors of the whole population at once
+        FitnessUtils.prefetchFitness(population);
         updateArchive(population);
 
         // we need to filter the covered fitness functions (targets)
@@ -146,6 +149,9 @@ public class MOSA<T> extends GeneticAlgorithm<T> {
             }
         }
 
+        // retrieve the fitness vectors of all offsprings at once
+        FitnessUtils.prefetchFitness(newGeneration);
+
         // we need to filter the covered fitness functions (targets)
         Set<IFitnessFunction<T>> coveredFitnessFunctions = getCoveredFitnessFunctions(
                 uncoveredFitnessFunctions, newGeneration);
@@ -194,6 +194,7 @@ public class NoveltySearch<T> extends GeneticAlgorithm<T> {
                 .filter(pair -> !survivors.contains(pair.first))
                 .collect(Collectors.toList());
         noveltyPairs.removeAll(toBeRemoved);
+        noveltyFitnessFunction.cleanCache(population);
 
         logCurrentFitness();
         currentGenerationNumber++;
@@ -0,0 +1,246 @@
+package org.mate.exploration.genetic.chromosome_factory;
+
+import org.mate.commons.interaction.action.ui.UIAction;
+import org.mate.commons.interaction.action.ui.WidgetAction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the statistics used by the {@link HeuristicalChromosomeFactory} to weight the actions,
+ * i.e. how often an action has been executed, how many unvisited widgets an action has revealed
+ * and which actions preceded a widget. Actions and widgets are assigned consecutive integer ids
+ * when they are encountered for the first time, thus the statistics are kept in primitive arrays.
+ * The widget of an action is resolved once when the action is encountered for the first time.
+ * The maximal number of unvisited widgets over all actions is maintained on every update based on
+ * the frequencies of the stored values, thus it is available in constant time.
+ */
+class ActionStatistics {
+
+    /**
+     * Maps each action to its id.
+     */
+    private final Map<UIAction, Integer> actionIds = new HashMap<>();
+
+    /**
+     * Stores the id of the widget targeted by an action.
+     */
+    private int[] widgetOfAction = new int[64];
+
+    /**
+     * Maps each widget to its id.
+     */
+    private final Map<String, Integer> widgetIds = new HashMap<>();
+
+    /**
+     * Stores how many times an action was executed so far.
+     */
+    private int[] executionCounter = new int[64];
+
+    /**
+     * Stores the number of unvisited widgets after executing an action or {@code -1} if unknown.
+     */
+    private int[] unvisitedChildWidgetCounter = new int[64];
+
+    /**
+     * Stores how many actions have a certain number of unvisited widgets.
+     */
+    private int[] unvisitedChildWidgetFrequencies = new int[64];
+
+    /**
+     * The maximal number of unvisited widgets over all actions.
+     */
+    private int maxUnvisitedChildWidgets = 0;
+
+    /**
+     * Stores for each widget whether it has been visited already.
+     */
+    private final BitSet visitedWidgets = new BitSet();
+
+    /**
+     * Stores for each unvisited widget the ids of the actions that lead to its discovery.
+     */
+    private final List<BitSet> actionsPrecedingWidget = new ArrayList<>();
+
+    ActionStatistics() {
+        Arrays.fill(unvisitedChildWidgetCounter, -1);
+    }
+
+    /**
+     * Returns the id of the given action. An unknown action is assigned the next free id.
+     *
+     * @param action The action.
+     * @return Returns the id of the action.
+     */
+    int getActionId(UIAction action) {
+
+        Integer actionId = actionIds.get(action);
+
+        if (actionId == null) {
+
+            actionId = actionIds.size();
+            actionIds.put(action, actionId);
+
+            if (actionId == executionCounter.length) {
+                executionCounter = Arrays.copyOf(executionCounter, actionId * 2);
+                widgetOfAction = Arrays.copyOf(widgetOfAction, actionId * 2);
+                unvisitedChildWidgetCounter = Arrays.copyOf(unvisitedChildWidgetCounter, actionId * 2);
+                Arrays.fill(unvisitedChildWidgetCounter, actionId, actionId * 2, -1);
+            }
+
+            widgetOfAction[actionId] = getWidgetId(getWidgetId(action));
+        }
+        return actionId;
+    }
+
+    /**
+     * Returns the identifier of the widget targeted by the given action. Actions that don't refer
+     * to a widget are identified by the activity and the action type.
+     *
+     * @param action The given action.
+     * @return Returns the widget identifier.
+     */
+    private static String getWidgetId(UIAction action) {
+        if (action instanceof WidgetAction) {
+            return ((WidgetAction) action).getWidget().getId();
+        } else {
+            return action.getActivityName() + "->" + action.getActionType().name();
+        }
+    }
+
+    /**
+     * Returns the id of the widget targeted by the given action.
+     *
+     * @param actionId The action id.
+     * @return Returns the widget id.
+     */
+    int getWidgetOfAction(int actionId) {
+        return widgetOfAction[actionId];
+    }
+
+    /**
+     * Returns the id of the given widget. An unknown widget is assigned the next free id.
+     *
+     * @param widgetId The widget identifier.
+     * @return Returns the id of the widget.
+     */
+    private int getWidgetId(String widgetId) {
+
+        Integer id = widgetIds.get(widgetId);
+
+        if (id == null) {
+            id = widgetIds.size();
+            widgetIds.put(widgetId, id);
+            actionsPrecedingWidget.add(new BitSet());
+        }
+        return id;
+    }
+
+    int getExecutionCounter(int actionId) {
+        return executionCounter[actionId];
+    }
+
+    void incrementExecutionCounter(int actionId) {
+        executionCounter[actionId]++;
+    }
+
+    /**
+     * Returns the number of unvisited widgets after executing the given action.
+     *
+     * @param actionId The action id.
+     * @return Returns the number of unvisited widgets or {@code -1} if unknown.
+     */
+    int getUnvisitedChildWidgets(int actionId) {
+        return unvisitedChildWidgetCounter[actionId];
+    }
+
+    /**
+     * Returns the maximal number of unvisited widgets over all actions.
+     *
+     * @return Returns the maximal number of unvisited widgets or {@code 0} if none is known.
+     */
+    int getMaxUnvisitedChildWidgets() {
+        return maxUnvisitedChildWidgets;
+    }
+
+    /**
+     * Sets the number of unvisited widgets after executing the given action.
+     *
+     * @param actionId The action id.
+     * @param count The number of unvisited widgets.
+     */
+    void setUnvisitedChildWidgets(int actionId, int count) {
+
+        int previousCount = unvisitedChildWidgetCounter[actionId];
+
+        if (previousCount != -1) {
+            unvisitedChildWidgetFrequencies[previousCount]--;
+        }
+
+        if (count >= unvisitedChildWidgetFrequencies.length) {
+            unvisitedChildWidgetFrequencies = Arrays.copyOf(unvisitedChildWidgetFrequencies,
+                    Math.max(count + 1, unvisitedChildWidgetFrequencies.length * 2));
+        }
+
+        unvisitedChildWidgetCounter[actionId] = count;
+        unvisitedChildWidgetFrequencies[count]++;
+
+        if (count > maxUnvisitedChildWidgets) {
+            maxUnvisitedChildWidgets = count;
+        } else {
+            while (maxUnvisitedChildWidgets > 0
+                    && unvisitedChildWidgetFrequencies[maxUnvisitedChildWidgets] == 0) {
+                maxUnvisitedChildWidgets--;
+            }
+        }
+    }
+
+    boolean isVisited(int widgetId) {
+        return visitedWidgets.get(widgetId);
+    }
+
+    /**
+     * Records that the given action preceded the given widget. This is only tracked for unvisited
+     * widgets, since the preceding actions are only considered when a widget is visited the first
+     * time.
+     *
+     * @param widgetId The widget id.
+     * @param actionId The id of the preceding action.
+     */
+    void addActionPrecedingWidget(int widgetId, int actionId) {
+        if (!visitedWidgets.get(widgetId)) {
+            actionsPrecedingWidget.get(widgetId).set(actionId);
+        }
+    }
+
+    /**
+     * Marks the given widget as visited and decreases the number of unvisited widgets of all
+     * actions that preceded the widget.
+     *
+     * @param widgetId The widget id.
+     */
+    void visitWidget(int widgetId) {
+
+        if (visitedWidgets.get(widgetId)) {
+            return;
+        }
+
+        BitSet precedingActions = actionsPrecedingWidget.get(widgetId);
+
+        for (int actionId = precedingActions.nextSetBit(0); actionId >= 0;
+             actionId = precedingActions.nextSetBit(actionId + 1)) {
+            int count = unvisitedChildWidgetCounter[actionId];
+            if (count > 0) {
+                setUnvisitedChildWidgets(actionId, count - 1);
+            }
+        }
+
+        visitedWidgets.set(widgetId);
+        // the preceding actions of a visited widget are not needed anymore
+        actionsPrecedingWidget.set(widgetId, null);
+    }
+}
@@ -0,0 +1,171 @@
+package org.mate.exploration.genetic.chromosome_factory;
+
+import org.mate.commons.interaction.action.ui.UIAction;
+import org.mate.commons.utils.Randomness;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects the actions of the {@link HeuristicalChromosomeFactory} according to the approach used
+ * in Stoat (https://tingsu.github.io/files/fse17-stoat.pdf), see section 3.2. The selector only
+ * depends on the executable actions of the current screen, thus it can be used without a device.
+ */
+class HeuristicalActionSelector {
+
+    /**
+     * Stores the execution counters, the unvisited widgets per action and the visited widgets.
+     */
+    private final ActionStatistics statistics = new ActionStatistics();
+
+    /**
+     * The hyperparameters as described in section 3.2 of the Stoat paper.
+     */
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+
+    /**
+     * The id of the previous action or {@code -1} if there is no previous action.
+     */
+    private int previousActionId = -1;
+
+    /**
+     * Initialises a new action selector with the given hyperparameters.
+     *
+     * @param alpha The value for the hyperparameter alpha.
+     * @param beta The value for the hyperparameter beta.
+     * @param gamma The value for the hyperparameter gamma.
+     */
+    HeuristicalActionSelector(double alpha, double beta, double gamma) {
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Selects the next action among the executable actions of the current screen. Here the action
+     * with the highest assigned weight is selected, ties are broken randomly.
+     *
+     * @param executableActions The list of available actions on the current screen.
+     * @return Returns the selected action.
+     */
+    UIAction selectAction(List<UIAction> executableActions) {
+
+        // compute unvisited widgets of previous action (if there is a previous action)
+        computeUnvisitedWidgets(executableActions);
+
+        // the actions with the highest weights represent candidates
+        List<UIAction> candidateActions = new ArrayList<>();
+        List<Integer> candidateWidgetIds = new ArrayList<>();
+        double maxWeight = 0.0;
+
+        // derive the actions with the highest weights
+        for (UIAction action : executableActions) {
+
+            int actionId = statistics.getActionId(action);
+            int widgetId = statistics.getWidgetOfAction(actionId);
+
+            double weight = computeExecutionWeight(action, actionId);
+            if (weight > maxWeight) {
+                candidateActions.clear();
+                candidateWidgetIds.clear();
+                candidateActions.add(action);
+                candidateWidgetIds.add(widgetId);
+                maxWeight = weight;
+            } else if (weight == maxWeight) {
+                candidateActions.add(action);
+                candidateWidgetIds.add(widgetId);
+            }
+
+            if (previousActionId != -1) {
+                // add previously executed action to list of actions preceding an available widget
+                statistics.addActionPrecedingWidget(widgetId, previousActionId);
+            }
+        }
+
+        // select random action form candidates
+        int candidate = Randomness.randomIndex(candidateActions);
+        UIAction selectedAction = candidateActions.get(candidate);
+        int selectedActionId = statistics.getActionId(selectedAction);
+
+        // update frequency
+        statistics.incrementExecutionCounter(selectedActionId);
+
+        if (previousActionId != -1) {
+            // decrease the number of unvisited widgets, because this widget will be visited next
+            statistics.visitWidget(candidateWidgetIds.get(candidate));
+        }
+
+        previousActionId = selectedActionId;
+        return selectedAction;
+    }
+
+    /**
+     * Ends the current test case, i.e. the unvisited widgets of the last action are updated and
+     * the next selected action has no previous action.
+     *
+     * @param executableActions The list of available actions on the final screen.
+     */
+    void resetPreviousAction(List<UIAction> executableActions) {
+        computeUnvisitedWidgets(executableActions);
+        previousActionId = -1;
+    }
+
+    /**
+     * Computes the weight for a given action.
+     *
+     * @param action The action for which the weight should be computed.
+     * @param actionId The id of the action.
+     * @return Returns the computed weight for the given action.
+     */
+    private double computeExecutionWeight(UIAction action, int actionId) {
+
+        // the weight depends on the action type
+        double eventTypeWeight;
+        switch (action.getActionType()) {
+            case SWIPE_UP:
+            case SWIPE_DOWN:
+            case SWIPE_LEFT:
+            case SWIPE_RIGHT:
+            case BACK:
+                eventTypeWeight = 0.5;
+                break;
+            case MENU:
+                eventTypeWeight = 2;
+                break;
+            default:
+                eventTypeWeight = 1;
+                break;
+        }
+
+        int unvisitedChildren = statistics.getUnvisitedChildWidgets(actionId);
+        if (unvisitedChildren == -1) {
+            // twice highest if unknown
+            unvisitedChildren = statistics.getMaxUnvisitedChildWidgets() * 2;
+        }
+
+        // add 1 to not divide by zero
+        int executionFrequency = statistics.getExecutionCounter(actionId) + 1;
+
+        return ((alpha * eventTypeWeight) + (beta * unvisitedChildren)) / (gamma * executionFrequency);
+    }
+
+    /**
+     * Computes the number of unvisited widgets caused through the last action.
+     *
+     * @param executableActions The list of available actions on the current screen.
+     */
+    private void computeUnvisitedWidgets(List<UIAction> executableActions) {
+        if (previousActionId != -1) {
+            int count = 0;
+            for (UIAction action : executableActions) {
+                int widgetId = statistics.getWidgetOfAction(statistics.getActionId(action));
+                if (!statistics.isVisited(widgetId)) {
+                    count++;
+                }
+            }
+            statistics.setUnvisitedChildWidgets(previousActionId, count);
+        }
+    }
+}
@@ -2,18 +2,7 @@ package org.mate.exploration.genetic.chromosome_factory;
 
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.commons.interaction.action.Action;
-import org.mate.commons.interaction.action.ui.UIAction;
-import org.mate.commons.interaction.action.ui.WidgetAction;
 import org.mate.model.TestCase;
-import org.mate.commons.utils.Randomness;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 /**
  * This factory generates test cases where the individual actions are weighted and selected
@@ -23,33 +12,9 @@ import java.util.Set;
 public class HeuristicalChromosomeFactory extends AndroidRandomChromosomeFactory {
 
     /**
-     * Stores how many times an action was executed so far.
-     */
-    private final Map<Action, Integer> executionCounter = new HashMap<>();
-
-    /**
-     * The list of already visited widgets.
-     */
-    private final List<String> visitedWidgetIds = new ArrayList<>();
-
-    /**
-     * Stores the number of unvisited widgets after executing an action.
-     */
-    private final Map<Action, Integer> unvisitedChildWidgetCounter = new HashMap<>();
-
-    /**
-     * Stores a list of actions that lead to discovery of a widget.
-     */
-    private final Map<String, Set<Action>> actionsPrecedingWidget = new HashMap<>();
-
-    /**
-     * The hyperparameters as described in section 3.2 of the Stoat paper.
+     * Selects the actions according to the weights of the Stoat paper.
      */
-    private final double alpha;
-    private final double beta;
-    private final double gamma;
-
-    private Action previousAction = null;
+    private final HeuristicalActionSelector selector;
 
     /**
      * Initialises a new chromosome factory that generates test cases which actions are sampled
@@ -86,9 +51,7 @@ public class HeuristicalChromosomeFactory extends AndroidRandomChromosomeFactory
     public HeuristicalChromosomeFactory(boolean resetApp, int maxNumEvents,
                                         double alpha, double beta, double gamma) {
         super(resetApp, maxNumEvents);
-        this.alpha = alpha;
-        this.beta = beta;
-        this.gamma = gamma;
+        selector = new HeuristicalActionSelector(alpha, beta, gamma);
     }
 
     /**
@@ -101,9 +64,7 @@ public class HeuristicalChromosomeFactory extends AndroidRandomChromosomeFactory
         IChromosome<TestCase> chromosome = super.createChromosome();
 
         // updates the unvisited widgets for the last executed action
-        computeUnvisitedWidgets(uiAbstractionLayer.getExecutableActions());
-
-        previousAction = null;
+        selector.resetPreviousAction(uiAbstractionLayer.getExecutableActions());
 
         return chromosome;
     }
@@ -116,139 +77,6 @@ public class HeuristicalChromosomeFactory extends AndroidRandomChromosomeFactory
      */
     @Override
     protected Action selectAction() {
-
-        List<UIAction> executableActions = uiAbstractionLayer.getExecutableActions();
-
-        // compute unvisited widgets of previous action (if there is a previous action)
-       computeUnvisitedWidgets(executableActions);
-
-        // the actions with the highest weights represent candidates
-        List<UIAction> candidateActions = new ArrayList<>();
-        double maxWeight = 0.0;
-
-        // derive the actions with the highest weights
-        for (UIAction action : executableActions) {
-            double weight = computeExecutionWeight(action);
-            if( weight > maxWeight){
-                candidateActions = new ArrayList<>();
-                candidateActions.add(action);
-                maxWeight = weight;
-            } else if (weight == maxWeight) {
-                candidateActions.add(action);
-            }
-
-            if (previousAction != null) {
-                // add previously executed action to list of actions preceding an available widget
-                String widgetId = action.getActivityName() + "->" + action.getActionType().name();
-                if (action instanceof WidgetAction) {
-                    widgetId = ((WidgetAction) action).getWidget().getId();
-                }
-                if (actionsPrecedingWidget.containsKey(widgetId)) {
-                    actionsPrecedingWidget.get(widgetId).add(previousAction);
-                } else {
-                    actionsPrecedingWidget.put(widgetId, new HashSet<>(Collections.singletonList(previousAction)));
-                }
-            }
-        }
-
-        // select random action form candidates
-        UIAction selectedAction = Randomness.randomElement(candidateActions);
-
-        String widgetId = selectedAction.getActivityName() + "->" + selectedAction.getActionType().name();
-
-        if (selectedAction instanceof WidgetAction) {
-            widgetId = ((WidgetAction) selectedAction).getWidget().getId();
-        }
-
-        // update frequency
-        if (executionCounter.containsKey(selectedAction)) {
-            executionCounter.put(selectedAction, executionCounter.get(selectedAction) + 1);
-        } else {
-            executionCounter.put(selectedAction, 1);
-        }
-
-        if (previousAction != null) {
-            // decrease the number of unvisited widgets, because this widget will be visited next
-            if (!visitedWidgetIds.contains(widgetId)) {
-                for (Action action : actionsPrecedingWidget.get(widgetId)) {
-                    if (unvisitedChildWidgetCounter.get(action) > 0) {
-                        unvisitedChildWidgetCounter.put(action, unvisitedChildWidgetCounter.get(action) - 1);
-                    }
-                }
-                visitedWidgetIds.add(widgetId);
-            }
-        }
-
-        previousAction = selectedAction;
-        return selectedAction;
-    }
-
-    /**
-     * Computes the weight for a given action.
-     *
-     * @param action The action for which the weight should be computed.
-     * @return Returns the computed weight for the given action.
-     */
-    private double computeExecutionWeight(UIAction action) {
-
-        // the weight depends on the action type
-        double eventTypeWeight;
-        switch (action.getActionType()) {
-            case SWIPE_UP:
-            case SWIPE_DOWN:
-            case SWIPE_LEFT:
-            case SWIPE_RIGHT:
-            case BACK:
-                eventTypeWeight = 0.5;
-                break;
-            case MENU:
-                eventTypeWeight = 2;
-                break;
-            default:
-                eventTypeWeight = 1;
-                break;
-        }
-
-        int unvisitedChildren;
-        if (unvisitedChildWidgetCounter.containsKey(action)) {
-            unvisitedChildren = unvisitedChildWidgetCounter.get(action);
-        } else {
-            // twice highest if unknown
-            int max = 0;
-            for (Action key : unvisitedChildWidgetCounter.keySet()) {
-                int current = unvisitedChildWidgetCounter.get(key);
-                max = current > max ? current : max;
-            }
-            unvisitedChildren = max * 2;
-        }
-
-        // add 1 to not divide by zero
-        int executionFrequency = (executionCounter.containsKey(action) ? executionCounter.get(action) : 0) + 1;
-
-        return((alpha * eventTypeWeight) + (beta * unvisitedChildren)) / (gamma * executionFrequency);
-    }
-
-    /**
-     * Computes the number of unvisited widgets caused through the last action.
-     *
-     * @param executableActions The list of available actions on the current screen.
-     */
-    private void computeUnvisitedWidgets(List<UIAction> executableActions) {
-        if (previousAction != null) {
-            int count = 0;
-            for (UIAction action : executableActions) {
-
-                String widgetId = action.getActivityName() + "->" + action.getActionType().name();
-
-                if (action instanceof WidgetAction) {
-                    widgetId = ((WidgetAction) action).getWidget().getId();
-                }
-
-                if (!visitedWidgetIds.contains(widgetId)) {
-                   count++;
-                }
-            }
-            unvisitedChildWidgetCounter.put(previousAction, count);
-        }
+        return selector.selectAction(uiAbstractionLayer.getExecutableActions());
     }
 }
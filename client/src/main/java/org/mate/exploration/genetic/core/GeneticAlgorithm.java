@@ -5,6 +5,7 @@ import org.mate.commons.utils.MATELog;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.chromosome_factory.IChromosomeFactory;
 import org.mate.exploration.genetic.crossover.ICrossOverFunction;
+import org.mate.exploration.genetic.fitness.FitnessCache;
 import org.mate.exploration.genetic.fitness.FitnessFunction;
 import org.mate.exploration.genetic.fitness.GenotypePhenotypeMappedFitnessFunction;
 import org.mate.exploration.genetic.fitness.IFitnessFunction;
@@ -267,6 +268,9 @@ public abstract class GeneticAlgorithm<T> implements IGeneticAlgorithm<T> {
             }
         }
 
+        MATELog.log_acc("Fitness cache: " + FitnessCache.getHits() + " hits, "
+                + FitnessCache.getMisses() + " misses");
+
         if (Properties.COVERAGE() != Coverage.NO_COVERAGE) {
 
             MATELog.log_acc("Combined coverage until now: "
@@ -2,7 +2,6 @@ package org.mate.exploration.genetic.fitness;
 
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.termination.ConditionalTerminationCondition;
-import org.mate.utils.FitnessUtils;
 
 /**
  * Provides a fitness metric based on basic block branch coverage. This requires that the
@@ -21,7 +20,7 @@ public class BasicBlockBranchCoverageFitnessFunction<T> implements IFitnessFunct
     @Override
     public double getFitness(IChromosome<T> chromosome) {
 
-        double basicBlockBranchCoverage = FitnessUtils.getFitness(chromosome);
+        double basicBlockBranchCoverage = FitnessCache.getFitness(chromosome, this);
 
         if (basicBlockBranchCoverage == 100.0) {
             ConditionalTerminationCondition.satisfiedCondition();
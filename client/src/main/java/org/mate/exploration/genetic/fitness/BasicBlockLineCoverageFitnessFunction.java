@@ -2,7 +2,6 @@ package org.mate.exploration.genetic.fitness;
 
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.termination.ConditionalTerminationCondition;
-import org.mate.utils.FitnessUtils;
 
 /**
  * Provides a fitness metric based on basic block line coverage. This requires that the
@@ -21,7 +20,7 @@ public class BasicBlockLineCoverageFitnessFunction<T> implements IFitnessFunctio
     @Override
     public double getFitness(IChromosome<T> chromosome) {
 
-        double basicBlockLineCoverage = FitnessUtils.getFitness(chromosome);
+        double basicBlockLineCoverage = FitnessCache.getFitness(chromosome, this);
 
         if (basicBlockLineCoverage == 100.0) {
             ConditionalTerminationCondition.satisfiedCondition();
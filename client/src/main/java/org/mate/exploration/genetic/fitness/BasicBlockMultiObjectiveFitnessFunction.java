@@ -4,10 +4,7 @@ import org.mate.commons.utils.MATELog;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.utils.FitnessUtils;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Provides a fitness metric based on basic block coverage for multi-objective algorithms. This
@@ -18,15 +15,16 @@ import java.util.Map;
  */
 public class BasicBlockMultiObjectiveFitnessFunction<T> implements IFitnessFunction<T> {
 
-    // a cache that stores for each basic block the set of test cases and its fitness value
-    private static final Map<String, Map<IChromosome, Double>> cache = new HashMap<>();
-
-    // all basic blocks (shared by instances)
-    private static final List<String> blocks = new ArrayList<>();
+    // a cache that stores for each test case the fitness value of every basic block
+    private static final FitnessMatrix cache
+            = FitnessMatrix.getInstance(FitnessFunction.BASIC_BLOCK_MULTI_OBJECTIVE);
 
     // the current basic block we want to evaluate this fitness function against
     private final String block;
 
+    // the column of the current basic block in the cache
+    private final int blockIndex;
+
     /**
      * Initialises the fitness function with the given basic block as target.
      *
@@ -34,8 +32,7 @@ public class BasicBlockMultiObjectiveFitnessFunction<T> implements IFitnessFunct
      */
     public BasicBlockMultiObjectiveFitnessFunction(String block) {
         this.block = block;
-        blocks.add(block);
-        cache.put(block, new HashMap<>());
+        blockIndex = cache.addObjective(block);
     }
 
     /**
@@ -49,23 +46,17 @@ public class BasicBlockMultiObjectiveFitnessFunction<T> implements IFitnessFunct
     @Override
     public double getFitness(IChromosome<T> chromosome) {
 
-        double basicBlockFitnessValue;
+        if (!cache.contains(chromosome)) {
 
-        if (cache.get(block).containsKey(chromosome)) {
-            basicBlockFitnessValue = cache.get(block).get(chromosome);
-        } else {
             // retrieves the fitness value for every single basic block
-            List<Double> basicBlockFitnessVector = FitnessUtils.getFitness(chromosome, blocks);
+            List<Double> basicBlockFitnessVector
+                    = FitnessUtils.getFitness(chromosome, cache.getObjectives());
 
             // insert them into the cache
-            for (int i = 0; i < basicBlockFitnessVector.size(); i++) {
-                cache.get(blocks.get(i)).put(chromosome, basicBlockFitnessVector.get(i));
-            }
-
-            basicBlockFitnessValue = cache.get(block).get(chromosome);
+            cache.put(chromosome, basicBlockFitnessVector);
         }
 
-        return basicBlockFitnessValue;
+        return cache.get(chromosome, blockIndex);
     }
 
     /**
@@ -98,22 +89,11 @@ public class BasicBlockMultiObjectiveFitnessFunction<T> implements IFitnessFunct
      */
     public static <T> void cleanCache(List<IChromosome<T>> chromosomes) {
 
-        if (blocks.size() == 0 || cache.size() == 0) {
+        if (cache.size() == 0) {
             return;
         }
 
-        List<IChromosome<T>> activeChromosomes = new ArrayList<>(chromosomes);
-
-        int count = 0;
-        for (String block : blocks) {
-            Map<IChromosome, Double> blockCache = cache.get(block);
-            for (IChromosome chromosome: new ArrayList<>(blockCache.keySet())) {
-                if (!activeChromosomes.contains(chromosome)) {
-                    blockCache.remove(chromosome);
-                    count++;
-                }
-            }
-        }
+        int count = cache.retainAll(chromosomes);
         MATELog.log_acc("Cleaning cache: " + count + " inactive chromosome removed.");
     }
 }
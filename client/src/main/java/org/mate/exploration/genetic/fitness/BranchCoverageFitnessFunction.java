@@ -2,7 +2,6 @@ package org.mate.exploration.genetic.fitness;
 
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.termination.ConditionalTerminationCondition;
-import org.mate.utils.FitnessUtils;
 
 /**
  * Provides a fitness metric based on branch coverage. This requires that the
@@ -21,7 +20,7 @@ public class BranchCoverageFitnessFunction<T> implements IFitnessFunction<T> {
     @Override
     public double getFitness(IChromosome<T> chromosome) {
 
-        double branchCoverage = FitnessUtils.getFitness(chromosome);
+        double branchCoverage = FitnessCache.getFitness(chromosome, this);
 
         if (branchCoverage == 100.0) {
             ConditionalTerminationCondition.satisfiedCondition();
@@ -2,10 +2,6 @@ package org.mate.exploration.genetic.fitness;
 
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.termination.ConditionalTerminationCondition;
-import org.mate.utils.FitnessUtils;
-
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Provides a fitness metric based on approach level + branch distance. This requires that the
@@ -16,11 +12,6 @@ import java.util.Map;
  */
 public class BranchDistanceFitnessFunction<T> implements IFitnessFunction<T> {
 
-    /**
-     * Caches for each chromosome the computed branch distance.
-     */
-    private Map<IChromosome<T>, Double> cache = new HashMap<>();
-
     /**
      * Computes the branch distance value for the given chromosome.
      *
@@ -30,13 +21,7 @@ public class BranchDistanceFitnessFunction<T> implements IFitnessFunction<T> {
     @Override
     public double getFitness(IChromosome<T> chromosome) {
 
-        double branchDistance;
-
-        if (cache.containsKey(chromosome)) {
-            branchDistance = cache.get(chromosome);
-        } else {
-            branchDistance = FitnessUtils.getFitness(chromosome);
-        }
+        double branchDistance = FitnessCache.getFitness(chromosome, this);
 
         /*
          * TODO: This is a side effect, which is triggered multiple times, e.g. by logFitness().
@@ -49,8 +34,6 @@ public class BranchDistanceFitnessFunction<T> implements IFitnessFunction<T> {
             ConditionalTerminationCondition.satisfiedCondition();
         }
 
-        // cache fitness value for subsequent requests
-        cache.put(chromosome, branchDistance);
         return branchDistance;
     }
 
@@ -4,10 +4,7 @@ import org.mate.commons.utils.MATELog;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.utils.FitnessUtils;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Provides a fitness metric based on branch distance for multi-objective algorithms. This requires
@@ -18,15 +15,16 @@ import java.util.Map;
  */
 public class BranchDistanceMultiObjectiveFitnessFunction<T> implements IFitnessFunction<T> {
 
-    // a cache that stores for each branch the set of test cases and its fitness value
-    private static final Map<String, Map<IChromosome, Double>> cache = new HashMap<>();
-
-    // all branches (shared by instances)
-    private static final List<String> branches = new ArrayList<>();
+    // a cache that stores for each test case the fitness value of every branch
+    private static final FitnessMatrix cache
+            = FitnessMatrix.getInstance(FitnessFunction.BRANCH_DISTANCE_MULTI_OBJECTIVE);
 
     // the current branch we want to evaluate this fitness function against
     private final String branch;
 
+    // the column of the current branch in the cache
+    private final int branchIndex;
+
     /**
      * Initialises the fitness function with the given branch as target.
      *
@@ -34,8 +32,7 @@ public class BranchDistanceMultiObjectiveFitnessFunction<T> implements IFitnessF
      */
     public BranchDistanceMultiObjectiveFitnessFunction(String branch) {
         this.branch = branch;
-        branches.add(branch);
-        cache.put(branch, new HashMap<>());
+        branchIndex = cache.addObjective(branch);
     }
 
     /**
@@ -48,18 +45,16 @@ public class BranchDistanceMultiObjectiveFitnessFunction<T> implements IFitnessF
     @Override
     public double getFitness(IChromosome<T> chromosome) {
 
-        if (!cache.get(branch).containsKey(chromosome)) {
+        if (!cache.contains(chromosome)) {
 
             // retrieves the fitness value for every single branch
-            List<Double> branchDistanceVector = FitnessUtils.getFitness(chromosome, branches);
+            List<Double> branchDistanceVector = FitnessUtils.getFitness(chromosome, cache.getObjectives());
 
             // update the cache
-            for (int i = 0; i < branchDistanceVector.size(); i++) {
-                cache.get(branches.get(i)).put(chromosome, branchDistanceVector.get(i));
-            }
+            cache.put(chromosome, branchDistanceVector);
         }
 
-        return cache.get(branch).get(chromosome);
+        return cache.get(chromosome, branchIndex);
     }
 
     /**
@@ -90,22 +85,11 @@ public class BranchDistanceMultiObjectiveFitnessFunction<T> implements IFitnessF
      */
     public static <T> void cleanCache(List<IChromosome<T>> chromosomes) {
 
-        if (branches.size() == 0 || cache.size() == 0) {
+        if (cache.size() == 0) {
             return;
         }
 
-        List<IChromosome<T>> activeChromosomes = new ArrayList<>(chromosomes);
-
-        int count = 0;
-        for (String branch : branches) {
-            Map<IChromosome, Double> branchCache =  cache.get(branch);
-            for (IChromosome chromosome: new ArrayList<>(branchCache.keySet())) {
-                if (!activeChromosomes.contains(chromosome)) {
-                    branchCache.remove(chromosome);
-                    count++;
-                }
-            }
-        }
+        int count = cache.retainAll(chromosomes);
         MATELog.log_acc("Cleaning cache: " + count + " inactive chromosome removed.");
     }
 }
@@ -1,12 +1,10 @@
 package org.mate.exploration.genetic.fitness;
 
+import org.mate.commons.utils.MATELog;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.utils.FitnessUtils;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Provides a fitness metric based on 'branch coverage' for multi-objective algorithms. This
@@ -17,15 +15,16 @@ import java.util.Map;
  */
 public class BranchMultiObjectiveFitnessFunction<T> implements IFitnessFunction<T> {
 
-    // a cache that stores for each branch the set of test cases and its fitness value
-    private static final Map<String, Map<IChromosome, Double>> cache = new HashMap<>();
-
-    // all branches (shared by instances)
-    private static final List<String> branches = new ArrayList<>();
+    // a cache that stores for each test case the fitness value of every branch
+    private static final FitnessMatrix cache
+            = FitnessMatrix.getInstance(FitnessFunction.BRANCH_MULTI_OBJECTIVE);
 
     // the current branch we want to evaluate this fitness function against
     private final String branch;
 
+    // the column of the current branch in the cache
+    private final int branchIndex;
+
     /**
      * Initialises the fitness function with the given branch as target.
      *
@@ -33,8 +32,7 @@ public class BranchMultiObjectiveFitnessFunction<T> implements IFitnessFunction<
      */
     public BranchMultiObjectiveFitnessFunction(String branch) {
         this.branch = branch;
-        branches.add(branch);
-        cache.put(branch, new HashMap<>());
+        branchIndex = cache.addObjective(branch);
     }
 
     /**
@@ -48,18 +46,16 @@ public class BranchMultiObjectiveFitnessFunction<T> implements IFitnessFunction<
     @Override
     public double getFitness(IChromosome<T> chromosome) {
 
-        if (!cache.get(branch).containsKey(chromosome)) {
+        if (!cache.contains(chromosome)) {
 
             // retrieves the fitness value for every single branch
-            List<Double> branchFitnessVector = FitnessUtils.getFitness(chromosome, branches);
+            List<Double> branchFitnessVector = FitnessUtils.getFitness(chromosome, cache.getObjectives());
 
             // update the cache
-            for (int i = 0; i < branchFitnessVector.size(); i++) {
-                cache.get(branches.get(i)).put(chromosome, branchFitnessVector.get(i));
-            }
+            cache.put(chromosome, branchFitnessVector);
         }
 
-        return cache.get(branch).get(chromosome);
+        return cache.get(chromosome, branchIndex);
     }
 
     /**
@@ -83,4 +79,19 @@ public class BranchMultiObjectiveFitnessFunction<T> implements IFitnessFunction<
     public double getNormalizedFitness(IChromosome<T> chromosome) {
         return getFitness(chromosome);
     }
+
+    /**
+     * Removes chromosomes from the cache that are no longer in use in order to avoid memory issues.
+     *
+     * @param chromosomes The list of active chromosomes.
+     */
+    public static <T> void cleanCache(List<IChromosome<T>> chromosomes) {
+
+        if (cache.size() == 0) {
+            return;
+        }
+
+        int count = cache.retainAll(chromosomes);
+        MATELog.log_acc("Cleaning cache: " + count + " inactive chromosome removed.");
+    }
 }
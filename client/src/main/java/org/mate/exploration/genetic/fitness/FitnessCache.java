@@ -0,0 +1,129 @@
+package org.mate.exploration.genetic.fitness;
+
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.utils.FitnessUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A shared cache for the fitness values of the single-objective fitness functions that retrieve
+ * their fitness via {@link FitnessUtils#getFitness(IChromosome)}, i.e. a server round trip. A
+ * fitness value is stored per chromosome and fitness function. Since chromosomes are never
+ * altered once created (mutation and crossover produce new chromosomes), a cached value never
+ * gets stale. The chromosomes are only weakly referenced, thus a cache entry is evicted
+ * automatically once the chromosome is no longer referenced, e.g. after it left the population
+ * and archive.
+ */
+public final class FitnessCache {
+
+    /**
+     * Maps a chromosome to the fitness values computed by the individual fitness functions.
+     * Since {@link IChromosome} doesn't override equals() and hashCode(), the chromosomes are
+     * compared by identity.
+     */
+    private static final Map<IChromosome<?>, Map<IFitnessFunction<?>, Double>> cache
+            = new WeakHashMap<>();
+
+    /**
+     * The number of fitness requests that could be answered by the cache.
+     */
+    private static long hits = 0;
+
+    /**
+     * The number of fitness requests that required a round trip to the server.
+     */
+    private static long misses = 0;
+
+    private FitnessCache() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Returns the fitness value of the given chromosome for the given fitness function. On a cache
+     * miss, the fitness value is retrieved via {@link FitnessUtils#getFitness(IChromosome)}.
+     *
+     * @param chromosome The chromosome for which the fitness should be retrieved.
+     * @param fitnessFunction The fitness function requesting the fitness value.
+     * @param <T> The type of the chromosome.
+     * @return Returns the fitness value of the given chromosome.
+     */
+    public static <T> double getFitness(IChromosome<T> chromosome, IFitnessFunction<T> fitnessFunction) {
+        return getFitness(chromosome, fitnessFunction, FitnessUtils::getFitness);
+    }
+
+    /**
+     * Returns the fitness value of the given chromosome for the given fitness function. On a cache
+     * miss, the fitness value is retrieved via the given retrieval function.
+     *
+     * @param chromosome The chromosome for which the fitness should be retrieved.
+     * @param fitnessFunction The fitness function requesting the fitness value.
+     * @param retrieval Retrieves the fitness value on a cache miss.
+     * @param <T> The type of the chromosome.
+     * @return Returns the fitness value of the given chromosome.
+     */
+    static <T> double getFitness(IChromosome<T> chromosome, IFitnessFunction<T> fitnessFunction,
+                                 ToDoubleFunction<IChromosome<T>> retrieval) {
+
+        synchronized (cache) {
+            Map<IFitnessFunction<?>, Double> fitnessValues = cache.get(chromosome);
+            if (fitnessValues != null) {
+                Double fitness = fitnessValues.get(fitnessFunction);
+                if (fitness != null) {
+                    hits++;
+                    return fitness;
+                }
+            }
+            misses++;
+        }
+
+        // don't block other requests while waiting for the server
+        double fitness = retrieval.applyAsDouble(chromosome);
+
+        synchronized (cache) {
+            Map<IFitnessFunction<?>, Double> fitnessValues = cache.get(chromosome);
+            if (fitnessValues == null) {
+                // most chromosomes are only evaluated by a single fitness function
+                fitnessValues = new HashMap<>(2);
+                cache.put(chromosome, fitnessValues);
+            }
+            fitnessValues.put(fitnessFunction, fitness);
+        }
+        return fitness;
+    }
+
+    /**
+     * Returns the number of fitness requests that could be answered by the cache.
+     *
+     * @return Returns the number of cache hits.
+     */
+    public static long getHits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+    /**
+     * Returns the number of fitness requests that required a round trip to the server.
+     *
+     * @return Returns the number of cache misses.
+     */
+    public static long getMisses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+
+    /**
+     * Returns the number of chromosomes that are currently cached.
+     *
+     * @return Returns the number of cached chromosomes.
+     */
+    public static int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package org.mate.exploration.genetic.fitness;
+
+import org.mate.exploration.genetic.chromosome.IChromosome;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A dense fitness matrix for multi-objective fitness functions, where each row holds the fitness
+ * vector of a single chromosome and each column refers to a single objective, e.g. a basic block.
+ * The values are stored in a single primitive array, thus a fitness value occupies 8 bytes
+ * instead of a boxed {@link Double} plus a hash map entry per objective. Rows are handed out from
+ * a slot pool, i.e. the row of an evicted chromosome is re-used by the next chromosome. The stored
+ * chromosomes are additionally kept in a dense array, such that the eviction of inactive
+ * chromosomes only touches the active and the evicted ones.
+ */
+public class FitnessMatrix {
+
+    /**
+     * The initial number of rows.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The fitness matrices shared by all instances of a multi-objective fitness function.
+     */
+    private static final Map<FitnessFunction, FitnessMatrix> instances
+            = new EnumMap<>(FitnessFunction.class);
+
+    /**
+     * Maps an objective to its column index.
+     */
+    private final Map<String, Integer> objectiveIndices = new HashMap<>();
+
+    /**
+     * The objectives in the order of their column indices.
+     */
+    private final List<String> objectives = new ArrayList<>();
+
+    /**
+     * Maps a chromosome to its row. The chromosomes are compared by identity.
+     */
+    private final Map<IChromosome<?>, Integer> rows = new IdentityHashMap<>();
+
+    /**
+     * The chromosomes with a stored fitness vector in no particular order. Only the first
+     * {@code rows.size()} entries are in use.
+     */
+    private IChromosome<?>[] chromosomes = new IChromosome<?>[INITIAL_CAPACITY];
+
+    /**
+     * Maps a row to the position of its chromosome in {@link #chromosomes}.
+     */
+    private int[] positions = new int[0];
+
+    /**
+     * The fitness values in row-major order, where a row spans {@link #stride} entries.
+     */
+    private double[] values = new double[0];
+
+    /**
+     * The number of entries per row, i.e. the number of objectives at the time the rows have been
+     * allocated.
+     */
+    private int stride = 0;
+
+    /**
+     * The number of rows for which memory has been allocated.
+     */
+    private int capacity = 0;
+
+    /**
+     * The number of rows that have been handed out at least once.
+     */
+    private int usedRows = 0;
+
+    /**
+     * The rows that have been freed and can be re-used.
+     */
+    private int[] freeRows = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of entries in {@link #freeRows}.
+     */
+    private int numberOfFreeRows = 0;
+
+    /**
+     * Returns the fitness matrix shared by all instances of the given multi-objective fitness
+     * function, i.e. each instance registers its objective as a column of this matrix.
+     *
+     * @param fitnessFunction The multi-objective fitness function.
+     * @return Returns the shared fitness matrix of the given fitness function.
+     */
+    public static synchronized FitnessMatrix getInstance(FitnessFunction fitnessFunction) {
+        FitnessMatrix matrix = instances.get(fitnessFunction);
+        if (matrix == null) {
+            matrix = new FitnessMatrix();
+            instances.put(fitnessFunction, matrix);
+        }
+        return matrix;
+    }
+
+    /**
+     * Registers the given objective and assigns it a column index. Registering an objective
+     * twice returns the previously assigned index. Objectives are typically registered before
+     * any fitness vector is stored; registering a new objective afterwards invalidates all
+     * stored fitness vectors, since they lack the value for the new objective.
+     *
+     * @param objective The objective to be registered.
+     * @return Returns the column index of the objective.
+     */
+    public synchronized int addObjective(String objective) {
+
+        Integer index = objectiveIndices.get(objective);
+        if (index != null) {
+            return index;
+        }
+
+        index = objectives.size();
+        objectiveIndices.put(objective, index);
+        objectives.add(objective);
+
+        // the allocated rows, including the freed ones, are laid out for the previous stride
+        if (capacity > 0) {
+            clear();
+        }
+        return index;
+    }
+
+    /**
+     * Returns the registered objectives in the order of their column indices.
+     *
+     * @return Returns the registered objectives.
+     */
+    public synchronized List<String> getObjectives() {
+        return Collections.unmodifiableList(new ArrayList<>(objectives));
+    }
+
+    /**
+     * Returns the number of registered objectives.
+     *
+     * @return Returns the number of registered objectives.
+     */
+    public synchronized int getNumberOfObjectives() {
+        return objectives.size();
+    }
+
+    /**
+     * Whether a fitness vector is stored for the given chromosome.
+     *
+     * @param chromosome The chromosome to look up.
+     * @return Returns {@code true} if a fitness vector is stored, otherwise {@code false}.
+     */
+    public synchronized boolean contains(IChromosome<?> chromosome) {
+        return rows.containsKey(chromosome);
+    }
+
+    /**
+     * Returns the fitness value of the given chromosome for the given objective.
+     *
+     * @param chromosome The chromosome to look up.
+     * @param objectiveIndex The column index of the objective.
+     * @return Returns the stored fitness value.
+     */
+    public synchronized double get(IChromosome<?> chromosome, int objectiveIndex) {
+
+        Integer row = rows.get(chromosome);
+        if (row == null) {
+            throw new IllegalStateException("No fitness vector stored for chromosome " + chromosome + "!");
+        }
+        return values[row * stride + objectiveIndex];
+    }
+
+    /**
+     * Stores the fitness vector of the given chromosome. The i-th entry of the vector refers to
+     * the objective with column index i.
+     *
+     * @param chromosome The chromosome the fitness vector belongs to.
+     * @param fitnessVector The fitness vector.
+     */
+    public synchronized void put(IChromosome<?> chromosome, List<Double> fitnessVector) {
+
+        if (fitnessVector.size() != objectives.size()) {
+            throw new IllegalArgumentException("Fitness vector of size " + fitnessVector.size()
+                    + " doesn't match the number of objectives " + objectives.size() + "!");
+        }
+
+        Integer row = rows.get(chromosome);
+        if (row == null) {
+            row = store(chromosome);
+        }
+
+        int offset = row * stride;
+        for (int i = 0; i < fitnessVector.size(); i++) {
+            values[offset + i] = fitnessVector.get(i);
+        }
+    }
+
+    /**
+     * Stores the fitness vector of the given chromosome without boxing the fitness values.
+     *
+     * @param chromosome The chromosome the fitness vector belongs to.
+     * @param fitnessVector The fitness vector.
+     */
+    public synchronized void put(IChromosome<?> chromosome, double[] fitnessVector) {
+
+        if (fitnessVector.length != objectives.size()) {
+            throw new IllegalArgumentException("Fitness vector of size " + fitnessVector.length
+                    + " doesn't match the number of objectives " + objectives.size() + "!");
+        }
+
+        Integer row = rows.get(chromosome);
+        if (row == null) {
+            row = store(chromosome);
+        }
+
+        System.arraycopy(fitnessVector, 0, values, row * stride, fitnessVector.length);
+    }
+
+    /**
+     * Returns the chromosomes of the given list for which no fitness vector is stored yet. Each
+     * chromosome is returned at most once.
+     *
+     * @param chromosomes The chromosomes to look up.
+     * @param <T> Specifies whether the chromosomes refer to test cases or test suites.
+     * @return Returns the chromosomes without a stored fitness vector.
+     */
+    public synchronized <T> List<IChromosome<T>> getMissing(List<IChromosome<T>> chromosomes) {
+
+        List<IChromosome<T>> missing = new ArrayList<>();
+        Set<IChromosome<?>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (IChromosome<T> chromosome : chromosomes) {
+            if (!rows.containsKey(chromosome) && seen.add(chromosome)) {
+                missing.add(chromosome);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Removes the fitness vector of the given chromosome.
+     *
+     * @param chromosome The chromosome to be removed.
+     * @return Returns {@code true} if a fitness vector was stored for the chromosome,
+     *          otherwise {@code false}.
+     */
+    public synchronized boolean remove(IChromosome<?> chromosome) {
+
+        Integer row = rows.get(chromosome);
+        if (row == null) {
+            return false;
+        }
+
+        // move the chromosome to the end of the dense array and drop it from there
+        int last = rows.size() - 1;
+        swap(positions[row], last);
+        evict(last);
+        return true;
+    }
+
+    /**
+     * Removes the fitness vectors of all chromosomes that are not contained in the given
+     * collection of active chromosomes. Only the active and the evicted chromosomes are visited,
+     * i.e. the remaining rows are not scanned.
+     *
+     * @param activeChromosomes The chromosomes that are still in use.
+     * @return Returns the number of removed fitness vectors.
+     */
+    public synchronized int retainAll(Collection<? extends IChromosome<?>> activeChromosomes) {
+
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // move the active chromosomes to the front of the dense array
+        int numberOfActiveChromosomes = 0;
+        for (IChromosome<?> chromosome : activeChromosomes) {
+            Integer row = rows.get(chromosome);
+            // a chromosome that has been moved already is contained twice in the collection
+            if (row != null && positions[row] >= numberOfActiveChromosomes) {
+                swap(positions[row], numberOfActiveChromosomes++);
+            }
+        }
+
+        // the remaining chromosomes are the inactive ones
+        int count = rows.size() - numberOfActiveChromosomes;
+        for (int position = rows.size() - 1; position >= numberOfActiveChromosomes; position--) {
+            evict(position);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of chromosomes for which a fitness vector is stored.
+     *
+     * @return Returns the number of stored fitness vectors.
+     */
+    public synchronized int size() {
+        return rows.size();
+    }
+
+    /**
+     * Removes all stored fitness vectors and releases the allocated memory.
+     */
+    public synchronized void clear() {
+        rows.clear();
+        Arrays.fill(chromosomes, null);
+        positions = new int[0];
+        values = new double[0];
+        stride = 0;
+        capacity = 0;
+        usedRows = 0;
+        numberOfFreeRows = 0;
+    }
+
+    private int allocateRow() {
+
+        if (numberOfFreeRows > 0) {
+            return freeRows[--numberOfFreeRows];
+        }
+
+        if (usedRows == capacity) {
+            // the stride is fixed once the first row is allocated
+            stride = objectives.size();
+            capacity = Math.max(INITIAL_CAPACITY, capacity * 2);
+            values = Arrays.copyOf(values, capacity * stride);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+        return usedRows++;
+    }
+
+    private int store(IChromosome<?> chromosome) {
+
+        int row = allocateRow();
+        int position = rows.size();
+        if (position == chromosomes.length) {
+            chromosomes = Arrays.copyOf(chromosomes, chromosomes.length * 2);
+        }
+
+        chromosomes[position] = chromosome;
+        positions[row] = position;
+        rows.put(chromosome, row);
+        return row;
+    }
+
+    private void swap(int position, int otherPosition) {
+
+        if (position == otherPosition) {
+            return;
+        }
+
+        IChromosome<?> chromosome = chromosomes[position];
+        IChromosome<?> otherChromosome = chromosomes[otherPosition];
+        chromosomes[position] = otherChromosome;
+        chromosomes[otherPosition] = chromosome;
+        positions[rows.get(otherChromosome)] = position;
+        positions[rows.get(chromosome)] = otherPosition;
+    }
+
+    /**
+     * Removes the chromosome at the given position, which must be the last position in use.
+     */
+    private void evict(int position) {
+        IChromosome<?> chromosome = chromosomes[position];
+        chromosomes[position] = null;
+        freeRow(rows.remove(chromosome));
+    }
+
+    private void freeRow(int row) {
+        if (numberOfFreeRows == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeRows.length * 2);
+        }
+        freeRows[numberOfFreeRows++] = row;
+    }
+}
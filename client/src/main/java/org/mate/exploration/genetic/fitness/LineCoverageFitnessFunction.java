@@ -1,10 +1,6 @@
 package org.mate.exploration.genetic.fitness;
 
 import org.mate.exploration.genetic.chromosome.IChromosome;
-import org.mate.utils.FitnessUtils;
-
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Provides a fitness function that aims to maximise line coverage. This requires that the AUT
@@ -14,18 +10,6 @@ import java.util.Map;
  */
 public class LineCoverageFitnessFunction<T> implements IFitnessFunction<T> {
 
-    /**
-     * Caches for each chromosome the computed line coverage.
-     */
-    private final Map<IChromosome<T>, Double> cache;
-
-    /**
-     * Initialises the fitness function with an empty cache.
-     */
-    public LineCoverageFitnessFunction() {
-        cache = new HashMap<>();
-    }
-
     /**
      * Retrieves the line coverage for the given chromosome.
      *
@@ -34,12 +18,7 @@ public class LineCoverageFitnessFunction<T> implements IFitnessFunction<T> {
      */
     @Override
     public double getFitness(IChromosome<T> chromosome) {
-        if (cache.containsKey(chromosome)) {
-            return cache.get(chromosome);
-        }
-        double fitness = FitnessUtils.getFitness(chromosome);
-        cache.put(chromosome, fitness);
-        return fitness;
+        return FitnessCache.getFitness(chromosome, this);
     }
 
     /**
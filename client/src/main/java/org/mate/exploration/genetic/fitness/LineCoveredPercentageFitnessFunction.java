@@ -4,10 +4,7 @@ import org.mate.commons.utils.MATELog;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.utils.FitnessUtils;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Provides a fitness function that aims to maximise a hand-crafted line metric. This fitness function
@@ -16,19 +13,22 @@ import java.util.Map;
  */
 public class LineCoveredPercentageFitnessFunction<T> implements IFitnessFunction<T> {
 
-    // TODO: find better solution than static map... (i know its ugly)
-    private static final Map<String, Map<IChromosome, Double>> cache = new HashMap<>();
-
     /**
-     * The possible target lines.
+     * Stores for each chromosome the fitness value of every possible target line.
      */
-    private static List<String> lines = new ArrayList<>();
+    private static final FitnessMatrix cache
+            = FitnessMatrix.getInstance(FitnessFunction.LINE_PERCENTAGE_COVERAGE);
 
     /**
      * The line for which the fitness value should be evaluated.
      */
     private final String line;
 
+    /**
+     * The column of the line in the cache.
+     */
+    private final int lineIndex;
+
     /**
      * Initialises the fitness function with the given line as target.
      *
@@ -36,7 +36,7 @@ public class LineCoveredPercentageFitnessFunction<T> implements IFitnessFunction
      */
     public LineCoveredPercentageFitnessFunction(String line) {
         this.line = line;
-        lines.add(line);
+        lineIndex = cache.addObjective(line);
     }
 
     /**
@@ -49,11 +49,11 @@ public class LineCoveredPercentageFitnessFunction<T> implements IFitnessFunction
      */
     @Override
     public double getFitness(IChromosome<T> chromosome) {
-        if (!cache.get(line).containsKey(chromosome)) {
+        if (!cache.contains(chromosome)) {
             throw new IllegalStateException("Fitness for chromosome " + chromosome
                     + " not in cache. Must fetch fitness previously for performance reasons");
         }
-        return cache.get(line).get(chromosome);
+        return cache.get(chromosome, lineIndex);
     }
 
     /**
@@ -85,21 +85,13 @@ public class LineCoveredPercentageFitnessFunction<T> implements IFitnessFunction
      */
     public static <T> void retrieveFitnessValues(IChromosome<T> chromosome) {
 
-        if (lines.size() == 0) {
+        if (cache.getNumberOfObjectives() == 0) {
             return;
         }
 
-        if (cache.size() == 0) {
-            for (String line : lines) {
-                cache.put(line, new HashMap<>());
-            }
-        }
-
         MATELog.log_acc("retrieving fitness values for chromosome " + chromosome);
-        List<Double> coveredPercentage = FitnessUtils.getFitness(chromosome, lines);
-        for (int i = 0; i < coveredPercentage.size(); i++) {
-            cache.get(lines.get(i)).put(chromosome, coveredPercentage.get(i));
-        }
+        List<Double> coveredPercentage = FitnessUtils.getFitness(chromosome, cache.getObjectives());
+        cache.put(chromosome, coveredPercentage);
     }
 
     /**
@@ -109,22 +101,11 @@ public class LineCoveredPercentageFitnessFunction<T> implements IFitnessFunction
      */
     public static <T> void cleanCache(List<IChromosome<T>> chromosomes) {
 
-        if (lines.size() == 0 || cache.size() == 0) {
+        if (cache.size() == 0) {
             return;
         }
 
-        List<IChromosome<T>> activeChromosomes = new ArrayList<>(chromosomes);
-
-        int count = 0;
-        for (String line : lines) {
-            Map<IChromosome, Double> lineCache = cache.get(line);
-            for (IChromosome chromosome: new ArrayList<>(lineCache.keySet())) {
-                if (!activeChromosomes.contains(chromosome)) {
-                    lineCache.remove(chromosome);
-                    count++;
-                }
-            }
-        }
+        int count = cache.retainAll(chromosomes);
         MATELog.log_acc("Cleaning cache: " + count + " inactive chromosome removed.");
     }
 }
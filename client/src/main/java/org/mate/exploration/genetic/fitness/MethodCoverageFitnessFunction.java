@@ -2,7 +2,6 @@ package org.mate.exploration.genetic.fitness;
 
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.termination.ConditionalTerminationCondition;
-import org.mate.utils.FitnessUtils;
 
 /**
  * Provides a fitness metric based on method coverage. This requires that the
@@ -21,7 +20,7 @@ public class MethodCoverageFitnessFunction<T> implements IFitnessFunction<T> {
     @Override
     public double getFitness(IChromosome<T> chromosome) {
 
-        double methodCoverage = FitnessUtils.getFitness(chromosome);
+        double methodCoverage = FitnessCache.getFitness(chromosome, this);
 
         if (methodCoverage == 100.0) {
             ConditionalTerminationCondition.satisfiedCondition();
@@ -1,8 +1,13 @@
 package org.mate.exploration.genetic.fitness;
 
+import org.mate.Properties;
+import org.mate.Registry;
+import org.mate.commons.utils.MATELog;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.utils.FitnessUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -19,6 +24,16 @@ public class NoveltyFitnessFunction<T> implements IFitnessFunction<T> {
      */
     private final String objectives;
 
+    /**
+     * Computes the novelty on the client based on cached coverage vectors.
+     */
+    private final NoveltyIndex<T> index;
+
+    /**
+     * Whether the novelty is computed on the client or by the MATE server.
+     */
+    private boolean clientSide;
+
     /**
      * Initialises the novelty fitness function with the given objectives type.
      *
@@ -26,6 +41,13 @@ public class NoveltyFitnessFunction<T> implements IFitnessFunction<T> {
      */
     public NoveltyFitnessFunction(String objectives) {
         this.objectives = objectives;
+        clientSide = Properties.CLIENT_SIDE_NOVELTY();
+        index = new NoveltyIndex<>(new NoveltyIndex.VectorSource<T>() {
+            @Override
+            public double[][] getVectors(List<IChromosome<T>> chromosomes) {
+                return Registry.getEnvironmentManager().getCoverageVectors(chromosomes, objectives);
+            }
+        });
     }
 
     /**
@@ -79,9 +101,21 @@ public class NoveltyFitnessFunction<T> implements IFitnessFunction<T> {
             * assign the best novelty score in this case.
              */
             return Collections.singletonList(1.0);
-        } else {
-            return FitnessUtils.getNoveltyVector(chromosomes, nearestNeighbours, objectives);
         }
+
+        if (clientSide) {
+            double[] noveltyScores = index.getNoveltyVector(chromosomes, nearestNeighbours);
+            if (noveltyScores != null) {
+                List<Double> noveltyVector = new ArrayList<>(noveltyScores.length);
+                for (double noveltyScore : noveltyScores) {
+                    noveltyVector.add(noveltyScore);
+                }
+                return noveltyVector;
+            }
+            disableClientSide();
+        }
+
+        return FitnessUtils.getNoveltyVector(chromosomes, nearestNeighbours, objectives);
     }
 
     /**
@@ -103,8 +137,38 @@ public class NoveltyFitnessFunction<T> implements IFitnessFunction<T> {
             * chromosome to compare it against.
              */
             return 1.0;
-        } else {
-            return FitnessUtils.getNovelty(chromosome, population, archive, nearestNeighbours, objectives);
         }
+
+        if (clientSide) {
+            if (index.updateArchive(archive)) {
+                double novelty = index.getNovelty(chromosome, population, nearestNeighbours);
+                if (!Double.isNaN(novelty)) {
+                    return novelty;
+                }
+            }
+            disableClientSide();
+        }
+
+        return FitnessUtils.getNovelty(chromosome, population, archive, nearestNeighbours, objectives);
+    }
+
+    /**
+     * Removes the cached coverage vectors of chromosomes that are no longer in use in order to
+     * avoid memory issues.
+     *
+     * @param activeChromosomes The chromosomes that are still in use, the archive is retained
+     *          implicitly.
+     */
+    public void cleanCache(Collection<IChromosome<T>> activeChromosomes) {
+        if (clientSide) {
+            int count = index.retainAll(activeChromosomes);
+            MATELog.log_acc("Cleaning novelty cache: " + count + " inactive chromosome removed.");
+        }
+    }
+
+    private void disableClientSide() {
+        MATELog.log_warn("MATE server doesn't provide coverage vectors, "
+                + "falling back to computing novelty on the server!");
+        clientSide = false;
     }
 }
@@ -0,0 +1,346 @@
+package org.mate.exploration.genetic.fitness;
+
+import org.mate.exploration.genetic.chromosome.IChromosome;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes the novelty of chromosomes on the client. The coverage vector of each chromosome is
+ * fetched exactly once and cached, the archive is kept as an array of coverage vectors that is
+ * updated incrementally. The novelty of a chromosome is the average distance to its k nearest
+ * neighbours, where the distance between two coverage vectors is the root mean square of the
+ * entry-wise differences. Since each entry of a coverage vector lies in [0,1], the novelty is
+ * bounded in [0,1] as well.
+ *
+ * The k nearest neighbours are determined by a brute-force scan over plain arrays, which beats
+ * tree-based indices for the small populations and archives but high-dimensional coverage vectors
+ * we deal with.
+ *
+ * @param <T> Refers either to a {@link org.mate.model.TestCase} or {@link org.mate.model.TestSuite}.
+ */
+public class NoveltyIndex<T> {
+
+    /**
+     * Provides the coverage vectors of chromosomes.
+     *
+     * @param <T> Refers either to a {@link org.mate.model.TestCase} or
+     *          {@link org.mate.model.TestSuite}.
+     */
+    public interface VectorSource<T> {
+
+        /**
+         * Retrieves the coverage vectors of the given chromosomes.
+         *
+         * @param chromosomes The chromosomes.
+         * @return Returns the coverage vectors, where the ith row refers to the ith chromosome,
+         *          or {@code null} if no coverage vectors are available.
+         */
+        double[][] getVectors(List<IChromosome<T>> chromosomes);
+    }
+
+    private final VectorSource<T> source;
+
+    /**
+     * Caches the coverage vector of each chromosome. The chromosomes are compared by identity.
+     */
+    private final Map<IChromosome<T>, double[]> vectors = new IdentityHashMap<>();
+
+    /**
+     * The chromosomes in the archive.
+     */
+    private final List<IChromosome<T>> archive = new ArrayList<>();
+
+    /**
+     * The coverage vectors of the chromosomes in the archive in the same order.
+     */
+    private double[][] archiveVectors = new double[16][];
+
+    /**
+     * The number of coverage vectors that have been fetched so far.
+     */
+    private long numberOfFetchedVectors = 0;
+
+    /**
+     * Creates a new, empty novelty index.
+     *
+     * @param source Provides the coverage vectors.
+     */
+    public NoveltyIndex(VectorSource<T> source) {
+        this.source = source;
+    }
+
+    /**
+     * Fetches the coverage vectors of all given chromosomes that are not cached yet with a
+     * single request.
+     *
+     * @param chromosomes The chromosomes.
+     * @return Returns {@code false} if the coverage vectors are not available, otherwise
+     *          {@code true} is returned.
+     */
+    public boolean prefetch(List<IChromosome<T>> chromosomes) {
+
+        List<IChromosome<T>> missing = new ArrayList<>();
+        Set<IChromosome<T>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (IChromosome<T> chromosome : chromosomes) {
+            if (!vectors.containsKey(chromosome) && seen.add(chromosome)) {
+                missing.add(chromosome);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return true;
+        }
+
+        double[][] coverageVectors = source.getVectors(missing);
+
+        if (coverageVectors == null) {
+            return false;
+        }
+
+        for (int i = 0; i < missing.size(); i++) {
+            vectors.put(missing.get(i), coverageVectors[i]);
+        }
+        numberOfFetchedVectors += missing.size();
+        return true;
+    }
+
+    /**
+     * Synchronises the indexed archive with the given archive, i.e. removed chromosomes are
+     * dropped and new chromosomes are added.
+     *
+     * @param chromosomes The current archive.
+     * @return Returns {@code false} if the coverage vectors are not available, otherwise
+     *          {@code true} is returned.
+     */
+    public boolean updateArchive(List<IChromosome<T>> chromosomes) {
+
+        if (!prefetch(chromosomes)) {
+            return false;
+        }
+
+        Set<IChromosome<T>> current = Collections.newSetFromMap(new IdentityHashMap<>());
+        current.addAll(chromosomes);
+
+        // swap the last entry into the slot of a removed chromosome
+        for (int i = archive.size() - 1; i >= 0; i--) {
+            if (!current.remove(archive.get(i))) {
+                int last = archive.size() - 1;
+                archive.set(i, archive.get(last));
+                archiveVectors[i] = archiveVectors[last];
+                archiveVectors[last] = null;
+                archive.remove(last);
+            }
+        }
+
+        // the remaining chromosomes are not yet part of the archive
+        for (IChromosome<T> chromosome : chromosomes) {
+            if (current.remove(chromosome)) {
+                if (archive.size() == archiveVectors.length) {
+                    archiveVectors = Arrays.copyOf(archiveVectors, archiveVectors.length * 2);
+                }
+                archiveVectors[archive.size()] = vectors.get(chromosome);
+                archive.add(chromosome);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the novelty of the given chromosome with respect to the given population and the
+     * indexed archive. The archive needs to be synchronised beforehand, see
+     * {@link #updateArchive(List)}.
+     *
+     * @param chromosome The chromosome for which the novelty should be computed.
+     * @param population The current population.
+     * @param nearestNeighbours The number of nearest neighbours k.
+     * @return Returns the novelty of the chromosome, or {@link Double#NaN} if the coverage
+     *          vectors are not available.
+     */
+    public double getNovelty(IChromosome<T> chromosome, List<IChromosome<T>> population,
+                             int nearestNeighbours) {
+
+        if (!prefetch(Collections.singletonList(chromosome)) || !prefetch(population)) {
+            return Double.NaN;
+        }
+
+        double[] vector = vectors.get(chromosome);
+        Neighbours neighbours = new Neighbours(nearestNeighbours);
+
+        for (IChromosome<T> neighbour : population) {
+            if (neighbour != chromosome) {
+                neighbours.offer(distance(vector, vectors.get(neighbour)));
+            }
+        }
+
+        for (int i = 0; i < archive.size(); i++) {
+            if (archive.get(i) != chromosome) {
+                neighbours.offer(distance(vector, archiveVectors[i]));
+            }
+        }
+
+        return neighbours.getAverage();
+    }
+
+    /**
+     * Computes the novelty of each given chromosome with respect to the other given chromosomes.
+     *
+     * @param chromosomes The chromosomes for which the novelty should be computed.
+     * @param nearestNeighbours The number of nearest neighbours k.
+     * @return Returns the novelty vector, or {@code null} if the coverage vectors are not
+     *          available.
+     */
+    public double[] getNoveltyVector(List<IChromosome<T>> chromosomes, int nearestNeighbours) {
+
+        if (!prefetch(chromosomes)) {
+            return null;
+        }
+
+        double[][] coverageVectors = new double[chromosomes.size()][];
+        for (int i = 0; i < chromosomes.size(); i++) {
+            coverageVectors[i] = vectors.get(chromosomes.get(i));
+        }
+
+        double[] noveltyVector = new double[chromosomes.size()];
+        for (int i = 0; i < coverageVectors.length; i++) {
+            Neighbours neighbours = new Neighbours(nearestNeighbours);
+            for (int j = 0; j < coverageVectors.length; j++) {
+                if (i != j) {
+                    neighbours.offer(distance(coverageVectors[i], coverageVectors[j]));
+                }
+            }
+            noveltyVector[i] = neighbours.getAverage();
+        }
+        return noveltyVector;
+    }
+
+    /**
+     * Removes the coverage vectors of chromosomes that are neither contained in the given
+     * collection of active chromosomes nor in the archive.
+     *
+     * @param activeChromosomes The chromosomes that are still in use.
+     * @return Returns the number of removed coverage vectors.
+     */
+    public int retainAll(Collection<IChromosome<T>> activeChromosomes) {
+
+        Set<IChromosome<T>> active = Collections.newSetFromMap(new IdentityHashMap<>());
+        active.addAll(activeChromosomes);
+        active.addAll(archive);
+
+        int count = 0;
+        Iterator<IChromosome<T>> iterator = vectors.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (!active.contains(iterator.next())) {
+                iterator.remove();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of chromosomes in the indexed archive.
+     *
+     * @return Returns the size of the indexed archive.
+     */
+    public int getArchiveSize() {
+        return archive.size();
+    }
+
+    /**
+     * Returns the number of coverage vectors that have been fetched so far.
+     *
+     * @return Returns the number of fetched coverage vectors.
+     */
+    public long getNumberOfFetchedVectors() {
+        return numberOfFetchedVectors;
+    }
+
+    /**
+     * Computes the root mean square of the entry-wise differences of the given coverage vectors.
+     * A shorter coverage vector, e.g. the empty coverage vector of a dummy test case, is treated
+     * as if it was padded with zeros.
+     *
+     * @param first The first coverage vector.
+     * @param second The second coverage vector.
+     * @return Returns the distance between the coverage vectors in [0,1].
+     */
+    static double distance(double[] first, double[] second) {
+
+        if (first.length < second.length) {
+            double[] swap = first;
+            first = second;
+            second = swap;
+        }
+
+        if (first.length == 0) {
+            return 0.0;
+        }
+
+        double sum = 0.0;
+        for (int i = 0; i < second.length; i++) {
+            double difference = first[i] - second[i];
+            sum += difference * difference;
+        }
+        for (int i = second.length; i < first.length; i++) {
+            sum += first[i] * first[i];
+        }
+        return Math.sqrt(sum / first.length);
+    }
+
+    /**
+     * Keeps the k smallest distances offered so far in ascending order.
+     */
+    private static final class Neighbours {
+
+        private final double[] distances;
+        private int size = 0;
+
+        private Neighbours(int nearestNeighbours) {
+            distances = new double[Math.max(1, nearestNeighbours)];
+        }
+
+        private void offer(double distance) {
+
+            if (size == distances.length) {
+                if (distance >= distances[size - 1]) {
+                    return;
+                }
+                size--;
+            }
+
+            // insertion sort, k is small
+            int i = size++;
+            while (i > 0 && distances[i - 1] > distance) {
+                distances[i] = distances[i - 1];
+                i--;
+            }
+            distances[i] = distance;
+        }
+
+        /**
+         * Returns the average distance to the nearest neighbours. Without any neighbour the
+         * chromosome is considered as maximal novel.
+         */
+        private double getAverage() {
+
+            if (size == 0) {
+                return 1.0;
+            }
+
+            double sum = 0.0;
+            for (int i = 0; i < size; i++) {
+                sum += distances[i];
+            }
+            return sum / size;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.mate.Properties;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.comparator.CrowdedComparator;
 import org.mate.exploration.genetic.fitness.IFitnessFunction;
+import org.mate.exploration.genetic.sorting.ParetoFronts;
 import org.mate.commons.utils.Randomness;
 
 import java.util.ArrayList;
@@ -31,6 +32,54 @@ public class CrowdedTournamentSelectionFunction<T> implements ISelectionFunction
         throw new UnsupportedOperationException("Do not call this method!");
     }
 
+    /**
+     * Performs a binary tournament selection that considers both rank and the crowding distance
+     * as suggested in the NSGA-II algorithm. In contrast to {@link #select(List, Map, Map)}, the
+     * ranks and crowding distances are looked up by the index of a chromosome in the population.
+     *
+     * @param paretoFronts The current population partitioned into pareto fronts.
+     * @return Returns {@link Properties#DEFAULT_SELECTION_SIZE()} chromosomes.
+     */
+    public List<IChromosome<T>> select(ParetoFronts<T> paretoFronts) {
+
+        List<IChromosome<T>> selection = new ArrayList<>();
+        int numberOfCandidates = paretoFronts.size();
+        int[] candidates = new int[numberOfCandidates];
+        for (int i = 0; i < numberOfCandidates; i++) {
+            candidates[i] = i;
+        }
+        int size = Math.min(Properties.DEFAULT_SELECTION_SIZE(), numberOfCandidates);
+
+        for (int i = 0; i < size; i++) {
+
+            // pick two chromosomes randomly
+            int first = candidates[Randomness.getRnd().nextInt(numberOfCandidates)];
+            int second = candidates[Randomness.getRnd().nextInt(numberOfCandidates)];
+
+            // a lower rank is better, then a higher crowding distance is better
+            int cmp = Integer.compare(paretoFronts.getRank(first), paretoFronts.getRank(second));
+            if (cmp == 0) {
+                cmp = Double.compare(paretoFronts.getCrowdingDistance(second),
+                        paretoFronts.getCrowdingDistance(first));
+            }
+
+            // pick the best among those two chromosomes if one is better, otherwise take the second
+            int best = cmp < 0 ? first : second;
+            selection.add(paretoFronts.get(best));
+
+            // remove for next iteration while preserving the order of the remaining candidates
+            for (int j = 0; j < numberOfCandidates; j++) {
+                if (candidates[j] == best) {
+                    System.arraycopy(candidates, j + 1, candidates, j, numberOfCandidates - j - 1);
+                    numberOfCandidates--;
+                    break;
+                }
+            }
+        }
+
+        return selection;
+    }
+
     /**
      * Performs a binary tournament selection that considers both rank and the crowding distance
      * as suggested in the NSGA-II algorithm.
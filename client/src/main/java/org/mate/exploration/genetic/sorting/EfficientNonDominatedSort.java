@@ -0,0 +1,160 @@
+package org.mate.exploration.genetic.sorting;
+
+import java.util.Arrays;
+
+/**
+ * Performs the efficient non-dominated sort with binary search strategy (ENS-BS), see 'An
+ * Efficient Approach to Nondominated Sorting for Evolutionary Multiobjective Optimization' by
+ * Zhang et al. The solutions are sorted lexicographically in descending order first, thus a
+ * solution can only be dominated by solutions that precede it. Then, the solutions are assigned
+ * one after another to the first front that doesn't contain a dominating solution, which is
+ * located by a binary search over the fronts found so far.
+ *
+ * In contrast to the fast-non-dominated-sort, a solution is only compared with solutions of the
+ * fronts visited by the binary search and duplicate solutions are never compared to each other
+ * more than once.
+ */
+public class EfficientNonDominatedSort implements INonDominatedSort {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int[] getRanks(double[][] objectives) {
+
+        int n = objectives.length;
+        int[] ranks = new int[n];
+
+        if (n == 0) {
+            return ranks;
+        }
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        sortLexicographically(objectives, order);
+
+        int[][] fronts = new int[4][];
+        int[] frontSizes = new int[4];
+        int numberOfFronts = 0;
+
+        for (int solution : order) {
+
+            // the first front none of whose solutions dominates the current solution
+            int low = 0;
+            int high = numberOfFronts;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (isDominated(objectives, fronts[middle], frontSizes[middle], solution)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            if (low == numberOfFronts) {
+                if (numberOfFronts == fronts.length) {
+                    fronts = Arrays.copyOf(fronts, numberOfFronts * 2);
+                    frontSizes = Arrays.copyOf(frontSizes, numberOfFronts * 2);
+                }
+                fronts[numberOfFronts++] = new int[4];
+            } else if (frontSizes[low] == fronts[low].length) {
+                fronts[low] = Arrays.copyOf(fronts[low], frontSizes[low] * 2);
+            }
+
+            fronts[low][frontSizes[low]++] = solution;
+            ranks[solution] = low + 1;
+        }
+
+        return ranks;
+    }
+
+    /**
+     * Checks whether the given solution is dominated by any solution of the given front. Since the
+     * solutions of the front precede the given solution in lexicographic order, it suffices to
+     * check whether a solution of the front is at least as good in every objective.
+     *
+     * @param objectives The objective matrix.
+     * @param front The solutions of the front.
+     * @param size The number of solutions in the front.
+     * @param solution The solution to be checked.
+     * @return Returns {@code true} if the solution is dominated, otherwise {@code false}.
+     */
+    private static boolean isDominated(double[][] objectives, int[] front, int size, int solution) {
+
+        double[] values = objectives[solution];
+
+        // the most recently added solutions are the most similar ones
+        for (int i = size - 1; i >= 0; i--) {
+            if (dominates(objectives[front[i]], values)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean dominates(double[] first, double[] second) {
+
+        boolean isBetterInOneObjective = false;
+
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] < second[i]) {
+                return false;
+            } else if (first[i] > second[i]) {
+                isBetterInOneObjective = true;
+            }
+        }
+        return isBetterInOneObjective;
+    }
+
+    /**
+     * Sorts the solutions in descending lexicographic order of their objective values by a
+     * merge sort.
+     *
+     * @param objectives The objective matrix.
+     * @param order The solutions to be sorted.
+     */
+    private static void sortLexicographically(double[][] objectives, int[] order) {
+
+        int n = order.length;
+        int[] buffer = new int[n];
+
+        for (int width = 1; width < n; width *= 2) {
+            for (int low = 0; low < n - width; low += 2 * width) {
+                int middle = low + width;
+                int high = Math.min(low + 2 * width, n);
+                merge(objectives, order, buffer, low, middle, high);
+            }
+        }
+    }
+
+    private static void merge(double[][] objectives, int[] order, int[] buffer,
+                              int low, int middle, int high) {
+
+        System.arraycopy(order, low, buffer, low, high - low);
+
+        int i = low;
+        int j = middle;
+        for (int k = low; k < high; k++) {
+            if (j >= high || (i < middle && compare(objectives[buffer[i]], objectives[buffer[j]]) <= 0)) {
+                order[k] = buffer[i++];
+            } else {
+                order[k] = buffer[j++];
+            }
+        }
+    }
+
+    /**
+     * Compares two solutions lexicographically, where the greater solution comes first.
+     */
+    private static int compare(double[] first, double[] second) {
+        for (int i = 0; i < first.length; i++) {
+            int comparison = Double.compare(second[i], first[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+}
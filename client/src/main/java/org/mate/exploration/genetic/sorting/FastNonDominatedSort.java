@@ -0,0 +1,120 @@
+package org.mate.exploration.genetic.sorting;
+
+import java.util.Arrays;
+
+/**
+ * Performs the fast-non-dominated-sort algorithm as outlined on the bottom of page 184 of the
+ * NSGA-II paper. Each pair of solutions is compared once, thus the algorithm requires O(MN^2)
+ * comparisons for N solutions and M objectives.
+ */
+public class FastNonDominatedSort implements INonDominatedSort {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int[] getRanks(double[][] objectives) {
+
+        int n = objectives.length;
+        int[] ranks = new int[n];
+
+        // maintains for each solution the solutions it dominates and the domination counter
+        int[][] dominationSets = new int[n][];
+        int[] dominationSetSizes = new int[n];
+        int[] dominationCounters = new int[n];
+
+        for (int p = 0; p < n; p++) {
+            dominationSets[p] = new int[4];
+        }
+
+        for (int p = 0; p < n; p++) {
+            for (int q = p + 1; q < n; q++) {
+
+                int domination = compare(objectives[p], objectives[q]);
+
+                if (domination > 0) {
+                    // p dominates q
+                    add(dominationSets, dominationSetSizes, p, q);
+                    dominationCounters[q]++;
+                } else if (domination < 0) {
+                    // q dominates p
+                    add(dominationSets, dominationSetSizes, q, p);
+                    dominationCounters[p]++;
+                }
+            }
+        }
+
+        // the first front consists of the non-dominated solutions
+        int[] currentFront = new int[n];
+        int currentFrontSize = 0;
+        for (int p = 0; p < n; p++) {
+            if (dominationCounters[p] == 0) {
+                ranks[p] = 1;
+                currentFront[currentFrontSize++] = p;
+            }
+        }
+
+        // derive the remaining pareto fronts
+        int rank = 1;
+        int[] nextFront = new int[n];
+
+        while (currentFrontSize > 0) {
+
+            int nextFrontSize = 0;
+            rank++;
+
+            for (int i = 0; i < currentFrontSize; i++) {
+                int p = currentFront[i];
+                for (int j = 0; j < dominationSetSizes[p]; j++) {
+                    int q = dominationSets[p][j];
+                    if (--dominationCounters[q] == 0) {
+                        ranks[q] = rank;
+                        nextFront[nextFrontSize++] = q;
+                    }
+                }
+            }
+
+            int[] swap = currentFront;
+            currentFront = nextFront;
+            nextFront = swap;
+            currentFrontSize = nextFrontSize;
+        }
+
+        return ranks;
+    }
+
+    /**
+     * Compares two solutions based on the domination relation.
+     *
+     * @param first The objective values of the first solution.
+     * @param second The objective values of the second solution.
+     * @return Returns {@code 1} if the first solution dominates the second solution, {@code -1}
+     *          if the second solution dominates the first solution, otherwise {@code 0}.
+     */
+    static int compare(double[] first, double[] second) {
+
+        boolean isBetterInOneObjective = false;
+        boolean isWorseInOneObjective = false;
+
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] > second[i]) {
+                isBetterInOneObjective = true;
+            } else if (first[i] < second[i]) {
+                isWorseInOneObjective = true;
+            }
+
+            if (isBetterInOneObjective && isWorseInOneObjective) {
+                return 0;
+            }
+        }
+
+        return isBetterInOneObjective ? 1 : isWorseInOneObjective ? -1 : 0;
+    }
+
+    private static void add(int[][] sets, int[] sizes, int set, int element) {
+        if (sizes[set] == sets[set].length) {
+            sets[set] = Arrays.copyOf(sets[set], sets[set].length * 2);
+        }
+        sets[set][sizes[set]++] = element;
+    }
+}
@@ -0,0 +1,19 @@
+package org.mate.exploration.genetic.sorting;
+
+/**
+ * The interface for a non-dominated sorting algorithm that partitions a population into pareto
+ * fronts. The population is given as objective matrix, where each row holds the objective values
+ * of a single solution and each column refers to a single objective. All objectives are
+ * maximised, i.e. a minimising objective needs to be negated beforehand.
+ */
+public interface INonDominatedSort {
+
+    /**
+     * Assigns each solution the rank of its pareto front. The first pareto front, i.e. the
+     * solutions that are not dominated by any other solution, has the rank 1.
+     *
+     * @param objectives The objective matrix.
+     * @return Returns the rank of each solution.
+     */
+    int[] getRanks(double[][] objectives);
+}
@@ -0,0 +1,368 @@
+package org.mate.exploration.genetic.sorting;
+
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.exploration.genetic.fitness.IFitnessFunction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partitions a population into pareto fronts and assigns the crowding distances as described in
+ * the NSGA-II paper. The normalised fitness values are extracted exactly once into an objective
+ * matrix, on which both the non-dominated sorting and the crowding distance assignment operate.
+ * The solutions are referred to by their index in the population.
+ *
+ * @param <T> The type of the chromosomes.
+ */
+public class ParetoFronts<T> {
+
+    /**
+     * The sorting algorithm that is used by default.
+     */
+    private static final INonDominatedSort DEFAULT_SORT = new EfficientNonDominatedSort();
+
+    private final List<IChromosome<T>> population;
+
+    /**
+     * The objective matrix, where all objectives are maximised.
+     */
+    private final double[][] objectives;
+
+    /**
+     * The rank of each solution, starting with 1.
+     */
+    private final int[] ranks;
+
+    /**
+     * The solutions of each front.
+     */
+    private final int[][] fronts;
+
+    /**
+     * The crowding distances with respect to the entire population, computed on demand.
+     */
+    private double[] crowdingDistances;
+
+    /**
+     * Sorts the given population with the default sorting algorithm.
+     *
+     * @param population The population to be sorted.
+     * @param fitnessFunctions The list of objective (fitness) functions.
+     */
+    public ParetoFronts(List<IChromosome<T>> population, List<IFitnessFunction<T>> fitnessFunctions) {
+        this(population, fitnessFunctions, DEFAULT_SORT);
+    }
+
+    /**
+     * Sorts the given population with the given sorting algorithm.
+     *
+     * @param population The population to be sorted.
+     * @param fitnessFunctions The list of objective (fitness) functions.
+     * @param sort The non-dominated sorting algorithm.
+     */
+    public ParetoFronts(List<IChromosome<T>> population, List<IFitnessFunction<T>> fitnessFunctions,
+                        INonDominatedSort sort) {
+        this.population = new ArrayList<>(population);
+        objectives = getObjectiveMatrix(this.population, fitnessFunctions);
+        ranks = sort.getRanks(objectives);
+
+        int numberOfFronts = 0;
+        for (int rank : ranks) {
+            numberOfFronts = Math.max(numberOfFronts, rank);
+        }
+
+        int[] frontSizes = new int[numberOfFronts];
+        for (int rank : ranks) {
+            frontSizes[rank - 1]++;
+        }
+
+        fronts = new int[numberOfFronts][];
+        for (int i = 0; i < numberOfFronts; i++) {
+            fronts[i] = new int[frontSizes[i]];
+            frontSizes[i] = 0;
+        }
+
+        // the solutions of a front keep their order in the population
+        for (int i = 0; i < ranks.length; i++) {
+            int front = ranks[i] - 1;
+            fronts[front][frontSizes[front]++] = i;
+        }
+    }
+
+    /**
+     * Extracts the objective matrix from the given population, where the ith row holds the
+     * normalised fitness values of the ith chromosome. A minimising objective is flipped, i.e.
+     * all objectives are maximised.
+     *
+     * @param population The population.
+     * @param fitnessFunctions The list of objective (fitness) functions.
+     * @param <T> The type of the chromosomes.
+     * @return Returns the objective matrix.
+     */
+    public static <T> double[][] getObjectiveMatrix(List<IChromosome<T>> population,
+                                                    List<IFitnessFunction<T>> fitnessFunctions) {
+
+        double[][] objectives = new double[population.size()][fitnessFunctions.size()];
+
+        for (int j = 0; j < fitnessFunctions.size(); j++) {
+            IFitnessFunction<T> fitnessFunction = fitnessFunctions.get(j);
+            boolean isMaximising = fitnessFunction.isMaximizing();
+            for (int i = 0; i < population.size(); i++) {
+                double fitness = fitnessFunction.getNormalizedFitness(population.get(i));
+                objectives[i][j] = isMaximising ? fitness : 1 - fitness;
+            }
+        }
+        return objectives;
+    }
+
+    /**
+     * Performs the crowding-distance-assignment procedure as described on the bottom of page 185
+     * for the given solutions. The solutions at the boundary of an objective get an infinite
+     * crowding distance. Since the objective values are normalised in [0,1], the difference of
+     * the neighbours' objective values doesn't need to be divided by the range of the objective.
+     *
+     * @param objectives The objective matrix.
+     * @param solutions The solutions for which the crowding distance should be assigned.
+     * @return Returns the crowding distances, where the ith entry refers to the ith solution.
+     */
+    public static double[] getCrowdingDistances(double[][] objectives, int[] solutions) {
+
+        int length = solutions.length;
+        double[] crowdingDistances = new double[length];
+
+        if (length == 0) {
+            return crowdingDistances;
+        }
+
+        int numberOfObjectives = objectives[solutions[0]].length;
+
+        // positions into the given solutions sorted by a single objective
+        int[] order = new int[length];
+        int[] buffer = new int[length];
+        double[] values = new double[length];
+
+        for (int objective = 0; objective < numberOfObjectives; objective++) {
+
+            for (int i = 0; i < length; i++) {
+                order[i] = i;
+                values[i] = objectives[solutions[i]][objective];
+            }
+
+            // sort in ascending order of magnitude
+            sortByValue(values, order, buffer);
+
+            double worstValue = values[order[0]];
+            double bestValue = values[order[length - 1]];
+
+            // the boundary solutions get an infinite crowding distance
+            int start = 0;
+            int end = length - 1;
+
+            for (int i = 0; i < length; i++) {
+                double value = values[order[i]];
+                if (value == worstValue) {
+                    crowdingDistances[order[i]] = Double.POSITIVE_INFINITY;
+                    start = i;
+                } else if (value == bestValue) {
+                    crowdingDistances[order[i]] = Double.POSITIVE_INFINITY;
+                    if (i < end) {
+                        end = i;
+                    }
+                }
+            }
+
+            // assign crowding distance to every other solution
+            for (int i = start + 1; i < end; i++) {
+                crowdingDistances[order[i]] += values[order[i + 1]] - values[order[i - 1]];
+            }
+        }
+
+        return crowdingDistances;
+    }
+
+    /**
+     * Sorts the given positions in ascending order of their values by a stable merge sort.
+     */
+    private static void sortByValue(double[] values, int[] order, int[] buffer) {
+
+        int n = order.length;
+
+        for (int width = 1; width < n; width *= 2) {
+            for (int low = 0; low < n - width; low += 2 * width) {
+                int middle = low + width;
+                int high = Math.min(low + 2 * width, n);
+
+                System.arraycopy(order, low, buffer, low, high - low);
+
+                int i = low;
+                int j = middle;
+                for (int k = low; k < high; k++) {
+                    if (j >= high || (i < middle && values[buffer[i]] <= values[buffer[j]])) {
+                        order[k] = buffer[i++];
+                    } else {
+                        order[k] = buffer[j++];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the size of the sorted population.
+     *
+     * @return Returns the number of solutions.
+     */
+    public int size() {
+        return population.size();
+    }
+
+    /**
+     * Returns the chromosome of the given solution.
+     *
+     * @param solution The index of the solution in the population.
+     * @return Returns the chromosome.
+     */
+    public IChromosome<T> get(int solution) {
+        return population.get(solution);
+    }
+
+    /**
+     * Returns the rank of the given solution.
+     *
+     * @param solution The index of the solution in the population.
+     * @return Returns the rank, starting with 1.
+     */
+    public int getRank(int solution) {
+        return ranks[solution];
+    }
+
+    /**
+     * Returns the crowding distance of the given solution with respect to the entire population.
+     *
+     * @param solution The index of the solution in the population.
+     * @return Returns the crowding distance.
+     */
+    public double getCrowdingDistance(int solution) {
+        if (crowdingDistances == null) {
+            int[] solutions = new int[population.size()];
+            for (int i = 0; i < solutions.length; i++) {
+                solutions[i] = i;
+            }
+            crowdingDistances = getCrowdingDistances(objectives, solutions);
+        }
+        return crowdingDistances[solution];
+    }
+
+    /**
+     * Returns the number of pareto fronts.
+     *
+     * @return Returns the number of pareto fronts.
+     */
+    public int getNumberOfFronts() {
+        return fronts.length;
+    }
+
+    /**
+     * Returns the chromosomes of the pareto front with the given rank.
+     *
+     * @param rank The rank of the pareto front, starting with 1.
+     * @return Returns the chromosomes of the pareto front.
+     */
+    public List<IChromosome<T>> getFront(int rank) {
+        int[] front = fronts[rank - 1];
+        List<IChromosome<T>> chromosomes = new ArrayList<>(front.length);
+        for (int solution : front) {
+            chromosomes.add(population.get(solution));
+        }
+        return chromosomes;
+    }
+
+    /**
+     * Associates the rank with the chromosomes of each pareto front.
+     *
+     * @return Returns the pareto fronts.
+     */
+    public Map<Integer, List<IChromosome<T>>> toMap() {
+        Map<Integer, List<IChromosome<T>>> paretoFronts = new HashMap<>();
+        for (int rank = 1; rank <= fronts.length; rank++) {
+            paretoFronts.put(rank, getFront(rank));
+        }
+        return paretoFronts;
+    }
+
+    /**
+     * Selects the survivors for the next generation. The survivors are filled with the solutions
+     * from the first pareto fronts. The (last) front that could not be fully accommodated requires
+     * a special treatment. Only the least crowded solutions of that front, according to the
+     * crowding distance assignment restricted to that front, are added until the given size is
+     * reached.
+     *
+     * @param populationSize The number of survivors.
+     * @return Returns the survivors.
+     */
+    public List<IChromosome<T>> getSurvivors(int populationSize) {
+
+        List<IChromosome<T>> survivors = new ArrayList<>(populationSize);
+        int rank = 0;
+
+        // add solutions until a front can't be fully accommodated
+        while (rank < fronts.length && survivors.size() + fronts[rank].length < populationSize) {
+            for (int solution : fronts[rank]) {
+                survivors.add(population.get(solution));
+            }
+            rank++;
+        }
+
+        if (rank == fronts.length) {
+            return survivors;
+        }
+
+        // sort last front in descending order of the crowding distance
+        int[] lastFront = fronts[rank];
+        double[] distances = getCrowdingDistances(objectives, lastFront);
+
+        int[] order = new int[lastFront.length];
+        int[] buffer = new int[lastFront.length];
+        double[] negatedDistances = new double[lastFront.length];
+        for (int i = 0; i < lastFront.length; i++) {
+            order[i] = i;
+            negatedDistances[i] = -distances[i];
+        }
+        sortByValue(negatedDistances, order, buffer);
+
+        // fill up the remaining slots with the least crowded chromosomes of the last front
+        for (int i = 0; survivors.size() < populationSize; i++) {
+            survivors.add(population.get(lastFront[order[i]]));
+        }
+        return survivors;
+    }
+
+    /**
+     * Maps each chromosome to its rank.
+     *
+     * @return Returns the rank map.
+     */
+    public Map<IChromosome<T>, Integer> getRankMap() {
+        Map<IChromosome<T>, Integer> rankMap = new IdentityHashMap<>();
+        for (int i = 0; i < population.size(); i++) {
+            rankMap.put(population.get(i), ranks[i]);
+        }
+        return rankMap;
+    }
+
+    /**
+     * Maps each chromosome to its crowding distance with respect to the entire population.
+     *
+     * @return Returns the crowding distance map.
+     */
+    public Map<IChromosome<T>, Double> getCrowdingDistanceMap() {
+        Map<IChromosome<T>, Double> crowdingDistanceMap = new IdentityHashMap<>();
+        for (int i = 0; i < population.size(); i++) {
+            crowdingDistanceMap.put(population.get(i), getCrowdingDistance(i));
+        }
+        return crowdingDistanceMap;
+    }
+}
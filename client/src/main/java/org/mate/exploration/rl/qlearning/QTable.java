@@ -0,0 +1,291 @@
+package org.mate.exploration.rl.qlearning;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A dense q-table shared by the q-learning based strategies. Each state is assigned a consecutive
+ * integer id when it is added for the first time, while the actions of a state are referred to by
+ * their position in the state's action list. The q-values and the execution counters of all
+ * states are stored in two growable primitive arrays, where the actions of a state occupy a
+ * contiguous block.
+ *
+ * The GUI model hands out the recorded screen state for equal states, thus resolving the id of a
+ * screen state boils down to its precomputed hash code and an identity check. The id of the most
+ * recently resolved state is cached, since a state is typically looked up several times per step.
+ *
+ * @param <S> The type of the states.
+ */
+public class QTable<S> {
+
+    /**
+     * The q-value assigned to the actions of a new state.
+     */
+    private final double initialQValue;
+
+    /**
+     * Maps each state to its id.
+     */
+    private final Map<S, Integer> stateIds = new HashMap<>();
+
+    /**
+     * The offset of the first action of each state in {@link #qValues} and {@link #counters}.
+     */
+    private int[] offsets = new int[16];
+
+    /**
+     * The number of actions of each state.
+     */
+    private int[] numberOfActions = new int[16];
+
+    /**
+     * The q-values of all actions.
+     */
+    private double[] qValues = new double[64];
+
+    /**
+     * The execution counters of all actions.
+     */
+    private int[] counters = new int[64];
+
+    /**
+     * The number of states.
+     */
+    private int numberOfStates = 0;
+
+    /**
+     * The number of actions over all states.
+     */
+    private int size = 0;
+
+    /**
+     * The most recently resolved state and its id.
+     */
+    private S lastState;
+    private int lastStateId = -1;
+
+    /**
+     * Initialises an empty q-table.
+     *
+     * @param initialQValue The q-value assigned to the actions of a new state.
+     */
+    public QTable(double initialQValue) {
+        this.initialQValue = initialQValue;
+    }
+
+    /**
+     * Returns the id of the given state.
+     *
+     * @param state The state.
+     * @return Returns the id of the state or {@code -1} if the state is unknown.
+     */
+    public int getStateId(S state) {
+
+        if (state == lastState) {
+            return lastStateId;
+        }
+
+        Integer stateId = stateIds.get(state);
+
+        if (stateId == null) {
+            return -1;
+        }
+
+        lastState = state;
+        lastStateId = stateId;
+        return stateId;
+    }
+
+    /**
+     * Adds the given state unless it is already known. The q-values of the actions of a new state
+     * are initialised with the initial q-value and the execution counters with zero.
+     *
+     * @param state The state to be added.
+     * @param actions The number of actions of the state.
+     * @return Returns the id of the state.
+     */
+    public int addState(S state, int actions) {
+
+        int stateId = getStateId(state);
+
+        if (stateId != -1) {
+            return stateId;
+        }
+
+        if (numberOfStates == offsets.length) {
+            offsets = Arrays.copyOf(offsets, numberOfStates * 2);
+            numberOfActions = Arrays.copyOf(numberOfActions, numberOfStates * 2);
+        }
+
+        if (size + actions > qValues.length) {
+            int capacity = Math.max(qValues.length * 2, size + actions);
+            qValues = Arrays.copyOf(qValues, capacity);
+            counters = Arrays.copyOf(counters, capacity);
+        }
+
+        Arrays.fill(qValues, size, size + actions, initialQValue);
+
+        stateId = numberOfStates++;
+        offsets[stateId] = size;
+        numberOfActions[stateId] = actions;
+        size += actions;
+
+        stateIds.put(state, stateId);
+        lastState = state;
+        lastStateId = stateId;
+        return stateId;
+    }
+
+    /**
+     * Returns the number of states.
+     *
+     * @return Returns the number of states.
+     */
+    public int getNumberOfStates() {
+        return numberOfStates;
+    }
+
+    /**
+     * Returns the number of actions of the given state.
+     *
+     * @param stateId The id of the state.
+     * @return Returns the number of actions.
+     */
+    public int getNumberOfActions(int stateId) {
+        return numberOfActions[stateId];
+    }
+
+    /**
+     * Returns the q-value of the given action.
+     *
+     * @param stateId The id of the state.
+     * @param action The index of the action in the state's action list.
+     * @return Returns the q-value.
+     */
+    public double getQValue(int stateId, int action) {
+        return qValues[index(stateId, action)];
+    }
+
+    /**
+     * Sets the q-value of the given action.
+     *
+     * @param stateId The id of the state.
+     * @param action The index of the action in the state's action list.
+     * @param qValue The new q-value.
+     */
+    public void setQValue(int stateId, int action, double qValue) {
+        qValues[index(stateId, action)] = qValue;
+    }
+
+    /**
+     * Returns how often the given action has been executed.
+     *
+     * @param stateId The id of the state.
+     * @param action The index of the action in the state's action list.
+     * @return Returns the execution counter.
+     */
+    public int getCounter(int stateId, int action) {
+        return counters[index(stateId, action)];
+    }
+
+    /**
+     * Increments the execution counter of the given action.
+     *
+     * @param stateId The id of the state.
+     * @param action The index of the action in the state's action list.
+     * @return Returns the incremented execution counter.
+     */
+    public int incrementCounter(int stateId, int action) {
+        return ++counters[index(stateId, action)];
+    }
+
+    /**
+     * Returns the highest q-value of the given state.
+     *
+     * @param stateId The id of the state.
+     * @return Returns the highest q-value or the initial q-value if the state has no actions.
+     */
+    public double getMaxQValue(int stateId) {
+
+        int offset = offsets[stateId];
+        int end = offset + numberOfActions[stateId];
+
+        if (offset == end) {
+            return initialQValue;
+        }
+
+        double maxQValue = qValues[offset];
+        for (int i = offset + 1; i < end; i++) {
+            if (qValues[i] > maxQValue) {
+                maxQValue = qValues[i];
+            }
+        }
+        return maxQValue;
+    }
+
+    /**
+     * Selects an action with the highest q-value, where ties are broken uniformly at random.
+     *
+     * @param stateId The id of the state.
+     * @param random The random number generator.
+     * @return Returns the index of the selected action in the state's action list.
+     */
+    public int selectBestAction(int stateId, Random random) {
+
+        int offset = offsets[stateId];
+        int end = offset + numberOfActions[stateId];
+
+        if (offset == end) {
+            throw new IllegalStateException("Can't select an action on a state without actions!");
+        }
+
+        // determine the highest q-value and how often it occurs in one pass
+        double maxQValue = qValues[offset];
+        int ties = 1;
+        for (int i = offset + 1; i < end; i++) {
+            double qValue = qValues[i];
+            if (qValue > maxQValue) {
+                maxQValue = qValue;
+                ties = 1;
+            } else if (qValue == maxQValue) {
+                ties++;
+            }
+        }
+
+        int tie = random.nextInt(ties);
+
+        for (int i = offset; i < end; i++) {
+            if (qValues[i] == maxQValue && tie-- == 0) {
+                return i - offset;
+            }
+        }
+        throw new IllegalStateException("Couldn't select an action with the highest q-value!");
+    }
+
+    /**
+     * Selects an action according to the epsilon-greedy policy, i.e. a random action is selected
+     * with probability epsilon, otherwise an action with the highest q-value.
+     *
+     * @param stateId The id of the state.
+     * @param epsilon The probability of selecting a random action.
+     * @param random The random number generator.
+     * @return Returns the index of the selected action in the state's action list.
+     */
+    public int selectAction(int stateId, double epsilon, Random random) {
+        if (random.nextDouble() < epsilon) {
+            return random.nextInt(numberOfActions[stateId]);
+        } else {
+            return selectBestAction(stateId, random);
+        }
+    }
+
+    private int index(int stateId, int action) {
+        if (action < 0 || action >= numberOfActions[stateId]) {
+            throw new IndexOutOfBoundsException("Action " + action + " not defined on state "
+                    + stateId + "!");
+        }
+        return offsets[stateId] + action;
+    }
+}
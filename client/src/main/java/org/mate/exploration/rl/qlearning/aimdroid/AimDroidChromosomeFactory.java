@@ -4,21 +4,16 @@ import org.mate.commons.utils.MATELog;
 import org.mate.exploration.genetic.chromosome.Chromosome;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.chromosome_factory.AndroidRandomChromosomeFactory;
+import org.mate.exploration.rl.qlearning.QTable;
 import org.mate.commons.interaction.action.Action;
 import org.mate.model.TestCase;
 import org.mate.state.IScreenState;
 import org.mate.utils.FitnessUtils;
-import org.mate.utils.ListUtils;
 import org.mate.commons.utils.Randomness;
 import org.mate.utils.StackTrace;
 import org.mate.utils.coverage.CoverageUtils;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -34,7 +29,7 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
     /**
      * Maintains the q-values for each state and action.
      */
-    private final Map<IScreenState, List<Double>> qValues;
+    private final QTable<IScreenState> qTable;
 
     /**
      * The minL constant used in the bound method. Defines the minimal number of actions on a given
@@ -73,6 +68,11 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
      */
     private int lastActionIndex;
 
+    /**
+     * The id of the state on which the last action has been selected.
+     */
+    private int lastStateId;
+
     /**
      * The activity that should be explored intensively.
      */
@@ -88,11 +88,6 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
      */
     private final Set<StackTrace> stackTraces = new HashSet<>();
 
-    /**
-     * The set of visited screen states.
-     */
-    private final Set<IScreenState> visitedScreenStates = new HashSet<>();
-
     /**
      * Whether the last test case discovered a new crash.
      */
@@ -119,7 +114,7 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
         this.epsilon = epsilon;
         this.alpha = alpha;
         this.gamma = gamma;
-        qValues = new HashMap<>();
+        qTable = new QTable<>(1.0);
     }
 
     /**
@@ -164,21 +159,13 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
      * Checks whether we reached a new state. In this case, we need to initialise the q-Values
      * to the default value of 1.
      *
-     * @return Returns the current state.
+     * @return Returns the id of the current state.
      */
-    private IScreenState checkForNewState() {
+    private int checkForNewState() {
 
+        // initialise q-value of all actions with default value 1
         IScreenState lastScreenState = uiAbstractionLayer.getLastScreenState();
-
-        if (!visitedScreenStates.contains(lastScreenState)) {
-            // initialise q-value of all actions with default value 1
-            visitedScreenStates.add(lastScreenState);
-            int numberOfActions = lastScreenState.getActions().size();
-            List<Double> initialQValues
-                    = new ArrayList<>(Collections.nCopies(numberOfActions, 1.0));
-            qValues.put(lastScreenState, initialQValues);
-        }
-        return lastScreenState;
+        return qTable.addState(lastScreenState, lastScreenState.getActions().size());
     }
 
     /**
@@ -232,20 +219,19 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
      * the highest q-value in the current state.
      *
      * @param reward The reward of the last executed action.
-     * @param oldState The state before the last action was executed.
-     * @param newState The new (current) state.
+     * @param newStateId The id of the new (current) state.
      */
-    private void updateQValue(double reward, final IScreenState oldState, final IScreenState newState) {
+    private void updateQValue(double reward, int newStateId) {
 
         MATELog.log_acc("Reward for last action " + lastAction + ": " + reward);
 
-        double oldQValue = qValues.get(oldState).get(lastActionIndex);
+        double oldQValue = qTable.getQValue(lastStateId, lastActionIndex);
 
         // Q(s, a) ← Q(s, a) + α(r + γQ(s′, a′) − Q(s, a))
-        double qValue = oldQValue + alpha * (reward + gamma * Collections.max(qValues.get(newState))
+        double qValue = oldQValue + alpha * (reward + gamma * qTable.getMaxQValue(newStateId)
             - oldQValue);
         MATELog.log_acc("New q-value is: " + qValue);
-        qValues.get(oldState).set(lastActionIndex, qValue);
+        qTable.setQValue(lastStateId, lastActionIndex, qValue);
     }
 
     /**
@@ -282,13 +268,12 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
             for (actionsCount = 0; !finishTestCase(); actionsCount++) {
 
                 // execute action according to ɛ-greedy learning policy + track states
-                IScreenState oldState = uiAbstractionLayer.getLastScreenState();
                 boolean leftApp = !testCase.updateTestCase(selectAction(), actionsCount);
-                IScreenState newState = checkForNewState();
+                int newStateId = checkForNewState();
 
                 // compute reward of last action + update q-value
                 double reward = computeReward(leftApp, testCase.hasCrashDetected());
-                updateQValue(reward, oldState, newState);
+                updateQValue(reward, newStateId);
 
                 if (leftApp) {
                     return chromosome;
@@ -357,19 +342,14 @@ public class AimDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
     protected Action selectAction() {
 
         IScreenState lastScreenState = uiAbstractionLayer.getLastScreenState();
-        double rnd = Randomness.getRnd().nextDouble();
+        lastStateId = qTable.getStateId(lastScreenState);
 
-        if (rnd < epsilon) {
-            // select randomly
-            lastActionIndex = Randomness.randomIndex(lastScreenState.getActions());
-            lastAction = lastScreenState.getActions().get(lastActionIndex);
-        } else {
-            // pick the action with the highest q-value, choose random if there are multiple
-            List<Double> qValues = this.qValues.get(lastScreenState);
-            List<Integer> bestQValueIndices = ListUtils.getMaximaPositions(qValues);
-            lastActionIndex = Randomness.randomElement(bestQValueIndices);
-            lastAction = lastScreenState.getActions().get(lastActionIndex);
-        }
+        /*
+        * Select randomly with probability epsilon, otherwise pick the action with the highest
+        * q-value and choose random if there are multiple.
+         */
+        lastActionIndex = qTable.selectAction(lastStateId, epsilon, Randomness.getRnd());
+        lastAction = lastScreenState.getActions().get(lastActionIndex);
         return lastAction;
     }
 }
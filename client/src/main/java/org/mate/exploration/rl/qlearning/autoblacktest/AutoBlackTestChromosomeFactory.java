@@ -4,22 +4,14 @@ import org.mate.commons.utils.MATELog;
 import org.mate.exploration.genetic.chromosome.Chromosome;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.chromosome_factory.AndroidRandomChromosomeFactory;
+import org.mate.exploration.rl.qlearning.QTable;
 import org.mate.commons.interaction.action.Action;
-import org.mate.commons.interaction.action.ui.Widget;
 import org.mate.model.TestCase;
 import org.mate.state.IScreenState;
 import org.mate.utils.FitnessUtils;
 import org.mate.commons.utils.Randomness;
 import org.mate.utils.coverage.CoverageUtils;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
-
 /**
  * Generates a new {@link IChromosome} or in the context of AutoBlackTest, a new episode is generated.
  */
@@ -38,7 +30,17 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
     /**
      * Maintains the q-values for each state and action.
      */
-    private final Map<IScreenState, Map<Action, Double>> qValues = new HashMap<>();
+    private final QTable<IScreenState> qTable = new QTable<>(0.0d);
+
+    /**
+     * The id of the state on which the last action has been selected.
+     */
+    private int lastStateId;
+
+    /**
+     * The index of the last selected action in the action list of its state.
+     */
+    private int lastActionIndex;
 
     /**
      * Initialises the AutoBlackTest chromosome factory with the mandatory attributes.
@@ -79,7 +81,7 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
                 // compute reward of last action + update q-value
                 IScreenState newState = uiAbstractionLayer.getLastScreenState();
                 double reward = computeReward(oldState, newState);
-                updateQValue(reward, oldState, newState, nextAction);
+                updateQValue(reward, newState);
 
                 if (leftApp) {
                     return chromosome;
@@ -109,121 +111,32 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
      */
     private double computeReward(IScreenState oldState, IScreenState newState) {
 
+        WidgetDiff widgetDiff = new WidgetDiff(oldState.getWidgets(), newState.getWidgets());
+
         // |AS 2 \t AS 1|
-        int stateDifference = stateDifference(newState, oldState);
+        int stateDifference = widgetDiff.getNumberOfAddedWidgets();
 
         // ∑ w1∈AS 1, w2∈AS 2, w1 =t w2 diff(w1,w2)
-        double widgetDifferences = 0;
-
-        for (Widget thisWidget : oldState.getWidgets()) {
-            for (Widget otherWidget : newState.getWidgets()) {
-
-                WidgetTrait thisTrait = new WidgetTrait(thisWidget);
-                WidgetTrait otherTrait = new WidgetTrait(otherWidget);
-
-                if (thisTrait.equals(otherTrait)) {
-                    widgetDifferences += widgetDifference(thisWidget, otherWidget);
-                }
-            }
-        }
+        double widgetDifferences = widgetDiff.getMatchedWidgetDifference();
 
         return (double) (stateDifference + widgetDifferences) / newState.getWidgets().size();
     }
 
-    /**
-     * Computes the difference of two widgets in terms of the changed property values, see the
-     * equation on page 84.
-     *
-     * @param firstWidget The first widget.
-     * @param secondWidget The second widget.
-     * @return Returns the difference of two widgets in terms of changed property values.
-     */
-    private double widgetDifference(Widget firstWidget, Widget secondWidget) {
-
-        // diff(w1,w2) = |P1\P2| + |P2\P1| / |P1| + |P2|
-        int widgetDifferences = 0;
-
-        if (firstWidget.isEnabled() != secondWidget.isEnabled()) {
-            widgetDifferences++;
-        }
-
-        if (firstWidget.isVisible() != secondWidget.isVisible()) {
-            widgetDifferences++;
-        }
-
-        if (firstWidget.isEditable() != secondWidget.isEditable()) {
-            widgetDifferences++;
-        }
-
-        if (firstWidget.isChecked() != secondWidget.isChecked()) {
-            widgetDifferences++;
-        }
-
-        if (firstWidget.isFocused() != secondWidget.isFocused()) {
-            widgetDifferences++;
-        }
-
-        if (!firstWidget.getText().equals(secondWidget.getText())) {
-            widgetDifferences++;
-        }
-
-        return (double) widgetDifferences / 6 + 6;
-    }
-
-    /**
-     * Computes the state difference in terms of the number of widgets that only appear in the first
-     * state but not in the second state according to its traits. See the restriction operator \t
-     * defined on page 83 in the paper.
-     *
-     * @param firstState The first state.
-     * @param secondState The second state.
-     * @return Returns the number of widgets that only appear in the first state but not in the second.
-     */
-    private int stateDifference(IScreenState firstState, IScreenState secondState) {
-
-        // the widgets that only appear in the first and not in the second state according to its traits.
-        Set<Widget> widgets = new HashSet<>();
-
-        for (Widget thisWidget : firstState.getWidgets()) {
-
-            WidgetTrait thisTrait = new WidgetTrait(thisWidget);
-            boolean notContainedInSecondState = true;
-
-            for (Widget otherWidget : secondState.getWidgets()) {
-
-                WidgetTrait otherTrait = new WidgetTrait(otherWidget);
-
-                if (thisTrait.equals(otherTrait)) {
-                    notContainedInSecondState = false;
-                    break;
-                }
-            }
-
-            if (notContainedInSecondState) {
-                widgets.add(thisWidget);
-            }
-        }
-
-        return widgets.size();
-    }
-
     /**
      * Updates the q-value of the last action according to the q-Learning formula shown in
      * equation (1) on page 85 in the paper.
      *
      * @param reward The intermediate reward.
-     * @param oldState The state before executing the last action.
      * @param newState The state after executing the last action.
-     * @param lastAction The last executed action.
      */
-    private void updateQValue(double reward, IScreenState oldState, IScreenState newState, Action lastAction) {
+    private void updateQValue(double reward, IScreenState newState) {
 
         // the future reward is defined as the maximal q-value in the new state
         double futureReward = 0.0d;
+        int newStateId = qTable.getStateId(newState);
 
-        if (qValues.containsKey(newState)) {
-            Map<Action, Double> actionQValueMapping = qValues.get(newState);
-            futureReward = Collections.max(actionQValueMapping.values());
+        if (newStateId != -1) {
+            futureReward = qTable.getMaxQValue(newStateId);
         }
 
         double qValue = reward + discountFactor * futureReward;
@@ -232,7 +145,7 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
         MATELog.log_acc("Future reward: " + futureReward);
         MATELog.log_acc("New q-value: " + qValue);
 
-        qValues.get(oldState).put(lastAction, qValue);
+        qTable.setQValue(lastStateId, lastActionIndex, qValue);
     }
 
     /**
@@ -244,13 +157,9 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
     private void checkForNewState(IScreenState screenState) {
 
         // init q-values for new state
-        if (!qValues.containsKey(screenState)) {
+        if (qTable.getStateId(screenState) == -1) {
             MATELog.log_acc("New state: " + screenState);
-            Map<Action, Double> actionQValueMapping = new HashMap<>();
-            for (Action action : screenState.getActions()) {
-                actionQValueMapping.put(action, 0.0d);
-            }
-            this.qValues.put(screenState, actionQValueMapping);
+            qTable.addState(screenState, screenState.getActions().size());
         }
     }
 
@@ -264,20 +173,13 @@ public class AutoBlackTestChromosomeFactory extends AndroidRandomChromosomeFacto
     protected Action selectAction() {
 
         IScreenState lastScreenState = uiAbstractionLayer.getLastScreenState();
-        double rnd = Randomness.getRnd().nextDouble();
-
-        if (rnd < epsilon) {
-            // select randomly with probability epsilon
-            return Randomness.randomElement(lastScreenState.getActions());
-        } else {
-            // select the action with the highest q-value with probability 1 - epsilon
-            Map<Action, Double> actionQValueMapping = qValues.get(lastScreenState);
-            double maxQValue = Collections.max(actionQValueMapping.values());
-            List<Action> highestQValueActions = actionQValueMapping.entrySet().stream()
-                    .filter(entry -> entry.getValue() == maxQValue)
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList());
-            return Randomness.randomElement(highestQValueActions);
-        }
+        lastStateId = qTable.getStateId(lastScreenState);
+
+        /*
+        * We select randomly with probability epsilon and the action with the highest q-value
+        * with probability 1 - epsilon.
+         */
+        lastActionIndex = qTable.selectAction(lastStateId, epsilon, Randomness.getRnd());
+        return lastScreenState.getActions().get(lastActionIndex);
     }
 }
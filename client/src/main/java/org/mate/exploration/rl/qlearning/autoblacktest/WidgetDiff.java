@@ -0,0 +1,160 @@
+package org.mate.exploration.rl.qlearning.autoblacktest;
+
+import org.mate.commons.interaction.action.ui.Widget;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares the widgets of two screen states based on their traits, see {@link WidgetTrait}. Two
+ * widgets are matched if they share the same trait. Instead of comparing every widget of the first
+ * state with every widget of the second state, the widgets of the second state are indexed by their
+ * trait, thus only the matched pairs are compared. The trait of each widget is constructed once.
+ */
+public class WidgetDiff {
+
+    /**
+     * The number of distinct widgets of the first state whose trait doesn't appear in the second state.
+     */
+    private final int removedWidgets;
+
+    /**
+     * The number of distinct widgets of the second state whose trait doesn't appear in the first state.
+     */
+    private final int addedWidgets;
+
+    /**
+     * The sum of the widget differences over all matched pairs of widgets.
+     */
+    private final double matchedWidgetDifference;
+
+    /**
+     * Compares the widgets of the first state with the widgets of the second state.
+     *
+     * @param firstWidgets The widgets of the first state, e.g. the state before executing an action.
+     * @param secondWidgets The widgets of the second state, e.g. the state after executing an action.
+     */
+    public WidgetDiff(List<Widget> firstWidgets, List<Widget> secondWidgets) {
+
+        // index the widgets of the second state by their trait
+        Map<WidgetTrait, List<Widget>> secondIndex = new HashMap<>();
+        List<WidgetTrait> secondTraits = new ArrayList<>(secondWidgets.size());
+
+        for (Widget widget : secondWidgets) {
+            WidgetTrait trait = new WidgetTrait(widget);
+            secondTraits.add(trait);
+            List<Widget> matches = secondIndex.get(trait);
+            if (matches == null) {
+                matches = new ArrayList<>(1);
+                secondIndex.put(trait, matches);
+            }
+            matches.add(widget);
+        }
+
+        Set<WidgetTrait> firstTraits = new HashSet<>();
+        Set<Widget> removed = new HashSet<>();
+        double difference = 0;
+
+        for (Widget widget : firstWidgets) {
+
+            WidgetTrait trait = new WidgetTrait(widget);
+            firstTraits.add(trait);
+            List<Widget> matches = secondIndex.get(trait);
+
+            if (matches == null) {
+                removed.add(widget);
+            } else {
+                // the same order of summation as comparing each pair of widgets
+                for (Widget match : matches) {
+                    difference += widgetDifference(widget, match);
+                }
+            }
+        }
+
+        Set<Widget> added = new HashSet<>();
+
+        for (int i = 0; i < secondWidgets.size(); i++) {
+            if (!firstTraits.contains(secondTraits.get(i))) {
+                added.add(secondWidgets.get(i));
+            }
+        }
+
+        removedWidgets = removed.size();
+        addedWidgets = added.size();
+        matchedWidgetDifference = difference;
+    }
+
+    /**
+     * Computes the difference of two widgets in terms of the changed property values, see the
+     * equation on page 84 in the AutoBlackTest paper.
+     *
+     * @param firstWidget The first widget.
+     * @param secondWidget The second widget.
+     * @return Returns the difference of two widgets in terms of changed property values.
+     */
+    public static double widgetDifference(Widget firstWidget, Widget secondWidget) {
+
+        // diff(w1,w2) = |P1\P2| + |P2\P1| / |P1| + |P2|
+        int widgetDifferences = 0;
+
+        if (firstWidget.isEnabled() != secondWidget.isEnabled()) {
+            widgetDifferences++;
+        }
+
+        if (firstWidget.isVisible() != secondWidget.isVisible()) {
+            widgetDifferences++;
+        }
+
+        if (firstWidget.isEditable() != secondWidget.isEditable()) {
+            widgetDifferences++;
+        }
+
+        if (firstWidget.isChecked() != secondWidget.isChecked()) {
+            widgetDifferences++;
+        }
+
+        if (firstWidget.isFocused() != secondWidget.isFocused()) {
+            widgetDifferences++;
+        }
+
+        if (!firstWidget.getText().equals(secondWidget.getText())) {
+            widgetDifferences++;
+        }
+
+        return (double) widgetDifferences / 6 + 6;
+    }
+
+    /**
+     * Returns the number of distinct widgets of the first state whose trait doesn't appear in the
+     * second state, i.e. the restriction operator \t defined on page 83 in the AutoBlackTest paper.
+     *
+     * @return Returns the number of removed widgets.
+     */
+    public int getNumberOfRemovedWidgets() {
+        return removedWidgets;
+    }
+
+    /**
+     * Returns the number of distinct widgets of the second state whose trait doesn't appear in the
+     * first state.
+     *
+     * @return Returns the number of added widgets.
+     */
+    public int getNumberOfAddedWidgets() {
+        return addedWidgets;
+    }
+
+    /**
+     * Returns the sum of the widget differences over all pairs of widgets sharing the same trait,
+     * where the first widget belongs to the first state and the second widget to the second state.
+     *
+     * @return Returns the summed widget difference of the matched widgets.
+     */
+    public double getMatchedWidgetDifference() {
+        return matchedWidgetDifference;
+    }
+}
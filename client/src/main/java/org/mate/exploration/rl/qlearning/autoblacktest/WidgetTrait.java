@@ -5,17 +5,34 @@ import android.support.annotation.NonNull;
 import org.mate.commons.interaction.action.ui.Widget;
 
 import java.util.Objects;
-import java.util.Properties;
 
 /**
  * Describes a trait of a widget, i.e. a subset of properties that are representative and invariant.
+ * A trait is immutable, thus its hash code is computed once.
  */
 public class WidgetTrait {
 
     /**
-     * The trait of a widget encoded as key-value pairs.
+     * The number of properties that make up a trait.
      */
-    private final Properties trait;
+    private static final int SIZE = 4;
+
+    /**
+     * The properties of the trait, i.e. the type, the bounds, the resource id and the description.
+     * The bounds are compared by their coordinates.
+     */
+    private final String type;
+    private final int x1;
+    private final int y1;
+    private final int x2;
+    private final int y2;
+    private final String resourceID;
+    private final String description;
+
+    /**
+     * The precomputed hash code of the trait.
+     */
+    private final int hashCode;
 
     /**
      * Constructs a new trait for the given widget.
@@ -23,11 +40,14 @@ public class WidgetTrait {
      * @param widget The widget for which the trait should be constructed.
      */
     public WidgetTrait(Widget widget) {
-        trait = new Properties();
-        trait.setProperty("type", widget.getClazz());
-        trait.setProperty("bounds", String.valueOf(widget.getBounds()));
-        trait.setProperty("resourceID", widget.getResourceID());
-        trait.setProperty("description", widget.getContentDesc());
+        type = widget.getClazz();
+        x1 = widget.getX1();
+        y1 = widget.getY1();
+        x2 = widget.getX2();
+        y2 = widget.getY2();
+        resourceID = widget.getResourceID();
+        description = widget.getContentDesc();
+        hashCode = Objects.hash(type, x1, y1, x2, y2, resourceID, description);
     }
 
     /**
@@ -36,7 +56,7 @@ public class WidgetTrait {
      * @return Returns the trait size.
      */
     public int size() {
-        return trait.size();
+        return SIZE;
     }
 
     /**
@@ -53,18 +73,25 @@ public class WidgetTrait {
             return false;
         } else {
             WidgetTrait other = (WidgetTrait) o;
-            return trait.equals(other.trait);
+            return hashCode == other.hashCode
+                    && x1 == other.x1
+                    && y1 == other.y1
+                    && x2 == other.x2
+                    && y2 == other.y2
+                    && Objects.equals(type, other.type)
+                    && Objects.equals(resourceID, other.resourceID)
+                    && Objects.equals(description, other.description);
         }
     }
 
     /**
-     * Computes a hash code for the trait.
+     * Returns the precomputed hash code of the trait.
      *
      * @return Returns the hash code of the trait.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(trait);
+        return hashCode;
     }
 
     /**
@@ -75,6 +102,7 @@ public class WidgetTrait {
     @NonNull
     @Override
     public String toString() {
-        return trait.toString();
+        return "{type=" + type + ", bounds=Rect(" + x1 + ", " + y1 + " - " + x2 + ", " + y2
+                + "), resourceID=" + resourceID + ", description=" + description + "}";
     }
 }
@@ -9,16 +9,13 @@ import org.mate.commons.utils.Randomness;
 import org.mate.exploration.genetic.chromosome.Chromosome;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.chromosome_factory.AndroidRandomChromosomeFactory;
+import org.mate.exploration.rl.qlearning.QTable;
 import org.mate.model.TestCase;
 import org.mate.state.IScreenState;
 import org.mate.utils.FitnessUtils;
 import org.mate.utils.coverage.CoverageUtils;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Generates a new {@link IChromosome} or in the context of AutoDroid, a new episode is generated.
@@ -31,14 +28,21 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
     private final float initialQValue;
 
     /**
-     * Maintains for each state how often a particular has been executed so far.
+     * Maintains the q-values for each state and action as well as how often a particular action
+     * has been executed so far.
      */
-    private final Map<IScreenState, Map<Action, Integer>> stateActionFrequencyMap = new HashMap<>();
+    private final QTable<IScreenState> qTable;
 
     /**
-     * Maintains the q-values for each state and action.
+     * The id of the state on which the last action has been selected.
      */
-    private final Map<IScreenState, Map<Action, Double>> qValues = new HashMap<>();
+    private int lastStateId;
+
+    /**
+     * The index of the last selected action in the action list of its state or {@code -1} if the
+     * 'HOME' action has been selected.
+     */
+    private int lastActionIndex;
 
     /**
      * The probability for selecting the home button as next action.
@@ -56,6 +60,7 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
         super(false, maxEpisodeLength);
         this.initialQValue = initialQValue;
         this.pHomeButton = pHomeButton;
+        qTable = new QTable<>(initialQValue);
     }
 
     /**
@@ -74,8 +79,6 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
         try {
             for (actionsCount = 0; !finishTestCase(); actionsCount++) {
 
-                IScreenState currentState = uiAbstractionLayer.getLastScreenState();
-
                 Action nextAction = selectAction();
                 MATELog.log_acc("Next action: " + nextAction);
                 boolean leftApp = !testCase.updateTestCase(nextAction, actionsCount);
@@ -84,20 +87,22 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
                     MATELog.log_acc("We left the app!");
 
                     /*
-                    * If we directly select the home button action on a new state, the qValues map is
-                    * not properly initialised and hence updating the map would lead to a crash.
+                    * If we directly select the home button action on a new state, the q-values are
+                    * not initialised. Moreover, the home button is not part of the state's actions.
                      */
-                    if (qValues.containsKey(currentState)) {
-                        qValues.get(currentState).put(nextAction, 0.0d);
+                    if (lastActionIndex != -1) {
+                        qTable.setQValue(lastStateId, lastActionIndex, 0.0d);
                     }
 
                     return chromosome;
                 }
 
-                // compute reward of last action + update q-value
-                double reward = computeReward(currentState, nextAction);
-                IScreenState newState = uiAbstractionLayer.getLastScreenState();
-                updateQValue(reward, nextAction, currentState, newState);
+                if (lastActionIndex != -1) {
+                    // compute reward of last action + update q-value
+                    double reward = computeReward();
+                    IScreenState newState = uiAbstractionLayer.getLastScreenState();
+                    updateQValue(reward, newState);
+                }
             }
         } finally {
             if (!isTestSuiteExecution) {
@@ -117,19 +122,18 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
     /**
      * Updates the q-value for the last executed action.
      *
-     * @param reward The computed immediate reward for the given action.
-     * @param action The last executed action.
-     * @param oldState The state before executing the action.
+     * @param reward The computed immediate reward for the last action.
      * @param newState The state after executing the action.
      */
-    private void updateQValue(double reward, Action action, IScreenState oldState, IScreenState newState) {
+    private void updateQValue(double reward, IScreenState newState) {
 
         double discountFactor = computeDiscountFactor(newState);
         double futureReward = initialQValue;
+        int newStateId = qTable.getStateId(newState);
 
-        if (qValues.containsKey(newState)) {
+        if (newStateId != -1) {
             // pick the highest q-value as future reward
-            futureReward = Collections.max(qValues.get(newState).values());
+            futureReward = qTable.getMaxQValue(newStateId);
         }
 
         MATELog.log_acc("Discount factor: " + discountFactor);
@@ -138,7 +142,7 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
 
         double qValue = reward + discountFactor * futureReward;
         MATELog.log_acc("New q-value: " + qValue);
-        qValues.get(oldState).put(action, qValue);
+        qTable.setQValue(lastStateId, lastActionIndex, qValue);
     }
 
     /**
@@ -154,12 +158,10 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
     /**
      * Computes the reward for the last executed action.
      *
-     * @param lastState The state before the action was executed.
-     * @param lastAction The last executed action.
-     * @return Returns the reward for the given action.
+     * @return Returns the reward for the last action.
      */
-    private double computeReward(IScreenState lastState, Action lastAction) {
-        return (double) 1 / stateActionFrequencyMap.get(lastState).get(lastAction);
+    private double computeReward() {
+        return (double) 1 / qTable.getCounter(lastStateId, lastActionIndex);
     }
 
     /**
@@ -175,6 +177,7 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
         double rnd = Randomness.getRnd().nextDouble();
 
         if (rnd < pHomeButton) {
+            lastActionIndex = -1;
             return new UIAction(ActionType.HOME, uiAbstractionLayer.getCurrentActivity());
         } else {
 
@@ -182,31 +185,19 @@ public class AutoDroidChromosomeFactory extends AndroidRandomChromosomeFactory {
             List<UIAction> availableActions = currentState.getActions();
 
             // associate non-executed actions with the initial q-value and initialise execution counter
-            Map<Action, Integer> actionFrequency = stateActionFrequencyMap.getOrDefault(currentState, new HashMap<>());
-            Map<Action, Double> actionQValues = qValues.getOrDefault(currentState, new HashMap<>());
+            lastStateId = qTable.getStateId(currentState);
 
-            if (!stateActionFrequencyMap.containsKey(currentState)) {
+            if (lastStateId == -1) {
                 MATELog.log_acc("Setting initial q-values and execution counter...");
-                for (Action action : availableActions) {
-                    actionFrequency.put(action, 0);
-                    actionQValues.put(action, (double) initialQValue);
-                }
-                stateActionFrequencyMap.put(currentState, actionFrequency);
-                qValues.put(currentState, actionQValues);
+                lastStateId = qTable.addState(currentState, availableActions.size());
             }
 
             // select an action associated with the highest q-value
-            double maxQValue = Collections.max(actionQValues.values());
-            List<Action> highestQValueActions = actionQValues.entrySet().stream()
-                    .filter(entry -> entry.getValue() == maxQValue)
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList());
-
-            Action nextAction = Randomness.randomElement(highestQValueActions);
+            lastActionIndex = qTable.selectBestAction(lastStateId, Randomness.getRnd());
 
             // update the execution counter
-            actionFrequency.computeIfPresent(nextAction, (action, ctr) -> ctr + 1);
-            return nextAction;
+            qTable.incrementCounter(lastStateId, lastActionIndex);
+            return availableActions.get(lastActionIndex);
         }
     }
 }
@@ -3,6 +3,7 @@ package org.mate.interaction;
 import android.os.Environment;
 import android.os.RemoteException;
 
+import org.mate.Properties;
 import org.mate.Registry;
 import org.mate.commons.exceptions.AUTCrashException;
 import org.mate.commons.interaction.action.Action;
@@ -12,6 +13,10 @@ import org.mate.commons.interaction.action.ui.UIAction;
 import org.mate.commons.interaction.action.ui.Widget;
 import org.mate.commons.utils.MATELog;
 import org.mate.commons.utils.Utils;
+import org.mate.interaction.trace.LocalSocketEndpoint;
+import org.mate.interaction.trace.TraceChannel;
+import org.mate.interaction.trace.TraceIds;
+import org.mate.interaction.trace.TraceSet;
 import org.mate.service.MATEService;
 import org.mate.state.IScreenState;
 import org.mate.utils.StackTrace;
@@ -23,9 +28,12 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Writer;
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * The device manager is responsible for the actual execution of the various actions.
@@ -33,8 +41,45 @@ import java.util.Set;
  */
 public class DeviceMgr {
 
+    /**
+     * The prefix of the name of the local socket the tracer streams the traces to.
+     */
+    private static final String TRACE_CHANNEL_PREFIX = "mate-traces-";
+
+    /**
+     * The interval in milliseconds in which the info.txt file is checked while waiting for
+     * streamed traces.
+     */
+    private static final long TRACE_POLLING_INTERVAL = 20;
+
+    /**
+     * The interval in milliseconds in which the screen is sampled while waiting for the UI to
+     * become idle.
+     */
+    private static final long UI_IDLE_POLLING_INTERVAL = 100;
+
     private final String packageName;
 
+    /**
+     * Assigns the ids to the traces, shared by all trace sets of the session.
+     */
+    private final TraceIds traceIds = new TraceIds();
+
+    /**
+     * The channel over which the tracer streams the traces, opened lazily.
+     */
+    private TraceChannel traceChannel = null;
+
+    /**
+     * Whether the traces should be streamed. Disabled once the tracer falls back to files.
+     */
+    private boolean streamTraces = true;
+
+    /**
+     * Waits for the UI to become idle, created lazily since it depends on the properties.
+     */
+    private UIIdleDetector uiIdleDetector = null;
+
     /**
      * Initialises the device manager.
      *
@@ -147,6 +192,69 @@ public class DeviceMgr {
         }
     }
 
+    /**
+     * Waits until the UI is idle, i.e. neither a window change has been reported recently nor
+     * does the widget tree change anymore. If adaptive waiting is disabled, this sleeps for the
+     * given fixed waiting time.
+     *
+     * @param fixedWait The fixed waiting time in milliseconds, which is also the upper bound.
+     * @return Returns {@code true} if the UI became idle, otherwise {@code false} is returned.
+     */
+    public boolean waitForUIIdle(long fixedWait) {
+        return waitForUIIdle(0, fixedWait);
+    }
+
+    /**
+     * Waits at least the given minimal waiting time and afterwards until the UI is idle. If
+     * adaptive waiting is disabled, this sleeps for the given fixed waiting time.
+     *
+     * @param minWait The minimal waiting time in milliseconds.
+     * @param fixedWait The fixed waiting time in milliseconds, which is also the upper bound.
+     * @return Returns {@code true} if the UI became idle, otherwise {@code false} is returned.
+     */
+    public boolean waitForUIIdle(long minWait, long fixedWait) {
+
+        if (!Properties.ADAPTIVE_UI_WAIT()) {
+            Utils.sleep(fixedWait);
+            return true;
+        }
+
+        return getUIIdleDetector().waitForIdle(minWait, fixedWait);
+    }
+
+    /**
+     * Returns the detector that waits for the UI to become idle.
+     *
+     * @return Returns the UI idle detector.
+     */
+    public synchronized UIIdleDetector getUIIdleDetector() {
+
+        if (uiIdleDetector == null) {
+            uiIdleDetector = new UIIdleDetector(new UIIdleDetector.Probe() {
+                @Override
+                public long getMillisSinceLastWindowChange() {
+                    try {
+                        return MATEService.getRepresentationLayer()
+                                .getMillisSinceLastWindowChange();
+                    } catch (RemoteException | AUTCrashException e) {
+                        throw new IllegalStateException("Couldn't retrieve last window change!", e);
+                    }
+                }
+
+                @Override
+                public long getScreenFingerprint() {
+                    try {
+                        return MATEService.getRepresentationLayer().getCurrentScreenFingerprint();
+                    } catch (RemoteException | AUTCrashException e) {
+                        throw new IllegalStateException("Couldn't retrieve screen fingerprint!", e);
+                    }
+                }
+            }, Properties.UI_IDLE_QUIET_PERIOD(), UI_IDLE_POLLING_INTERVAL,
+                    Properties.UI_IDLE_MAX_WAIT());
+        }
+        return uiIdleDetector;
+    }
+
     /**
      * Doesn't actually re-install the app, solely deletes the app's internal storage.
      */
@@ -371,19 +479,107 @@ public class DeviceMgr {
     }
 
     /**
-     * Reads the traces from the external memory and deletes afterwards the traces file.
+     * Sends a broadcast to the tracer, which in turn streams the collected traces to the given
+     * trace channel. A tracer that doesn't support streaming dumps the traces to a file instead.
      *
-     * @return Returns the set of traces.
+     * @param channel The address of the trace channel.
+     */
+    private void sendBroadcastToTracer(String channel) {
+        try {
+            MATEService.getRepresentationLayer().sendBroadcastToTracerWithChannel(channel);
+        } catch (Exception e) {
+            // do nothing
+        }
+    }
+
+    /**
+     * Returns the channel over which the tracer streams the traces. The channel is opened
+     * lazily.
      *
+     * @return Returns the trace channel or {@code null} if streaming is not available.
      */
-    public Set<String> getTraces() {
+    private synchronized TraceChannel getTraceChannel() {
 
-        // triggers the dumping of traces to a file called traces.txt
-        sendBroadcastToTracer();
+        if (!streamTraces) {
+            return null;
+        }
+
+        if (traceChannel == null) {
+            try {
+                traceChannel = new TraceChannel(
+                        new LocalSocketEndpoint(TRACE_CHANNEL_PREFIX + packageName), traceIds);
+            } catch (IOException e) {
+                MATELog.log_warn("Couldn't open trace channel: " + e.getMessage());
+                streamTraces = false;
+            }
+        }
+        return traceChannel;
+    }
+
+    /**
+     * Waits until the tracer either completes the given dump or writes the info.txt file. The
+     * latter indicates that the tracer doesn't support streaming, thus streaming is disabled.
+     *
+     * @param channel The trace channel.
+     * @param dump The pending dump.
+     * @param infoFile The info.txt file.
+     * @return Returns the ids of the received traces or {@code null} if the tracer has written
+     *         the traces to a file instead.
+     */
+    private BitSet awaitTraces(TraceChannel channel, Future<BitSet> dump, File infoFile) {
+
+        while (true) {
+            try {
+                return dump.get(TRACE_POLLING_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (infoFile.exists()) {
+                    MATELog.log("Tracer doesn't support streaming, falling back to traces.txt!");
+                    channel.cancelDump();
+                    synchronized (this) {
+                        streamTraces = false;
+                    }
+                    return null;
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Couldn't receive traces!", e.getCause());
+            } catch (InterruptedException e) {
+                channel.cancelDump();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for traces!", e);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the traces collected by the tracer since the last call. The traces are streamed
+     * over the trace channel if the tracer supports it, otherwise they are read from the
+     * external memory and the traces file is deleted afterwards.
+     *
+     * @return Returns the set of traces.
+     *
+     */
+    public TraceSet getTraces() {
 
         File sdCard = Environment.getExternalStorageDirectory();
         File infoFile = new File(sdCard, "info.txt");
 
+        TraceChannel channel = getTraceChannel();
+
+        if (channel != null) {
+
+            // the dump needs to be registered before the tracer is triggered
+            Future<BitSet> dump = channel.requestDump();
+            sendBroadcastToTracer(channel.getAddress());
+
+            BitSet ids = awaitTraces(channel, dump, infoFile);
+            if (ids != null) {
+                return TraceSet.of(ids);
+            }
+        } else {
+            // triggers the dumping of traces to a file called traces.txt
+            sendBroadcastToTracer();
+        }
+
         /*
          * We need to wait until the info.txt file is generated, once it is there, we know that all
          * traces have been dumped.
@@ -399,7 +595,7 @@ public class DeviceMgr {
             throw new IllegalStateException("The file traces.txt doesn't exist!");
         }
 
-        Set<String> traces = new HashSet<>();
+        BitSet traces = new BitSet(traceIds.size());
 
         try (BufferedReader reader
                      = new BufferedReader(new InputStreamReader(new FileInputStream(traceFile)))) {
@@ -407,7 +603,7 @@ public class DeviceMgr {
             String line = reader.readLine();
 
             while (line != null) {
-                traces.add(line);
+                traces.set(traceIds.intern(line));
                 line = reader.readLine();
             }
 
@@ -419,7 +615,7 @@ public class DeviceMgr {
         traceFile.delete();
         infoFile.delete();
 
-        return traces;
+        return TraceSet.of(traces);
     }
 
     /**
@@ -427,15 +623,15 @@ public class DeviceMgr {
      *
      * @param traces The traces to be stored.
      */
-    public void storeTraces(Set<String> traces) {
+    public void storeTraces(TraceSet traces) {
 
         File sdCard = Environment.getExternalStorageDirectory();
         File traceFile = new File(sdCard, "traces.txt");
 
         try (Writer fileWriter = new FileWriter(traceFile)) {
 
-            for(String trace : traces) {
-                fileWriter.write(trace);
+            for(int id : traces.toArray()) {
+                fileWriter.write(traceIds.getTrace(id));
                 fileWriter.write(System.lineSeparator());
             }
 
@@ -5,10 +5,10 @@ import org.mate.Registry;
 import org.mate.commons.interaction.action.ui.Widget;
 import org.mate.commons.utils.MATELog;
 import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.exploration.genetic.fitness.FitnessFunction;
 import org.mate.graph.GraphType;
 import org.mate.message.Message;
-import org.mate.message.serialization.Parser;
-import org.mate.message.serialization.Serializer;
+import org.mate.message.MessageChannel;
 import org.mate.model.TestCase;
 import org.mate.model.TestSuite;
 import org.mate.utils.Objective;
@@ -19,11 +19,13 @@ import java.io.IOException;
 import java.net.Socket;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -36,11 +38,19 @@ public class EnvironmentManager {
     private static final String METADATA_PREFIX = "__meta__";
     private static final String MESSAGE_PROTOCOL_VERSION = "2.6";
     private static final String MESSAGE_PROTOCOL_VERSION_KEY = "version";
+    private static final String REQUEST_ID_KEY = "request_id";
+    private static final String BINARY_PROTOCOL = "binary";
+    private static final String FITNESS_VECTORS_ENDPOINT = "/fitness/get_fitness_vectors";
 
     private String emulator = null;
-    private final Socket server;
-    private final Parser messageParser;
-    private boolean active;
+    private final MessageChannel channel;
+    private volatile boolean active;
+
+    /**
+     * Provides the ids of the requests, which are used to match the responses of pipelined
+     * requests.
+     */
+    private final AtomicLong nextRequestId = new AtomicLong();
 
     /**
      * Tracks for which test case the pulling of traces files have been already performed.
@@ -50,6 +60,11 @@ public class EnvironmentManager {
      */
     private Set<String> coveredTestCases = new HashSet<>();
 
+    /**
+     * Whether the MATE server supports retrieving multiple fitness vectors with a single request.
+     */
+    private volatile boolean bulkFitnessVectors = true;
+
     /**
      * Initialises a new environment manager communicating with
      * the MATE server on the default port.
@@ -69,8 +84,40 @@ public class EnvironmentManager {
      */
     public EnvironmentManager(int port) throws IOException {
         active = true;
-        server = new Socket(DEFAULT_SERVER_IP, port);
-        messageParser = new Parser(server.getInputStream());
+        channel = new MessageChannel(new Socket(DEFAULT_SERVER_IP, port),
+                METADATA_PREFIX + REQUEST_ID_KEY);
+        negotiateProtocol();
+    }
+
+    /**
+     * Asks the MATE server whether it supports the binary message protocol. The negotiation
+     * itself is performed over the text protocol. If the server rejects or doesn't know the
+     * request, we stay with the text protocol.
+     */
+    private void negotiateProtocol() {
+
+        Message request = new Message.MessageBuilder("/protocol/negotiate")
+                .withParameter("protocol", BINARY_PROTOCOL)
+                .build();
+        addMetadata(request);
+        Message response = processResponse(channel.exchange(request), false);
+
+        if (response != null && BINARY_PROTOCOL.equals(response.getParameter("protocol"))) {
+            channel.useBinaryProtocol();
+            MATELog.log("Using binary message protocol.");
+        } else {
+            MATELog.log("MATE server doesn't support the binary message protocol, "
+                    + "falling back to the text protocol.");
+        }
+    }
+
+    /**
+     * Whether the binary message protocol is used for the communication with the MATE server.
+     *
+     * @return Returns {@code true} if the binary protocol is used, otherwise {@code false}.
+     */
+    public boolean usesBinaryProtocol() {
+        return channel.usesBinaryProtocol();
     }
 
     /**
@@ -81,7 +128,7 @@ public class EnvironmentManager {
     public void close() throws IOException {
         sendMessage(new Message("/close"));
         active = false;
-        server.close();
+        channel.close();
     }
 
     /**
@@ -99,27 +146,79 @@ public class EnvironmentManager {
      * @param message {@link org.mate.message.Message} that will be send to the server
      * @return Response {@link org.mate.message.Message} of the server
      */
-    public synchronized Message sendMessage(Message message) {
+    public Message sendMessage(Message message) {
+        return await(sendAsync(message));
+    }
+
+    /**
+     * Waits for the response of a request sent via {@link #sendAsync(Message)}.
+     *
+     * @param response The pending response.
+     * @return Returns the response of the server, or {@code null} if the server responded with
+     *          an error.
+     */
+    private Message await(CompletableFuture<Message> response) {
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            MATELog.log("socket error receiving");
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Sends a {@link org.mate.message.Message} to the server without waiting for the response.
+     * Multiple requests can be in flight at the same time over the same connection, e.g. the
+     * coverage of the next chromosome can be stored while the fitness of the current one
+     * is still being retrieved.
+     *
+     * @param message {@link org.mate.message.Message} that will be send to the server
+     * @return Returns a future that is completed with the response of the server, or with
+     *          {@code null} if the server responded with an error.
+     */
+    public CompletableFuture<Message> sendAsync(Message message) {
+        return sendAsync(message, false);
+    }
+
+    /**
+     * Sends a {@link org.mate.message.Message} to the server without waiting for the response.
+     *
+     * @param message {@link org.mate.message.Message} that will be send to the server
+     * @param keepErrors Whether an error response of the server should be passed on, e.g. to
+     *         report its info, instead of completing the future with {@code null}.
+     * @return Returns a future that is completed with the response of the server.
+     */
+    private CompletableFuture<Message> sendAsync(Message message, boolean keepErrors) {
         if (!active) {
             throw new IllegalStateException("EnvironmentManager is no longer active and can not be used for communication!");
         }
-        addMetadata(message);
+        String requestId = addMetadata(message);
 
         try {
-            server.getOutputStream().write(Serializer.serialize(message));
-            server.getOutputStream().flush();
-        } catch (IOException e) {
+            return channel.send(requestId, message)
+                    .thenApply(response -> processResponse(response, keepErrors));
+        } catch (IllegalStateException e) {
             MATELog.log("socket error sending");
-            throw new IllegalStateException(e);
+            throw e;
         }
+    }
 
-        Message response = messageParser.nextMessage();
-
+    /**
+     * Verifies and strips the metadata of the given response.
+     *
+     * @param response The response of the server.
+     * @param keepErrors Whether an error response should be returned instead of {@code null}.
+     * @return Returns the response or {@code null} if the server responded with an error.
+     */
+    private Message processResponse(Message response, boolean keepErrors) {
         verifyMetadata(response);
         if (response.getSubject().equals("/error")) {
             MATELog.log("Received error message from mate-server: "
                     + response.getParameter("info"));
-            return null;
+            return keepErrors ? response : null;
         }
         stripMetadata(response);
         return response;
@@ -152,9 +251,12 @@ public class EnvironmentManager {
         return response.getParameter("response");
     }
 
-    private void addMetadata(Message message) {
+    private String addMetadata(Message message) {
         message.addParameter(
                 METADATA_PREFIX + MESSAGE_PROTOCOL_VERSION_KEY, MESSAGE_PROTOCOL_VERSION);
+        String requestId = String.valueOf(nextRequestId.getAndIncrement());
+        message.addParameter(METADATA_PREFIX + REQUEST_ID_KEY, requestId);
+        return requestId;
     }
 
     private void stripMetadata(Message message) {
@@ -392,7 +494,7 @@ public class EnvironmentManager {
 
         Message response = sendMessage(messageBuilder.build());
 
-        return Arrays.asList(response.getParameter("blocks").split("\\+"));
+        return Arrays.asList(response.getStringArrayParameter("blocks"));
     }
 
     /**
@@ -520,7 +622,7 @@ public class EnvironmentManager {
                 .withParameter("packageName", Registry.getPackageName());
 
         Message response = sendMessage(messageBuilder.build());
-        return Arrays.asList(response.getParameter("branches").split("\\+"));
+        return Arrays.asList(response.getStringArrayParameter("branches"));
     }
 
     /**
@@ -607,31 +709,7 @@ public class EnvironmentManager {
      * @return Returns the branch fitness vector for the given chromosome.
      */
     public <T> List<Double> getBranchFitnessVector(IChromosome<T> chromosome, List<String> objectives) {
-
-        if (chromosome.getValue() instanceof TestCase) {
-            if (((TestCase) chromosome.getValue()).isDummy()) {
-                MATELog.log_warn("Trying to retrieve branch fitness vector of dummy test case...");
-                // a dummy test case has a branch fitness of 0.0 for each objective (0.0 == worst)
-                return Collections.nCopies(objectives.size(), 0.0);
-            }
-        }
-
-        String chromosomeId = getChromosomeId(chromosome);
-
-        Message.MessageBuilder messageBuilder
-                = new Message.MessageBuilder("/fitness/get_branch_fitness_vector")
-                .withParameter("packageName", Registry.getPackageName())
-                .withParameter("chromosome", chromosomeId);
-
-        Message response = sendMessage(messageBuilder.build());
-        List<Double> branchFitnessVector = new ArrayList<>();
-        String[] branchFitnessValues = response.getParameter("branch_fitness_vector").split("\\+");
-
-        for (String branchFitnessValue : branchFitnessValues) {
-            branchFitnessVector.add(Double.parseDouble(branchFitnessValue));
-        }
-
-        return branchFitnessVector;
+        return toList(getFitnessVector(FitnessFunction.BRANCH_MULTI_OBJECTIVE, chromosome, objectives));
     }
 
     /**
@@ -645,68 +723,328 @@ public class EnvironmentManager {
      * @return Returns the basic block fitness vector for the given chromosome.
      */
     public <T> List<Double> getBasicBlockFitnessVector(IChromosome<T> chromosome, List<String> objectives) {
+        return toList(getFitnessVector(FitnessFunction.BASIC_BLOCK_MULTI_OBJECTIVE, chromosome, objectives));
+    }
 
-        if (chromosome.getValue() instanceof TestCase) {
-            if (((TestCase) chromosome.getValue()).isDummy()) {
-                MATELog.log_warn("Trying to retrieve basic block fitness vector of dummy test case...");
-                // a dummy test case has a basic block fitness of 0.0 for each objective (0.0 == worst)
-                return Collections.nCopies(objectives.size(), 0.0);
+    /**
+     * Retrieves the branch distance vector for the given chromosome. A branch distance
+     * vector consists of n entries, where n refers to the number of branches.
+     * The nth entry in the vector refers to the fitness value of the nth branch.
+     *
+     * @param chromosome The given chromosome.
+     * @param objectives The list of branches. Is not transmitted to avoid load on socket.
+     * @param <T>        Specifies whether the chromosome refers to a test case or a test suite.
+     * @return Returns the branch distance vector for the given chromosome.
+     */
+    public <T> List<Double> getBranchDistanceVector(IChromosome<T> chromosome, List<String> objectives) {
+        return toList(getFitnessVector(FitnessFunction.BRANCH_DISTANCE_MULTI_OBJECTIVE, chromosome, objectives));
+    }
+
+    /**
+     * Retrieves the fitness vector of the given multi-objective fitness function for the given
+     * chromosome.
+     *
+     * @param fitnessFunction The multi-objective fitness function.
+     * @param chromosome The given chromosome.
+     * @param objectives The list of objectives, e.g. branches.
+     * @param <T> Specifies whether the chromosome refers to a test case or a test suite.
+     * @return Returns the fitness vector for the given chromosome.
+     */
+    private <T> double[] getFitnessVector(FitnessFunction fitnessFunction, IChromosome<T> chromosome,
+                                          List<String> objectives) {
+
+        if (isDummy(chromosome)) {
+            MATELog.log_warn("Trying to retrieve " + fitnessFunction + " vector of dummy test case...");
+            return getDummyFitnessVector(fitnessFunction, objectives.size());
+        }
+
+        Message response = await(sendAsync(
+                buildFitnessVectorRequest(fitnessFunction, getChromosomeId(chromosome), objectives),
+                true));
+        return extractFitnessVector(fitnessFunction, response);
+    }
+
+    /**
+     * Retrieves the fitness vectors of the given multi-objective fitness function for all given
+     * chromosomes with a single request, e.g. for all offsprings of a generation. If the MATE
+     * server doesn't support this request, the requests for the single chromosomes are
+     * pipelined instead. If the request fails for another reason, it is retried once before the
+     * single requests are used for this call.
+     *
+     * @param fitnessFunction The multi-objective fitness function.
+     * @param chromosomes The given chromosomes.
+     * @param objectives The list of objectives, e.g. branches.
+     * @param <T> Specifies whether the chromosomes refer to test cases or test suites.
+     * @return Returns the fitness vectors, where the ith row refers to the ith chromosome.
+     */
+    public <T> double[][] getFitnessVectors(FitnessFunction fitnessFunction,
+                                            List<IChromosome<T>> chromosomes,
+                                            List<String> objectives) {
+
+        double[][] fitnessVectors = new double[chromosomes.size()][];
+        int[] rows = new int[chromosomes.size()];
+        List<String> chromosomeIds = new ArrayList<>(chromosomes.size());
+
+        for (int i = 0; i < chromosomes.size(); i++) {
+            IChromosome<T> chromosome = chromosomes.get(i);
+            if (isDummy(chromosome)) {
+                fitnessVectors[i] = getDummyFitnessVector(fitnessFunction, objectives.size());
+            } else {
+                rows[chromosomeIds.size()] = i;
+                chromosomeIds.add(getChromosomeId(chromosome));
             }
         }
 
-        String chromosomeId = getChromosomeId(chromosome);
+        if (chromosomeIds.isEmpty()) {
+            return fitnessVectors;
+        }
+
+        // a failed bulk request is retried once, unless the MATE server doesn't know the request
+        for (int attempt = 0; attempt < 2 && bulkFitnessVectors; attempt++) {
+
+            Message response = await(sendAsync(
+                    buildFitnessVectorsRequest(fitnessFunction, chromosomeIds, objectives), true));
+
+            if (!response.getSubject().equals("/error")) {
+                unpackVectors(response.getDoubleArrayParameter("fitness_vectors"),
+                        fitnessVectors, rows, chromosomeIds.size());
+                return fitnessVectors;
+            }
+
+            if (isUnknownEndpoint(response, FITNESS_VECTORS_ENDPOINT)) {
+                MATELog.log_warn("MATE server doesn't support bulk fitness vectors, "
+                        + "falling back to single requests!");
+                bulkFitnessVectors = false;
+            } else {
+                MATELog.log_warn("Retrieving bulk fitness vectors failed: "
+                        + response.getParameter("info"));
+            }
+        }
+
+        // at least pipeline the single requests
+        List<CompletableFuture<Message>> responses = new ArrayList<>(chromosomeIds.size());
+        for (String chromosomeId : chromosomeIds) {
+            responses.add(sendAsync(buildFitnessVectorRequest(fitnessFunction, chromosomeId, objectives),
+                    true));
+        }
+
+        for (int i = 0; i < responses.size(); i++) {
+            fitnessVectors[rows[i]] = extractFitnessVector(fitnessFunction, await(responses.get(i)));
+        }
+        return fitnessVectors;
+    }
+
+    /**
+     * Retrieves the coverage vectors of the given chromosomes with a single request, e.g. for
+     * computing the novelty of the chromosomes on the client. The ith entry of a coverage vector
+     * refers to the coverage of the ith objective, e.g. branch, in the range [0,1]. A dummy test
+     * case has an empty coverage vector, i.e. it doesn't cover any objective.
+     *
+     * @param chromosomes The given chromosomes.
+     * @param objectives The type of objectives, e.g. branches.
+     * @param <T> Specifies whether the chromosomes refer to test cases or test suites.
+     * @return Returns the coverage vectors, where the ith row refers to the ith chromosome, or
+     *          {@code null} if the MATE server doesn't support this request.
+     */
+    public <T> double[][] getCoverageVectors(List<IChromosome<T>> chromosomes, String objectives) {
+
+        double[][] coverageVectors = new double[chromosomes.size()][];
+        int[] rows = new int[chromosomes.size()];
+        List<String> chromosomeIds = new ArrayList<>(chromosomes.size());
+
+        for (int i = 0; i < chromosomes.size(); i++) {
+            IChromosome<T> chromosome = chromosomes.get(i);
+            if (isDummy(chromosome)) {
+                coverageVectors[i] = new double[0];
+            } else {
+                rows[chromosomeIds.size()] = i;
+                chromosomeIds.add(getChromosomeId(chromosome));
+            }
+        }
+
+        if (chromosomeIds.isEmpty()) {
+            return coverageVectors;
+        }
 
         Message.MessageBuilder messageBuilder
-                = new Message.MessageBuilder("/fitness/get_basic_block_fitness_vector")
+                = new Message.MessageBuilder("/fitness/get_coverage_vectors")
                 .withParameter("packageName", Registry.getPackageName())
-                .withParameter("chromosome", chromosomeId);
+                .withParameter("chromosomes", chromosomeIds.toArray(new String[0]))
+                .withParameter("objectives", objectives);
 
         Message response = sendMessage(messageBuilder.build());
-        List<Double> basicBlockFitnessVector = new ArrayList<>();
-        String[] basicBlockFitnessValues = response.getParameter("basic_block_fitness_vector").split("\\+");
 
-        for (String basicBlockFitnessValue : basicBlockFitnessValues) {
-            basicBlockFitnessVector.add(Double.parseDouble(basicBlockFitnessValue));
+        if (response == null) {
+            return null;
         }
 
-        return basicBlockFitnessVector;
+        unpackVectors(response.getDoubleArrayParameter("coverage_vectors"),
+                coverageVectors, rows, chromosomeIds.size());
+        return coverageVectors;
     }
 
     /**
-     * Retrieves the branch distance vector for the given chromosome. A branch distance
-     * vector consists of n entries, where n refers to the number of branches.
-     * The nth entry in the vector refers to the fitness value of the nth branch.
+     * Splits the vectors that are packed row by row into a single array.
      *
-     * @param chromosome The given chromosome.
-     * @param objectives The list of branches. Is not transmitted to avoid load on socket.
-     * @param <T>        Specifies whether the chromosome refers to a test case or a test suite.
-     * @return Returns the branch distance vector for the given chromosome.
+     * @param values The packed vectors.
+     * @param vectors The unpacked vectors.
+     * @param rows The row in the unpacked vectors of the ith packed vector.
+     * @param numberOfVectors The number of packed vectors.
      */
-    public <T> List<Double> getBranchDistanceVector(IChromosome<T> chromosome, List<String> objectives) {
+    private static void unpackVectors(double[] values, double[][] vectors, int[] rows,
+                                      int numberOfVectors) {
 
-        if (chromosome.getValue() instanceof TestCase) {
-            if (((TestCase) chromosome.getValue()).isDummy()) {
-                MATELog.log_warn("Trying to retrieve branch distance vector of dummy test case...");
-                // a dummy test case has a branch distance of 1.0 (worst value) for each objective
-                return Collections.nCopies(objectives.size(), 1.0);
-            }
+        if (values == null || values.length % numberOfVectors != 0) {
+            throw new IllegalStateException("Malformed vectors for "
+                    + numberOfVectors + " chromosomes!");
         }
 
-        String chromosomeId = getChromosomeId(chromosome);
+        int length = values.length / numberOfVectors;
+        for (int i = 0; i < numberOfVectors; i++) {
+            vectors[rows[i]] = Arrays.copyOfRange(values, i * length, (i + 1) * length);
+        }
+    }
 
-        Message.MessageBuilder messageBuilder = new Message.MessageBuilder("/graph/get_branch_distance_vector")
+    /**
+     * Builds the request for the fitness vectors of multiple chromosomes.
+     *
+     * @param fitnessFunction The multi-objective fitness function.
+     * @param chromosomeIds The ids of the chromosomes.
+     * @param objectives The list of objectives, only transmitted for the line percentage coverage.
+     * @return Returns the request.
+     */
+    private Message buildFitnessVectorsRequest(FitnessFunction fitnessFunction,
+                                               List<String> chromosomeIds, List<String> objectives) {
+
+        Message.MessageBuilder messageBuilder
+                = new Message.MessageBuilder(FITNESS_VECTORS_ENDPOINT)
                 .withParameter("packageName", Registry.getPackageName())
-                .withParameter("chromosome", chromosomeId);
+                .withParameter("fitness_function", fitnessFunction.name())
+                .withParameter("chromosomes", chromosomeIds.toArray(new String[0]));
 
-        Message response = sendMessage(messageBuilder.build());
-        List<Double> branchDistanceVector = new ArrayList<>();
-        String[] branchDistances = response.getParameter("branch_distance_vector").split("\\+");
+        if (fitnessFunction == FitnessFunction.LINE_PERCENTAGE_COVERAGE) {
+            messageBuilder.withParameter("lines", String.join("*", objectives));
+        }
+        return messageBuilder.build();
+    }
 
-        for (String branchDistance : branchDistances) {
-            branchDistanceVector.add(Double.parseDouble(branchDistance));
+    /**
+     * Checks whether the given error response was sent because the MATE server doesn't know the
+     * requested end point, e.g. an older MATE server. The MATE server names the unknown end point
+     * in the info of the error response, while an error of a known end point refers to its cause.
+     *
+     * @param response The error response of the server.
+     * @param endpoint The requested end point.
+     * @return Returns {@code true} if the end point is unknown to the server, otherwise
+     *          {@code false} is returned.
+     */
+    private static boolean isUnknownEndpoint(Message response, String endpoint) {
+        String info = response.getParameter("info");
+        return info != null && info.contains(endpoint);
+    }
+
+    /**
+     * Builds the request for the fitness vector of a single chromosome.
+     *
+     * @param fitnessFunction The multi-objective fitness function.
+     * @param chromosomeId The id of the chromosome.
+     * @param objectives The list of objectives, only transmitted for the line percentage coverage.
+     * @return Returns the request.
+     */
+    private Message buildFitnessVectorRequest(FitnessFunction fitnessFunction, String chromosomeId,
+                                              List<String> objectives) {
+
+        switch (fitnessFunction) {
+            case BRANCH_MULTI_OBJECTIVE:
+                return new Message.MessageBuilder("/fitness/get_branch_fitness_vector")
+                        .withParameter("packageName", Registry.getPackageName())
+                        .withParameter("chromosome", chromosomeId)
+                        .build();
+            case BASIC_BLOCK_MULTI_OBJECTIVE:
+                return new Message.MessageBuilder("/fitness/get_basic_block_fitness_vector")
+                        .withParameter("packageName", Registry.getPackageName())
+                        .withParameter("chromosome", chromosomeId)
+                        .build();
+            case BRANCH_DISTANCE_MULTI_OBJECTIVE:
+                return new Message.MessageBuilder("/graph/get_branch_distance_vector")
+                        .withParameter("packageName", Registry.getPackageName())
+                        .withParameter("chromosome", chromosomeId)
+                        .build();
+            case LINE_PERCENTAGE_COVERAGE:
+                return new Message.MessageBuilder("/coverage/lineCoveredPercentages")
+                        .withParameter("packageName", Registry.getPackageName())
+                        .withParameter("lines", String.join("*", objectives))
+                        .withParameter("chromosomes", chromosomeId)
+                        .build();
+            default:
+                throw new UnsupportedOperationException("Fitness function "
+                        + fitnessFunction + " has no fitness vector!");
+        }
+    }
+
+    /**
+     * Extracts the fitness vector from the response to {@link #buildFitnessVectorRequest}. An error
+     * response is reported with the info of the server.
+     *
+     * @param fitnessFunction The multi-objective fitness function.
+     * @param response The response of the server, which might be an error response.
+     * @return Returns the fitness vector.
+     */
+    private double[] extractFitnessVector(FitnessFunction fitnessFunction, Message response) {
+
+        if (response.getSubject().equals("/error")) {
+            MATELog.log_acc("Retrieving " + fitnessFunction + " vector failed!");
+            throw new IllegalStateException(response.getParameter("info"));
         }
 
-        return branchDistanceVector;
+        switch (fitnessFunction) {
+            case BRANCH_MULTI_OBJECTIVE:
+                return response.getDoubleArrayParameter("branch_fitness_vector");
+            case BASIC_BLOCK_MULTI_OBJECTIVE:
+                return response.getDoubleArrayParameter("basic_block_fitness_vector");
+            case BRANCH_DISTANCE_MULTI_OBJECTIVE:
+                return response.getDoubleArrayParameter("branch_distance_vector");
+            case LINE_PERCENTAGE_COVERAGE:
+                String[] coveragePercentages = response.getParameter("coveragePercentages").split("\n");
+                double[] fitnessVector = new double[coveragePercentages.length];
+                for (int i = 0; i < coveragePercentages.length; i++) {
+                    fitnessVector[i] = Double.parseDouble(coveragePercentages[i]);
+                }
+                return fitnessVector;
+            default:
+                throw new UnsupportedOperationException("Fitness function "
+                        + fitnessFunction + " has no fitness vector!");
+        }
+    }
+
+    /**
+     * Returns the fitness vector of a dummy test case, which has the worst fitness value for
+     * each objective, i.e. 1.0 for the branch distance and 0.0 otherwise.
+     *
+     * @param fitnessFunction The multi-objective fitness function.
+     * @param numberOfObjectives The number of objectives.
+     * @return Returns the fitness vector of a dummy test case.
+     */
+    private static double[] getDummyFitnessVector(FitnessFunction fitnessFunction,
+                                                  int numberOfObjectives) {
+        double[] fitnessVector = new double[numberOfObjectives];
+        if (fitnessFunction == FitnessFunction.BRANCH_DISTANCE_MULTI_OBJECTIVE) {
+            Arrays.fill(fitnessVector, 1.0);
+        }
+        return fitnessVector;
+    }
+
+    private static <T> boolean isDummy(IChromosome<T> chromosome) {
+        return chromosome.getValue() instanceof TestCase
+                && ((TestCase) chromosome.getValue()).isDummy();
+    }
+
+    private static List<Double> toList(double[] values) {
+        List<Double> list = new ArrayList<>(values.length);
+        for (double value : values) {
+            list.add(value);
+        }
+        return list;
     }
 
     /**
@@ -967,37 +1305,7 @@ public class EnvironmentManager {
      * @return Returns line percentage coverage vector.
      */
     public <T> List<Double> getLineCoveredPercentage(IChromosome<T> chromosome, List<String> lines) {
-
-        if (chromosome.getValue() instanceof TestCase) {
-            if (((TestCase) chromosome.getValue()).isDummy()) {
-                MATELog.log_warn("Trying to retrieve line percentage vector of dummy test case...");
-                // a dummy test case has a line percentage of 0.0 for each objective (0.0 == worst)
-                return Collections.nCopies(lines.size(), 0.0);
-            }
-        }
-
-        String chromosomeId = getChromosomeId(chromosome);
-
-        Message.MessageBuilder messageBuilder = new Message.MessageBuilder("/coverage/lineCoveredPercentages")
-                .withParameter("packageName", Registry.getPackageName())
-                .withParameter("lines", lines.stream().collect(Collectors.joining("*")))
-                .withParameter("chromosomes", chromosomeId);
-        Message response = sendMessage(messageBuilder.build());
-
-        if (response.getSubject().equals("/error")) {
-            MATELog.log_acc("Retrieving line covered percentages failed!");
-            throw new IllegalStateException(response.getParameter("info"));
-        } else {
-            // convert result
-            List<Double> coveragePercentagesVector = new ArrayList<>();
-            String[] coveragePercentages = response.getParameter("coveragePercentages").split("\n");
-
-            for (String coveragePercentage : coveragePercentages) {
-                coveragePercentagesVector.add(Double.parseDouble(coveragePercentage));
-            }
-
-            return coveragePercentagesVector;
-        }
+        return toList(getFitnessVector(FitnessFunction.LINE_PERCENTAGE_COVERAGE, chromosome, lines));
     }
 
     /**
@@ -1098,6 +1406,63 @@ public class EnvironmentManager {
      * @return Returns the contrast ratio.
      */
     public double getContrastRatio(String packageName, String stateId, Widget widget) {
+        Message response = sendMessage(buildContrastRatioRequest(packageName, stateId, widget));
+        return Double.parseDouble(response.getParameter("contrastRatio"));
+    }
+
+    /**
+     * Retrieves the contrast ratios of the given widgets residing on the screen state. The
+     * requests for the single widgets are pipelined, i.e. all requests are sent before the first
+     * response is awaited.
+     *
+     * @param packageName The package name corresponding to the screen state.
+     * @param stateId     Identifies the screens state.
+     * @param widgets     The widgets on which the contrast ratio should be evaluated.
+     * @return Returns the contrast ratios, where the ith entry refers to the ith widget.
+     */
+    public double[] getContrastRatios(String packageName, String stateId, List<Widget> widgets) {
+
+        List<CompletableFuture<Message>> responses = new ArrayList<>(widgets.size());
+        for (Widget widget : widgets) {
+            responses.add(sendAsync(buildContrastRatioRequest(packageName, stateId, widget)));
+        }
+
+        double[] contrastRatios = new double[widgets.size()];
+        for (int i = 0; i < responses.size(); i++) {
+            contrastRatios[i] = Double.parseDouble(await(responses.get(i)).getParameter("contrastRatio"));
+        }
+        return contrastRatios;
+    }
+
+    /**
+     * Builds the request for the contrast ratio of a single widget.
+     *
+     * @param packageName The package name corresponding to the screen state.
+     * @param stateId     Identifies the screens state.
+     * @param widget      The widget on which the contrast ratio should be evaluated.
+     * @return Returns the request message.
+     */
+    private Message buildContrastRatioRequest(String packageName, String stateId, Widget widget) {
+
+        int[] area = getContrastRatioArea(widget);
+
+        return new Message.MessageBuilder("/accessibility/get_contrast_ratio")
+                .withParameter("packageName", packageName)
+                .withParameter("stateId", stateId)
+                .withParameter("x1", String.valueOf(area[0]))
+                .withParameter("x2", String.valueOf(area[1]))
+                .withParameter("y1", String.valueOf(area[2]))
+                .withParameter("y2", String.valueOf(area[3]))
+                .build();
+    }
+
+    /**
+     * Determines the area of the screen that is considered for the contrast ratio of the widget.
+     *
+     * @param widget The widget on which the contrast ratio should be evaluated.
+     * @return Returns the area as x1, x2, y1 and y2.
+     */
+    private int[] getContrastRatioArea(Widget widget) {
 
         int maxw = Registry.getUiAbstractionLayer().getScreenWidth();
         int maxh = Registry.getUiAbstractionLayer().getScreenHeight();
@@ -1122,16 +1487,7 @@ public class EnvironmentManager {
         if (y2 + borderExpanded <= maxh)
             y2 += borderExpanded;
 
-        Message response = sendMessage(new Message.MessageBuilder("/accessibility/get_contrast_ratio")
-                .withParameter("packageName", packageName)
-                .withParameter("stateId", stateId)
-                .withParameter("x1", String.valueOf(x1))
-                .withParameter("x2", String.valueOf(x2))
-                .withParameter("y1", String.valueOf(y1))
-                .withParameter("y2", String.valueOf(y2))
-                .build());
-
-        return Double.parseDouble(response.getParameter("contrastRatio"));
+        return new int[]{x1, x2, y1, y2};
     }
 
     /**
@@ -1257,11 +1613,11 @@ public class EnvironmentManager {
 
         Message response = sendMessage(messageBuilder.build());
 
-        List<Double> noveltyVector = new ArrayList<>();
-        String[] noveltyScores = response.getParameter("novelty_vector").split("\\+");
+        double[] noveltyScores = response.getDoubleArrayParameter("novelty_vector");
+        List<Double> noveltyVector = new ArrayList<>(noveltyScores.length);
 
-        for (String noveltyScore : noveltyScores) {
-            noveltyVector.add(Double.parseDouble(noveltyScore));
+        for (double noveltyScore : noveltyScores) {
+            noveltyVector.add(noveltyScore);
         }
 
         return noveltyVector;
@@ -19,6 +19,7 @@ import org.mate.commons.interaction.action.ui.WidgetAction;
 import org.mate.commons.utils.MATELog;
 import org.mate.commons.utils.Utils;
 import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.interaction.trace.TraceSet;
 import org.mate.model.Edge;
 import org.mate.model.IGUIModel;
 import org.mate.model.TestCase;
@@ -51,6 +52,22 @@ public class UIAbstractionLayer {
      */
     private static final String UiAutomatorDisconnectedMessage = "UiAutomation not connected!";
 
+    /**
+     * The maximal time in milliseconds to wait for the UI after restarting the AUT.
+     */
+    private static final long RESTART_WAIT = 2000;
+
+    /**
+     * The maximal time in milliseconds to wait for a progress bar to disappear.
+     */
+    private static final long PROGRESS_BAR_WAIT = 10000;
+
+    /**
+     * The minimal time in milliseconds to wait for a progress bar to disappear. A progress bar
+     * doesn't necessarily change the widget tree, thus the UI may look idle while the AUT is busy.
+     */
+    private static final long PROGRESS_BAR_MIN_WAIT = 2000;
+
     /**
      * The package name of the AUT.
      */
@@ -220,7 +237,7 @@ public class UIAbstractionLayer {
 
             if(Properties.SURROGATE_MODEL()) {
                 SurrogateModel surrogateModel = (SurrogateModel) guiModel;
-                Set<String> traces = deviceMgr.getTraces();
+                TraceSet traces = deviceMgr.getTraces();
                 surrogateModel.update(lastScreenState, state, action, FAILURE_APP_CRASH, traces);
             } else {
                 guiModel.update(lastScreenState, state, action);
@@ -259,7 +276,7 @@ public class UIAbstractionLayer {
 
         if(Properties.SURROGATE_MODEL()) {
             SurrogateModel surrogateModel = (SurrogateModel) guiModel;
-            Set<String> traces = deviceMgr.getTraces();
+            TraceSet traces = deviceMgr.getTraces();
             surrogateModel.update(lastScreenState, state, action, result, traces);
         } else {
             guiModel.update(lastScreenState, state, action);
@@ -394,8 +411,9 @@ public class UIAbstractionLayer {
     }
 
     /**
-     * Checks whether the current screen shows a progress bar. If this is the case, we wait 10 seconds.
-     * This may take several iterations until the progress bar is gone.
+     * Checks whether the current screen shows a progress bar. If this is the case, we wait at
+     * least 2 seconds and afterwards until the UI is idle, but at most 10 seconds. This may take
+     * several iterations until the progress bar is gone.
      *
      * @param screenState The current screen.
      * @return Returns {@code true} if the screen may change, otherwise {@code false} is returned.
@@ -406,7 +424,7 @@ public class UIAbstractionLayer {
 
         if (deviceMgr.checkForProgressBar(screenState)) {
             MATELog.log("Detected progress bar! Waiting...");
-            Utils.sleep(10000);
+            deviceMgr.waitForUIIdle(PROGRESS_BAR_MIN_WAIT, PROGRESS_BAR_WAIT);
             return true;
         } else {
             return false;
@@ -596,8 +614,18 @@ public class UIAbstractionLayer {
 
         deviceMgr.reinstallApp();
         Utils.sleep(5000);
+
+        // the restart re-connects the representation layer, which launches the AUT
+        long start = System.currentTimeMillis();
         deviceMgr.restartApp();
-        Utils.sleep(2000);
+        deviceMgr.waitForUIIdle(RESTART_WAIT);
+
+        if (Properties.ADAPTIVE_UI_WAIT()) {
+            long elapsed = System.currentTimeMillis() - start;
+            MATELog.log_debug("Reset waited " + elapsed + " ms instead of " + RESTART_WAIT
+                    + " ms, saved " + deviceMgr.getUIIdleDetector().getSavedTime()
+                    + " ms in total");
+        }
 
         /*
          * TODO: Try to merge different start screen states. If the restart leads to a different
@@ -619,7 +647,7 @@ public class UIAbstractionLayer {
      */
     public void restartApp() {
         deviceMgr.restartApp();
-        Utils.sleep(2000);
+        deviceMgr.waitForUIIdle(RESTART_WAIT);
 
         /*
          * TODO: Try to merge different start screen states. If the restart leads to a different
@@ -648,17 +676,15 @@ public class UIAbstractionLayer {
      * @return Returns the cached screen state, otherwise the given screen state.
      */
     private IScreenState toRecordedScreenState(IScreenState screenState) {
-        Set<IScreenState> recordedScreenStates = guiModel.getStates();
-        for (IScreenState recordedScreenState : recordedScreenStates) {
-            if (recordedScreenState.equals(screenState)) {
-                MATELog.log_debug("Using cached screen state!");
-                /*
-                * NOTE: We should only return the cached screen state if we can ensure
-                * that equals() actually compares the widgets. Otherwise, we can end up with
-                * widget actions that are not applicable on the current screen.
-                 */
-                return recordedScreenState;
-            }
+        IScreenState recordedScreenState = guiModel.getRecordedScreenState(screenState);
+        if (recordedScreenState != null) {
+            MATELog.log_debug("Using cached screen state!");
+            /*
+            * NOTE: We should only return the cached screen state if we can ensure
+            * that equals() actually compares the widgets. Otherwise, we can end up with
+            * widget actions that are not applicable on the current screen.
+             */
+            return recordedScreenState;
         }
         screenState.setId("S" + lastScreenStateNumber);
         lastScreenStateNumber++;
@@ -0,0 +1,237 @@
+package org.mate.interaction;
+
+import org.mate.commons.utils.MATELog;
+import org.mate.commons.utils.Utils;
+
+/**
+ * Waits until the UI of the AUT is idle instead of sleeping for a fixed amount of time. The UI is
+ * considered idle when no window change has been reported for a quiet period and the fingerprint
+ * of the widget tree didn't change between two consecutive samples. The wait is bounded by the
+ * fixed waiting time it replaces and an additional, configurable upper bound.
+ *
+ * The time spent waiting and the time saved compared to the fixed waiting times are recorded.
+ */
+public class UIIdleDetector {
+
+    /**
+     * Provides the signals from which the idle state is derived.
+     */
+    public interface Probe {
+
+        /**
+         * Returns the time since the last window change, e.g. a window state or content change.
+         *
+         * @return Returns the time since the last window change in milliseconds.
+         */
+        long getMillisSinceLastWindowChange();
+
+        /**
+         * Computes a fingerprint of the widget tree of the current screen.
+         *
+         * @return Returns the fingerprint of the current screen.
+         */
+        long getScreenFingerprint();
+    }
+
+    /**
+     * Provides the time and the sleeps of the detector.
+     */
+    public interface Clock {
+
+        /**
+         * The wall clock and {@link Utils#sleep(long)}.
+         */
+        Clock SYSTEM = new Clock() {
+            @Override
+            public long currentTimeMillis() {
+                return System.currentTimeMillis();
+            }
+
+            @Override
+            public void sleep(long millis) {
+                Utils.sleep(millis);
+            }
+        };
+
+        /**
+         * Returns the current time.
+         *
+         * @return Returns the current time in milliseconds.
+         */
+        long currentTimeMillis();
+
+        /**
+         * Sleeps for the given amount of time.
+         *
+         * @param millis The time to sleep in milliseconds.
+         */
+        void sleep(long millis);
+    }
+
+    private final Probe probe;
+
+    private final Clock clock;
+
+    /**
+     * The time in milliseconds without any window change that is required.
+     */
+    private final long quietPeriod;
+
+    /**
+     * The time in milliseconds between two fingerprint samples.
+     */
+    private final long pollingInterval;
+
+    /**
+     * The upper bound in milliseconds of a single wait.
+     */
+    private final long maxWait;
+
+    private long numberOfWaits = 0;
+    private long numberOfTimeouts = 0;
+    private long waitTime = 0;
+    private long savedTime = 0;
+
+    /**
+     * Creates a new idle detector.
+     *
+     * @param probe Provides the window change and fingerprint signals.
+     * @param quietPeriod The time in milliseconds without any window change that is required.
+     * @param pollingInterval The time in milliseconds between two fingerprint samples.
+     * @param maxWait The upper bound in milliseconds of a single wait.
+     */
+    public UIIdleDetector(Probe probe, long quietPeriod, long pollingInterval, long maxWait) {
+        this(probe, Clock.SYSTEM, quietPeriod, pollingInterval, maxWait);
+    }
+
+    /**
+     * Creates a new idle detector that measures and sleeps with the given clock.
+     *
+     * @param probe Provides the window change and fingerprint signals.
+     * @param clock Provides the time and the sleeps.
+     * @param quietPeriod The time in milliseconds without any window change that is required.
+     * @param pollingInterval The time in milliseconds between two fingerprint samples.
+     * @param maxWait The upper bound in milliseconds of a single wait.
+     */
+    public UIIdleDetector(Probe probe, Clock clock, long quietPeriod, long pollingInterval,
+                          long maxWait) {
+        this.probe = probe;
+        this.clock = clock;
+        this.quietPeriod = quietPeriod;
+        this.pollingInterval = pollingInterval;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Waits until the UI is idle, but at most the given fixed waiting time or the upper bound.
+     * Failures of the probe, e.g. when the representation layer is not yet connected, don't
+     * abort the wait but merely restart the settling check.
+     *
+     * @param fixedWait The fixed waiting time in milliseconds that is replaced.
+     * @return Returns {@code true} if the UI became idle, otherwise {@code false} is returned.
+     */
+    public boolean waitForIdle(long fixedWait) {
+        return waitForIdle(0, fixedWait);
+    }
+
+    /**
+     * Waits at least the given minimal waiting time and afterwards until the UI is idle, but
+     * in total at most the given fixed waiting time or the upper bound. The minimal waiting time
+     * covers UI elements, e.g. a progress bar, that don't change the widget tree while the AUT
+     * is still busy.
+     *
+     * @param minWait The minimal waiting time in milliseconds.
+     * @param fixedWait The fixed waiting time in milliseconds that is replaced.
+     * @return Returns {@code true} if the UI became idle, otherwise {@code false} is returned.
+     */
+    public boolean waitForIdle(long minWait, long fixedWait) {
+
+        long timeout = Math.min(fixedWait, maxWait);
+        long start = clock.currentTimeMillis();
+
+        if (minWait > 0) {
+            clock.sleep(Math.min(minWait, timeout));
+        }
+
+        long elapsed = clock.currentTimeMillis() - start;
+        boolean sampled = false;
+        long lastFingerprint = 0;
+        boolean idle = false;
+
+        while (elapsed < timeout) {
+
+            long delay = pollingInterval;
+
+            try {
+                long quiet = probe.getMillisSinceLastWindowChange();
+                long fingerprint = probe.getScreenFingerprint();
+
+                if (quiet >= quietPeriod && sampled && fingerprint == lastFingerprint) {
+                    idle = true;
+                    break;
+                }
+
+                lastFingerprint = fingerprint;
+                sampled = true;
+                delay = Math.max(delay, quietPeriod - quiet);
+            } catch (RuntimeException e) {
+                MATELog.log_debug("Couldn't probe UI: " + e.getMessage());
+                sampled = false;
+            }
+
+            clock.sleep(Math.min(delay, timeout - elapsed));
+            elapsed = clock.currentTimeMillis() - start;
+        }
+
+        elapsed = clock.currentTimeMillis() - start;
+        record(fixedWait, elapsed, idle);
+        return idle;
+    }
+
+    private synchronized void record(long fixedWait, long elapsed, boolean idle) {
+        numberOfWaits++;
+        if (!idle) {
+            numberOfTimeouts++;
+        }
+        waitTime += elapsed;
+        savedTime += fixedWait - elapsed;
+        MATELog.log_debug("UI " + (idle ? "idle" : "not idle") + " after " + elapsed
+                + " ms instead of " + fixedWait + " ms");
+    }
+
+    /**
+     * Returns the number of waits so far.
+     *
+     * @return Returns the number of waits.
+     */
+    public synchronized long getNumberOfWaits() {
+        return numberOfWaits;
+    }
+
+    /**
+     * Returns the number of waits that ended without the UI becoming idle.
+     *
+     * @return Returns the number of timeouts.
+     */
+    public synchronized long getNumberOfTimeouts() {
+        return numberOfTimeouts;
+    }
+
+    /**
+     * Returns the total time spent waiting so far.
+     *
+     * @return Returns the total waiting time in milliseconds.
+     */
+    public synchronized long getWaitTime() {
+        return waitTime;
+    }
+
+    /**
+     * Returns the total time saved compared to the fixed waiting times so far.
+     *
+     * @return Returns the saved time in milliseconds.
+     */
+    public synchronized long getSavedTime() {
+        return savedTime;
+    }
+}
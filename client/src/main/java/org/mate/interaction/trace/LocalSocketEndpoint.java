@@ -0,0 +1,71 @@
+package org.mate.interaction.trace;
+
+import android.net.LocalServerSocket;
+import android.net.LocalSocket;
+import android.net.LocalSocketAddress;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A trace channel endpoint backed by a local (unix domain) socket in the abstract namespace.
+ * In contrast to a TCP socket, the AUT doesn't need the internet permission to connect.
+ */
+public class LocalSocketEndpoint implements TraceChannel.Endpoint {
+
+    private final String name;
+    private final LocalServerSocket serverSocket;
+    private volatile boolean closed = false;
+
+    /**
+     * Binds a new local socket.
+     *
+     * @param name The name of the socket in the abstract namespace.
+     * @throws IOException If the socket can't be bound, e.g. the name is already in use.
+     */
+    public LocalSocketEndpoint(String name) throws IOException {
+        this.name = name;
+        serverSocket = new LocalServerSocket(name);
+    }
+
+    @Override
+    public InputStream accept() throws IOException {
+
+        final LocalSocket socket = serverSocket.accept();
+
+        // closing the stream closes the socket as well
+        return new FilterInputStream(socket.getInputStream()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    socket.close();
+                }
+            }
+        };
+    }
+
+    @Override
+    public String getAddress() {
+        return name;
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // closing the server socket doesn't unblock a pending accept(), thus connect once more
+        try (LocalSocket socket = new LocalSocket()) {
+            socket.connect(new LocalSocketAddress(name));
+        } catch (IOException e) {
+            // the reader is not waiting in accept()
+        }
+        serverSocket.close();
+    }
+}
@@ -0,0 +1,198 @@
+package org.mate.interaction.trace;
+
+import org.mate.commons.utils.MATELog;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Receives the traces of the AUT as a stream instead of the traces.txt/info.txt file handshake.
+ * The tracer connects to the {@link Endpoint} whose address is passed along with the broadcast,
+ * writes one trace per line (the format of traces.txt) followed by a trailer line
+ * '#&lt;number of traces&gt;' and closes the connection. The trailer notifies the channel that the
+ * dump is complete, thus neither polling nor any file I/O is required. The traces are mapped to
+ * their ids while they arrive.
+ *
+ * A dedicated reader thread accepts the connections of the tracer. A connection is assigned to
+ * the dump requested by {@link #requestDump()}; connections without a pending request are
+ * discarded.
+ */
+public class TraceChannel implements Closeable {
+
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    /**
+     * The prefix of the trailer line. Traces consist of class, method and basic block
+     * information and never start with this prefix.
+     */
+    private static final String TRAILER_PREFIX = "#";
+
+    /**
+     * The local endpoint the tracer connects to.
+     */
+    public interface Endpoint extends Closeable {
+
+        /**
+         * Blocks until the tracer connects.
+         *
+         * @return Returns the stream of the accepted connection.
+         * @throws IOException If accepting fails or the endpoint has been closed.
+         */
+        InputStream accept() throws IOException;
+
+        /**
+         * Returns the address under which the tracer can connect.
+         *
+         * @return Returns the address of the endpoint.
+         */
+        String getAddress();
+    }
+
+    private final Endpoint endpoint;
+    private final TraceIds traceIds;
+    private final Thread reader;
+    private volatile boolean closed = false;
+
+    /**
+     * The dump that waits for the next connection, guarded by this.
+     */
+    private CompletableFuture<BitSet> pendingDump = null;
+
+    /**
+     * Opens a new channel on the given endpoint.
+     *
+     * @param endpoint The endpoint the tracer connects to.
+     * @param traceIds Assigns the ids to the received traces.
+     */
+    public TraceChannel(Endpoint endpoint, TraceIds traceIds) {
+        this.endpoint = endpoint;
+        this.traceIds = traceIds;
+        reader = new Thread(this::acceptConnections, "MATE-trace-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Returns the address that needs to be passed to the tracer.
+     *
+     * @return Returns the address of the endpoint.
+     */
+    public String getAddress() {
+        return endpoint.getAddress();
+    }
+
+    /**
+     * Registers a new dump that is completed by the next connection of the tracer. This must
+     * happen before the tracer is triggered, otherwise the connection could be discarded.
+     *
+     * @return Returns a future that is completed with the ids of the received traces.
+     */
+    public synchronized Future<BitSet> requestDump() {
+
+        if (closed) {
+            throw new IllegalStateException("Trace channel has been closed!");
+        }
+        if (pendingDump != null) {
+            throw new IllegalStateException("A trace dump is already pending!");
+        }
+
+        pendingDump = new CompletableFuture<>();
+        return pendingDump;
+    }
+
+    /**
+     * Withdraws the pending dump, e.g. when the tracer wrote the traces to a file instead.
+     */
+    public synchronized void cancelDump() {
+        if (pendingDump != null) {
+            pendingDump.cancel(false);
+            pendingDump = null;
+        }
+    }
+
+    /**
+     * Closes the channel and the endpoint. A pending dump is completed exceptionally.
+     *
+     * @throws IOException If closing the endpoint fails.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        endpoint.close();
+        completeDump(null, new IllegalStateException("Trace channel has been closed!"));
+    }
+
+    /**
+     * The loop of the reader thread, reads one dump per connection.
+     */
+    private void acceptConnections() {
+        while (!closed) {
+            try (InputStream in = endpoint.accept()) {
+                if (closed) {
+                    return;
+                }
+                BitSet traces = readDump(in);
+                if (!completeDump(traces, null)) {
+                    MATELog.log_warn("Discarding " + traces.cardinality() + " unrequested traces!");
+                }
+            } catch (IOException e) {
+                if (closed) {
+                    return;
+                }
+                MATELog.log_warn("Couldn't receive traces: " + e.getMessage());
+                completeDump(null, new IllegalStateException("Couldn't receive traces!", e));
+            }
+        }
+    }
+
+    private BitSet readDump(InputStream in) throws IOException {
+
+        BitSet traces = new BitSet(traceIds.size());
+        int numberOfLines = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, CHARSET));
+
+        String line = reader.readLine();
+        while (line != null) {
+            if (line.startsWith(TRAILER_PREFIX)) {
+                int expected;
+                try {
+                    expected = Integer.parseInt(line.substring(TRAILER_PREFIX.length()).trim());
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed trailer: " + line);
+                }
+                if (expected != numberOfLines) {
+                    throw new IOException("Expected " + expected + " traces but received "
+                            + numberOfLines + "!");
+                }
+                return traces;
+            }
+            traces.set(traceIds.intern(line));
+            numberOfLines++;
+            line = reader.readLine();
+        }
+        throw new IOException("Trace dump ended without trailer after " + numberOfLines
+                + " traces!");
+    }
+
+    private synchronized boolean completeDump(BitSet traces, RuntimeException failure) {
+
+        if (pendingDump == null) {
+            return false;
+        }
+
+        if (failure != null) {
+            pendingDump.completeExceptionally(failure);
+        } else {
+            pendingDump.complete(traces);
+        }
+        pendingDump = null;
+        return true;
+    }
+}
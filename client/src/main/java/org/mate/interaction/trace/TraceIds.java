@@ -0,0 +1,71 @@
+package org.mate.interaction.trace;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns each distinct trace a dense integer id. The ids are stable for the lifetime of the
+ * object, thus a set of traces can be represented as a bit set of ids and each trace string is
+ * stored only once, no matter how many sets contain it.
+ */
+public final class TraceIds {
+
+    /**
+     * Maps a trace to its id.
+     */
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * The traces in the order of their ids.
+     */
+    private final List<String> traces = new ArrayList<>();
+
+    /**
+     * Returns the id of the given trace, the trace is assigned the next free id if necessary.
+     *
+     * @param trace The trace to look up.
+     * @return Returns the id of the trace.
+     */
+    public synchronized int intern(String trace) {
+
+        Integer id = ids.get(trace);
+        if (id == null) {
+            id = traces.size();
+            ids.put(trace, id);
+            traces.add(trace);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of the given trace without assigning a new id.
+     *
+     * @param trace The trace to look up.
+     * @return Returns the id of the trace or -1 if the trace hasn't been interned yet.
+     */
+    public synchronized int getId(String trace) {
+        Integer id = ids.get(trace);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the trace with the given id.
+     *
+     * @param id The id of the trace.
+     * @return Returns the trace with the given id.
+     */
+    public synchronized String getTrace(int id) {
+        return traces.get(id);
+    }
+
+    /**
+     * Returns the number of interned traces.
+     *
+     * @return Returns the number of interned traces.
+     */
+    public synchronized int size() {
+        return traces.size();
+    }
+}
@@ -0,0 +1,289 @@
+package org.mate.interaction.trace;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An immutable, compressed set of trace ids, see {@link TraceIds}. The ids are partitioned by
+ * their upper 16 bits into chunks like in a roaring bitmap: a sparse chunk stores its lower 16
+ * bits as a sorted char array (2 bytes per id), a dense chunk stores a bitmap of 8 KB. Thus a
+ * set of a few hundred traces occupies a few hundred bytes, regardless of how many distinct
+ * traces exist in total.
+ *
+ * The hash code is computed once, which makes the comparison of two trace sets cheap in the
+ * common case of unequal sets.
+ */
+public final class TraceSet {
+
+    /**
+     * A chunk with more ids than this is stored as a bitmap, which needs 8 KB.
+     */
+    private static final int MAX_ARRAY_SIZE = 4096;
+
+    /**
+     * The number of 64-bit words of a bitmap chunk.
+     */
+    private static final int BITMAP_WORDS = (1 << 16) / 64;
+
+    /**
+     * The empty trace set.
+     */
+    public static final TraceSet EMPTY = new TraceSet(new char[0], new Object[0], 0, 1);
+
+    /**
+     * The upper 16 bits of the ids of each chunk in ascending order.
+     */
+    private final char[] keys;
+
+    /**
+     * The chunks, either a sorted char[] of the lower 16 bits or a long[] bitmap.
+     */
+    private final Object[] chunks;
+
+    /**
+     * The number of ids in the set.
+     */
+    private final int size;
+
+    /**
+     * The precomputed hash code.
+     */
+    private final int hash;
+
+    private TraceSet(char[] keys, Object[] chunks, int size, int hash) {
+        this.keys = keys;
+        this.chunks = chunks;
+        this.size = size;
+        this.hash = hash;
+    }
+
+    /**
+     * Creates a trace set holding the ids that are set in the given bit set.
+     *
+     * @param ids The trace ids.
+     * @return Returns the corresponding trace set.
+     */
+    public static TraceSet of(BitSet ids) {
+
+        int size = ids.cardinality();
+        if (size == 0) {
+            return EMPTY;
+        }
+
+        int numberOfChunks = (ids.length() - 1 >>> 16) + 1;
+        char[] keys = new char[numberOfChunks];
+        Object[] chunks = new Object[numberOfChunks];
+        char[] buffer = new char[1 << 16];
+        int used = 0;
+        int hash = 1;
+
+        int id = ids.nextSetBit(0);
+        while (id >= 0) {
+            int key = id >>> 16;
+            int count = 0;
+            while (id >= 0 && id >>> 16 == key) {
+                buffer[count++] = (char) id;
+                hash = 31 * hash + id;
+                id = ids.nextSetBit(id + 1);
+            }
+            keys[used] = (char) key;
+            chunks[used] = toChunk(buffer, count);
+            used++;
+        }
+
+        return new TraceSet(Arrays.copyOf(keys, used), Arrays.copyOf(chunks, used), size, hash);
+    }
+
+    private static Object toChunk(char[] buffer, int count) {
+
+        if (count <= MAX_ARRAY_SIZE) {
+            return Arrays.copyOf(buffer, count);
+        }
+
+        long[] bitmap = new long[BITMAP_WORDS];
+        for (int i = 0; i < count; i++) {
+            bitmap[buffer[i] >>> 6] |= 1L << buffer[i];
+        }
+        return bitmap;
+    }
+
+    /**
+     * Returns the number of traces in the set.
+     *
+     * @return Returns the size of the set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the set is empty.
+     *
+     * @return Returns {@code true} if the set is empty, otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Whether the set contains the given trace id.
+     *
+     * @param id The trace id.
+     * @return Returns {@code true} if the id is contained, otherwise {@code false}.
+     */
+    public boolean contains(int id) {
+
+        if (id < 0) {
+            return false;
+        }
+
+        int index = Arrays.binarySearch(keys, (char) (id >>> 16));
+        if (index < 0) {
+            return false;
+        }
+
+        Object chunk = chunks[index];
+        char low = (char) id;
+        if (chunk instanceof char[]) {
+            return Arrays.binarySearch((char[]) chunk, low) >= 0;
+        } else {
+            return (((long[]) chunk)[low >>> 6] & (1L << low)) != 0;
+        }
+    }
+
+    /**
+     * Adds the trace ids of this set to the given bit set.
+     *
+     * @param target The bit set to which the ids are added.
+     */
+    public void addTo(BitSet target) {
+        for (int i = 0; i < keys.length; i++) {
+            int base = keys[i] << 16;
+            Object chunk = chunks[i];
+            if (chunk instanceof char[]) {
+                for (char low : (char[]) chunk) {
+                    target.set(base + low);
+                }
+            } else {
+                long[] bitmap = (long[]) chunk;
+                for (int word = 0; word < bitmap.length; word++) {
+                    long bits = bitmap[word];
+                    while (bits != 0) {
+                        target.set(base + word * 64 + Long.numberOfTrailingZeros(bits));
+                        bits &= bits - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the trace ids as a bit set.
+     *
+     * @return Returns a new bit set holding the trace ids.
+     */
+    public BitSet toBitSet() {
+        BitSet bitSet = new BitSet();
+        addTo(bitSet);
+        return bitSet;
+    }
+
+    /**
+     * Returns the trace ids in ascending order.
+     *
+     * @return Returns the trace ids.
+     */
+    public int[] toArray() {
+        BitSet bitSet = toBitSet();
+        int[] ids = new int[size];
+        int index = 0;
+        for (int id = bitSet.nextSetBit(0); id >= 0; id = bitSet.nextSetBit(id + 1)) {
+            ids[index++] = id;
+        }
+        return ids;
+    }
+
+    /**
+     * Estimates the number of bytes this set occupies on the heap.
+     *
+     * @return Returns the estimated size in bytes.
+     */
+    public long getSizeInBytes() {
+
+        // object header and fields, the keys and the chunk array
+        long bytes = 32 + (16 + 2L * keys.length) + (16 + 4L * chunks.length);
+
+        for (Object chunk : chunks) {
+            if (chunk instanceof char[]) {
+                bytes += 16 + 2L * ((char[]) chunk).length;
+            } else {
+                bytes += 16 + 8L * BITMAP_WORDS;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Compares two trace sets for equality. The precomputed hash codes and sizes are compared
+     * first, only sets that agree in both are compared chunk by chunk.
+     *
+     * @param o The other trace set.
+     * @return Returns {@code true} if both sets contain the same trace ids, otherwise
+     *          {@code false} is returned.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (o == null || getClass() != o.getClass()) {
+            return false;
+        } else {
+            TraceSet other = (TraceSet) o;
+            if (hash != other.hash || size != other.size
+                    || !Arrays.equals(keys, other.keys)) {
+                return false;
+            }
+
+            // chunks with the same number of ids have the same representation
+            for (int i = 0; i < chunks.length; i++) {
+                Object chunk = chunks[i];
+                Object otherChunk = other.chunks[i];
+                if (chunk instanceof char[] && otherChunk instanceof char[]) {
+                    if (!Arrays.equals((char[]) chunk, (char[]) otherChunk)) {
+                        return false;
+                    }
+                } else if (chunk instanceof long[] && otherChunk instanceof long[]) {
+                    if (!Arrays.equals((long[]) chunk, (long[]) otherChunk)) {
+                        return false;
+                    }
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns the precomputed hash code of the trace set.
+     *
+     * @return Returns the hash code of the trace set.
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Provides a simple textual representation of the trace set.
+     *
+     * @return Returns the string representation of the trace set.
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return "TraceSet{size=" + size + "}";
+    }
+}
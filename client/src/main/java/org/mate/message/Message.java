@@ -1,52 +1,217 @@
 package org.mate.message;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
 public class Message {
+
+    /**
+     * The separator used by the MATE server for vector-like parameters in the text protocol.
+     */
+    public static final String ARRAY_SEPARATOR = "+";
+
     private final String subject;
     private final Map<String, String> parameters;
 
+    /**
+     * Parameters that carry a typed array value, i.e. either a {@code double[]} or a
+     * {@code String[]}. These are transmitted natively by the binary protocol and are rendered
+     * as {@link #ARRAY_SEPARATOR} joined strings by the text protocol.
+     */
+    private final Map<String, Object> arrayParameters;
+
     public Message(String subject) {
         if (subject == null) {
             throw new IllegalArgumentException("Subject cannot be null");
         }
         this.subject = subject;
         this.parameters = new HashMap<>();
+        this.arrayParameters = new HashMap<>();
     }
 
     public void addParameter(String key, String value) {
         if (key == null || value == null) {
             throw new IllegalArgumentException("Parameter key and value must not be null");
         }
+        arrayParameters.remove(key);
         parameters.put(key, value);
     }
 
+    public void addParameter(String key, long value) {
+        addParameter(key, String.valueOf(value));
+    }
+
+    public void addParameter(String key, double[] values) {
+        if (key == null || values == null) {
+            throw new IllegalArgumentException("Parameter key and value must not be null");
+        }
+        parameters.remove(key);
+        arrayParameters.put(key, values);
+    }
+
+    public void addParameter(String key, String[] values) {
+        if (key == null || values == null) {
+            throw new IllegalArgumentException("Parameter key and value must not be null");
+        }
+        parameters.remove(key);
+        arrayParameters.put(key, values);
+    }
+
+    /**
+     * Returns the value of the given parameter. An array parameter is rendered as a
+     * {@link #ARRAY_SEPARATOR} joined string.
+     *
+     * @param key The parameter key.
+     * @return Returns the parameter value or {@code null} if the parameter is not present.
+     */
     public String getParameter(String key) {
-        return parameters.get(key);
+        String value = parameters.get(key);
+        if (value == null && arrayParameters.containsKey(key)) {
+            value = joinArray(arrayParameters.get(key));
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value of the given parameter as a {@code double[]}. If the parameter was
+     * transmitted as a string, e.g. by the text protocol, it is split at {@link #ARRAY_SEPARATOR}.
+     *
+     * @param key The parameter key.
+     * @return Returns the parameter value or {@code null} if the parameter is not present.
+     */
+    public double[] getDoubleArrayParameter(String key) {
+        Object value = arrayParameters.get(key);
+        if (value instanceof double[]) {
+            return (double[]) value;
+        }
+        String stringValue = getParameter(key);
+        return stringValue == null ? null : parseDoubleArray(stringValue);
     }
 
+    /**
+     * Returns the value of the given parameter as a {@code String[]}. If the parameter was
+     * transmitted as a string, e.g. by the text protocol, it is split at {@link #ARRAY_SEPARATOR}.
+     *
+     * @param key The parameter key.
+     * @return Returns the parameter value or {@code null} if the parameter is not present.
+     */
+    public String[] getStringArrayParameter(String key) {
+        Object value = arrayParameters.get(key);
+        if (value instanceof String[]) {
+            return (String[]) value;
+        }
+        String stringValue = getParameter(key);
+        return stringValue == null ? null : stringValue.split("\\" + ARRAY_SEPARATOR);
+    }
+
+    /**
+     * Returns the string-valued parameters. Array parameters are not contained,
+     * see {@link #getArrayParameters()}.
+     *
+     * @return Returns the string-valued parameters.
+     */
     public Map<String, String> getParameters() {
         return parameters;
     }
 
+    /**
+     * Returns the array-valued parameters, where each value is either a {@code double[]} or
+     * a {@code String[]}.
+     *
+     * @return Returns the array-valued parameters.
+     */
+    public Map<String, Object> getArrayParameters() {
+        return arrayParameters;
+    }
+
     public String getSubject() {
         return subject;
     }
 
+    /**
+     * Joins the given array value with {@link #ARRAY_SEPARATOR}.
+     *
+     * @param array Either a {@code double[]} or a {@code String[]}.
+     * @return Returns the joined string.
+     */
+    public static String joinArray(Object array) {
+        StringBuilder sb = new StringBuilder();
+        if (array instanceof double[]) {
+            double[] values = (double[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    sb.append(ARRAY_SEPARATOR);
+                }
+                sb.append(values[i]);
+            }
+        } else {
+            String[] values = (String[]) array;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    sb.append(ARRAY_SEPARATOR);
+                }
+                sb.append(values[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Parses a {@link #ARRAY_SEPARATOR} joined string of doubles without intermediate boxing.
+     *
+     * @param value The joined string.
+     * @return Returns the parsed values.
+     */
+    private static double[] parseDoubleArray(String value) {
+
+        int count = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '+') {
+                count++;
+            }
+        }
+
+        double[] values = new double[count];
+        int start = 0;
+        int index = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            if (i == value.length() || value.charAt(i) == '+') {
+                values[index++] = Double.parseDouble(value.substring(start, i));
+                start = i + 1;
+            }
+        }
+        return values;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Message message = (Message) o;
-        return subject.equals(message.subject) &&
-                parameters.equals(message.parameters);
+        if (!subject.equals(message.subject) || !parameters.equals(message.parameters)
+                || !arrayParameters.keySet().equals(message.arrayParameters.keySet())) {
+            return false;
+        }
+        for (Map.Entry<String, Object> entry : arrayParameters.entrySet()) {
+            if (!Objects.deepEquals(entry.getValue(), message.arrayParameters.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(subject, parameters);
+        int arrayHash = 0;
+        for (Map.Entry<String, Object> entry : arrayParameters.entrySet()) {
+            Object value = entry.getValue();
+            int valueHash = value instanceof double[]
+                    ? Arrays.hashCode((double[]) value) : Arrays.hashCode((Object[]) value);
+            arrayHash += entry.getKey().hashCode() ^ valueHash;
+        }
+        return Objects.hash(subject, parameters, arrayHash);
     }
 
     public static class MessageBuilder {
@@ -61,6 +226,21 @@ public class Message {
             return this;
         }
 
+        public MessageBuilder withParameter(String key, long value) {
+            message.addParameter(key, value);
+            return this;
+        }
+
+        public MessageBuilder withParameter(String key, double[] values) {
+            message.addParameter(key, values);
+            return this;
+        }
+
+        public MessageBuilder withParameter(String key, String[] values) {
+            message.addParameter(key, values);
+            return this;
+        }
+
         public Message build() {
             return message;
         }
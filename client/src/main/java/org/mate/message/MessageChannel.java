@@ -0,0 +1,266 @@
+package org.mate.message;
+
+import org.mate.message.serialization.BinaryParser;
+import org.mate.message.serialization.BinarySerializer;
+import org.mate.message.serialization.Parser;
+import org.mate.message.serialization.Serializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A pipelined request channel on top of a single socket. Many requests can be in flight at the
+ * same time: each request carries an id in its metadata and a dedicated reader thread hands
+ * every response to the request with the same id. If a response doesn't carry a request id,
+ * e.g. the server is not aware of request ids, it is assigned to the oldest pending request,
+ * which is correct as long as the server answers the requests in order.
+ */
+public class MessageChannel {
+
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+    private final Parser textParser;
+    private BinaryParser binaryParser = null;
+
+    /**
+     * The metadata key under which the request id is transmitted.
+     */
+    private final String requestIdKey;
+
+    /**
+     * The pending requests in the order they have been sent.
+     */
+    private final Map<String, CompletableFuture<Message>> pendingRequests = new LinkedHashMap<>();
+
+    /**
+     * Guards the writing of a message such that frames of concurrent requests don't interleave.
+     * Must be acquired before {@link #pendingRequests} if both locks are needed.
+     */
+    private final Object writeLock = new Object();
+
+    private Thread reader = null;
+    private volatile boolean closed = false;
+
+    /**
+     * The cause why the reader thread stopped, guarded by {@link #pendingRequests}.
+     */
+    private RuntimeException failure = null;
+
+    /**
+     * Initialises a new channel on the given connected socket.
+     *
+     * @param socket The socket connected to the server.
+     * @param requestIdKey The metadata key under which the request id is transmitted.
+     * @throws IOException If the socket streams can't be obtained.
+     */
+    public MessageChannel(Socket socket, String requestIdKey) throws IOException {
+        this.socket = socket;
+        this.requestIdKey = requestIdKey;
+        in = socket.getInputStream();
+        out = socket.getOutputStream();
+        textParser = new Parser(in);
+    }
+
+    /**
+     * Sends the given message and blocks until the response arrives. This bypasses the
+     * pipelining and is only allowed before the first call of {@link #send(String, Message)},
+     * e.g. for negotiating the protocol.
+     *
+     * @param message The message to be sent.
+     * @return Returns the response.
+     */
+    public synchronized Message exchange(Message message) {
+        if (reader != null) {
+            throw new IllegalStateException("Can't exchange messages once the pipelining started!");
+        }
+        write(message);
+        return readMessage();
+    }
+
+    /**
+     * Switches the channel to the binary protocol. Must be called before the first call of
+     * {@link #send(String, Message)}.
+     */
+    public synchronized void useBinaryProtocol() {
+        if (reader != null) {
+            throw new IllegalStateException("Can't switch protocol once the pipelining started!");
+        }
+        binaryParser = new BinaryParser(in);
+    }
+
+    /**
+     * Whether the binary protocol is used.
+     *
+     * @return Returns {@code true} if the binary protocol is used, otherwise {@code false}.
+     */
+    public boolean usesBinaryProtocol() {
+        return binaryParser != null;
+    }
+
+    /**
+     * Sends the given message without waiting for the response. The message must already
+     * carry the given request id in its metadata.
+     *
+     * @param requestId The id of the request.
+     * @param message The message to be sent.
+     * @return Returns a future that is completed with the response.
+     */
+    public CompletableFuture<Message> send(String requestId, Message message) {
+
+        CompletableFuture<Message> response = new CompletableFuture<>();
+
+        synchronized (this) {
+            if (reader == null) {
+                reader = new Thread(this::readResponses, "MATE-server-reader");
+                reader.setDaemon(true);
+                reader.start();
+            }
+        }
+
+        byte[] serializedMessage = serialize(message);
+
+        /*
+         * The request is registered and written within the same critical section, thus the pending
+         * requests are ordered like the written requests. Otherwise, a response without a request
+         * id could be assigned to the request of a concurrent sender. The request is registered
+         * before it is written, otherwise we could miss the response.
+         */
+        synchronized (writeLock) {
+            synchronized (pendingRequests) {
+                if (closed) {
+                    throw new IllegalStateException("Channel has been closed!");
+                }
+                if (failure != null) {
+                    throw new IllegalStateException("Channel is broken!", failure);
+                }
+                if (pendingRequests.put(requestId, response) != null) {
+                    throw new IllegalStateException("Duplicate request id: " + requestId);
+                }
+            }
+
+            try {
+                writeSerialized(serializedMessage);
+            } catch (RuntimeException e) {
+                synchronized (pendingRequests) {
+                    pendingRequests.remove(requestId);
+                }
+                throw e;
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Returns the number of requests that didn't receive a response yet.
+     *
+     * @return Returns the number of pending requests.
+     */
+    public int getNumberOfPendingRequests() {
+        synchronized (pendingRequests) {
+            return pendingRequests.size();
+        }
+    }
+
+    /**
+     * Closes the channel and the underlying socket. Pending requests are completed exceptionally.
+     *
+     * @throws IOException If closing the socket fails.
+     */
+    public void close() throws IOException {
+        closed = true;
+        socket.close();
+        failPendingRequests(null, new IllegalStateException("Channel has been closed!"));
+    }
+
+    private byte[] serialize(Message message) {
+        return usesBinaryProtocol()
+                ? BinarySerializer.serialize(message) : Serializer.serialize(message);
+    }
+
+    private void write(Message message) {
+        byte[] serializedMessage = serialize(message);
+        synchronized (writeLock) {
+            writeSerialized(serializedMessage);
+        }
+    }
+
+    /**
+     * Writes the given serialized message, the caller must hold the {@link #writeLock}.
+     */
+    private void writeSerialized(byte[] serializedMessage) {
+        try {
+            out.write(serializedMessage);
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Message readMessage() {
+        return usesBinaryProtocol() ? binaryParser.nextMessage() : textParser.nextMessage();
+    }
+
+    /**
+     * The loop of the reader thread, dispatches each response to its pending request.
+     */
+    private void readResponses() {
+        while (!closed) {
+            Message response;
+            try {
+                response = readMessage();
+            } catch (RuntimeException e) {
+                if (!closed) {
+                    failPendingRequests(e, e);
+                }
+                return;
+            }
+
+            CompletableFuture<Message> request;
+            synchronized (pendingRequests) {
+                String requestId = response.getParameter(requestIdKey);
+                if (requestId != null) {
+                    request = pendingRequests.remove(requestId);
+                } else {
+                    request = removeOldestPendingRequest();
+                }
+            }
+
+            if (request != null) {
+                request.complete(response);
+            }
+        }
+    }
+
+    private CompletableFuture<Message> removeOldestPendingRequest() {
+        Iterator<CompletableFuture<Message>> iterator = pendingRequests.values().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        CompletableFuture<Message> request = iterator.next();
+        iterator.remove();
+        return request;
+    }
+
+    private void failPendingRequests(RuntimeException failure, RuntimeException cause) {
+        List<CompletableFuture<Message>> requests;
+        synchronized (pendingRequests) {
+            if (failure != null) {
+                this.failure = failure;
+            }
+            requests = new ArrayList<>(pendingRequests.values());
+            pendingRequests.clear();
+        }
+        for (CompletableFuture<Message> request : requests) {
+            request.completeExceptionally(cause);
+        }
+    }
+}
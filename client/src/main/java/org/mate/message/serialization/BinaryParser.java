@@ -0,0 +1,146 @@
+package org.mate.message.serialization;
+
+import org.mate.message.Message;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Parses messages of the binary protocol. Each message is transmitted as a frame that is
+ * prefixed with its length (4 bytes, big endian), followed by the subject, the number of
+ * parameters and the parameters. A parameter consists of its key, a type tag and the typed
+ * value. Strings are encoded as length-prefixed UTF-8 bytes, arrays as length-prefixed
+ * sequences of their elements.
+ */
+public class BinaryParser {
+
+    public static final byte TYPE_STRING = 0;
+    public static final byte TYPE_LONG = 1;
+    public static final byte TYPE_DOUBLE_ARRAY = 2;
+    public static final byte TYPE_STRING_ARRAY = 3;
+    public static final Charset CHARSET = Lexer.CHARSET;
+
+    /**
+     * The largest frame we are willing to accept, guards against a corrupted length prefix.
+     */
+    private static final int MAX_FRAME_LENGTH = 256 * 1024 * 1024;
+
+    private final DataInputStream in;
+
+    /**
+     * The frame buffer is re-used across messages and only grows if a larger frame arrives.
+     */
+    private byte[] frame = new byte[8192];
+
+    public BinaryParser(InputStream in) {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+    }
+
+    /**
+     * Reads the next frame from the underlying stream and decodes it.
+     *
+     * @return Returns the decoded message.
+     */
+    public Message nextMessage() {
+
+        int length;
+        try {
+            length = in.readInt();
+            if (length < 0 || length > MAX_FRAME_LENGTH) {
+                throw new IllegalStateException("Illegal frame length: " + length);
+            }
+            if (frame.length < length) {
+                frame = new byte[Math.max(length, frame.length * 2)];
+            }
+            in.readFully(frame, 0, length);
+        } catch (EOFException e) {
+            throw new IllegalStateException("Parsing message failed: unexpected EOF");
+        } catch (IOException e) {
+            throw new IllegalStateException("Parsing message failed: IO error while reading from input: "
+                    + e.getLocalizedMessage());
+        }
+
+        return decode(ByteBuffer.wrap(frame, 0, length));
+    }
+
+    /**
+     * Decodes a single message from the given buffer. The buffer must contain exactly
+     * the payload of one frame, i.e. without the length prefix.
+     *
+     * @param buffer The buffer holding the frame payload.
+     * @return Returns the decoded message.
+     */
+    public static Message decode(ByteBuffer buffer) {
+        try {
+            Message message = new Message(readString(buffer));
+            int numberOfParameters = buffer.getInt();
+
+            for (int i = 0; i < numberOfParameters; i++) {
+                String key = readString(buffer);
+                byte type = buffer.get();
+                switch (type) {
+                    case TYPE_STRING:
+                        message.addParameter(key, readString(buffer));
+                        break;
+                    case TYPE_LONG:
+                        message.addParameter(key, buffer.getLong());
+                        break;
+                    case TYPE_DOUBLE_ARRAY:
+                        message.addParameter(key, readDoubleArray(buffer));
+                        break;
+                    case TYPE_STRING_ARRAY:
+                        message.addParameter(key, readStringArray(buffer));
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown parameter type: " + type);
+                }
+            }
+
+            if (buffer.hasRemaining()) {
+                throw new IllegalStateException("Unexpected left over bytes after end of message");
+            }
+            return message;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("Parsing message failed: frame is truncated");
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalStateException("Illegal string length: " + length);
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, CHARSET);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static double[] readDoubleArray(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining() / Double.BYTES) {
+            throw new IllegalStateException("Illegal array length: " + length);
+        }
+        double[] values = new double[length];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + length * Double.BYTES);
+        return values;
+    }
+
+    private static String[] readStringArray(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining() / Integer.BYTES) {
+            throw new IllegalStateException("Illegal array length: " + length);
+        }
+        String[] values = new String[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = readString(buffer);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,87 @@
+package org.mate.message.serialization;
+
+import org.mate.message.Message;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import static org.mate.message.serialization.BinaryParser.*;
+
+/**
+ * Serializes messages into length-prefixed frames of the binary protocol,
+ * see {@link BinaryParser} for the frame layout.
+ */
+public class BinarySerializer {
+
+    public static byte[] serialize(Message message) {
+
+        byte[] subject = message.getSubject().getBytes(CHARSET);
+        int numberOfParameters = message.getParameters().size() + message.getArrayParameters().size();
+
+        // encode all strings upfront such that the frame can be allocated with its exact size
+        byte[][] keys = new byte[numberOfParameters][];
+        Object[] values = new Object[numberOfParameters];
+        int payloadLength = Integer.BYTES + subject.length + Integer.BYTES;
+        int index = 0;
+
+        for (Map.Entry<String, String> parameter : message.getParameters().entrySet()) {
+            keys[index] = parameter.getKey().getBytes(CHARSET);
+            byte[] value = parameter.getValue().getBytes(CHARSET);
+            values[index] = value;
+            payloadLength += Integer.BYTES + keys[index].length + 1 + Integer.BYTES + value.length;
+            index++;
+        }
+
+        for (Map.Entry<String, Object> parameter : message.getArrayParameters().entrySet()) {
+            keys[index] = parameter.getKey().getBytes(CHARSET);
+            payloadLength += Integer.BYTES + keys[index].length + 1 + Integer.BYTES;
+            if (parameter.getValue() instanceof double[]) {
+                double[] value = (double[]) parameter.getValue();
+                values[index] = value;
+                payloadLength += value.length * Double.BYTES;
+            } else {
+                String[] strings = (String[]) parameter.getValue();
+                byte[][] value = new byte[strings.length][];
+                for (int i = 0; i < strings.length; i++) {
+                    value[i] = strings[i].getBytes(CHARSET);
+                    payloadLength += Integer.BYTES + value[i].length;
+                }
+                values[index] = value;
+            }
+            index++;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + payloadLength);
+        buffer.putInt(payloadLength);
+        putBytes(buffer, subject);
+        buffer.putInt(numberOfParameters);
+
+        for (int i = 0; i < numberOfParameters; i++) {
+            putBytes(buffer, keys[i]);
+            if (values[i] instanceof byte[]) {
+                buffer.put(TYPE_STRING);
+                putBytes(buffer, (byte[]) values[i]);
+            } else if (values[i] instanceof double[]) {
+                double[] value = (double[]) values[i];
+                buffer.put(TYPE_DOUBLE_ARRAY);
+                buffer.putInt(value.length);
+                buffer.asDoubleBuffer().put(value);
+                buffer.position(buffer.position() + value.length * Double.BYTES);
+            } else {
+                byte[][] value = (byte[][]) values[i];
+                buffer.put(TYPE_STRING_ARRAY);
+                buffer.putInt(value.length);
+                for (byte[] element : value) {
+                    putBytes(buffer, element);
+                }
+            }
+        }
+
+        return buffer.array();
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+}
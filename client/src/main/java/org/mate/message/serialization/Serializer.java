@@ -8,28 +8,42 @@ import static org.mate.message.serialization.Lexer.*;
 
 public class Serializer {
     public static String escapeParameterValue(String unescaped) {
-        StringBuilder sb = new StringBuilder();
-        for (char c : unescaped.toCharArray()) {
+        StringBuilder sb = new StringBuilder(unescaped.length());
+        appendEscaped(sb, unescaped);
+        return sb.toString();
+    }
+
+    private static void appendEscaped(StringBuilder sb, String unescaped) {
+        for (int i = 0; i < unescaped.length(); i++) {
+            char c = unescaped.charAt(i);
             if (c == ESCAPE_CHAR || c == END_PARAMETER_CHAR || c == END_MESSAGE_CHAR || c == RELATION_SEPARATOR_CHAR) {
                 sb.append(ESCAPE_CHAR);
             }
             sb.append(c);
         }
-        return sb.toString();
     }
 
     public static byte[] serialize(Message message) {
         StringBuilder sb = new StringBuilder(escapeParameterValue(message.getSubject()));
-        if (!message.getParameters().isEmpty()) {
+        boolean hasParameters = !message.getParameters().isEmpty()
+                || !message.getArrayParameters().isEmpty();
+        if (hasParameters) {
             sb.append(END_PARAMETER_CHAR);
         }
         for (Map.Entry<String, String> parameter : message.getParameters().entrySet()) {
-            sb.append(escapeParameterValue(parameter.getKey()));
+            appendEscaped(sb, parameter.getKey());
+            sb.append(RELATION_SEPARATOR_CHAR);
+            appendEscaped(sb, parameter.getValue());
+            sb.append(END_PARAMETER_CHAR);
+        }
+        // the text protocol has no notion of arrays, thus they are sent as joined strings
+        for (Map.Entry<String, Object> parameter : message.getArrayParameters().entrySet()) {
+            appendEscaped(sb, parameter.getKey());
             sb.append(RELATION_SEPARATOR_CHAR);
-            sb.append(escapeParameterValue(parameter.getValue()));
+            appendEscaped(sb, Message.joinArray(parameter.getValue()));
             sb.append(END_PARAMETER_CHAR);
         }
-        if (!message.getParameters().isEmpty()) {
+        if (hasParameters) {
             sb.setLength(sb.length() - 1);
         }
         sb.append(END_MESSAGE_CHAR);
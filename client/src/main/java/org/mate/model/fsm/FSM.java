@@ -16,10 +16,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * A simple finite state machine for the representing the {@link org.mate.model.IGUIModel}.
+ * The states are indexed by their screen state and activity, and the transitions by their
+ * source state, target state and action, such that neither the lookup of a state nor the
+ * traversal of the FSM requires a scan over all states or transitions.
  */
 public class FSM {
 
@@ -38,6 +40,31 @@ public class FSM {
      */
     private final Set<Transition> transitions;
 
+    /**
+     * Maps a screen state to the state of the FSM representing it.
+     */
+    private final Map<IScreenState, State> stateIndex;
+
+    /**
+     * Maps an activity to the states describing it.
+     */
+    private final Map<String, Set<State>> activityStates;
+
+    /**
+     * Maps a state to its outgoing transitions.
+     */
+    private final Map<State, Set<Transition>> outgoingTransitions;
+
+    /**
+     * Maps a state to its incoming transitions.
+     */
+    private final Map<State, Set<Transition>> incomingTransitions;
+
+    /**
+     * Maps an action to the transitions that are labeled by it.
+     */
+    private final Map<Action, Set<Transition>> actionTransitions;
+
     /**
      * The id of the next new state.
      */
@@ -69,7 +96,12 @@ public class FSM {
         nextStateId = 1;
         states = new HashSet<>();
         transitions = new HashSet<>();
-        states.add(root);
+        stateIndex = new HashMap<>();
+        activityStates = new HashMap<>();
+        outgoingTransitions = new HashMap<>();
+        incomingTransitions = new HashMap<>();
+        actionTransitions = new HashMap<>();
+        addState(root);
 
         // the initial state is a new state
         reachedNewState = true;
@@ -84,18 +116,72 @@ public class FSM {
      */
     public void addTransition(Transition transition) {
 
-        states.add(transition.getSource());
+        addState(transition.getSource());
 
         // check whether we reached a new state
-        reachedNewState = states.add(transition.getTarget());
+        reachedNewState = addState(transition.getTarget());
 
         if (transitions.add(transition)) {
-            MATELog.log_debug(String.valueOf(this));
+            index(outgoingTransitions, transition.getSource(), transition);
+            index(incomingTransitions, transition.getTarget(), transition);
+            index(actionTransitions, transition.getAction(), transition);
+            // logging the entire FSM here would cost O(transitions) per new transition
+            MATELog.log_debug("New transition: " + transition);
         }
 
         currentState = transition.getTarget();
     }
 
+    /**
+     * Adds the given state to the FSM and its indices.
+     *
+     * @param state The state to be added.
+     * @return Returns {@code true} if the state is new, otherwise {@code false} is returned.
+     */
+    private boolean addState(State state) {
+
+        if (!states.add(state)) {
+            return false;
+        }
+
+        IScreenState screenState = state.getScreenState();
+        stateIndex.put(screenState, state);
+        index(activityStates, screenState.getActivityName(), state);
+        return true;
+    }
+
+    /**
+     * Adds the given value to the set associated with the given key.
+     *
+     * @param index The index to be updated.
+     * @param key The key.
+     * @param value The value to be added.
+     * @param <K> The type of the key.
+     * @param <V> The type of the value.
+     */
+    private static <K, V> void index(Map<K, Set<V>> index, K key, V value) {
+        Set<V> values = index.get(key);
+        if (values == null) {
+            values = new HashSet<>();
+            index.put(key, values);
+        }
+        values.add(value);
+    }
+
+    /**
+     * Returns an unmodifiable view on the set associated with the given key.
+     *
+     * @param index The index to look up.
+     * @param key The key.
+     * @param <K> The type of the key.
+     * @param <V> The type of the value.
+     * @return Returns the values associated with the given key or an empty set.
+     */
+    private static <K, V> Set<V> lookup(Map<K, Set<V>> index, K key) {
+        Set<V> values = index.get(key);
+        return values == null ? Collections.<V>emptySet() : Collections.unmodifiableSet(values);
+    }
+
     /**
      * Returns the transition that are labeled by the given action.
      *
@@ -103,14 +189,7 @@ public class FSM {
      * @return Returns the transitions that are labeled by the given action.
      */
     public Set<Transition> getTransitions(Action action) {
-
-        Set<Transition> transitions = new HashSet<>();
-        for (Transition transition : this.transitions) {
-            if (transition.getAction().equals(action)) {
-                transitions.add(transition);
-            }
-        }
-        return transitions;
+        return lookup(actionTransitions, action);
     }
 
     /**
@@ -141,15 +220,25 @@ public class FSM {
      */
     public State getState(IScreenState screenState) {
 
-        for (State state : states) {
-            if (state.getScreenState().equals(screenState)) {
-                return state;
-            }
+        State state = stateIndex.get(screenState);
+        if (state != null) {
+            return state;
         }
 
         return new State(nextStateId++, screenState);
     }
 
+    /**
+     * Returns the recorded state corresponding to the given screen state without creating a new
+     * state.
+     *
+     * @param screenState The given screen state.
+     * @return Returns the recorded state or {@code null} if the screen state hasn't been recorded.
+     */
+    public State getRecordedState(IScreenState screenState) {
+        return stateIndex.get(screenState);
+    }
+
     /**
      * Whether the last transition lead to a new state.
      *
@@ -169,6 +258,26 @@ public class FSM {
         return Collections.unmodifiableSet(states);
     }
 
+    /**
+     * Returns the screen states of the FSM. The returned set is a read-only view that reflects
+     * later changes of the FSM.
+     *
+     * @return Returns the screen states of the FSM.
+     */
+    public Set<IScreenState> getScreenStates() {
+        return Collections.unmodifiableSet(stateIndex.keySet());
+    }
+
+    /**
+     * Returns the states describing the given activity.
+     *
+     * @param activity The given activity.
+     * @return Returns the states describing the given activity.
+     */
+    public Set<State> getActivityStates(String activity) {
+        return lookup(activityStates, activity);
+    }
+
     /**
      * Tries to find the shortest path between the given states.
      *
@@ -181,7 +290,7 @@ public class FSM {
         // bfs traversal
         Deque<State> workQueue = new LinkedList<>();
         Set<State> exploredStates = new HashSet<>();
-        Map<State, State> predecessors = new HashMap<>();
+        Map<State, Transition> predecessors = new HashMap<>();
 
         exploredStates.add(from);
         workQueue.add(from);
@@ -199,7 +308,7 @@ public class FSM {
                     if (!exploredStates.contains(target)) {
                         exploredStates.add(target);
                         workQueue.add(target);
-                        predecessors.put(target, state);
+                        predecessors.put(target, transition);
                     }
                 }
             }
@@ -215,9 +324,17 @@ public class FSM {
      * @return Returns the outgoing transitions from the given state.
      */
     public Set<Transition> getOutgoingTransitions(State source) {
-        return transitions.stream()
-                .filter(transition -> transition.getSource().equals(source))
-                .collect(Collectors.toSet());
+        return lookup(outgoingTransitions, source);
+    }
+
+    /**
+     * Returns the incoming transitions of the given target state.
+     *
+     * @param target The target state.
+     * @return Returns the incoming transitions of the given state.
+     */
+    public Set<Transition> getIncomingTransitions(State target) {
+        return lookup(incomingTransitions, target);
     }
 
     /**
@@ -228,25 +345,14 @@ public class FSM {
      * @return Returns the outgoing transitions from the given state and action.
      */
     public Set<Transition> getOutgoingTransitions(State source, Action action) {
-        return transitions.stream()
-                .filter(transition -> transition.getSource().equals(source))
-                .filter(transition -> transition.getAction().equals(action))
-                .collect(Collectors.toSet());
-    }
 
-    /**
-     * Returns an arbitrary transition between the given source and target state.
-     *
-     * @param source The source state.
-     * @param target The target state.
-     * @return Returns any transition between the given source and target state if such transition
-     *          exists.
-     */
-    private Optional<Transition> getAnyTransition(State source, State target) {
-        return transitions.stream()
-                .filter(transition -> transition.getSource().equals(source)
-                        && transition.getTarget().equals(target))
-                .findAny();
+        Set<Transition> transitions = new HashSet<>();
+        for (Transition transition : lookup(outgoingTransitions, source)) {
+            if (transition.getAction().equals(action)) {
+                transitions.add(transition);
+            }
+        }
+        return transitions;
     }
 
     /**
@@ -254,22 +360,23 @@ public class FSM {
      *
      * @param from The source state.
      * @param to The target state.
-     * @param predecessors Maintains the predecessor for each state.
+     * @param predecessors Maintains the transition through which each state has been reached.
      * @return Returns the shortest path between the source and target state.
      */
     private List<Transition> shortestPath(final State from, final State to,
-                                          final Map<State, State> predecessors) {
+                                          final Map<State, Transition> predecessors) {
 
         List<Transition> path = new LinkedList<>();
 
         State state = to;
 
         while (!Objects.equals(state, from)) {
-            State predecessor = predecessors.get(state);
-            Transition transition = getAnyTransition(predecessor, state)
-                    .orElseThrow(() -> new IllegalStateException("No transition found!"));
+            Transition transition = predecessors.get(state);
+            if (transition == null) {
+                throw new IllegalStateException("No transition found!");
+            }
             path.add(transition);
-            state = predecessor;
+            state = transition.getSource();
         }
 
         Collections.reverse(path);
@@ -296,8 +403,8 @@ public class FSM {
         Set<String> activityPredecessors = new HashSet<>();
 
         // find all transitions that lead to the given activity and represent an activity of the AUT
-        for (Transition transition : transitions) {
-            if (transition.getTarget().getScreenState().getActivityName().equals(activity)) {
+        for (State state : getActivityStates(activity)) {
+            for (Transition transition : getIncomingTransitions(state)) {
                 // check that the source state represents a different activity of the AUT
                 IScreenState sourceState = transition.getSource().getScreenState();
                 if (sourceState.getPackageName().equals(packageName)
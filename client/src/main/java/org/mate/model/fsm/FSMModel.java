@@ -89,11 +89,16 @@ public class FSMModel implements IGUIModel {
      */
     @Override
     public Set<IScreenState> getStates() {
-        Set<IScreenState> screenStates = new HashSet<>();
-        for (State state : fsm.getStates()) {
-            screenStates.add(state.getScreenState());
-        }
-        return screenStates;
+        return fsm.getScreenStates();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IScreenState getRecordedScreenState(IScreenState screenState) {
+        State state = fsm.getRecordedState(screenState);
+        return state != null ? state.getScreenState() : null;
     }
 
     /**
@@ -144,9 +149,11 @@ public class FSMModel implements IGUIModel {
      */
     @Override
     public Set<IScreenState> getActivityStates(String activity) {
-        return getStates().stream()
-                .filter(screenState -> screenState.getActivityName().equals(activity))
-                .collect(Collectors.toSet());
+        Set<IScreenState> screenStates = new HashSet<>();
+        for (State state : fsm.getActivityStates(activity)) {
+            screenStates.add(state.getScreenState());
+        }
+        return screenStates;
     }
 
     /**
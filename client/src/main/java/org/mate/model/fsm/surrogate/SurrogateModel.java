@@ -2,7 +2,9 @@ package org.mate.model.fsm.surrogate;
 
 import org.mate.commons.interaction.action.Action;
 import org.mate.commons.interaction.action.ActionResult;
+import org.mate.commons.utils.IndexedSet;
 import org.mate.commons.utils.MATELog;
+import org.mate.interaction.trace.TraceSet;
 import org.mate.model.fsm.FSMModel;
 import org.mate.model.fsm.State;
 import org.mate.model.fsm.Transition;
@@ -10,11 +12,10 @@ import org.mate.state.IScreenState;
 import org.mate.commons.utils.Randomness;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Wraps a surrogate model around the traditional FSM model. This enables the prediction of actions
@@ -34,14 +35,14 @@ public class SurrogateModel extends FSMModel {
     private boolean inPrediction = true;
 
     /**
-     * The set of traces that have been collected so far.
+     * The ids of the traces that have been collected so far.
      */
-    private final Set<String> currentTraces;
+    private final BitSet currentTraces;
 
     /**
-     * The set of traces that could be predicted so far.
+     * The ids of the traces that could be predicted so far.
      */
-    private final Set<String> predictedTraces;
+    private final BitSet predictedTraces;
 
     /**
      * The last check point to which the surrogate model returns in case a prediction couldn't be
@@ -67,8 +68,8 @@ public class SurrogateModel extends FSMModel {
      */
     public SurrogateModel(IScreenState rootState, String packageName) {
         super(rootState, packageName);
-        currentTraces = new HashSet<>();
-        predictedTraces = new HashSet<>();
+        currentTraces = new BitSet();
+        predictedTraces = new BitSet();
         checkPointState = fsm.getCurrentState();
         predictedActions = new ArrayList<>();
     }
@@ -110,7 +111,7 @@ public class SurrogateModel extends FSMModel {
      * @param traces The traces produced by executing the given action.
      */
     public void update(final IScreenState source, final IScreenState target, final Action action,
-                       final ActionResult actionResult, final Set<String> traces) {
+                       final ActionResult actionResult, final TraceSet traces) {
 
         State from = fsm.getState(source);
         State to = fsm.getState(target);
@@ -143,7 +144,7 @@ public class SurrogateModel extends FSMModel {
         }
 
         fsm.addTransition(matchingTransition);
-        currentTraces.addAll(traces);
+        traces.addTo(currentTraces);
         checkPointState = fsm.getCurrentState();
     }
 
@@ -167,19 +168,29 @@ public class SurrogateModel extends FSMModel {
         } else {
             numberOfPredictedActions++;
 
-            // pick the transition with the highest frequency counter
-            final int highestCounter = transitions.stream()
-                    .mapToInt(transition -> ((SurrogateTransition)transition).getFrequencyCounter())
-                    .max()
-                    .orElseThrow(() -> new IllegalStateException("Empty set not allowed!"));
+            // pick randomly one of the transitions with the highest frequency counter
+            IndexedSet<SurrogateTransition> mostVisitedTransitions = new IndexedSet<>();
+            int highestCounter = 0;
+
+            for (Transition transition : transitions) {
+                SurrogateTransition surrogateTransition = (SurrogateTransition) transition;
+                int counter = surrogateTransition.getFrequencyCounter();
+                if (counter > highestCounter || mostVisitedTransitions.isEmpty()) {
+                    mostVisitedTransitions.clear();
+                    mostVisitedTransitions.add(surrogateTransition);
+                    highestCounter = counter;
+                } else if (counter == highestCounter) {
+                    mostVisitedTransitions.add(surrogateTransition);
+                }
+            }
 
-            Set<Transition> mostVisitedTransitions = transitions.stream()
-                    .filter(transition -> ((SurrogateTransition)transition).getFrequencyCounter() == highestCounter)
-                    .collect(Collectors.toSet());
+            if (mostVisitedTransitions.isEmpty()) {
+                throw new IllegalStateException("Empty set not allowed!");
+            }
 
-            SurrogateTransition transition = (SurrogateTransition) Randomness.randomElement(mostVisitedTransitions);
+            SurrogateTransition transition = Randomness.randomElement(mostVisitedTransitions);
 
-            predictedTraces.addAll(transition.getTraces());
+            transition.getTraces().addTo(predictedTraces);
             fsm.goToState(transition.getTarget());
             return transition.getActionResult();
         }
@@ -197,10 +208,10 @@ public class SurrogateModel extends FSMModel {
      *
      * @return Returns the set of collected traces.
      */
-    public Set<String> getCurrentTraces() {
-        Set<String> allTraces = new HashSet<>(predictedTraces);
-        allTraces.addAll(currentTraces);
-        return allTraces;
+    public TraceSet getCurrentTraces() {
+        BitSet allTraces = (BitSet) predictedTraces.clone();
+        allTraces.or(currentTraces);
+        return TraceSet.of(allTraces);
     }
 
     /**
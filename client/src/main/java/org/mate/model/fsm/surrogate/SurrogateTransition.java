@@ -4,12 +4,11 @@ import android.support.annotation.NonNull;
 
 import org.mate.commons.interaction.action.Action;
 import org.mate.commons.interaction.action.ActionResult;
+import org.mate.interaction.trace.TraceSet;
 import org.mate.model.fsm.State;
 import org.mate.model.fsm.Transition;
 
-import java.util.Collections;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * Describes a transition in the {@link org.mate.model.fsm.FSM}. Stores in addition the traces
@@ -20,7 +19,7 @@ public class SurrogateTransition extends Transition {
     /**
      * The traces associated with the execution of the action.
      */
-    private final Set<String> traces;
+    private final TraceSet traces;
 
     /**
      * The action result associated with the execution of the action.
@@ -43,7 +42,7 @@ public class SurrogateTransition extends Transition {
      * @param traces The set of traces associated with the execution of the given action.
      */
     public SurrogateTransition(State source, State target, Action action, ActionResult actionResult,
-                               Set<String> traces) {
+                               TraceSet traces) {
         super(source, target, action);
         this.actionResult = actionResult;
         this.traces = traces;
@@ -65,8 +64,8 @@ public class SurrogateTransition extends Transition {
      *
      * @return Returns the set of traces associated with the transition.
      */
-    Set<String> getTraces() {
-        return Collections.unmodifiableSet(traces);
+    TraceSet getTraces() {
+        return traces;
     }
 
     /**
@@ -5,7 +5,6 @@ import org.mate.commons.utils.MATELog;
 import org.mate.interaction.DeviceMgr;
 import org.mate.state.executables.ActionsScreenState;
 import org.mate.state.executables.AppScreen;
-import org.mate.commons.utils.Utils;
 
 /**
  * A simple factory to retrieve the current screen state.
@@ -43,7 +42,7 @@ public class ScreenStateFactory {
                  */
                 while (retries < MAX_NUMBER_OF_RETRIES && state.getActions().size() == 0) {
                     MATELog.log_debug("Retry fetching screen state!");
-                    Utils.sleep(5000);
+                    deviceMgr.waitForUIIdle(5000);
                     state = new ActionsScreenState(new AppScreen(deviceMgr));
                     retries++;
                 }
@@ -2,6 +2,7 @@ package org.mate.state.executables;
 
 import org.mate.Properties;
 import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.state.executable.StateEquivalenceLevel;
 import org.mate.state.IScreenState;
 
 import java.util.Collections;
@@ -34,6 +35,18 @@ public abstract class AbstractScreenState implements IScreenState {
      */
     protected String id;
 
+    /**
+     * The state equivalence level that was active when the screen state has been created.
+     */
+    private final StateEquivalenceLevel stateEquivalenceLevel;
+
+    /**
+     * A 64-bit fingerprint over the attributes that are relevant for the state equivalence level.
+     * Equal screen states share the same fingerprint, thus a differing fingerprint is a cheap
+     * proof of inequality and saves the comparison of the widgets.
+     */
+    private final long fingerprint;
+
     /**
      * Creates a new screen state representing the given activity and package name.
      *
@@ -45,6 +58,64 @@ public abstract class AbstractScreenState implements IScreenState {
         this.widgets = widgets;
         this.packageName = packageName;
         this.activityName = activityName;
+        stateEquivalenceLevel = Properties.STATE_EQUIVALENCE_LEVEL();
+        fingerprint = computeFingerprint();
+    }
+
+    /**
+     * Computes the fingerprint of the screen state. Only attributes that are compared by
+     * {@link #equals(Object)} under the current state equivalence level are considered. A widget
+     * contributes its hash code, which is consistent with its own equality check.
+     *
+     * @return Returns the fingerprint of the screen state.
+     */
+    private long computeFingerprint() {
+
+        long hash = mix(0L, Objects.hashCode(packageName));
+
+        switch (stateEquivalenceLevel) {
+            case PACKAGE_NAME:
+                break;
+            case ACTIVITY_NAME:
+                hash = mix(hash, Objects.hashCode(activityName));
+                break;
+            case WIDGET:
+            case WIDGET_WITH_ATTRIBUTES:
+                hash = mix(hash, Objects.hashCode(activityName));
+                hash = mix(hash, widgets.size());
+                for (Widget widget : widgets) {
+                    hash = mix(hash, widget.hashCode());
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException("State equivalence level "
+                        + stateEquivalenceLevel + " not yet supported!");
+        }
+
+        // final avalanche step (splitmix64) such that similar screens spread over all 64 bits
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * Mixes the given value into the given hash.
+     *
+     * @param hash The hash so far.
+     * @param value The value to be mixed in.
+     * @return Returns the updated hash.
+     */
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+    }
+
+    /**
+     * Returns the fingerprint of the screen state.
+     *
+     * @return Returns the fingerprint of the screen state.
+     */
+    public long getFingerprint() {
+        return fingerprint;
     }
 
     /**
@@ -113,7 +184,11 @@ public abstract class AbstractScreenState implements IScreenState {
         } else {
             AbstractScreenState other = (AbstractScreenState) o;
 
-            switch (Properties.STATE_EQUIVALENCE_LEVEL()) {
+            if (fingerprint != other.fingerprint) {
+                return false;
+            }
+
+            switch (stateEquivalenceLevel) {
                 case PACKAGE_NAME:
                     return Objects.equals(this.packageName, other.packageName);
                 case ACTIVITY_NAME:
@@ -126,30 +201,20 @@ public abstract class AbstractScreenState implements IScreenState {
                             Objects.equals(widgets, other.widgets);
                 default:
                     throw new UnsupportedOperationException("State equivalence level "
-                        + Properties.STATE_EQUIVALENCE_LEVEL() + " not yet supported!");
+                        + stateEquivalenceLevel + " not yet supported!");
             }
         }
     }
 
     /**
-     * Computes a hash code for the abstract screen state.
+     * Returns the hash code of the abstract screen state, which is derived from the precomputed
+     * fingerprint.
      *
      * @return Returns the hash code associated with this screen state.
      */
     @Override
     public int hashCode() {
-        switch (Properties.STATE_EQUIVALENCE_LEVEL()) {
-            case PACKAGE_NAME:
-                return Objects.hash(packageName);
-            case ACTIVITY_NAME:
-                return Objects.hash(packageName, activityName);
-            case WIDGET:
-            case WIDGET_WITH_ATTRIBUTES:
-                return Objects.hash(activityName, packageName, widgets);
-            default:
-                throw new UnsupportedOperationException("State equivalence level "
-                        + Properties.STATE_EQUIVALENCE_LEVEL() + " not yet supported!");
-        }
+        return (int) (fingerprint ^ (fingerprint >>> 32));
     }
 
     /**
@@ -1,5 +1,7 @@
 package org.mate.state.executables;
 
+import android.graphics.Rect;
+
 import org.mate.commons.interaction.action.ui.ActionType;
 import org.mate.commons.interaction.action.ui.MotifAction;
 import org.mate.commons.interaction.action.ui.UIAction;
@@ -107,9 +109,40 @@ public class ActionsScreenState extends AbstractScreenState {
         MATELog.log_debug("Retrieving widget actions for screen state...");
         MATELog.log_debug("Number of all widgets: " + this.widgets.size());
 
+        /*
+         * We should exclude widgets that are part of top status/symbol bar.
+         * Otherwise, we may click unintentionally on the wifi symbol and cut off
+         * the connection, which in turn breaks MATE's execution. For a device with a
+         * resolution of 1080x1920 this represents the area [0,0][1080,72].
+         */
+        Set<WidgetAction> widgetActions
+                = extractWidgetActions(this.widgets, appScreen.getStatusBarBoundingBox());
+
+        MATELog.log_debug("Number of widget actions: " + widgetActions.size());
+        MATELog.log_debug("Derived the following widget actions: " + widgetActions);
+
+        List<UIAction> uiActions = new ArrayList<UIAction>(widgetActions);
+        uiActions.addAll(getUIActions());
+        uiActions.addAll(getMotifActions(widgetActions));
+        actions = Collections.unmodifiableList(uiActions);
+        return actions;
+    }
+
+    /**
+     * Extracts the widget actions of a screen. The queries regarding the ui hierarchy, e.g.
+     * whether a widget is the son of a clickable widget, are answered by a {@link WidgetIndex},
+     * thus the extraction is linear in the number of widgets.
+     *
+     * @param allWidgets The widgets of the screen in pre-order.
+     * @param statusBarBoundingBox The bounding box of the status bar.
+     * @return Returns the widget actions in the order of extraction.
+     */
+    static Set<WidgetAction> extractWidgetActions(List<Widget> allWidgets, Rect statusBarBoundingBox) {
+
+        WidgetIndex index = new WidgetIndex();
         List<Widget> widgets = new ArrayList<>();
 
-        for (Widget widget : this.widgets) {
+        for (Widget widget : allWidgets) {
             /*
              * We ignore here primarily all widgets that are not visible, not enabled and don't
              * represent leaf widgets in the ui hierarchy. There are four exceptions to this rule:
@@ -123,9 +156,9 @@ public class ActionsScreenState extends AbstractScreenState {
              * 3) Likewise, it may can happen that checkable widgets are no leaf widgets.
              * 4) Same like spinner widgets, scroll views are no leaf widgets.
              */
-            if ((!widget.hasChildren() || widget.isSpinnerType() || widget.isClickable()
+            if ((!widget.hasChildren() || index.isSpinnerType(widget) || widget.isClickable()
                     || widget.isLongClickable() || widget.isCheckable()
-                    || widget.isScrollView() || widget.isScrollable())
+                    || index.isScrollView(widget) || widget.isScrollable())
                     && widget.isVisible() && widget.isEnabled()) {
                 widgets.add(widget);
             }
@@ -142,183 +175,190 @@ public class ActionsScreenState extends AbstractScreenState {
 
         for (Widget widget : widgets) {
 
-            MATELog.log_debug("Widget: " + widget);
-            logWidgetProperties(widget);
+            int numberOfActions = widgetActions.size();
+            extractWidgetActions(widget, statusBarBoundingBox, index, widgetActions);
 
-            /*
-            * TODO: We assign a clickable and long-clickable action if
-            *  a widget defines both attributes as true. However, in most cases
-            *  the action will refer to the same event handler. We should base
-            *  our selection on static analysis in the future.
-             */
-
-            /*
-             * We should exclude widgets that are part of top status/symbol bar.
-             * Otherwise, we may click unintentionally on the wifi symbol and cut off
-             * the connection, which in turn breaks MATE's execution. For a device with a
-             * resolution of 1080x1920 this represents the area [0,0][1080,72].
-             */
-            if (appScreen.getStatusBarBoundingBox().contains(widget.getBounds())) {
-                MATELog.log_debug("Widget within status bar: " + widget.getBounds());
-                continue;
+            if (widgetActions.size() > numberOfActions) {
+                index.addWidgetWithAction(widget);
             }
+        }
 
-            /*
-            * It can happen that multiple sibling widgets are completely overlapping each other.
-            *  We should define only for a single widget an action.
-             */
-            if (hasOverlappingSiblingWidgetAction(widget, widgetActions)) {
-                MATELog.log_debug("Overlapping sibling action!");
-                continue;
-            }
+        return widgetActions;
+    }
 
-            if (widget.isSonOfSpinner()) {
+    /**
+     * Extracts the widget actions of the given widget.
+     *
+     * @param widget The widget.
+     * @param statusBarBoundingBox The bounding box of the status bar.
+     * @param index The index over the widgets of the screen.
+     * @param widgetActions The widget actions collected so far.
+     */
+    private static void extractWidgetActions(Widget widget, Rect statusBarBoundingBox,
+                                             WidgetIndex index, Set<WidgetAction> widgetActions) {
 
-                MATELog.log_debug("Spinner widget defines scrolling action itself!");
+        MATELog.log_debug("Widget: " + widget);
+        logWidgetProperties(widget);
 
-                /*
-                * A spinner typically hosts text views as entries, but it could happen
-                * that buttons or checkboxes are encapsulated, so we need to check
-                * for this properties here. The scrolling action is directly employed
-                * on the spinner widget itself.
-                 */
-                if (widget.isClickable() || widget.isCheckable()) {
-                    widgetActions.add(new WidgetAction(widget, ActionType.CLICK));
-                }
+        /*
+        * TODO: We assign a clickable and long-clickable action if
+        *  a widget defines both attributes as true. However, in most cases
+        *  the action will refer to the same event handler. We should base
+        *  our selection on static analysis in the future.
+         */
 
-                if (widget.isLongClickable()) {
-                    widgetActions.add(new WidgetAction(widget, ActionType.LONG_CLICK));
-                }
+        // exclude widgets that are part of top status/symbol bar
+        if (statusBarBoundingBox.contains(widget.getBounds())) {
+            MATELog.log_debug("Widget within status bar: " + widget.getBounds());
+            return;
+        }
 
-                // we define the scrolling action directly on the spinner widget
-                continue;
-            }
+        /*
+        * It can happen that multiple sibling widgets are completely overlapping each other.
+        *  We should define only for a single widget an action.
+         */
+        if (index.hasOverlappingSiblingWidgetAction(widget)) {
+            MATELog.log_debug("Overlapping sibling action!");
+            return;
+        }
 
-            /*
-             * It can happen that leaf widgets actually represent containers like
-             * a linear layout in order to fill or introduce a gap.
-             */
-            if (widget.isContainer()) {
-                MATELog.log_debug("Container as a leaf widget!");
-                continue;
-            }
+        if (index.isSonOfSpinner(widget)) {
 
-            if ((widget.isSonOfLongClickable() || widget.isSonOfClickable()
-                    || widget.isSonOfCheckable()) && !widget.isSonOfActionableContainer()) {
-                MATELog.log_debug("Parent widget defines the action!");
-                // we define the action directly on the parent widget
-                continue;
-            }
+            MATELog.log_debug("Spinner widget defines scrolling action itself!");
 
-            if (widget.isCheckableType()) {
-                MATELog.log_debug("Widget implements checkable interface!");
+            /*
+            * A spinner typically hosts text views as entries, but it could happen
+            * that buttons or checkboxes are encapsulated, so we need to check
+            * for this properties here. The scrolling action is directly employed
+            * on the spinner widget itself.
+             */
+            if (widget.isClickable() || widget.isCheckable()) {
                 widgetActions.add(new WidgetAction(widget, ActionType.CLICK));
             }
 
-            if (widget.isEditTextType()) {
-                MATELog.log_debug("Widget is an edit text instance!");
-                widgetActions.add(new WidgetAction(widget, ActionType.TYPE_TEXT));
-
-               /*
-               * TODO: Use static analysis to detect whether an onclick handler is registered.
-               * Editable widgets are by default also clickable and long-clickable, but
-               * it is untypical to define such action as well. What should happen?
-               * We can only imagine that some sort of pop up appears showing some additional
-               * hint. Since it's uncommon that editable widgets define an onclick listener,
-               * we ignore such action right now.
-                */
-               continue;
+            if (widget.isLongClickable()) {
+                widgetActions.add(new WidgetAction(widget, ActionType.LONG_CLICK));
             }
 
-            if (widget.isButtonType()) {
-                MATELog.log_debug("Widget is a button instance!");
+            // we define the scrolling action directly on the spinner widget
+            return;
+        }
 
-                // TODO: Use static analysis to detect whether click/long click refer to the same
-                //  event handler.
-                if (widget.isClickable()) {
-                    widgetActions.add(new WidgetAction(widget, ActionType.CLICK));
-                }
+        /*
+         * It can happen that leaf widgets actually represent containers like
+         * a linear layout in order to fill or introduce a gap.
+         */
+        if (widget.isContainer()) {
+            MATELog.log_debug("Container as a leaf widget!");
+            return;
+        }
 
-                if (widget.isLongClickable()) {
-                    widgetActions.add(new WidgetAction(widget, ActionType.LONG_CLICK));
-                }
-            }
+        if (index.isSonOfActionable(widget) && !index.isSonOfActionableContainer(widget)) {
+            MATELog.log_debug("Parent widget defines the action!");
+            // we define the action directly on the parent widget
+            return;
+        }
 
-            if (widget.isSpinnerType()) {
-                MATELog.log_debug("Widget is a spinner instance!");
-
-                /*
-                * Although there is a proper motif action for spinner widgets in the meantime, we
-                * keep the click action as kind of fallback mechanism and when motif actions
-                * shouldn't be allowed.
-                * 
-                 */
-
-                if (widget.isClickable()) {
-                    widgetActions.add(new WidgetAction(widget, ActionType.CLICK));
-                    // it doesn't make sense to add another action to spinner instance
-                    continue;
-                }
-
-                if (widget.isLongClickable()) {
-                    widgetActions.add(new WidgetAction(widget, ActionType.LONG_CLICK));
-                    // it doesn't make sense to add another action to spinner instance
-                    continue;
-                }
-            }
+        if (index.isCheckableType(widget)) {
+            MATELog.log_debug("Widget implements checkable interface!");
+            widgetActions.add(new WidgetAction(widget, ActionType.CLICK));
+        }
 
-            if (widget.isScrollable() && !widget.isSpinnerType() && !widget.isSonOfScrollable()) {
+        if (index.isEditTextType(widget)) {
+            MATELog.log_debug("Widget is an edit text instance!");
+            widgetActions.add(new WidgetAction(widget, ActionType.TYPE_TEXT));
+
+           /*
+           * TODO: Use static analysis to detect whether an onclick handler is registered.
+           * Editable widgets are by default also clickable and long-clickable, but
+           * it is untypical to define such action as well. What should happen?
+           * We can only imagine that some sort of pop up appears showing some additional
+           * hint. Since it's uncommon that editable widgets define an onclick listener,
+           * we ignore such action right now.
+            */
+           return;
+        }
 
-                MATELog.log_debug("Widget is a scrollview!");
+        if (index.isButtonType(widget)) {
+            MATELog.log_debug("Widget is a button instance!");
 
-                /*
-                * Unfortunately, some apps misuse the intended scrolling mechanism, e.g.
-                * a horizontal scroll view like android.support.v4.view.ViewPager is used for
-                * vertical scrolling by nesting layouts, so it is not possible to determine
-                * the direction of the scroll view. Thus, we add swipes for all directions.
-                 */
-                widgetActions.add(new WidgetAction(widget, ActionType.SWIPE_UP));
-                widgetActions.add(new WidgetAction(widget, ActionType.SWIPE_DOWN));
-                widgetActions.add(new WidgetAction(widget, ActionType.SWIPE_LEFT));
-                widgetActions.add(new WidgetAction(widget, ActionType.SWIPE_RIGHT));
+            // TODO: Use static analysis to detect whether click/long click refer to the same
+            //  event handler.
+            if (widget.isClickable()) {
+                widgetActions.add(new WidgetAction(widget, ActionType.CLICK));
+            }
 
-                // it doesn't make sense to add another action to scrollable widgets
-                continue;
+            if (widget.isLongClickable()) {
+                widgetActions.add(new WidgetAction(widget, ActionType.LONG_CLICK));
             }
+        }
+
+        if (index.isSpinnerType(widget)) {
+            MATELog.log_debug("Widget is a spinner instance!");
 
             /*
-             * The elements in a list view are typically of type android.widget.TextView
-             * and not clickable according to the underlying AccessibilityNodeInfo object,
-             * however those elements represent in most cases clickable widgets.
+            * Although there is a proper motif action for spinner widgets in the meantime, we
+            * keep the click action as kind of fallback mechanism and when motif actions
+            * shouldn't be allowed.
+            * 
              */
-            if (widget.isSonOfListView()) {
+
+            if (widget.isClickable()) {
                 widgetActions.add(new WidgetAction(widget, ActionType.CLICK));
+                // it doesn't make sense to add another action to spinner instance
+                return;
             }
 
-            // TODO: might be redundant with isCheckableType()
-            if (widget.isCheckable()) {
-                // we check a widget by clicking on it
-                widgetActions.add(new WidgetAction(widget, ActionType.CLICK));
+            if (widget.isLongClickable()) {
+                widgetActions.add(new WidgetAction(widget, ActionType.LONG_CLICK));
+                // it doesn't make sense to add another action to spinner instance
+                return;
             }
+        }
+
+        if (widget.isScrollable() && !index.isSpinnerType(widget)
+                && !index.isSonOfScrollable(widget)) {
+
+            MATELog.log_debug("Widget is a scrollview!");
 
             /*
-             * Right now, we can't tell whether any kind of view widget should be clickable
-             * or not, thus we assign to each leaf widget the click action. In the future,
-             * we should rely on an additional static analysis of the byte code to verify
-             * which leaf widget, in particular which text view, defines an event handler
-             * and thus should be clickable.
+            * Unfortunately, some apps misuse the intended scrolling mechanism, e.g.
+            * a horizontal scroll view like android.support.v4.view.ViewPager is used for
+            * vertical scrolling by nesting layouts, so it is not possible to determine
+            * the direction of the scroll view. Thus, we add swipes for all directions.
              */
+            widgetActions.add(new WidgetAction(widget, ActionType.SWIPE_UP));
+            widgetActions.add(new WidgetAction(widget, ActionType.SWIPE_DOWN));
+            widgetActions.add(new WidgetAction(widget, ActionType.SWIPE_LEFT));
+            widgetActions.add(new WidgetAction(widget, ActionType.SWIPE_RIGHT));
+
+            // it doesn't make sense to add another action to scrollable widgets
+            return;
+        }
+
+        /*
+         * The elements in a list view are typically of type android.widget.TextView
+         * and not clickable according to the underlying AccessibilityNodeInfo object,
+         * however those elements represent in most cases clickable widgets.
+         */
+        if (index.isSonOfListView(widget)) {
             widgetActions.add(new WidgetAction(widget, ActionType.CLICK));
         }
 
-        MATELog.log_debug("Number of widget actions: " + widgetActions.size());
-        MATELog.log_debug("Derived the following widget actions: " + widgetActions);
+        // TODO: might be redundant with isCheckableType()
+        if (widget.isCheckable()) {
+            // we check a widget by clicking on it
+            widgetActions.add(new WidgetAction(widget, ActionType.CLICK));
+        }
 
-        List<UIAction> uiActions = new ArrayList<UIAction>(widgetActions);
-        uiActions.addAll(getUIActions());
-        uiActions.addAll(getMotifActions(widgetActions));
-        actions = Collections.unmodifiableList(uiActions);
-        return actions;
+        /*
+         * Right now, we can't tell whether any kind of view widget should be clickable
+         * or not, thus we assign to each leaf widget the click action. In the future,
+         * we should rely on an additional static analysis of the byte code to verify
+         * which leaf widget, in particular which text view, defines an event handler
+         * and thus should be clickable.
+         */
+        widgetActions.add(new WidgetAction(widget, ActionType.CLICK));
     }
 
     /**
@@ -407,7 +447,7 @@ public class ActionsScreenState extends AbstractScreenState {
     }
 
     @SuppressWarnings("debug")
-    private void logWidgetProperties(Widget widget) {
+    private static void logWidgetProperties(Widget widget) {
 
         if (widget.isClickable()) {
             MATELog.log_debug("Widget is clickable!");
@@ -430,41 +470,6 @@ public class ActionsScreenState extends AbstractScreenState {
         }
     }
 
-    /**
-     * Checks whether any sibling widget of the given widget defines already some widget action
-     * and overlaps completely with the given widget.
-     * This phenomenon was discovered on the bbc app, where multiple siblings were completely
-     * overlapping (which is strange per-se) for a video container. One would expect that
-     * completely overlapping widgets (same coordinates) are actually not in a siblings relation
-     * but rather in a child-parent relation. Moreover, all of these siblings were leaf widgets,
-     * which would cause our procedure to assign multiple actions to the same 'abstract' widget.
-     *
-     * @param widget The current widget.
-     * @param widgetActions The widget actions collected so far.
-     * @return Returns {@code true} if any sibling of the given widget already defines a widget
-     *           action and overlaps with the given widget, otherwise {@code false} is returned.
-     */
-    private boolean hasOverlappingSiblingWidgetAction(Widget widget, Set<WidgetAction> widgetActions) {
-
-        List<Widget> siblings = widget.getSiblings();
-
-        for (WidgetAction widgetAction : widgetActions) {
-
-            // check whether any sibling defines already an action
-            if (siblings.contains(widgetAction.getWidget())) {
-                // check whether any sibling overlaps with the current widget
-                for (Widget sibling : siblings) {
-                    if (sibling.getBounds().equals(widget.getBounds())) {
-                        MATELog.log_debug("Widget " + widget + " overlaps with " + sibling + "!");
-                        return true;
-                    }
-                }
-            }
-        }
-
-        return false;
-    }
-
     /**
      * Returns the list of actions are applicable independent on any widgets.
      *
@@ -6,6 +6,8 @@ import android.support.annotation.NonNull;
 
 import org.mate.commons.exceptions.AUTCrashException;
 import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.interaction.action.ui.WidgetHierarchyDelta;
+import org.mate.commons.interaction.action.ui.WidgetHierarchyPatcher;
 import org.mate.commons.utils.MATELog;
 import org.mate.interaction.DeviceMgr;
 import org.mate.service.MATEService;
@@ -41,6 +43,12 @@ public class AppScreen {
      */
     private final DeviceMgr deviceMgr;
 
+    /**
+     * Caches the last received screen, such that the representation layer only needs to send
+     * the widgets that changed since then.
+     */
+    private static final WidgetHierarchyPatcher widgetHierarchy = new WidgetHierarchyPatcher();
+
     /**
      * Creates a new app screen containing the widgets on it.
      */
@@ -53,7 +61,7 @@ public class AppScreen {
         // retrieve widgets from current screen
         try {
             MATELog.log_debug("AppScreen: " + activityName);
-            this.widgets = MATEService.getRepresentationLayer().getCurrentScreenWidgets();
+            this.widgets = fetchWidgets();
             MATELog.log_debug("Number of widgets: " + widgets.size());
         } catch (RemoteException | AUTCrashException e) {
             MATELog.log_warn("Using AppScreen after AUT has crashed");
@@ -61,6 +69,29 @@ public class AppScreen {
         }
     }
 
+    /**
+     * Retrieves the widgets of the current screen as a delta relative to the last received
+     * screen. If the delta can't be applied, the entire screen is requested instead.
+     *
+     * @return Returns the widgets of the current screen.
+     * @throws RemoteException If the communication with the representation layer fails.
+     * @throws AUTCrashException If the representation layer is disconnected.
+     */
+    private static List<Widget> fetchWidgets() throws RemoteException, AUTCrashException {
+        synchronized (widgetHierarchy) {
+            WidgetHierarchyDelta delta = MATEService.getRepresentationLayer()
+                    .getCurrentScreenWidgetsDelta(widgetHierarchy.getToken());
+            try {
+                List<Widget> widgets = widgetHierarchy.apply(delta);
+                MATELog.log_debug("Size of widget delta: " + delta.getSize() + " bytes");
+                return widgets;
+            } catch (IllegalStateException e) {
+                MATELog.log_warn("Couldn't apply widget delta: " + e.getMessage());
+                return MATEService.getRepresentationLayer().getCurrentScreenWidgets().getWidgets();
+            }
+        }
+    }
+
     /**
      * Returns the activity name that app screen corresponds to.
      *
@@ -0,0 +1,262 @@
+package org.mate.state.executables;
+
+import org.mate.commons.interaction.action.ui.Widget;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * An index over the widgets of a single screen that answers the queries of the widget action
+ * extraction in constant time. The type checks of a widget class, which resolve the class by its
+ * name, are performed once per class. The properties of the ancestors of a widget are derived
+ * from the properties of its parent, thus the ui hierarchy is traversed only once. Moreover, the
+ * index tracks for each parent how many of its children define a widget action and groups the
+ * children by their bounds to detect overlapping siblings.
+ *
+ * The widgets of a screen are identified by their position in the ui hierarchy, thus equal widgets
+ * of the same screen are identical and the index can rely on identity. Likewise, the children of a
+ * widget have distinct local indices, thus a widget has no sibling at its own position.
+ */
+class WidgetIndex {
+
+    /**
+     * The types of a widget class.
+     */
+    private static final int CHECKABLE_TYPE = 1;
+    private static final int EDIT_TEXT_TYPE = 1 << 1;
+    private static final int BUTTON_TYPE = 1 << 2;
+    private static final int SPINNER_TYPE = 1 << 3;
+    private static final int SCROLL_VIEW = 1 << 4;
+    private static final int LIST_VIEW_TYPE = 1 << 5;
+
+    /**
+     * The properties of the ancestors of a widget.
+     */
+    private static final int SON_OF_SPINNER = 1;
+    private static final int SON_OF_LIST_VIEW = 1 << 1;
+    private static final int SON_OF_SCROLLABLE = 1 << 2;
+    private static final int SON_OF_ACTIONABLE = 1 << 3;
+    private static final int SON_OF_ACTIONABLE_CONTAINER = 1 << 4;
+
+    /**
+     * The types of each widget class encountered so far.
+     */
+    private final Map<String, Integer> types = new HashMap<>();
+
+    /**
+     * The ancestor properties of each widget encountered so far.
+     */
+    private final Map<Widget, Integer> ancestors = new IdentityHashMap<>();
+
+    /**
+     * The number of children of a parent that define a widget action.
+     */
+    private final Map<Widget, Integer> childrenWithAction = new IdentityHashMap<>();
+
+    /**
+     * The number of children of a parent sharing the same bounds, built on demand.
+     */
+    private final Map<Widget, Map<Bounds, Integer>> childrenByBounds = new IdentityHashMap<>();
+
+    /**
+     * The bounds of a widget given by its coordinates.
+     */
+    private static final class Bounds {
+
+        private final int x1;
+        private final int y1;
+        private final int x2;
+        private final int y2;
+
+        private Bounds(Widget widget) {
+            x1 = widget.getX1();
+            y1 = widget.getY1();
+            x2 = widget.getX2();
+            y2 = widget.getY2();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (o == null || getClass() != o.getClass()) {
+                return false;
+            } else {
+                Bounds other = (Bounds) o;
+                return x1 == other.x1 && y1 == other.y1 && x2 == other.x2 && y2 == other.y2;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * x1 + y1) + x2) + y2;
+        }
+    }
+
+    /**
+     * Returns the types of the class of the given widget.
+     */
+    private int getTypes(Widget widget) {
+
+        Integer widgetTypes = types.get(widget.getClazz());
+
+        if (widgetTypes == null) {
+            int flags = 0;
+            if (widget.isCheckableType()) {
+                flags |= CHECKABLE_TYPE;
+            }
+            if (widget.isEditTextType()) {
+                flags |= EDIT_TEXT_TYPE;
+            }
+            if (widget.isButtonType()) {
+                flags |= BUTTON_TYPE;
+            }
+            if (widget.isSpinnerType()) {
+                flags |= SPINNER_TYPE;
+            }
+            if (widget.isScrollView()) {
+                flags |= SCROLL_VIEW;
+            }
+            if (widget.isListViewType()) {
+                flags |= LIST_VIEW_TYPE;
+            }
+            widgetTypes = flags;
+            types.put(widget.getClazz(), widgetTypes);
+        }
+        return widgetTypes;
+    }
+
+    /**
+     * Returns the properties of the ancestors of the given widget.
+     */
+    private int getAncestors(Widget widget) {
+
+        Integer properties = ancestors.get(widget);
+
+        if (properties == null) {
+
+            Widget parent = widget.getParent();
+            int flags = 0;
+
+            if (parent != null) {
+                flags = getAncestors(parent);
+                int parentTypes = getTypes(parent);
+                if ((parentTypes & SPINNER_TYPE) != 0) {
+                    flags |= SON_OF_SPINNER;
+                }
+                if ((parentTypes & LIST_VIEW_TYPE) != 0) {
+                    flags |= SON_OF_LIST_VIEW;
+                }
+                if (parent.isScrollable()) {
+                    flags |= SON_OF_SCROLLABLE;
+                }
+                if (parent.isActionable()) {
+                    flags |= SON_OF_ACTIONABLE;
+                    if (parent.isContainer()) {
+                        flags |= SON_OF_ACTIONABLE_CONTAINER;
+                    }
+                }
+            }
+
+            properties = flags;
+            ancestors.put(widget, properties);
+        }
+        return properties;
+    }
+
+    boolean isCheckableType(Widget widget) {
+        return (getTypes(widget) & CHECKABLE_TYPE) != 0;
+    }
+
+    boolean isEditTextType(Widget widget) {
+        return (getTypes(widget) & EDIT_TEXT_TYPE) != 0;
+    }
+
+    boolean isButtonType(Widget widget) {
+        return (getTypes(widget) & BUTTON_TYPE) != 0;
+    }
+
+    boolean isSpinnerType(Widget widget) {
+        return (getTypes(widget) & SPINNER_TYPE) != 0;
+    }
+
+    boolean isScrollView(Widget widget) {
+        return (getTypes(widget) & SCROLL_VIEW) != 0;
+    }
+
+    boolean isSonOfSpinner(Widget widget) {
+        return (getAncestors(widget) & SON_OF_SPINNER) != 0;
+    }
+
+    boolean isSonOfListView(Widget widget) {
+        return (getAncestors(widget) & SON_OF_LIST_VIEW) != 0;
+    }
+
+    boolean isSonOfScrollable(Widget widget) {
+        return (getAncestors(widget) & SON_OF_SCROLLABLE) != 0;
+    }
+
+    /**
+     * Checks whether any ancestor is clickable, long-clickable or checkable.
+     */
+    boolean isSonOfActionable(Widget widget) {
+        return (getAncestors(widget) & SON_OF_ACTIONABLE) != 0;
+    }
+
+    boolean isSonOfActionableContainer(Widget widget) {
+        return (getAncestors(widget) & SON_OF_ACTIONABLE_CONTAINER) != 0;
+    }
+
+    /**
+     * Records that the given widget defines a widget action. Must be called at most once per
+     * widget and only after the widget has been checked for overlapping siblings.
+     *
+     * @param widget The widget defining a widget action.
+     */
+    void addWidgetWithAction(Widget widget) {
+        Widget parent = widget.getParent();
+        if (parent != null) {
+            Integer count = childrenWithAction.get(parent);
+            childrenWithAction.put(parent, count == null ? 1 : count + 1);
+        }
+    }
+
+    /**
+     * Checks whether any sibling of the given widget defines already some widget action and any
+     * sibling overlaps completely with the given widget.
+     * This phenomenon was discovered on the bbc app, where multiple siblings were completely
+     * overlapping (which is strange per-se) for a video container. One would expect that
+     * completely overlapping widgets (same coordinates) are actually not in a siblings relation
+     * but rather in a child-parent relation. Moreover, all of these siblings were leaf widgets,
+     * which would cause our procedure to assign multiple actions to the same 'abstract' widget.
+     *
+     * @param widget The current widget, which doesn't define a widget action yet.
+     * @return Returns {@code true} if a sibling already defines a widget action and a sibling
+     *          overlaps with the given widget, otherwise {@code false} is returned.
+     */
+    boolean hasOverlappingSiblingWidgetAction(Widget widget) {
+
+        Widget parent = widget.getParent();
+
+        if (parent == null || !childrenWithAction.containsKey(parent)) {
+            return false;
+        }
+
+        Map<Bounds, Integer> bounds = childrenByBounds.get(parent);
+
+        if (bounds == null) {
+            bounds = new HashMap<>();
+            for (Widget child : parent.getChildren()) {
+                Bounds childBounds = new Bounds(child);
+                Integer count = bounds.get(childBounds);
+                bounds.put(childBounds, count == null ? 1 : count + 1);
+            }
+            childrenByBounds.put(parent, bounds);
+        }
+
+        // the widget itself is one of the children, but not a sibling
+        Integer overlapping = bounds.get(new Bounds(widget));
+        return overlapping != null && overlapping > 1;
+    }
+}
@@ -5,7 +5,9 @@ import org.mate.Registry;
 import org.mate.exploration.genetic.chromosome.IChromosome;
 import org.mate.exploration.genetic.fitness.BasicBlockMultiObjectiveFitnessFunction;
 import org.mate.exploration.genetic.fitness.BranchDistanceMultiObjectiveFitnessFunction;
+import org.mate.exploration.genetic.fitness.BranchMultiObjectiveFitnessFunction;
 import org.mate.exploration.genetic.fitness.FitnessFunction;
+import org.mate.exploration.genetic.fitness.FitnessMatrix;
 import org.mate.exploration.genetic.fitness.LineCoveredPercentageFitnessFunction;
 import org.mate.model.TestCase;
 import org.mate.model.TestSuite;
@@ -135,6 +137,57 @@ public class FitnessUtils {
             BasicBlockMultiObjectiveFitnessFunction.cleanCache(activeChromosomes);
         } else if (Properties.FITNESS_FUNCTION() == FitnessFunction.BRANCH_DISTANCE_MULTI_OBJECTIVE) {
             BranchDistanceMultiObjectiveFitnessFunction.cleanCache(activeChromosomes);
+        } else if (Properties.FITNESS_FUNCTION() == FitnessFunction.BRANCH_MULTI_OBJECTIVE) {
+            BranchMultiObjectiveFitnessFunction.cleanCache(activeChromosomes);
+        }
+    }
+
+    /**
+     * Retrieves the fitness vectors of all given chromosomes that are not yet cached by the
+     * multi-objective fitness function with a single request, e.g. for all offsprings of a
+     * generation. Subsequent fitness evaluations of these chromosomes are served from the cache.
+     *
+     * @param chromosomes The chromosomes for which the fitness should be evaluated.
+     * @param <T> Specifies whether the chromosomes are test suites or test cases.
+     */
+    public static <T> void prefetchFitness(List<IChromosome<T>> chromosomes) {
+
+        if (Properties.FITNESS_FUNCTION() == FitnessFunction.LINE_PERCENTAGE_COVERAGE
+                || Properties.FITNESS_FUNCTION() == FitnessFunction.BASIC_BLOCK_MULTI_OBJECTIVE
+                || Properties.FITNESS_FUNCTION() == FitnessFunction.BRANCH_DISTANCE_MULTI_OBJECTIVE
+                || Properties.FITNESS_FUNCTION() == FitnessFunction.BRANCH_MULTI_OBJECTIVE) {
+            prefetchFitness(Properties.FITNESS_FUNCTION(), chromosomes);
+        }
+    }
+
+    /**
+     * Retrieves the fitness vectors of all given chromosomes that are not yet contained in the
+     * shared fitness matrix of the given multi-objective fitness function with a single request.
+     *
+     * @param fitnessFunction The multi-objective fitness function, i.e. the kind of objectives.
+     * @param chromosomes The chromosomes for which the fitness should be evaluated.
+     * @param <T> Specifies whether the chromosomes are test suites or test cases.
+     */
+    public static <T> void prefetchFitness(FitnessFunction fitnessFunction,
+                                           List<IChromosome<T>> chromosomes) {
+
+        FitnessMatrix cache = FitnessMatrix.getInstance(fitnessFunction);
+
+        if (cache.getNumberOfObjectives() == 0) {
+            return;
+        }
+
+        List<IChromosome<T>> missing = cache.getMissing(chromosomes);
+
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        double[][] fitnessVectors = Registry.getEnvironmentManager()
+                .getFitnessVectors(fitnessFunction, missing, cache.getObjectives());
+
+        for (int i = 0; i < missing.size(); i++) {
+            cache.put(missing.get(i), fitnessVectors[i]);
         }
     }
 
@@ -0,0 +1,118 @@
+package org.mate;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.state.executable.StateEquivalenceLevel;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class PropertiesTest {
+
+    @After
+    public void tearDown() {
+        Registry.unregisterProperties();
+    }
+
+    @Test
+    public void testDefaultValues() {
+        Registry.registerProperties(new Properties(new HashMap<>()));
+        assertEquals(5, Properties.TIMEOUT());
+        assertEquals(0.1f, Properties.EVAPORATION_RATE(), 0.0f);
+        assertEquals(0.7, Properties.P_CROSSOVER(), 0.0);
+        assertTrue(Properties.QUICK_LAUNCH());
+        assertEquals(StateEquivalenceLevel.WIDGET, Properties.STATE_EQUIVALENCE_LEVEL());
+        assertNull(Properties.RANDOM_SEED());
+    }
+
+    @Test
+    public void testPropertiesAreParsedCaseInsensitive() {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("timeout", "42");
+        properties.put("EVAPORATION_RATE", "0.25");
+        properties.put("quick_launch", "false");
+        properties.put("state_equivalence_level", "ACTIVITY_NAME");
+        properties.put("random_seed", "7");
+        properties.put("no_such_property", "1");
+        Registry.registerProperties(new Properties(properties));
+
+        assertEquals(42, Properties.TIMEOUT());
+        assertEquals(0.25f, Properties.EVAPORATION_RATE(), 0.0f);
+        assertFalse(Properties.QUICK_LAUNCH());
+        assertEquals(StateEquivalenceLevel.ACTIVITY_NAME, Properties.STATE_EQUIVALENCE_LEVEL());
+        assertEquals(Long.valueOf(7), Properties.RANDOM_SEED());
+    }
+
+    @Test
+    public void testSetPropertyOverridesValue() {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("max_number_events", "10");
+        Registry.registerProperties(new Properties(properties));
+
+        Properties.setProperty("max_number_events", 20);
+        assertEquals(20, Properties.MAX_NUMBER_EVENTS());
+
+        // a property can be explicitly overridden with null
+        Properties.setProperty("target", null);
+        assertNull(Properties.TARGET());
+    }
+
+    @Test
+    public void testEveryPropertyHasItsOwnKey() throws Exception {
+
+        Registry.registerProperties(new Properties(new HashMap<>()));
+
+        // assign each property a distinct value and check that each getter returns its own value
+        Map<Method, Object> values = new HashMap<>();
+        int counter = 1000;
+
+        for (Method method : Properties.class.getDeclaredMethods()) {
+            if (!Modifier.isPublic(method.getModifiers())
+                    || !Modifier.isStatic(method.getModifiers())
+                    || method.getParameterTypes().length != 0) {
+                continue;
+            }
+
+            Class<?> type = method.getReturnType();
+            Object value;
+            if (type == int.class) {
+                value = counter++;
+            } else if (type == float.class) {
+                value = (float) counter++;
+            } else if (type == double.class) {
+                value = (double) counter++;
+            } else if (type == boolean.class) {
+                value = !((Boolean) method.invoke(null));
+            } else if (type == Long.class) {
+                value = (long) counter++;
+            } else if (type == String.class) {
+                value = "value" + counter++;
+            } else if (type.isEnum()) {
+                Object defaultValue = method.invoke(null);
+                Object[] constants = type.getEnumConstants();
+                value = constants[0] != defaultValue ? constants[0] : constants[constants.length - 1];
+            } else {
+                continue;
+            }
+
+            Properties.setProperty(method.getName().toLowerCase(), value);
+            values.put(method, value);
+        }
+
+        for (Map.Entry<Method, Object> entry : values.entrySet()) {
+            assertEquals(entry.getKey().getName(), entry.getValue(), entry.getKey().invoke(null));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.mate.exploration.fuzzing.greybox;
+
+import org.junit.Test;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks the priority order of the {@link SeedCorpus} and counts the coverage requests.
+ */
+public class SeedCorpusTest {
+
+    /**
+     * A seed with a known coverage and length.
+     */
+    static final class Seed {
+
+        final double coverage;
+        final int length;
+
+        private Seed(double coverage, int length) {
+            this.coverage = coverage;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Counts the coverage requests, each of which is a round trip to the server.
+     */
+    static final class CountingEvaluator implements SeedCorpus.Evaluator<Seed> {
+
+        int coverageRequests = 0;
+
+        @Override
+        public double getCoverage(IChromosome<Seed> seed) {
+            coverageRequests++;
+            return seed.getValue().coverage;
+        }
+
+        @Override
+        public int getEnergy(IChromosome<Seed> seed) {
+            return Math.max(1, 10 - seed.getValue().length / 10);
+        }
+    }
+
+    static IChromosome<Seed> seed(double coverage, int length) {
+        return new Chromosome<>(new Seed(coverage, length));
+    }
+
+    @Test
+    public void testOrderByCoverageEnergyAndAge() {
+
+        SeedCorpus<Seed> corpus = new SeedCorpus<>(new CountingEvaluator());
+
+        IChromosome<Seed> low = seed(10, 10);
+        IChromosome<Seed> longer = seed(50, 80);
+        IChromosome<Seed> shorter = seed(50, 20);
+        IChromosome<Seed> sameAsShorter = seed(50, 20);
+
+        corpus.add(low);
+        corpus.add(longer);
+        assertSame(longer, corpus.getBest());
+
+        // same coverage, but more energy
+        corpus.add(shorter);
+        assertSame(shorter, corpus.getBest());
+
+        // same priority, the older seed wins
+        corpus.add(sameAsShorter);
+        assertSame(shorter, corpus.getBest());
+
+        assertEquals(8, corpus.getEnergy(shorter));
+        assertEquals(50, corpus.getCoverage(longer), 0.0);
+    }
+
+    @Test
+    public void testSeedsAreEvaluatedOnce() {
+
+        CountingEvaluator evaluator = new CountingEvaluator();
+        SeedCorpus<Seed> corpus = new SeedCorpus<>(evaluator);
+        List<IChromosome<Seed>> seedCorpus = new ArrayList<>();
+
+        seedCorpus.add(seed(1, 10));
+        seedCorpus.add(seed(2, 10));
+        corpus.addNew(seedCorpus);
+        corpus.addNew(seedCorpus);
+
+        seedCorpus.add(seed(3, 10));
+        corpus.addNew(seedCorpus);
+        corpus.add(seedCorpus.get(0));
+
+        assertEquals(3, corpus.size());
+        assertEquals(3, evaluator.coverageRequests);
+        assertSame(seedCorpus.get(2), corpus.getBest());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEmptyCorpus() {
+        new SeedCorpus<>(new CountingEvaluator()).getBest();
+    }
+}
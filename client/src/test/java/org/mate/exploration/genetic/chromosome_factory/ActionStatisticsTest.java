@@ -0,0 +1,262 @@
+package org.mate.exploration.genetic.chromosome_factory;
+
+import org.junit.Test;
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ui.ActionType;
+import org.mate.commons.interaction.action.ui.UIAction;
+import org.mate.commons.utils.Randomness;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the {@link HeuristicalActionSelector} based on the {@link ActionStatistics} leads to
+ * the same action selection as the previous map based bookkeeping of the
+ * {@link HeuristicalChromosomeFactory}.
+ */
+public class ActionStatisticsTest {
+
+    private static final ActionType[] ACTION_TYPES = {ActionType.CLICK, ActionType.LONG_CLICK,
+            ActionType.SWIPE_UP, ActionType.BACK, ActionType.MENU};
+
+    private static final double ALPHA = 1;
+    private static final double BETA = 0.3;
+    private static final double GAMMA = 1.5;
+
+    /**
+     * The selection of an action according to the Stoat heuristic.
+     */
+    interface Selection {
+
+        UIAction selectAction(List<UIAction> executableActions);
+
+        void resetPreviousAction(List<UIAction> executableActions);
+    }
+
+    /**
+     * Builds screens whose actions partly re-appear on other screens.
+     */
+    static List<List<UIAction>> buildScreens(int screens, int actionsPerScreen) {
+
+        List<List<UIAction>> actions = new ArrayList<>();
+
+        for (int screen = 0; screen < screens; screen++) {
+            List<UIAction> screenActions = new ArrayList<>();
+            for (int i = 0; i < actionsPerScreen; i++) {
+                String activity = "com.example.app/.Activity" + ((screen + i / ACTION_TYPES.length) % 40);
+                screenActions.add(new UIAction(ACTION_TYPES[i % ACTION_TYPES.length], activity));
+            }
+            actions.add(screenActions);
+        }
+        return actions;
+    }
+
+    /**
+     * Explores the given screens and returns the selected actions, where a screen transition
+     * only depends on the current screen and the selected action.
+     */
+    static List<UIAction> explore(Selection selection, List<List<UIAction>> screens,
+                                  int testCases, int actionsPerTestCase) {
+
+        Random previousRandom = Randomness.getRnd();
+        Randomness.setRnd(new Random(42));
+        List<UIAction> selectedActions = new ArrayList<>();
+
+        try {
+            for (int testCase = 0; testCase < testCases; testCase++) {
+                int screen = 0;
+                for (int step = 0; step < actionsPerTestCase; step++) {
+                    UIAction action = selection.selectAction(screens.get(screen));
+                    selectedActions.add(action);
+                    int index = screens.get(screen).indexOf(action);
+                    screen = (screen * 31 + index * 17 + 1) % screens.size();
+                }
+                selection.resetPreviousAction(screens.get(screen));
+            }
+        } finally {
+            Randomness.setRnd(previousRandom);
+        }
+        return selectedActions;
+    }
+
+    private static double eventTypeWeight(UIAction action) {
+        switch (action.getActionType()) {
+            case SWIPE_UP:
+            case BACK:
+                return 0.5;
+            case MENU:
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    private static String getWidgetId(UIAction action) {
+        return action.getActivityName() + "->" + action.getActionType().name();
+    }
+
+    /**
+     * The selection of the {@link HeuristicalChromosomeFactory}.
+     */
+    static final class FactorySelection implements Selection {
+
+        private final HeuristicalActionSelector selector
+                = new HeuristicalActionSelector(ALPHA, BETA, GAMMA);
+
+        @Override
+        public UIAction selectAction(List<UIAction> executableActions) {
+            return selector.selectAction(executableActions);
+        }
+
+        @Override
+        public void resetPreviousAction(List<UIAction> executableActions) {
+            selector.resetPreviousAction(executableActions);
+        }
+    }
+
+    /**
+     * The previous bookkeeping based on maps, see HeuristicalChromosomeFactory.
+     */
+    static final class MapSelection implements Selection {
+
+        private final Map<Action, Integer> executionCounter = new HashMap<>();
+        private final List<String> visitedWidgetIds = new ArrayList<>();
+        private final Map<Action, Integer> unvisitedChildWidgetCounter = new HashMap<>();
+        private final Map<String, Set<Action>> actionsPrecedingWidget = new HashMap<>();
+        private Action previousAction = null;
+
+        @Override
+        public UIAction selectAction(List<UIAction> executableActions) {
+
+            computeUnvisitedWidgets(executableActions);
+
+            List<UIAction> candidateActions = new ArrayList<>();
+            double maxWeight = 0.0;
+
+            for (UIAction action : executableActions) {
+
+                int unvisitedChildren;
+                if (unvisitedChildWidgetCounter.containsKey(action)) {
+                    unvisitedChildren = unvisitedChildWidgetCounter.get(action);
+                } else {
+                    int max = 0;
+                    for (Action key : unvisitedChildWidgetCounter.keySet()) {
+                        int current = unvisitedChildWidgetCounter.get(key);
+                        max = current > max ? current : max;
+                    }
+                    unvisitedChildren = max * 2;
+                }
+                int executionFrequency = (executionCounter.containsKey(action)
+                        ? executionCounter.get(action) : 0) + 1;
+                double weight = ((ALPHA * eventTypeWeight(action)) + (BETA * unvisitedChildren))
+                        / (GAMMA * executionFrequency);
+
+                if (weight > maxWeight) {
+                    candidateActions = new ArrayList<>();
+                    candidateActions.add(action);
+                    maxWeight = weight;
+                } else if (weight == maxWeight) {
+                    candidateActions.add(action);
+                }
+
+                if (previousAction != null) {
+                    String widgetId = getWidgetId(action);
+                    if (actionsPrecedingWidget.containsKey(widgetId)) {
+                        actionsPrecedingWidget.get(widgetId).add(previousAction);
+                    } else {
+                        actionsPrecedingWidget.put(widgetId,
+                                new HashSet<>(Collections.singletonList(previousAction)));
+                    }
+                }
+            }
+
+            UIAction selectedAction = candidateActions.get(Randomness.randomIndex(candidateActions));
+            String widgetId = getWidgetId(selectedAction);
+
+            if (executionCounter.containsKey(selectedAction)) {
+                executionCounter.put(selectedAction, executionCounter.get(selectedAction) + 1);
+            } else {
+                executionCounter.put(selectedAction, 1);
+            }
+
+            if (previousAction != null) {
+                if (!visitedWidgetIds.contains(widgetId)) {
+                    for (Action action : actionsPrecedingWidget.get(widgetId)) {
+                        if (unvisitedChildWidgetCounter.get(action) > 0) {
+                            unvisitedChildWidgetCounter.put(action,
+                                    unvisitedChildWidgetCounter.get(action) - 1);
+                        }
+                    }
+                    visitedWidgetIds.add(widgetId);
+                }
+            }
+
+            previousAction = selectedAction;
+            return selectedAction;
+        }
+
+        private void computeUnvisitedWidgets(List<UIAction> executableActions) {
+            if (previousAction != null) {
+                int count = 0;
+                for (UIAction action : executableActions) {
+                    if (!visitedWidgetIds.contains(getWidgetId(action))) {
+                        count++;
+                    }
+                }
+                unvisitedChildWidgetCounter.put(previousAction, count);
+            }
+        }
+
+        @Override
+        public void resetPreviousAction(List<UIAction> executableActions) {
+            computeUnvisitedWidgets(executableActions);
+            previousAction = null;
+        }
+    }
+
+    @Test
+    public void testMaxUnvisitedChildWidgets() {
+
+        ActionStatistics statistics = new ActionStatistics();
+        int first = statistics.getActionId(new UIAction(ActionType.CLICK, "A"));
+        int second = statistics.getActionId(new UIAction(ActionType.CLICK, "B"));
+        int widget = statistics.getWidgetOfAction(statistics.getActionId(
+                new UIAction(ActionType.CLICK, "C")));
+
+        assertEquals(0, statistics.getMaxUnvisitedChildWidgets());
+        assertEquals(-1, statistics.getUnvisitedChildWidgets(first));
+
+        statistics.setUnvisitedChildWidgets(first, 3);
+        statistics.setUnvisitedChildWidgets(second, 1);
+        assertEquals(3, statistics.getMaxUnvisitedChildWidgets());
+
+        statistics.addActionPrecedingWidget(widget, first);
+        statistics.addActionPrecedingWidget(widget, second);
+        statistics.visitWidget(widget);
+        assertEquals(2, statistics.getUnvisitedChildWidgets(first));
+        assertEquals(0, statistics.getUnvisitedChildWidgets(second));
+        assertEquals(2, statistics.getMaxUnvisitedChildWidgets());
+
+        // a visited widget doesn't decrease the counters again
+        statistics.visitWidget(widget);
+        assertEquals(2, statistics.getMaxUnvisitedChildWidgets());
+
+        statistics.setUnvisitedChildWidgets(first, 0);
+        assertEquals(0, statistics.getMaxUnvisitedChildWidgets());
+    }
+
+    @Test
+    public void testSameSelectionAsMapBookkeeping() {
+        List<List<UIAction>> screens = buildScreens(30, 40);
+        assertEquals(explore(new MapSelection(), screens, 30, 20),
+                explore(new FactorySelection(), screens, 30, 20));
+    }
+}
@@ -0,0 +1,107 @@
+package org.mate.exploration.genetic.fitness;
+
+import org.junit.Test;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the hit and miss counting, the separation by fitness function and the eviction of
+ * unreferenced chromosomes in the {@link FitnessCache}.
+ */
+public class FitnessCacheTest {
+
+    /**
+     * Answers the fitness requests with the number of the request, i.e. a repeated retrieval
+     * yields a different value than the first one.
+     */
+    private static final class CountingRetrieval implements ToDoubleFunction<IChromosome<String>> {
+
+        private int retrievals = 0;
+
+        @Override
+        public double applyAsDouble(IChromosome<String> chromosome) {
+            return ++retrievals;
+        }
+    }
+
+    @Test
+    public void testRepeatedRequestsAreAnsweredByTheCache() {
+
+        IFitnessFunction<String> fitnessFunction = new LineCoverageFitnessFunction<>();
+        IChromosome<String> chromosome = new Chromosome<>("chromosome");
+        CountingRetrieval retrieval = new CountingRetrieval();
+        long hits = FitnessCache.getHits();
+        long misses = FitnessCache.getMisses();
+
+        assertEquals(1, FitnessCache.getFitness(chromosome, fitnessFunction, retrieval), 0);
+        assertEquals(1, FitnessCache.getFitness(chromosome, fitnessFunction, retrieval), 0);
+        assertEquals(1, FitnessCache.getFitness(chromosome, fitnessFunction, retrieval), 0);
+
+        assertEquals(1, retrieval.retrievals);
+        assertEquals(hits + 2, FitnessCache.getHits());
+        assertEquals(misses + 1, FitnessCache.getMisses());
+    }
+
+    @Test
+    public void testFitnessValuesAreSeparatedByFitnessFunction() {
+
+        IFitnessFunction<String> first = new LineCoverageFitnessFunction<>();
+        IFitnessFunction<String> second = new LineCoverageFitnessFunction<>();
+        IChromosome<String> chromosome = new Chromosome<>("chromosome");
+        IChromosome<String> other = new Chromosome<>("chromosome");
+        CountingRetrieval retrieval = new CountingRetrieval();
+        long misses = FitnessCache.getMisses();
+
+        assertEquals(1, FitnessCache.getFitness(chromosome, first, retrieval), 0);
+        assertEquals(2, FitnessCache.getFitness(chromosome, second, retrieval), 0);
+        // chromosomes are compared by identity, not by their value
+        assertEquals(3, FitnessCache.getFitness(other, first, retrieval), 0);
+
+        assertEquals(1, FitnessCache.getFitness(chromosome, first, retrieval), 0);
+        assertEquals(2, FitnessCache.getFitness(chromosome, second, retrieval), 0);
+        assertEquals(3, FitnessCache.getFitness(other, first, retrieval), 0);
+
+        assertEquals(3, retrieval.retrievals);
+        assertEquals(misses + 3, FitnessCache.getMisses());
+    }
+
+    @Test
+    public void testUnreferencedChromosomesAreEvicted() throws InterruptedException {
+
+        IFitnessFunction<String> fitnessFunction = new LineCoverageFitnessFunction<>();
+        CountingRetrieval retrieval = new CountingRetrieval();
+        IChromosome<String> survivor = new Chromosome<>("survivor");
+        FitnessCache.getFitness(survivor, fitnessFunction, retrieval);
+
+        List<IChromosome<String>> chromosomes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            IChromosome<String> chromosome = new Chromosome<>("chromosome" + i);
+            chromosomes.add(chromosome);
+            FitnessCache.getFitness(chromosome, fitnessFunction, retrieval);
+        }
+
+        int size = FitnessCache.size();
+        assertTrue(size >= chromosomes.size() + 1);
+
+        chromosomes.clear();
+
+        // the garbage collection is only a request, thus it is repeated a few times
+        for (int i = 0; i < 50 && FitnessCache.size() > size - 1000; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertTrue(FitnessCache.size() <= size - 1000);
+
+        // the still referenced chromosome keeps its cached fitness value
+        assertEquals(1, FitnessCache.getFitness(survivor, fitnessFunction, retrieval), 0);
+        assertEquals(1001, retrieval.retrievals);
+    }
+}
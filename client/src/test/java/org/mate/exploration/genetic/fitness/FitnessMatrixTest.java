@@ -0,0 +1,167 @@
+package org.mate.exploration.genetic.fitness;
+
+import org.junit.Test;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the storage, lookup and eviction of fitness vectors in the {@link FitnessMatrix}.
+ */
+public class FitnessMatrixTest {
+
+    @Test
+    public void testObjectiveIndicesAreAssignedOnce() {
+        FitnessMatrix matrix = new FitnessMatrix();
+        assertEquals(0, matrix.addObjective("a"));
+        assertEquals(1, matrix.addObjective("b"));
+        assertEquals(0, matrix.addObjective("a"));
+        assertEquals(Arrays.asList("a", "b"), matrix.getObjectives());
+    }
+
+    @Test
+    public void testStoreAndRetrieveFitnessVectors() {
+        FitnessMatrix matrix = new FitnessMatrix();
+        matrix.addObjective("a");
+        matrix.addObjective("b");
+
+        List<IChromosome<String>> chromosomes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            IChromosome<String> chromosome = new Chromosome<>("chromosome" + i);
+            chromosomes.add(chromosome);
+            matrix.put(chromosome, Arrays.asList((double) i, (double) -i));
+        }
+
+        assertEquals(100, matrix.size());
+        for (int i = 0; i < chromosomes.size(); i++) {
+            assertEquals(i, matrix.get(chromosomes.get(i), 0), 0.0);
+            assertEquals(-i, matrix.get(chromosomes.get(i), 1), 0.0);
+        }
+    }
+
+    @Test
+    public void testRetainAllEvictsInactiveChromosomesAndReusesRows() {
+        FitnessMatrix matrix = new FitnessMatrix();
+        matrix.addObjective("a");
+
+        IChromosome<String> active = new Chromosome<>("active");
+        IChromosome<String> inactive = new Chromosome<>("inactive");
+        matrix.put(active, Collections.singletonList(1.0));
+        matrix.put(inactive, Collections.singletonList(2.0));
+
+        assertEquals(1, matrix.retainAll(Collections.singletonList(active)));
+        assertTrue(matrix.contains(active));
+        assertFalse(matrix.contains(inactive));
+
+        // the freed row must not leak the old value into the new chromosome
+        IChromosome<String> next = new Chromosome<>("next");
+        matrix.put(next, Collections.singletonList(3.0));
+        assertEquals(1.0, matrix.get(active, 0), 0.0);
+        assertEquals(3.0, matrix.get(next, 0), 0.0);
+    }
+
+    @Test
+    public void testRetainAllWithDuplicateAndUnknownChromosomes() {
+        FitnessMatrix matrix = new FitnessMatrix();
+        matrix.addObjective("a");
+
+        List<IChromosome<String>> chromosomes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            IChromosome<String> chromosome = new Chromosome<>("chromosome" + i);
+            chromosomes.add(chromosome);
+            matrix.put(chromosome, Collections.singletonList((double) i));
+        }
+
+        // the active chromosomes are listed twice and mixed with a chromosome that is not stored
+        List<IChromosome<String>> active = Arrays.asList(chromosomes.get(7), chromosomes.get(2),
+                new Chromosome<>("unknown"), chromosomes.get(7), chromosomes.get(5), chromosomes.get(2));
+
+        assertEquals(7, matrix.retainAll(active));
+        assertEquals(3, matrix.size());
+        for (int i = 0; i < chromosomes.size(); i++) {
+            boolean isActive = i == 2 || i == 5 || i == 7;
+            assertEquals(isActive, matrix.contains(chromosomes.get(i)));
+            if (isActive) {
+                assertEquals(i, matrix.get(chromosomes.get(i), 0), 0.0);
+            }
+        }
+
+        // the remaining chromosomes can still be removed one by one
+        assertTrue(matrix.remove(chromosomes.get(2)));
+        assertFalse(matrix.remove(chromosomes.get(2)));
+        assertEquals(0, matrix.retainAll(Arrays.asList(chromosomes.get(5), chromosomes.get(7))));
+        assertEquals(5.0, matrix.get(chromosomes.get(5), 0), 0.0);
+        assertEquals(7.0, matrix.get(chromosomes.get(7), 0), 0.0);
+    }
+
+    @Test
+    public void testAddObjectiveAfterRemovingAllChromosomes() {
+        FitnessMatrix matrix = new FitnessMatrix();
+        matrix.addObjective("a");
+
+        List<IChromosome<String>> chromosomes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            IChromosome<String> chromosome = new Chromosome<>("chromosome" + i);
+            chromosomes.add(chromosome);
+            matrix.put(chromosome, Collections.singletonList((double) i));
+        }
+        for (IChromosome<String> chromosome : chromosomes) {
+            assertTrue(matrix.remove(chromosome));
+        }
+        assertEquals(0, matrix.size());
+
+        // the freed rows were laid out for a single objective and must not be reused
+        matrix.addObjective("b");
+        IChromosome<String> first = new Chromosome<>("first");
+        IChromosome<String> second = new Chromosome<>("second");
+        matrix.put(first, Arrays.asList(1.0, 2.0));
+        matrix.put(second, Arrays.asList(3.0, 4.0));
+
+        assertEquals(1.0, matrix.get(first, 0), 0.0);
+        assertEquals(2.0, matrix.get(first, 1), 0.0);
+        assertEquals(3.0, matrix.get(second, 0), 0.0);
+        assertEquals(4.0, matrix.get(second, 1), 0.0);
+    }
+
+    @Test
+    public void testPrefetchOnlyMissingFitnessVectors() {
+        FitnessMatrix matrix = new FitnessMatrix();
+        matrix.addObjective("a");
+        matrix.addObjective("b");
+
+        IChromosome<String> cached = new Chromosome<>("cached");
+        IChromosome<String> offspring = new Chromosome<>("offspring");
+        matrix.put(cached, new double[]{1.0, 2.0});
+
+        // a parent may be selected twice, but is only fetched once
+        List<IChromosome<String>> generation = Arrays.asList(cached, offspring, offspring);
+        assertEquals(Collections.singletonList(offspring), matrix.getMissing(generation));
+
+        matrix.put(offspring, new double[]{3.0, 4.0});
+        assertTrue(matrix.getMissing(generation).isEmpty());
+        assertEquals(2.0, matrix.get(cached, 1), 0.0);
+        assertEquals(3.0, matrix.get(offspring, 0), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFitnessVectorOfWrongSize() {
+        FitnessMatrix matrix = new FitnessMatrix();
+        matrix.addObjective("a");
+        matrix.put(new Chromosome<>("chromosome"), new double[]{1.0, 2.0});
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMissingChromosome() {
+        FitnessMatrix matrix = new FitnessMatrix();
+        matrix.addObjective("a");
+        matrix.get(new Chromosome<>("missing"), 0);
+    }
+}
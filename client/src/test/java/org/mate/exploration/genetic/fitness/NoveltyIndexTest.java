@@ -0,0 +1,115 @@
+package org.mate.exploration.genetic.fitness;
+
+import org.junit.Test;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the client-side novelty computation of the {@link NoveltyIndex}.
+ */
+public class NoveltyIndexTest {
+
+    /**
+     * Serves the coverage vector wrapped by a chromosome and counts the requests.
+     */
+    static final class CountingSource implements NoveltyIndex.VectorSource<double[]> {
+
+        int requests = 0;
+        int vectors = 0;
+
+        @Override
+        public double[][] getVectors(List<IChromosome<double[]>> chromosomes) {
+            requests++;
+            vectors += chromosomes.size();
+            double[][] coverageVectors = new double[chromosomes.size()][];
+            for (int i = 0; i < chromosomes.size(); i++) {
+                coverageVectors[i] = chromosomes.get(i).getValue();
+            }
+            return coverageVectors;
+        }
+    }
+
+    static IChromosome<double[]> chromosome(double... coverage) {
+        return new Chromosome<>(coverage);
+    }
+
+    @Test
+    public void testNoveltyIsAverageDistanceToNearestNeighbours() {
+
+        CountingSource source = new CountingSource();
+        NoveltyIndex<double[]> index = new NoveltyIndex<>(source);
+
+        IChromosome<double[]> chromosome = chromosome(0, 0, 0, 0);
+        IChromosome<double[]> near = chromosome(1, 0, 0, 0);
+        IChromosome<double[]> far = chromosome(1, 1, 1, 1);
+        IChromosome<double[]> archived = chromosome(1, 1, 0, 0);
+
+        assertTrue(index.updateArchive(Collections.singletonList(archived)));
+
+        // distances are 0.5 (near), 1.0 (far) and sqrt(0.5) (archived)
+        assertEquals((0.5 + Math.sqrt(0.5)) / 2,
+                index.getNovelty(chromosome, Arrays.asList(chromosome, near, far), 2), 1e-9);
+        assertEquals((0.5 + Math.sqrt(0.5) + 1.0) / 3,
+                index.getNovelty(chromosome, Arrays.asList(near, far), 5), 1e-9);
+
+        // a dummy test case without coverage vector doesn't cover anything
+        assertEquals(0.0, NoveltyIndex.distance(new double[0], new double[]{0, 0}), 0.0);
+        assertEquals(0.5, NoveltyIndex.distance(new double[0], near.getValue()), 0.0);
+
+        assertEquals(4, source.vectors);
+    }
+
+    @Test
+    public void testArchiveIsUpdatedIncrementally() {
+
+        CountingSource source = new CountingSource();
+        NoveltyIndex<double[]> index = new NoveltyIndex<>(source);
+        List<IChromosome<double[]>> archive = new ArrayList<>();
+
+        for (int i = 0; i < 40; i++) {
+            archive.add(chromosome(i / 40.0));
+            assertTrue(index.updateArchive(archive));
+        }
+        archive.remove(3);
+        archive.remove(archive.size() - 1);
+        archive.add(chromosome(1.0));
+        assertTrue(index.updateArchive(archive));
+
+        assertEquals(archive.size(), index.getArchiveSize());
+        assertEquals(41, source.vectors);
+
+        // only the chromosome itself is at distance 0, the next one is 1/40 apart
+        assertEquals(1 / 40.0, index.getNovelty(archive.get(0),
+                Collections.<IChromosome<double[]>>emptyList(), 1), 1e-9);
+
+        // the archive is retained, only the two removed chromosomes are evicted
+        assertEquals(2, index.retainAll(Collections.<IChromosome<double[]>>emptyList()));
+    }
+
+    @Test
+    public void testUnavailableVectors() {
+
+        NoveltyIndex<double[]> index = new NoveltyIndex<>(
+                new NoveltyIndex.VectorSource<double[]>() {
+                    @Override
+                    public double[][] getVectors(List<IChromosome<double[]>> chromosomes) {
+                        return null;
+                    }
+                });
+
+        List<IChromosome<double[]>> chromosomes = Arrays.asList(chromosome(0), chromosome(1));
+        assertFalse(index.updateArchive(chromosomes));
+        assertNull(index.getNoveltyVector(chromosomes, 1));
+        assertTrue(Double.isNaN(index.getNovelty(chromosomes.get(0), chromosomes, 1)));
+    }
+}
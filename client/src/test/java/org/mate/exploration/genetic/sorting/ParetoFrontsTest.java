@@ -0,0 +1,147 @@
+package org.mate.exploration.genetic.sorting;
+
+import org.junit.Test;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.exploration.genetic.fitness.IFitnessFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks the non-dominated sorting algorithms and the crowding distance assignment.
+ */
+public class ParetoFrontsTest {
+
+    /**
+     * An objective that reads the fitness value from the vector wrapped by a chromosome.
+     */
+    private static final class Objective implements IFitnessFunction<double[]> {
+
+        private final int index;
+        private final boolean isMaximising;
+
+        private Objective(int index, boolean isMaximising) {
+            this.index = index;
+            this.isMaximising = isMaximising;
+        }
+
+        @Override
+        public double getFitness(IChromosome<double[]> chromosome) {
+            return chromosome.getValue()[index];
+        }
+
+        @Override
+        public boolean isMaximizing() {
+            return isMaximising;
+        }
+
+        @Override
+        public double getNormalizedFitness(IChromosome<double[]> chromosome) {
+            return getFitness(chromosome);
+        }
+    }
+
+    static List<IFitnessFunction<double[]>> objectives(boolean... isMaximising) {
+        List<IFitnessFunction<double[]>> objectives = new ArrayList<>();
+        for (int i = 0; i < isMaximising.length; i++) {
+            objectives.add(new Objective(i, isMaximising[i]));
+        }
+        return objectives;
+    }
+
+    private static List<IChromosome<double[]>> population(double[]... vectors) {
+        List<IChromosome<double[]>> population = new ArrayList<>();
+        for (double[] vector : vectors) {
+            population.add(new Chromosome<>(vector));
+        }
+        return population;
+    }
+
+    @Test
+    public void testRanksRespectMinimisingObjectives() {
+
+        // the second objective is minimised
+        List<IChromosome<double[]>> population = population(
+                new double[]{0.5, 0.5},
+                new double[]{1.0, 0.0},
+                new double[]{0.5, 0.5},
+                new double[]{0.2, 0.9},
+                new double[]{0.9, 0.1},
+                new double[]{0.0, 1.0});
+
+        ParetoFronts<double[]> paretoFronts = new ParetoFronts<>(population, objectives(true, false));
+
+        assertEquals(5, paretoFronts.getNumberOfFronts());
+        assertEquals(Arrays.asList(population.get(1)), paretoFronts.getFront(1));
+        assertEquals(Arrays.asList(population.get(4)), paretoFronts.getFront(2));
+        // duplicates share the same front
+        assertEquals(Arrays.asList(population.get(0), population.get(2)), paretoFronts.getFront(3));
+        assertEquals(4, (int) paretoFronts.getRankMap().get(population.get(3)));
+    }
+
+    @Test
+    public void testSortingAlgorithmsAgree() {
+
+        Random random = new Random(42);
+        INonDominatedSort fast = new FastNonDominatedSort();
+        INonDominatedSort efficient = new EfficientNonDominatedSort();
+
+        for (int run = 0; run < 50; run++) {
+            double[][] objectives = new double[1 + random.nextInt(200)][1 + random.nextInt(6)];
+            for (double[] solution : objectives) {
+                for (int j = 0; j < solution.length; j++) {
+                    // few distinct values to provoke ties and duplicates
+                    solution[j] = random.nextInt(5) / 4.0;
+                }
+            }
+            assertArrayEquals(fast.getRanks(objectives), efficient.getRanks(objectives));
+        }
+    }
+
+    @Test
+    public void testCrowdingDistances() {
+
+        double[][] objectives = {
+                {0.0, 1.0},
+                {0.2, 0.7},
+                {0.5, 0.4},
+                {1.0, 0.0}
+        };
+
+        double[] crowdingDistances = ParetoFronts.getCrowdingDistances(objectives, new int[]{0, 1, 2, 3});
+        assertEquals(Double.POSITIVE_INFINITY, crowdingDistances[0], 0.0);
+        assertEquals(0.5 + 0.6, crowdingDistances[1], 1e-9);
+        assertEquals(0.8 + 0.7, crowdingDistances[2], 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, crowdingDistances[3], 0.0);
+
+        // restricted to a subset of the solutions
+        crowdingDistances = ParetoFronts.getCrowdingDistances(objectives, new int[]{1, 2, 3});
+        assertEquals(0.8 + 0.7, crowdingDistances[1], 1e-9);
+    }
+
+    @Test
+    public void testSurvivorsPreferLeastCrowdedSolutionsOfLastFront() {
+
+        List<IChromosome<double[]>> population = population(
+                new double[]{0.0, 1.0},
+                new double[]{0.2, 0.7},
+                new double[]{0.5, 0.4},
+                new double[]{1.0, 0.0},
+                new double[]{0.1, 0.1});
+
+        List<IChromosome<double[]>> survivors
+                = new ParetoFronts<>(population, objectives(true, true)).getSurvivors(3);
+
+        assertEquals(3, survivors.size());
+        assertSame(population.get(0), survivors.get(0));
+        assertSame(population.get(3), survivors.get(1));
+        assertSame(population.get(2), survivors.get(2));
+    }
+}
@@ -0,0 +1,76 @@
+package org.mate.exploration.rl.qlearning;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the state and action bookkeeping and the action selection of the {@link QTable}.
+ */
+public class QTableTest {
+
+    @Test
+    public void testStatesAndActions() {
+
+        QTable<String> qTable = new QTable<>(0.5);
+
+        int first = qTable.addState("S0", 3);
+        int second = qTable.addState("S1", 0);
+
+        assertEquals(0, first);
+        assertEquals(1, second);
+        assertEquals(first, qTable.addState("S0", 3));
+        assertEquals(first, qTable.getStateId(new String("S0")));
+        assertEquals(-1, qTable.getStateId("S2"));
+        assertEquals(2, qTable.getNumberOfStates());
+
+        assertEquals(0.5, qTable.getQValue(first, 2), 0.0);
+        assertEquals(0.5, qTable.getMaxQValue(second), 0.0);
+
+        qTable.setQValue(first, 1, 2.0);
+        assertEquals(2.0, qTable.getMaxQValue(first), 0.0);
+        assertEquals(1, qTable.selectBestAction(first, new Random(42)));
+
+        assertEquals(1, qTable.incrementCounter(first, 2));
+        assertEquals(2, qTable.incrementCounter(first, 2));
+        assertEquals(0, qTable.getCounter(first, 0));
+
+        // the actions of other states are not reachable
+        try {
+            qTable.getQValue(first, 3);
+            throw new AssertionError("Expected an IndexOutOfBoundsException!");
+        } catch (IndexOutOfBoundsException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testTiesAreBrokenUniformly() {
+
+        QTable<String> qTable = new QTable<>(0.0);
+        int state = qTable.addState("S0", 5);
+        qTable.setQValue(state, 0, 1.0);
+        qTable.setQValue(state, 3, 1.0);
+        qTable.setQValue(state, 4, 0.5);
+
+        Random random = new Random(42);
+        int[] selections = new int[5];
+        for (int i = 0; i < 10000; i++) {
+            selections[qTable.selectBestAction(state, random)]++;
+        }
+
+        assertEquals(0, selections[1] + selections[2] + selections[4]);
+        assertTrue(Math.abs(selections[0] - selections[3]) < 500);
+
+        // epsilon = 1 selects any action
+        for (int i = 0; i < 1000; i++) {
+            selections[qTable.selectAction(state, 1.0, random)]++;
+        }
+        for (int selection : selections) {
+            assertTrue(selection > 0);
+        }
+    }
+}
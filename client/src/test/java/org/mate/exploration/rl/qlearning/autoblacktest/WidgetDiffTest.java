@@ -0,0 +1,171 @@
+package org.mate.exploration.rl.qlearning.autoblacktest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.interaction.action.ui.SyntheticNode;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.state.executable.StateEquivalenceLevel;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the {@link WidgetDiff} yields the same values as comparing each pair of widgets with
+ * the previous, string based widget traits.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WidgetDiffTest {
+
+    private static final String ACTIVITY = "com.example.app/.ListActivity";
+
+    /**
+     * Builds a screen of list items, where the items are randomly shifted, checked and renamed.
+     */
+    static List<Widget> buildListScreen(int items, Random random) {
+
+        List<Widget> widgets = new ArrayList<>();
+
+        for (int i = 0; i < items; i++) {
+            int top = (i + random.nextInt(3)) * 10;
+            String text = "item " + random.nextInt(items);
+            SyntheticNode node = new SyntheticNode("android.widget.CheckBox")
+                    .withResourceID("item")
+                    .withBounds(0, top, 100, top + 10)
+                    .withText(text)
+                    .withChecked(random.nextBoolean());
+            widgets.add(new Widget(null, node, ACTIVITY, 1, widgets.size(), i,
+                    StateEquivalenceLevel.WIDGET));
+        }
+        return widgets;
+    }
+
+    @Test
+    public void testSameValuesAsPairwiseComparison() {
+
+        Random random = new Random(42);
+        int matchedPairs = 0;
+        int removedWidgets = 0;
+
+        for (int i = 0; i < 20; i++) {
+
+            List<Widget> oldWidgets = buildListScreen(1 + random.nextInt(60), random);
+            List<Widget> newWidgets = buildListScreen(1 + random.nextInt(60), random);
+
+            WidgetDiff widgetDiff = new WidgetDiff(oldWidgets, newWidgets);
+
+            assertEquals(pairwiseStateDifference(newWidgets, oldWidgets),
+                    widgetDiff.getNumberOfAddedWidgets());
+            assertEquals(pairwiseStateDifference(oldWidgets, newWidgets),
+                    widgetDiff.getNumberOfRemovedWidgets());
+            assertEquals(pairwiseWidgetDifferences(oldWidgets, newWidgets),
+                    widgetDiff.getMatchedWidgetDifference(), 0.0);
+
+            matchedPairs += matchedPairs(oldWidgets, newWidgets);
+            removedWidgets += widgetDiff.getNumberOfRemovedWidgets();
+        }
+
+        // the screens share some but not all widgets, otherwise the comparison would be vacuous
+        assertTrue("No widgets have been matched", matchedPairs > 0);
+        assertTrue("All widgets have been matched", removedWidgets > 0);
+    }
+
+    @Test
+    public void testSameTraitsAsStringProperties() {
+
+        Random random = new Random(42);
+        List<Widget> widgets = buildListScreen(60, random);
+        widgets.addAll(buildListScreen(60, random));
+
+        for (Widget widget : widgets) {
+            for (Widget other : widgets) {
+                WidgetTrait trait = new WidgetTrait(widget);
+                WidgetTrait otherTrait = new WidgetTrait(other);
+                assertEquals(baselineTrait(widget).equals(baselineTrait(other)),
+                        trait.equals(otherTrait));
+                if (trait.equals(otherTrait)) {
+                    assertEquals(trait.hashCode(), otherTrait.hashCode());
+                }
+            }
+        }
+    }
+
+    /**
+     * The previous widget trait, which compared the properties of the widgets as strings.
+     */
+    static Properties baselineTrait(Widget widget) {
+        Properties trait = new Properties();
+        trait.setProperty("type", widget.getClazz());
+        trait.setProperty("bounds", String.valueOf(widget.getBounds()));
+        trait.setProperty("resourceID", widget.getResourceID());
+        trait.setProperty("description", widget.getContentDesc());
+        return trait;
+    }
+
+    /**
+     * The number of pairs of widgets that share the same trait.
+     */
+    static int matchedPairs(List<Widget> oldWidgets, List<Widget> newWidgets) {
+
+        int matchedPairs = 0;
+
+        for (Widget thisWidget : oldWidgets) {
+            for (Widget otherWidget : newWidgets) {
+                if (baselineTrait(thisWidget).equals(baselineTrait(otherWidget))) {
+                    matchedPairs++;
+                }
+            }
+        }
+        return matchedPairs;
+    }
+
+    /**
+     * The previous computation of the state difference, see AutoBlackTestChromosomeFactory.
+     */
+    static int pairwiseStateDifference(List<Widget> firstWidgets, List<Widget> secondWidgets) {
+
+        Set<Widget> widgets = new HashSet<>();
+
+        for (Widget thisWidget : firstWidgets) {
+
+            Properties thisTrait = baselineTrait(thisWidget);
+            boolean notContainedInSecondState = true;
+
+            for (Widget otherWidget : secondWidgets) {
+                if (thisTrait.equals(baselineTrait(otherWidget))) {
+                    notContainedInSecondState = false;
+                    break;
+                }
+            }
+
+            if (notContainedInSecondState) {
+                widgets.add(thisWidget);
+            }
+        }
+        return widgets.size();
+    }
+
+    /**
+     * The previous computation of the widget differences, see AutoBlackTestChromosomeFactory.
+     */
+    static double pairwiseWidgetDifferences(List<Widget> oldWidgets, List<Widget> newWidgets) {
+
+        double widgetDifferences = 0;
+
+        for (Widget thisWidget : oldWidgets) {
+            for (Widget otherWidget : newWidgets) {
+                if (baselineTrait(thisWidget).equals(baselineTrait(otherWidget))) {
+                    widgetDifferences += WidgetDiff.widgetDifference(thisWidget, otherWidget);
+                }
+            }
+        }
+        return widgetDifferences;
+    }
+}
@@ -0,0 +1,158 @@
+package org.mate.interaction;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the {@link UIIdleDetector} against a simulated UI that settles after a given time. The
+ * detector and the UI share a fake clock, which only advances when the detector sleeps.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class UIIdleDetectorTest {
+
+    static final long QUIET_PERIOD = 50;
+    static final long POLLING_INTERVAL = 10;
+
+    /**
+     * A clock whose time only advances by the sleeps.
+     */
+    static final class FakeClock implements UIIdleDetector.Clock {
+
+        private long time = 0;
+
+        @Override
+        public long currentTimeMillis() {
+            return time;
+        }
+
+        @Override
+        public void sleep(long millis) {
+            time += millis;
+        }
+    }
+
+    /**
+     * A UI that reports window changes and a changing widget tree until it settles.
+     */
+    static final class SettlingUI implements UIIdleDetector.Probe {
+
+        private final FakeClock clock;
+        private final long start;
+        private final long settleTime;
+        private int failures;
+
+        SettlingUI(FakeClock clock, long settleTime, int failures) {
+            this.clock = clock;
+            this.start = clock.currentTimeMillis();
+            this.settleTime = settleTime;
+            this.failures = failures;
+        }
+
+        private long elapsed() {
+            return clock.currentTimeMillis() - start;
+        }
+
+        @Override
+        public long getMillisSinceLastWindowChange() {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("Representation layer not connected!");
+            }
+            return Math.max(0, elapsed() - settleTime);
+        }
+
+        @Override
+        public long getScreenFingerprint() {
+            long elapsed = elapsed();
+            return elapsed < settleTime ? elapsed : settleTime;
+        }
+    }
+
+    static UIIdleDetector detector(FakeClock clock, long settleTime, int failures,
+                                   long maxWait) {
+        return new UIIdleDetector(new SettlingUI(clock, settleTime, failures), clock,
+                QUIET_PERIOD, POLLING_INTERVAL, maxWait);
+    }
+
+    @Test
+    public void testReturnsOnceUISettled() {
+
+        FakeClock clock = new FakeClock();
+        UIIdleDetector detector = detector(clock, 200, 0, 10000);
+
+        assertTrue(detector.waitForIdle(5000));
+        long elapsed = clock.currentTimeMillis();
+
+        assertTrue("Returned before the UI settled: " + elapsed, elapsed >= 200 + QUIET_PERIOD);
+        assertTrue("Returned too late: " + elapsed, elapsed <= 200 + 2 * QUIET_PERIOD);
+        assertEquals(elapsed, detector.getWaitTime());
+        assertEquals(1, detector.getNumberOfWaits());
+        assertEquals(5000 - elapsed, detector.getSavedTime());
+    }
+
+    @Test
+    public void testWaitsAtLeastMinimalWait() {
+
+        // the UI looks idle right away, e.g. a progress bar that doesn't change the widget tree
+        FakeClock clock = new FakeClock();
+        UIIdleDetector detector = detector(clock, 0, 0, 10000);
+
+        assertTrue(detector.waitForIdle(2000, 10000));
+        long elapsed = clock.currentTimeMillis();
+
+        assertTrue("Returned before the minimal wait: " + elapsed, elapsed >= 2000);
+        assertTrue("Returned too late: " + elapsed, elapsed <= 2000 + 2 * POLLING_INTERVAL);
+        assertEquals(10000 - elapsed, detector.getSavedTime());
+    }
+
+    @Test
+    public void testMinimalWaitIsBoundedByFixedWait() {
+
+        FakeClock clock = new FakeClock();
+        UIIdleDetector detector = detector(clock, 0, 0, 10000);
+
+        assertFalse(detector.waitForIdle(2000, 300));
+        assertEquals(300, clock.currentTimeMillis());
+    }
+
+    @Test
+    public void testWaitIsBoundedByFixedWait() {
+
+        FakeClock clock = new FakeClock();
+        UIIdleDetector detector = detector(clock, Long.MAX_VALUE, 0, 10000);
+
+        assertFalse(detector.waitForIdle(300));
+
+        assertEquals(300, clock.currentTimeMillis());
+        assertEquals(1, detector.getNumberOfTimeouts());
+        assertEquals(0, detector.getSavedTime());
+    }
+
+    @Test
+    public void testWaitIsBoundedByMaxWait() {
+
+        FakeClock clock = new FakeClock();
+        UIIdleDetector detector = detector(clock, Long.MAX_VALUE, 0, 200);
+
+        assertFalse(detector.waitForIdle(5000));
+
+        assertEquals(200, clock.currentTimeMillis());
+        assertEquals(4800, detector.getSavedTime());
+    }
+
+    @Test
+    public void testProbeFailuresRestartSettling() {
+
+        // the representation layer is not yet connected for the first samples
+        FakeClock clock = new FakeClock();
+        UIIdleDetector detector = detector(clock, 0, 5, 10000);
+
+        assertTrue(detector.waitForIdle(5000));
+        assertTrue(clock.currentTimeMillis() >= 5 * POLLING_INTERVAL);
+    }
+}
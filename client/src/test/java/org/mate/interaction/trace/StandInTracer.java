@@ -0,0 +1,88 @@
+package org.mate.interaction.trace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.util.Collection;
+
+/**
+ * Plays the role of the tracer in the AUT on a plain JVM. Since local sockets are not available
+ * outside of Android, the trace channel is backed by a TCP socket on the loopback interface.
+ */
+final class StandInTracer {
+
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    /**
+     * A trace channel endpoint on the loopback interface, the address is the port.
+     */
+    static final class LoopbackEndpoint implements TraceChannel.Endpoint {
+
+        private final ServerSocket serverSocket;
+
+        LoopbackEndpoint() throws IOException {
+            serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        }
+
+        @Override
+        public InputStream accept() throws IOException {
+            return serverSocket.accept().getInputStream();
+        }
+
+        @Override
+        public String getAddress() {
+            return String.valueOf(serverSocket.getLocalPort());
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+
+    private StandInTracer() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Streams the given traces like the tracer does upon receiving the broadcast.
+     *
+     * @param address The address of the trace channel.
+     * @param traces The traces to be streamed.
+     * @throws IOException If the connection fails.
+     */
+    static void dump(String address, Collection<String> traces) throws IOException {
+        dump(address, traces, true);
+    }
+
+    /**
+     * Streams the given traces, optionally without the trailer that marks the end of the dump,
+     * i.e. the tracer died while dumping.
+     *
+     * @param address The address of the trace channel.
+     * @param traces The traces to be streamed.
+     * @param complete Whether the trailer should be written.
+     * @throws IOException If the connection fails.
+     */
+    static void dump(String address, Collection<String> traces, boolean complete)
+            throws IOException {
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(),
+                Integer.parseInt(address));
+             Writer writer = new OutputStreamWriter(socket.getOutputStream(), CHARSET)) {
+            for (String trace : traces) {
+                writer.write(trace);
+                writer.write('\n');
+            }
+            if (complete) {
+                writer.write("#" + traces.size() + "\n");
+            }
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.mate.interaction.trace;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Streams traces from the {@link StandInTracer} through the {@link TraceChannel}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TraceChannelTest {
+
+    private static final long TIMEOUT = 5000;
+
+    private TraceIds traceIds;
+    private TraceChannel channel;
+
+    @Before
+    public void openChannel() throws IOException {
+        traceIds = new TraceIds();
+        channel = new TraceChannel(new StandInTracer.LoopbackEndpoint(), traceIds);
+    }
+
+    @After
+    public void closeChannel() throws IOException {
+        channel.close();
+    }
+
+    static List<String> traces(int from, int count) {
+        List<String> traces = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            traces.add("com.example.app.MainActivity->onCreate(Landroid/os/Bundle;)V->" + i);
+        }
+        return traces;
+    }
+
+    /**
+     * Triggers the stand-in tracer asynchronously, like the broadcast does.
+     */
+    static void broadcast(TraceChannel channel, final Collection<String> traces,
+                          final boolean complete) {
+        final String address = channel.getAddress();
+        Thread tracer = new Thread(() -> {
+            try {
+                StandInTracer.dump(address, traces, complete);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        tracer.start();
+    }
+
+    private Set<String> toTraces(BitSet ids) {
+        Set<String> traces = new HashSet<>();
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            traces.add(traceIds.getTrace(id));
+        }
+        return traces;
+    }
+
+    @Test
+    public void testDumpIsReceived() throws Exception {
+
+        List<String> traces = traces(0, 100);
+
+        Future<BitSet> dump = channel.requestDump();
+        broadcast(channel, traces, true);
+
+        assertEquals(new HashSet<>(traces), toTraces(dump.get(TIMEOUT, TimeUnit.MILLISECONDS)));
+    }
+
+    @Test
+    public void testIdsAreStableAcrossDumps() throws Exception {
+
+        Future<BitSet> first = channel.requestDump();
+        broadcast(channel, traces(0, 100), true);
+        BitSet firstIds = first.get(TIMEOUT, TimeUnit.MILLISECONDS);
+
+        Future<BitSet> second = channel.requestDump();
+        broadcast(channel, traces(50, 100), true);
+        BitSet secondIds = second.get(TIMEOUT, TimeUnit.MILLISECONDS);
+
+        // the 50 shared traces map to the same ids
+        BitSet shared = (BitSet) firstIds.clone();
+        shared.and(secondIds);
+        assertEquals(50, shared.cardinality());
+        assertEquals(150, traceIds.size());
+        assertEquals(new HashSet<>(traces(50, 100)), toTraces(secondIds));
+    }
+
+    @Test
+    public void testTruncatedDumpFails() throws Exception {
+
+        Future<BitSet> dump = channel.requestDump();
+        broadcast(channel, traces(0, 100), false);
+
+        try {
+            dump.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            fail("A truncated dump must not be accepted!");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        // the channel is still usable afterwards
+        Future<BitSet> next = channel.requestDump();
+        broadcast(channel, traces(0, 10), true);
+        assertEquals(10, next.get(TIMEOUT, TimeUnit.MILLISECONDS).cardinality());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testOnlyOneDumpCanBePending() {
+        channel.requestDump();
+        channel.requestDump();
+    }
+}
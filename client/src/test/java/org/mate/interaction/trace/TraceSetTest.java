@@ -0,0 +1,80 @@
+package org.mate.interaction.trace;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the compressed trace sets.
+ */
+public class TraceSetTest {
+
+    private static BitSet ids(int... ids) {
+        BitSet bitSet = new BitSet();
+        for (int id : ids) {
+            bitSet.set(id);
+        }
+        return bitSet;
+    }
+
+    @Test
+    public void testEqualSetsHaveEqualHashCodes() {
+
+        TraceSet first = TraceSet.of(ids(1, 5, 70000, 200000));
+        TraceSet second = TraceSet.of(ids(200000, 70000, 5, 1));
+        TraceSet third = TraceSet.of(ids(1, 5, 70000, 200001));
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, third);
+        assertEquals(TraceSet.EMPTY, TraceSet.of(new BitSet()));
+        assertTrue(TraceSet.EMPTY.isEmpty());
+    }
+
+    @Test
+    public void testRoundTripOfSparseAndDenseChunks() {
+
+        Random random = new Random(42);
+        BitSet ids = new BitSet();
+
+        // a dense first chunk stored as bitmap
+        for (int i = 0; i < 30000; i++) {
+            ids.set(random.nextInt(1 << 16));
+        }
+
+        // sparse chunks stored as arrays, with a gap in between
+        for (int i = 0; i < 500; i++) {
+            ids.set((1 << 16) + random.nextInt(1 << 16));
+            ids.set((5 << 16) + random.nextInt(1 << 16));
+        }
+
+        TraceSet traces = TraceSet.of(ids);
+
+        assertEquals(ids.cardinality(), traces.size());
+        assertEquals(ids, traces.toBitSet());
+        assertArrayEquals(ids.stream().toArray(), traces.toArray());
+
+        for (int id = 0; id < (6 << 16); id++) {
+            assertEquals(ids.get(id), traces.contains(id));
+        }
+        assertFalse(traces.contains(-1));
+        assertEquals(traces, TraceSet.of(traces.toBitSet()));
+    }
+
+    @Test
+    public void testAddToBuildsUnion() {
+
+        BitSet union = new BitSet();
+        TraceSet.of(ids(1, 2, 3)).addTo(union);
+        TraceSet.of(ids(3, 4, 100000)).addTo(union);
+
+        assertEquals(ids(1, 2, 3, 4, 100000), union);
+    }
+}
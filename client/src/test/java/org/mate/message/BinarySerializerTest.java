@@ -0,0 +1,99 @@
+package org.mate.message;
+
+import org.junit.Test;
+import org.mate.message.serialization.BinaryParser;
+import org.mate.message.serialization.BinarySerializer;
+import org.mate.message.serialization.Parser;
+import org.mate.message.serialization.Serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the serialization and de-serialization functionality of the
+ * {@link BinarySerializer} and {@link BinaryParser} class, respectively.
+ */
+public class BinarySerializerTest {
+
+    private static Message roundTrip(Message message) {
+        byte[] serializedMessage = BinarySerializer.serialize(message);
+        BinaryParser messageParser = new BinaryParser(new ByteArrayInputStream(serializedMessage));
+        return messageParser.nextMessage();
+    }
+
+    @Test
+    public void testMessageWithSubjectOnly() {
+        Message message = new Message("test");
+        assertEquals(message, roundTrip(message));
+    }
+
+    @Test
+    public void testMessageWithSubjectAndStringParameter() {
+        Message message = new Message("test");
+        message.addParameter("key", "value");
+        assertEquals(message, roundTrip(message));
+    }
+
+    @Test
+    public void testMessageWithSubjectAndComplexParameter() {
+        Message message = new Message("test");
+        message.addParameter("key", String.valueOf(new Date()) + ";:~\\ \u00e4\u00f6\u00fc");
+        assertEquals(message, roundTrip(message));
+    }
+
+    @Test
+    public void testMessageWithSubjectAndMultipleParameters() {
+        Message message = new Message("test");
+        message.addParameter("key1", "value");
+        message.addParameter("key2", String.valueOf(new Date()));
+        assertEquals(message, roundTrip(message));
+    }
+
+    @Test
+    public void testMessageWithArrayParameters() {
+        Message message = new Message("test");
+        message.addParameter("vector", new double[]{0.0, 0.5, 1.0, Double.MAX_VALUE});
+        message.addParameter("blocks", new String[]{"a->b", "c+d", ""});
+        message.addParameter("count", 42L);
+
+        Message parsedMessage = roundTrip(message);
+        assertEquals(message, parsedMessage);
+        assertArrayEquals(new double[]{0.0, 0.5, 1.0, Double.MAX_VALUE},
+                parsedMessage.getDoubleArrayParameter("vector"), 0.0);
+        assertEquals("42", parsedMessage.getParameter("count"));
+    }
+
+    @Test
+    public void testMultipleMessagesOnOneStream() throws IOException {
+        Message first = new Message.MessageBuilder("first")
+                .withParameter("vector", new double[]{1.0, 2.0})
+                .build();
+        Message second = new Message.MessageBuilder("second")
+                .withParameter("key", "value")
+                .build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(BinarySerializer.serialize(first));
+        out.write(BinarySerializer.serialize(second));
+
+        BinaryParser messageParser = new BinaryParser(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(first, messageParser.nextMessage());
+        assertEquals(second, messageParser.nextMessage());
+    }
+
+    @Test
+    public void testArrayParameterOverTextProtocol() {
+        Message message = new Message("test");
+        message.addParameter("vector", new double[]{0.25, 1.0});
+        byte[] serializedMessage = Serializer.serialize(message);
+        Parser messageParser = new Parser(new ByteArrayInputStream(serializedMessage));
+        Message parsedMessage = messageParser.nextMessage();
+        assertArrayEquals(new double[]{0.25, 1.0},
+                parsedMessage.getDoubleArrayParameter("vector"), 0.0);
+    }
+}
@@ -0,0 +1,216 @@
+package org.mate.message;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mate.message.serialization.BinaryParser;
+import org.mate.message.serialization.BinarySerializer;
+import org.mate.message.serialization.Parser;
+import org.mate.message.serialization.Serializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the pipelining of the {@link MessageChannel} against a local fake server.
+ */
+public class MessageChannelTest {
+
+    private static final String REQUEST_ID_KEY = "__meta__request_id";
+
+    private ServerSocket serverSocket;
+
+    @Before
+    public void setUp() throws IOException {
+        serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        serverSocket.close();
+    }
+
+    /**
+     * Starts a fake server that reads the given number of requests and answers them afterwards
+     * in reverse order. Each response echoes the payload of its request.
+     */
+    private void startFakeServer(int numberOfRequests, boolean binary, boolean echoRequestIds) {
+        startFakeServer(numberOfRequests, numberOfRequests, binary, echoRequestIds);
+    }
+
+    /**
+     * Starts a fake server that reads the given number of requests, but only answers the first
+     * requests before it disconnects.
+     */
+    private void startFakeServer(int numberOfRequests, int numberOfResponses, boolean binary,
+                                 boolean echoRequestIds) {
+        Thread server = new Thread(() -> {
+            try (Socket client = serverSocket.accept()) {
+                Parser textParser = new Parser(client.getInputStream());
+                BinaryParser binaryParser = new BinaryParser(client.getInputStream());
+                OutputStream out = client.getOutputStream();
+
+                List<Message> requests = new ArrayList<>();
+                for (int i = 0; i < numberOfRequests; i++) {
+                    requests.add(binary ? binaryParser.nextMessage() : textParser.nextMessage());
+                }
+                requests = new ArrayList<>(requests.subList(0, numberOfResponses));
+                if (echoRequestIds) {
+                    Collections.reverse(requests);
+                }
+
+                for (Message request : requests) {
+                    Message response = new Message(request.getSubject());
+                    response.addParameter("payload", request.getParameter("payload"));
+                    if (echoRequestIds) {
+                        response.addParameter(REQUEST_ID_KEY, request.getParameter(REQUEST_ID_KEY));
+                    }
+                    out.write(binary ? BinarySerializer.serialize(response) : Serializer.serialize(response));
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        server.setDaemon(true);
+        server.start();
+    }
+
+    private List<CompletableFuture<Message>> sendRequests(MessageChannel channel, int numberOfRequests) {
+        List<CompletableFuture<Message>> responses = new ArrayList<>();
+        for (int i = 0; i < numberOfRequests; i++) {
+            Message request = new Message.MessageBuilder("/test")
+                    .withParameter("payload", "request" + i)
+                    .withParameter(REQUEST_ID_KEY, String.valueOf(i))
+                    .build();
+            responses.add(channel.send(String.valueOf(i), request));
+        }
+        return responses;
+    }
+
+    private void assertResponses(List<CompletableFuture<Message>> responses) throws Exception {
+        for (int i = 0; i < responses.size(); i++) {
+            Message response = responses.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals("request" + i, response.getParameter("payload"));
+        }
+    }
+
+    @Test
+    public void testOutOfOrderResponsesAreMatchedByRequestId() throws Exception {
+        int numberOfRequests = 50;
+        startFakeServer(numberOfRequests, false, true);
+
+        MessageChannel channel = new MessageChannel(
+                new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort()), REQUEST_ID_KEY);
+        List<CompletableFuture<Message>> responses = sendRequests(channel, numberOfRequests);
+
+        assertResponses(responses);
+        assertEquals(0, channel.getNumberOfPendingRequests());
+        channel.close();
+    }
+
+    @Test
+    public void testResponsesWithoutRequestIdAreMatchedInOrder() throws Exception {
+        int numberOfRequests = 10;
+        startFakeServer(numberOfRequests, false, false);
+
+        MessageChannel channel = new MessageChannel(
+                new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort()), REQUEST_ID_KEY);
+        assertResponses(sendRequests(channel, numberOfRequests));
+        channel.close();
+    }
+
+    @Test
+    public void testConcurrentSendersWithoutRequestIds() throws Exception {
+        int numberOfSenders = 8;
+        int requestsPerSender = 50;
+        startFakeServer(numberOfSenders * requestsPerSender, false, false);
+
+        MessageChannel channel = new MessageChannel(
+                new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort()), REQUEST_ID_KEY);
+
+        // the senders start at the same time to maximise the contention
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> senders = new ArrayList<>();
+        List<CompletableFuture<Message>> responses = new ArrayList<>(
+                Collections.<CompletableFuture<Message>>nCopies(numberOfSenders * requestsPerSender, null));
+
+        for (int sender = 0; sender < numberOfSenders; sender++) {
+            final int firstRequest = sender * requestsPerSender;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                for (int i = firstRequest; i < firstRequest + requestsPerSender; i++) {
+                    Message request = new Message.MessageBuilder("/test")
+                            .withParameter("payload", "request" + i)
+                            .build();
+                    CompletableFuture<Message> response = channel.send(String.valueOf(i), request);
+                    synchronized (responses) {
+                        responses.set(i, response);
+                    }
+                }
+            });
+            senders.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        for (Thread thread : senders) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        // the responses without request id must be matched to the requests in the written order
+        synchronized (responses) {
+            assertResponses(responses);
+        }
+        assertEquals(0, channel.getNumberOfPendingRequests());
+        channel.close();
+    }
+
+    @Test
+    public void testPipeliningOverBinaryProtocol() throws Exception {
+        int numberOfRequests = 20;
+        startFakeServer(numberOfRequests, true, true);
+
+        MessageChannel channel = new MessageChannel(
+                new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort()), REQUEST_ID_KEY);
+        channel.useBinaryProtocol();
+        assertResponses(sendRequests(channel, numberOfRequests));
+        channel.close();
+    }
+
+    @Test
+    public void testPendingRequestsFailWhenServerDisconnects() throws Exception {
+        // the server reads both requests before disconnecting, thus both requests are pending
+        startFakeServer(2, 1, false, true);
+
+        MessageChannel channel = new MessageChannel(
+                new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort()), REQUEST_ID_KEY);
+        List<CompletableFuture<Message>> responses = sendRequests(channel, 2);
+
+        assertEquals("request0", responses.get(0).get(5, TimeUnit.SECONDS).getParameter("payload"));
+        try {
+            responses.get(1).get(5, TimeUnit.SECONDS);
+            throw new AssertionError("Expected the pending request to fail!");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        channel.close();
+    }
+}
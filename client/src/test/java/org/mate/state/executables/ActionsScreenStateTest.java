@@ -0,0 +1,182 @@
+package org.mate.state.executables;
+
+import android.graphics.Rect;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.interaction.action.ui.SyntheticNode;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.interaction.action.ui.WidgetAction;
+import org.mate.commons.state.executable.StateEquivalenceLevel;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the widget actions extracted from the widget trees in the test resources match the
+ * recorded widget actions.
+ *
+ * A widget tree lists one widget per line in pre-order, where the depth of a widget is given by
+ * its indentation (two spaces per level), followed by the class name, the bounds, optional flags
+ * and an optional text, e.g. {@code android.widget.Button [0,72][540,200] clickable "OK"}. The
+ * recorded widget actions list one action per line, i.e. the pre-order index of the widget, its
+ * class name and the action type.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ActionsScreenStateTest {
+
+    private static final String ACTIVITY = "com.example.app/.MainActivity";
+
+    /**
+     * The status bar of a device with a resolution of 1080x1920.
+     */
+    static final Rect STATUS_BAR = new Rect(0, 0, 1080, 72);
+
+    private static final Pattern WIDGET = Pattern.compile(
+            "^( *)(\\S+) \\[(-?\\d+),(-?\\d+)\\]\\[(-?\\d+),(-?\\d+)\\]( [a-z,-]+)?( \"(.*)\")?$");
+
+    /**
+     * Reads the lines of the given test resource, skipping empty lines and comments.
+     */
+    static List<String> readLines(String resource) throws IOException {
+
+        InputStream inputStream = ActionsScreenStateTest.class.getResourceAsStream(resource);
+        assertNotNull("Missing test resource " + resource, inputStream);
+
+        List<String> lines = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty() && !line.startsWith("#")) {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Builds the widgets of the given widget tree in pre-order.
+     *
+     * @param lines The lines of the widget tree.
+     * @return Returns the widgets in pre-order.
+     */
+    static List<Widget> parseWidgetTree(List<String> lines) {
+
+        // the nodes are created first, since the number of children is read by the widget
+        List<SyntheticNode> nodes = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+        List<Integer> parents = new ArrayList<>();
+        List<Integer> ancestors = new ArrayList<>();
+
+        for (String line : lines) {
+
+            Matcher matcher = WIDGET.matcher(line);
+            assertTrue("Malformed widget: " + line, matcher.matches());
+
+            int depth = matcher.group(1).length() / 2;
+            List<String> flags = matcher.group(7) == null ? new ArrayList<String>()
+                    : Arrays.asList(matcher.group(7).trim().split(","));
+
+            // the ancestors of the current widget on the path from the root
+            while (ancestors.size() > depth) {
+                ancestors.remove(ancestors.size() - 1);
+            }
+            assertEquals("Invalid indentation: " + line, depth, ancestors.size());
+
+            int parent = depth == 0 ? -1 : ancestors.get(depth - 1);
+            if (parent >= 0) {
+                SyntheticNode parentNode = nodes.get(parent);
+                parentNode.withChildCount(parentNode.getChildCount() + 1);
+            }
+
+            ancestors.add(nodes.size());
+            nodes.add(new SyntheticNode(matcher.group(2))
+                    .withBounds(Integer.parseInt(matcher.group(3)),
+                            Integer.parseInt(matcher.group(4)),
+                            Integer.parseInt(matcher.group(5)),
+                            Integer.parseInt(matcher.group(6)))
+                    .withText(matcher.group(9))
+                    .withClickable(flags.contains("clickable"))
+                    .withLongClickable(flags.contains("long-clickable"))
+                    .withCheckable(flags.contains("checkable"))
+                    .withScrollable(flags.contains("scrollable"))
+                    .withEnabled(!flags.contains("disabled"))
+                    .withVisibleToUser(!flags.contains("invisible")));
+            depths.add(depth);
+            parents.add(parent);
+        }
+
+        List<Widget> widgets = new ArrayList<>();
+
+        for (int i = 0; i < nodes.size(); i++) {
+            Widget parent = parents.get(i) < 0 ? null : widgets.get(parents.get(i));
+            int localIndex = parent == null ? 0 : parent.getChildren().size();
+            Widget widget = new Widget(parent, nodes.get(i), ACTIVITY, depths.get(i), i,
+                    localIndex, StateEquivalenceLevel.WIDGET);
+            if (parent != null) {
+                parent.addChild(widget);
+            }
+            widgets.add(widget);
+        }
+        return widgets;
+    }
+
+    /**
+     * Formats the given widget actions like the recorded widget actions.
+     */
+    static List<String> format(List<Widget> widgets, Iterable<WidgetAction> widgetActions) {
+
+        List<String> lines = new ArrayList<>();
+
+        for (WidgetAction widgetAction : widgetActions) {
+            Widget widget = widgetAction.getWidget();
+            lines.add(widgets.indexOf(widget) + " " + widget.getClazz() + " "
+                    + widgetAction.getActionType());
+        }
+        return lines;
+    }
+
+    private static void assertRecordedWidgetActions(String screen) throws IOException {
+        List<Widget> widgets = parseWidgetTree(readLines(screen + ".tree"));
+        List<String> expected = readLines(screen + ".actions");
+        List<String> actual = format(widgets,
+                ActionsScreenState.extractWidgetActions(widgets, STATUS_BAR));
+        assertEquals(screen, expected, actual);
+    }
+
+    @Test
+    public void testListScreen() throws IOException {
+        assertRecordedWidgetActions("list_screen");
+    }
+
+    @Test
+    public void testFormScreen() throws IOException {
+        assertRecordedWidgetActions("form_screen");
+    }
+
+    @Test
+    public void testVideoScreen() throws IOException {
+        assertRecordedWidgetActions("video_screen");
+    }
+
+    @Test
+    public void testFeedScreen() throws IOException {
+        assertRecordedWidgetActions("feed_screen");
+    }
+}
@@ -0,0 +1,55 @@
+package org.mate.commons.input_generation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATELog;
+import org.mate.commons.utils.Randomness;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.mate.commons.input_generation.StaticStringsTest.NUMBER_OF_CLASSES;
+import static org.mate.commons.input_generation.StaticStringsTest.addStaticStrings;
+import static org.mate.commons.input_generation.StaticStringsTest.generateStrings;
+
+/**
+ * Compares the time for repeated text input generation of the index of the {@link StaticStrings}
+ * with the previous lookup in the sets per class.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StaticStringsBenchmark {
+
+    private Random previousRandom;
+
+    @Before
+    public void setUp() {
+        previousRandom = Randomness.getRnd();
+        addStaticStrings();
+    }
+
+    @After
+    public void tearDown() {
+        Randomness.setRnd(previousRandom);
+    }
+
+    @Test
+    public void benchmarkTextInputGeneration() {
+
+        long start = System.nanoTime();
+        List<String> previous = generateStrings(true, 10000);
+        long previousTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<String> indexed = generateStrings(false, 10000);
+        long indexedTime = System.nanoTime() - start;
+
+        assertEquals(previous, indexed);
+        MATELog.log("Static strings for 10000 text inputs (" + NUMBER_OF_CLASSES
+                + " classes): previous " + previousTime / 1000000 + " ms vs indexed "
+                + indexedTime / 1000000 + " ms");
+    }
+}
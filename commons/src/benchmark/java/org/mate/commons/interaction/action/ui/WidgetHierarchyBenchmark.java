@@ -0,0 +1,56 @@
+package org.mate.commons.interaction.action.ui;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATELog;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Reports the encoded size and the encoding time of a {@link WidgetHierarchy} for the synthetic
+ * deep hierarchy of {@link WidgetHierarchyTest}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WidgetHierarchyBenchmark {
+
+    @Test
+    public void benchmarkDeepHierarchy() {
+
+        List<Widget> widgets = WidgetHierarchyTest.buildDeepHierarchy();
+
+        // a widget parcels its entire subtree, thus the nested encoding writes a widget once per
+        // ancestor that is part of the transferred list
+        long nestedRows = 0;
+        for (Widget widget : widgets) {
+            nestedRows += subtreeSize(widget);
+        }
+
+        long start = System.nanoTime();
+        byte[] encoded = WidgetHierarchy.encode(widgets);
+        long encodeTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<Widget> decoded = WidgetHierarchy.decode(encoded);
+        long decodeTime = System.nanoTime() - start;
+
+        assertEquals(widgets.size(), decoded.size());
+
+        MATELog.log("Widgets: " + widgets.size() + ", depth: " + WidgetHierarchyTest.DEPTH);
+        MATELog.log("Nested encoding: " + nestedRows + " widget rows");
+        MATELog.log("Flat encoding: " + widgets.size() + " widget rows, "
+                + encoded.length + " bytes");
+        MATELog.log("Encode: " + encodeTime / 1000 + " us, decode: "
+                + decodeTime / 1000 + " us");
+    }
+
+    private static int subtreeSize(Widget widget) {
+        int size = 1;
+        for (Widget child : widget.getChildren()) {
+            size += subtreeSize(child);
+        }
+        return size;
+    }
+}
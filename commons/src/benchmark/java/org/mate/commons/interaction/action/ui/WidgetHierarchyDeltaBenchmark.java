@@ -0,0 +1,72 @@
+package org.mate.commons.interaction.action.ui;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATELog;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Reports the bytes transferred by the full encoding and by the deltas of the
+ * {@link WidgetHierarchyDiffer} while scrolling through the list screen of
+ * {@link WidgetHierarchyDeltaTest}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WidgetHierarchyDeltaBenchmark {
+
+    /**
+     * The number of list items of the synthetic screen.
+     */
+    private static final int NUMBER_OF_ITEMS = 200;
+
+    /**
+     * The number of steps of the synthetic exploration.
+     */
+    private static final int NUMBER_OF_STEPS = 50;
+
+    @Test
+    public void benchmarkScrollingList() {
+
+        WidgetHierarchyDiffer differ = new WidgetHierarchyDiffer();
+        WidgetHierarchyPatcher patcher = new WidgetHierarchyPatcher();
+
+        long fullBytes = 0;
+        long deltaBytes = 0;
+        long fullTime = 0;
+        long deltaTime = 0;
+
+        for (int step = 0; step < NUMBER_OF_STEPS; step++) {
+
+            // scrolling by a single item, every fifth step changes the toolbar
+            List<Widget> screen = WidgetHierarchyDeltaTest.buildListScreen("title " + step / 5,
+                    WidgetHierarchyDeltaTest.items(step, NUMBER_OF_ITEMS));
+
+            long start = System.nanoTime();
+            byte[] full = WidgetHierarchy.encode(screen);
+            WidgetHierarchy.decode(full);
+            fullTime += System.nanoTime() - start;
+            fullBytes += full.length;
+
+            start = System.nanoTime();
+            WidgetHierarchyDelta delta = differ.diff(screen, patcher.getToken());
+            List<Widget> widgets = patcher.apply(delta);
+            deltaTime += System.nanoTime() - start;
+            deltaBytes += delta.getSize();
+
+            assertEquals(screen.size(), widgets.size());
+        }
+
+        assertTrue(deltaBytes < fullBytes);
+
+        MATELog.log("Widgets per screen: " + (3 + 3 * NUMBER_OF_ITEMS)
+                + ", steps: " + NUMBER_OF_STEPS);
+        MATELog.log("Full transfer: " + fullBytes / NUMBER_OF_STEPS + " bytes/step, "
+                + fullTime / NUMBER_OF_STEPS / 1000 + " us/step");
+        MATELog.log("Delta transfer: " + deltaBytes / NUMBER_OF_STEPS + " bytes/step, "
+                + deltaTime / NUMBER_OF_STEPS / 1000 + " us/step");
+    }
+}
@@ -0,0 +1,67 @@
+package org.mate.commons.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the time for repeated random selections from an {@link IndexedSet} with the selection
+ * from a hash set.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class IndexedSetBenchmark {
+
+    private Random previousRandom;
+
+    @Before
+    public void setUp() {
+        previousRandom = Randomness.getRnd();
+    }
+
+    @After
+    public void tearDown() {
+        Randomness.setRnd(previousRandom);
+    }
+
+
+    @Test
+    public void benchmarkRandomSelection() {
+
+        Set<String> hashSet = new HashSet<>();
+        for (int i = 0; i < 10000; i++) {
+            hashSet.add("constant" + i);
+        }
+        IndexedSet<String> indexedSet = new IndexedSet<>(hashSet);
+
+        Randomness.setRnd(new MersenneTwister(42));
+        long start = System.nanoTime();
+        List<String> iterated = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            iterated.add(Randomness.randomElement(hashSet));
+        }
+        long iteratedTime = System.nanoTime() - start;
+
+        Randomness.setRnd(new MersenneTwister(42));
+        start = System.nanoTime();
+        List<String> indexed = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            indexed.add(Randomness.randomElement(indexedSet));
+        }
+        long indexedTime = System.nanoTime() - start;
+
+        // the indexed set is built from the hash set, thus both have the same iteration order
+        assertEquals(iterated, indexed);
+        MATELog.log("20000 random selections from 10000 elements: hash set "
+                + iteratedTime / 1000000 + " ms vs indexed set " + indexedTime / 1000000 + " ms");
+    }
+}
@@ -5,6 +5,7 @@ import org.mate.commons.utils.Randomness;
 import org.mate.commons.input_generation.format_types.InputFieldType;
 
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -12,7 +13,11 @@ import java.util.Map;
 import java.util.Set;
 
 /**
- * Provides access to the static strings extracted from the bytecode.
+ * Provides access to the static strings extracted from the bytecode. The static strings are
+ * collected per class while parsing, see {@link StaticStringsParser}. Afterwards, an immutable
+ * index is built that stores the static strings of each class and of each input field type in
+ * arrays and resolves a class name given by a suffix through a hash map, thus a random static
+ * string is retrieved in constant time. Adding further static strings discards the index.
  */
 public final class StaticStrings {
 
@@ -32,6 +37,21 @@ public final class StaticStrings {
      */
     private final Map<InputFieldType, Map<String, Set<String>>> inputFieldTypeMap = new HashMap<>();
 
+    /**
+     * The index of {@link #allStrings}, built on demand.
+     */
+    private Index allStringsIndex;
+
+    /**
+     * The indices of {@link #inputFieldTypeMap} per input field type, built on demand.
+     */
+    private Map<InputFieldType, Index> inputFieldTypeIndex;
+
+    /**
+     * The static strings of any class per input field type, built on demand.
+     */
+    private Map<InputFieldType, String[]> inputFieldTypeStrings;
+
     /**
      * Whether the static strings could be loaded, i.e. {@link StaticStringsParser#parseStaticStrings()}
      * succeeded.
@@ -62,6 +82,8 @@ public final class StaticStrings {
      */
     public void add(String className, Set<String> values) {
 
+        discardIndex();
+
         Set<String> copy = new HashSet<>(values);
         extendMapByClassName(allStrings, className, copy);
 
@@ -86,7 +108,8 @@ public final class StaticStrings {
      */
     public String getRandomStringFor(List<String> classNames) {
         String className = Randomness.randomElement(classNames);
-        return getRandomStringFor(allStrings, className);
+        buildIndex();
+        return getRandomStringFor(allStringsIndex, className);
     }
 
     /**
@@ -99,7 +122,8 @@ public final class StaticStrings {
      */
     public String getRandomStringFor(InputFieldType inputType, List<String> classNames) {
         String className = Randomness.randomElement(classNames);
-        return getRandomStringFor(inputFieldTypeMap.get(inputType), className);
+        buildIndex();
+        return getRandomStringFor(inputFieldTypeIndex.get(inputType), className);
     }
 
     /**
@@ -109,20 +133,12 @@ public final class StaticStrings {
      * @return A random string for a certain input type.
      */
     public String getRandomStringFor(InputFieldType inputType) {
-        Map<String, Set<String>> map = inputFieldTypeMap.get(inputType);
-        if (map == null) {
-            return null;
-        }
-        Set<String> concatenated = new HashSet<>();
-        for (Map.Entry<String, Set<String>> entrySet : map.entrySet()) {
-            concatenated.addAll(entrySet.getValue());
-        }
-
-        if (!concatenated.isEmpty()) {
-            return Randomness.randomElement(concatenated);
-        } else {
+        buildIndex();
+        String[] strings = inputFieldTypeStrings.get(inputType);
+        if (strings == null || strings.length == 0) {
             return null;
         }
+        return strings[Randomness.getRnd().nextInt(strings.length)];
     }
 
     private void createInitialMap() {
@@ -152,32 +168,110 @@ public final class StaticStrings {
         map.put(className, strings);
     }
 
-    private String getRandomStringFor(Map<String, Set<String>> map, String className) {
-        String convertedClassName = className.replaceAll("\\.", "/");
-        if (map != null) {
-            String exactKey = getExactKey(map, convertedClassName);
-            if (exactKey != null) {
-                convertedClassName = exactKey;
-            }
+    /**
+     * Discards the index such that it is re-built on the next request.
+     */
+    private void discardIndex() {
+        allStringsIndex = null;
+        inputFieldTypeIndex = null;
+        inputFieldTypeStrings = null;
+    }
+
+    /**
+     * Builds the index unless it is already available. This is done once the parsing has been
+     * completed, see {@link StaticStringsParser#parseStaticStrings()}, or on the first request.
+     */
+    void buildIndex() {
+
+        if (allStringsIndex != null) {
+            return;
+        }
+
+        Map<InputFieldType, Index> typeIndex = new EnumMap<>(InputFieldType.class);
+        Map<InputFieldType, String[]> typeStrings = new EnumMap<>(InputFieldType.class);
 
-            if (map.containsKey(convertedClassName)) {
-                if (map.get(convertedClassName) != null) {
-                    return Randomness.randomElement(map.get(convertedClassName));
+        for (Map.Entry<InputFieldType, Map<String, Set<String>>> entry : inputFieldTypeMap.entrySet()) {
+
+            Map<String, Set<String>> map = entry.getValue();
+
+            if (map != null) {
+
+                typeIndex.put(entry.getKey(), new Index(map));
+
+                // the static strings of all classes are merged in the order of the classes
+                Set<String> concatenated = new HashSet<>();
+                for (Set<String> strings : map.values()) {
+                    concatenated.addAll(strings);
                 }
+                typeStrings.put(entry.getKey(), concatenated.toArray(new String[0]));
             }
         }
-        return null;
+
+        inputFieldTypeIndex = typeIndex;
+        inputFieldTypeStrings = typeStrings;
+        allStringsIndex = new Index(allStrings);
     }
 
-    private String getExactKey(Map<String, Set<String>> map, String keyPart) {
-        for (String key : map.keySet()) {
-            if (key.endsWith("." + keyPart)) {
-                return key;
+    private static String getRandomStringFor(Index index, String className) {
+        String convertedClassName = className.replace('.', '/');
+        if (index != null) {
+            String[] strings = index.getStrings(convertedClassName);
+            if (strings != null) {
+                return strings[Randomness.getRnd().nextInt(strings.length)];
             }
         }
         return null;
     }
 
+    /**
+     * An immutable index of the static strings per class.
+     */
+    private static final class Index {
+
+        /**
+         * The static strings per class in the iteration order of the underlying set.
+         */
+        private final Map<String, String[]> strings = new HashMap<>();
+
+        /**
+         * Maps every suffix of a class name that follows a dot to the class name. If several
+         * class names share a suffix, the first class name in the iteration order of the
+         * underlying map is taken.
+         */
+        private final Map<String, String> classNamesBySuffix = new HashMap<>();
+
+        private Index(Map<String, Set<String>> map) {
+
+            for (Map.Entry<String, Set<String>> entry : map.entrySet()) {
+
+                String className = entry.getKey();
+
+                if (entry.getValue() != null) {
+                    strings.put(className, entry.getValue().toArray(new String[0]));
+                }
+
+                for (int i = className.indexOf('.'); i != -1; i = className.indexOf('.', i + 1)) {
+                    String suffix = className.substring(i + 1);
+                    if (!classNamesBySuffix.containsKey(suffix)) {
+                        classNamesBySuffix.put(suffix, className);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the static strings of the class whose name ends with a dot followed by the given
+         * class name or, if there is no such class, of the given class itself.
+         *
+         * @param className The class name.
+         * @return Returns the static strings of the class or {@code null} if none are known.
+         */
+        private String[] getStrings(String className) {
+            String exactClassName = classNamesBySuffix.get(className);
+            return strings.get(exactClassName != null ? exactClassName : className);
+        }
+    }
+
     /**
      * Whether the static strings could be successfully initialised.
      *
@@ -65,6 +65,7 @@ public final class StaticStringsParser {
                     }
                 }
 
+                staticStrings.buildIndex();
                 staticStrings.setInitialised(true);
             }
         } catch (Exception e) {
@@ -0,0 +1,89 @@
+package org.mate.commons.input_generation;
+
+import org.mate.commons.utils.Randomness;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Indexes a list of words by their length. The words keep their order, while a copy of the words
+ * is sorted by length, such that the words shorter than a given length form a prefix of the sorted
+ * words. The length of each prefix is stored, thus a random word shorter than a given length can
+ * be picked in constant time.
+ */
+public class WordIndex {
+
+    /**
+     * The words in their original order.
+     */
+    private final List<String> words;
+
+    /**
+     * The words sorted by their length, words of the same length keep their original order.
+     */
+    private final String[] wordsByLength;
+
+    /**
+     * Stores at index k the number of words that are shorter than k characters.
+     */
+    private final int[] wordsShorterThan;
+
+    /**
+     * Sorts the given words by their length and counts the words shorter than each length.
+     *
+     * @param words The words to be indexed.
+     */
+    public WordIndex(List<String> words) {
+
+        this.words = Collections.unmodifiableList(new ArrayList<>(words));
+
+        int maxLength = 0;
+        for (String word : words) {
+            maxLength = Math.max(maxLength, word.length());
+        }
+
+        // a counting sort by length keeps the original order of words with the same length
+        int[] counts = new int[maxLength + 2];
+        for (String word : words) {
+            counts[word.length() + 1]++;
+        }
+        for (int length = 1; length < counts.length; length++) {
+            counts[length] += counts[length - 1];
+        }
+
+        wordsShorterThan = counts.clone();
+        wordsByLength = new String[words.size()];
+
+        for (String word : words) {
+            wordsByLength[counts[word.length()]++] = word;
+        }
+    }
+
+    /**
+     * Returns the words in their original order.
+     *
+     * @return Returns an unmodifiable view of the words.
+     */
+    public List<String> getWords() {
+        return words;
+    }
+
+    /**
+     * Picks a random word that is shorter than the given length.
+     *
+     * @param maxLength The exclusive upper bound of the word length.
+     * @return Returns a random word shorter than the given length or {@code null} if there is no
+     *         such word.
+     */
+    public String getRandomWordShorterThan(int maxLength) {
+
+        int count = wordsShorterThan[Math.max(0, Math.min(maxLength, wordsShorterThan.length - 1))];
+
+        if (count == 0) {
+            return null;
+        }
+
+        return wordsByLength[Randomness.getRnd().nextInt(count)];
+    }
+}
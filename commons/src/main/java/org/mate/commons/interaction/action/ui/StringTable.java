@@ -0,0 +1,115 @@
+package org.mate.commons.interaction.action.ui;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns the strings of the flat widget encoding, see {@link Widget#writeRow}. Each distinct
+ * string is assigned the next free index, {@code null} is represented by the index -1.
+ */
+final class StringTable {
+
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    /**
+     * Maps a string to its index.
+     */
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    /**
+     * The strings in the order of their indices.
+     */
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * Returns the index of the given string, the string is added to the table if necessary.
+     *
+     * @param string The string to look up, may be {@code null}.
+     * @return Returns the index of the string or -1 for {@code null}.
+     */
+    int indexOf(String string) {
+
+        if (string == null) {
+            return -1;
+        }
+
+        Integer index = indices.get(string);
+        if (index == null) {
+            index = strings.size();
+            indices.put(string, index);
+            strings.add(string);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the number of strings in the table.
+     *
+     * @return Returns the size of the table.
+     */
+    int size() {
+        return strings.size();
+    }
+
+    /**
+     * Removes all strings from the table.
+     */
+    void clear() {
+        indices.clear();
+        strings.clear();
+    }
+
+    /**
+     * Writes the strings starting at the given index, i.e. the number of strings followed by the
+     * length-prefixed UTF-8 strings.
+     *
+     * @param out The output to which the strings are written.
+     * @param from The index of the first string to be written.
+     * @throws IOException If writing to the output fails.
+     */
+    void write(DataOutput out, int from) throws IOException {
+        out.writeInt(strings.size() - from);
+        for (int i = from; i < strings.size(); i++) {
+            byte[] encoded = strings.get(i).getBytes(CHARSET);
+            out.writeInt(encoded.length);
+            out.write(encoded);
+        }
+    }
+
+    /**
+     * Reads strings written by {@link #write(DataOutput, int)} and appends them to the given
+     * strings.
+     *
+     * @param in The input from which the strings are read.
+     * @param strings The strings read so far.
+     * @param maxLength An upper bound for the number of bytes that can be read.
+     * @return Returns the given strings extended by the read strings.
+     * @throws IOException If reading from the input fails.
+     */
+    static String[] read(DataInput in, String[] strings, int maxLength) throws IOException {
+
+        int numberOfStrings = in.readInt();
+        if (numberOfStrings < 0 || numberOfStrings > maxLength) {
+            throw new IllegalStateException("Illegal number of strings: " + numberOfStrings);
+        }
+
+        String[] result = Arrays.copyOf(strings, strings.length + numberOfStrings);
+        for (int i = strings.length; i < result.length; i++) {
+            int length = in.readInt();
+            if (length < 0 || length > maxLength) {
+                throw new IllegalStateException("Illegal string length: " + length);
+            }
+            byte[] string = new byte[length];
+            in.readFully(string);
+            result[i] = new String(string, CHARSET);
+        }
+        return result;
+    }
+}
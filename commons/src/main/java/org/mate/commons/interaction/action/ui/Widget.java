@@ -11,6 +11,9 @@ import android.view.accessibility.AccessibilityNodeInfo;
 import org.mate.commons.state.executable.StateEquivalenceLevel;
 import org.mate.commons.utils.MATELog;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -1219,6 +1222,174 @@ public class Widget implements Parcelable {
         this.maxminLum = in.readString();
     }
 
+    /*
+     * The flags of the boolean attributes in the flat encoding used by WidgetHierarchy.
+     */
+    private static final int FLAG_SHOWING_HINT_TEXT = 1;
+    private static final int FLAG_FOCUSED = 1 << 1;
+    private static final int FLAG_CONTEXT_CLICKABLE = 1 << 2;
+    private static final int FLAG_IMPORTANT_FOR_ACCESSIBILITY = 1 << 3;
+    private static final int FLAG_ACCESSIBILITY_FOCUSED = 1 << 4;
+    private static final int FLAG_CHECKABLE = 1 << 5;
+    private static final int FLAG_CHECKED = 1 << 6;
+    private static final int FLAG_EDITABLE = 1 << 7;
+    private static final int FLAG_ENABLED = 1 << 8;
+    private static final int FLAG_FOCUSABLE = 1 << 9;
+    private static final int FLAG_SCROLLABLE = 1 << 10;
+    private static final int FLAG_SELECTED = 1 << 11;
+    private static final int FLAG_VISIBLE = 1 << 12;
+    private static final int FLAG_SCREEN_READER_FOCUSABLE = 1 << 13;
+    private static final int FLAG_HAS_CHILDREN = 1 << 14;
+    private static final int FLAG_HEADING = 1 << 15;
+    private static final int FLAG_PASSWORD = 1 << 16;
+    private static final int FLAG_CLICKABLE = 1 << 17;
+    private static final int FLAG_LONG_CLICKABLE = 1 << 18;
+
+    /**
+     * The number of bytes written by {@link #writeRow(DataOutput, StringTable)}.
+     */
+    static final int ROW_SIZE = 24 * 4;
+
+    /**
+     * Writes the attributes of this widget as a single row of the flat encoding used by
+     * {@link WidgetHierarchy}. In contrast to {@link #writeToParcel(Parcel, int)}, neither the
+     * children nor the parent are written, strings are written as indices into a string table
+     * and neither the global index nor the widget id are written, since the global index is the
+     * position of the row and the id is derived from other attributes. Every row occupies
+     * exactly {@link #ROW_SIZE} bytes.
+     *
+     * @param out The output to which the row is written.
+     * @param strings The string table to which the strings of the row are added.
+     * @throws IOException If writing to the output fails.
+     */
+    void writeRow(DataOutput out, StringTable strings) throws IOException {
+        out.writeInt(strings.indexOf(activity));
+        out.writeInt(strings.indexOf(packageName));
+        out.writeInt(strings.indexOf(clazz));
+        out.writeInt(strings.indexOf(resourceID));
+        out.writeInt(localIndex);
+        out.writeInt(depth);
+        out.writeInt(stateEquivalenceLevel == null ? -1 : stateEquivalenceLevel.ordinal());
+        out.writeInt(X);
+        out.writeInt(Y);
+        out.writeInt(x1);
+        out.writeInt(x2);
+        out.writeInt(y1);
+        out.writeInt(y2);
+        out.writeInt(strings.indexOf(text));
+        out.writeInt(strings.indexOf(contentDesc));
+        out.writeInt(strings.indexOf(labeledBy));
+        out.writeInt(strings.indexOf(errorText));
+        out.writeInt(strings.indexOf(labelFor));
+        out.writeInt(strings.indexOf(hint));
+        out.writeInt(strings.indexOf(color));
+        out.writeInt(strings.indexOf(maxminLum));
+        out.writeInt(maxTextLength);
+        out.writeInt(inputType);
+
+        int flags = 0;
+        flags |= showingHintText ? FLAG_SHOWING_HINT_TEXT : 0;
+        flags |= focused ? FLAG_FOCUSED : 0;
+        flags |= contextClickable ? FLAG_CONTEXT_CLICKABLE : 0;
+        flags |= importantForAccessibility ? FLAG_IMPORTANT_FOR_ACCESSIBILITY : 0;
+        flags |= accessibilityFocused ? FLAG_ACCESSIBILITY_FOCUSED : 0;
+        flags |= checkable ? FLAG_CHECKABLE : 0;
+        flags |= checked ? FLAG_CHECKED : 0;
+        flags |= editable ? FLAG_EDITABLE : 0;
+        flags |= enabled ? FLAG_ENABLED : 0;
+        flags |= focusable ? FLAG_FOCUSABLE : 0;
+        flags |= scrollable ? FLAG_SCROLLABLE : 0;
+        flags |= selected ? FLAG_SELECTED : 0;
+        flags |= visible ? FLAG_VISIBLE : 0;
+        flags |= screenReaderFocusable ? FLAG_SCREEN_READER_FOCUSABLE : 0;
+        flags |= hasChildren ? FLAG_HAS_CHILDREN : 0;
+        flags |= heading ? FLAG_HEADING : 0;
+        flags |= password ? FLAG_PASSWORD : 0;
+        flags |= clickable ? FLAG_CLICKABLE : 0;
+        flags |= longClickable ? FLAG_LONG_CLICKABLE : 0;
+        out.writeInt(flags);
+    }
+
+    /**
+     * Reads a widget from a single row of the flat encoding used by {@link WidgetHierarchy}.
+     * The parent and children are linked afterwards by {@link WidgetHierarchy}.
+     *
+     * @param in The input from which the row is read.
+     * @param strings The string table, a negative index denotes {@code null}.
+     * @param index The global index of the widget, i.e. the position of the row.
+     * @throws IOException If reading from the input fails.
+     */
+    Widget(DataInput in, String[] strings, int index) throws IOException {
+        this.children = new ArrayList<>();
+        this.activity = readString(in, strings);
+        this.packageName = readString(in, strings);
+        this.clazz = readString(in, strings);
+        this.resourceID = readString(in, strings);
+        this.index = index;
+        this.localIndex = in.readInt();
+        this.depth = in.readInt();
+        this.id = activity + "->" + depth + "->" + index + "->" + localIndex;
+        int tmpStateEquivalenceLevel = in.readInt();
+        this.stateEquivalenceLevel = tmpStateEquivalenceLevel == -1 ? null : StateEquivalenceLevel.values()[tmpStateEquivalenceLevel];
+        this.X = in.readInt();
+        this.Y = in.readInt();
+        this.x1 = in.readInt();
+        this.x2 = in.readInt();
+        this.y1 = in.readInt();
+        this.y2 = in.readInt();
+        this.bounds = new Rect(x1, y1, x2, y2);
+        this.text = readString(in, strings);
+        this.contentDesc = readString(in, strings);
+        this.labeledBy = readString(in, strings);
+        this.errorText = readString(in, strings);
+        this.labelFor = readString(in, strings);
+        this.hint = readString(in, strings);
+        this.color = readString(in, strings);
+        this.maxminLum = readString(in, strings);
+        this.maxTextLength = in.readInt();
+        this.inputType = in.readInt();
+
+        int flags = in.readInt();
+        this.showingHintText = (flags & FLAG_SHOWING_HINT_TEXT) != 0;
+        this.focused = (flags & FLAG_FOCUSED) != 0;
+        this.contextClickable = (flags & FLAG_CONTEXT_CLICKABLE) != 0;
+        this.importantForAccessibility = (flags & FLAG_IMPORTANT_FOR_ACCESSIBILITY) != 0;
+        this.accessibilityFocused = (flags & FLAG_ACCESSIBILITY_FOCUSED) != 0;
+        this.checkable = (flags & FLAG_CHECKABLE) != 0;
+        this.checked = (flags & FLAG_CHECKED) != 0;
+        this.editable = (flags & FLAG_EDITABLE) != 0;
+        this.enabled = (flags & FLAG_ENABLED) != 0;
+        this.focusable = (flags & FLAG_FOCUSABLE) != 0;
+        this.scrollable = (flags & FLAG_SCROLLABLE) != 0;
+        this.selected = (flags & FLAG_SELECTED) != 0;
+        this.visible = (flags & FLAG_VISIBLE) != 0;
+        this.screenReaderFocusable = (flags & FLAG_SCREEN_READER_FOCUSABLE) != 0;
+        this.hasChildren = (flags & FLAG_HAS_CHILDREN) != 0;
+        this.heading = (flags & FLAG_HEADING) != 0;
+        this.password = (flags & FLAG_PASSWORD) != 0;
+        this.clickable = (flags & FLAG_CLICKABLE) != 0;
+        this.longClickable = (flags & FLAG_LONG_CLICKABLE) != 0;
+    }
+
+    private static String readString(DataInput in, String[] strings) throws IOException {
+        int index = in.readInt();
+        if (index < -1 || index >= strings.length) {
+            throw new IOException("Illegal string index: " + index);
+        }
+        return index == -1 ? null : strings[index];
+    }
+
+    /**
+     * Links this widget to the given parent widget, i.e. sets the parent of this widget and
+     * appends this widget to the children of the parent.
+     *
+     * @param parent The parent widget.
+     */
+    void linkToParent(Widget parent) {
+        this.parent = parent;
+        parent.children.add(this);
+    }
+
     public static final Parcelable.Creator<Widget> CREATOR = new Parcelable.Creator<Widget>() {
         @Override
         public Widget createFromParcel(Parcel source) {
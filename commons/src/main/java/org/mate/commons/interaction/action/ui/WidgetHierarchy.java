@@ -0,0 +1,191 @@
+package org.mate.commons.interaction.action.ui;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transfers the widgets of a screen from the representation layer to the client. A
+ * {@link Widget} parcels its entire subtree, thus sending the flattened widget list as
+ * individual parcelables re-serializes every subtree once per ancestor, i.e. O(n * depth) bytes
+ * in total. Instead, the widget hierarchy uses a flat encoding: each widget is written exactly
+ * once as a row holding the index of its parent row, and all strings are written once into a
+ * string table and referenced by their index. The parent and children links are restored on
+ * the receiving side. The global index of a widget is not transferred, since it equals the
+ * position of the widget in the pre-order traversal of the ui hierarchy.
+ */
+public class WidgetHierarchy implements Parcelable {
+
+    /**
+     * The widgets in the order of the ui hierarchy traversal.
+     */
+    private final List<Widget> widgets;
+
+    /**
+     * Creates a new widget hierarchy.
+     *
+     * @param widgets The widgets of the screen, the parent of a widget must be part of the list.
+     */
+    public WidgetHierarchy(List<Widget> widgets) {
+        this.widgets = widgets;
+    }
+
+    /**
+     * Returns the widgets in the order of the ui hierarchy traversal.
+     *
+     * @return Returns the widgets of the screen.
+     */
+    public List<Widget> getWidgets() {
+        return widgets;
+    }
+
+    /**
+     * Encodes the given widgets in the flat encoding. The layout is as follows: the number of
+     * strings followed by the length-prefixed UTF-8 strings, the number of widgets followed by
+     * a row per widget. A row starts with the index of the parent row (-1 for the root),
+     * followed by the attributes of the widget, see {@link Widget#writeRow}.
+     *
+     * @param widgets The widgets to be encoded.
+     * @return Returns the encoded widgets.
+     */
+    public static byte[] encode(List<Widget> widgets) {
+
+        Map<Widget, Integer> rowIndices = new IdentityHashMap<>();
+        for (int i = 0; i < widgets.size(); i++) {
+            rowIndices.put(widgets.get(i), i);
+        }
+
+        StringTable strings = new StringTable();
+
+        try {
+            // the rows are written first, since the string table is only known afterwards
+            ByteArrayOutputStream rowBytes
+                    = new ByteArrayOutputStream(widgets.size() * (Widget.ROW_SIZE + 4));
+            DataOutputStream rows = new DataOutputStream(rowBytes);
+
+            for (Widget widget : widgets) {
+                Integer parentIndex = widget.getParent() == null
+                        ? null : rowIndices.get(widget.getParent());
+                rows.writeInt(parentIndex == null ? -1 : parentIndex);
+                widget.writeRow(rows, strings);
+            }
+            rows.flush();
+
+            ByteArrayOutputStream bytes
+                    = new ByteArrayOutputStream(rowBytes.size() + strings.size() * 32);
+            DataOutputStream out = new DataOutputStream(bytes);
+            strings.write(out, 0);
+            out.writeInt(widgets.size());
+            rowBytes.writeTo(out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // can't happen when writing into a byte array
+            throw new IllegalStateException("Couldn't encode widgets!", e);
+        }
+    }
+
+    /**
+     * Decodes widgets from the flat encoding and restores their parent and children links.
+     *
+     * @param encoded The encoded widgets.
+     * @return Returns the decoded widgets in the order they have been encoded.
+     */
+    public static List<Widget> decode(byte[] encoded) {
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+
+            String[] strings = StringTable.read(in, new String[0], encoded.length);
+
+            int numberOfWidgets = in.readInt();
+            if (numberOfWidgets < 0 || numberOfWidgets > encoded.length) {
+                throw new IllegalStateException("Illegal number of widgets: " + numberOfWidgets);
+            }
+            List<Widget> widgets = new ArrayList<>(numberOfWidgets);
+            int[] parentIndices = new int[numberOfWidgets];
+            for (int i = 0; i < numberOfWidgets; i++) {
+                parentIndices[i] = in.readInt();
+                widgets.add(new Widget(in, strings, i));
+            }
+
+            link(widgets, parentIndices);
+            return widgets;
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't decode widgets!", e);
+        }
+    }
+
+    /**
+     * Computes a fingerprint of the given widgets, i.e. a 64-bit hash of their flat encoding.
+     * Two screens with the same widgets in the same structure have the same fingerprint.
+     *
+     * @param widgets The widgets of the screen.
+     * @return Returns the fingerprint of the widgets.
+     */
+    public static long fingerprint(List<Widget> widgets) {
+        long hash = 1125899906842597L;
+        for (byte b : encode(widgets)) {
+            hash = 31 * hash + b;
+        }
+        return hash;
+    }
+
+    /**
+     * Restores the parent and children links of the given widgets.
+     *
+     * @param widgets The widgets in the order of their rows.
+     * @param parentIndices The parent row of each row, -1 denotes the root.
+     */
+    static void link(List<Widget> widgets, int[] parentIndices) {
+
+        // link in row order such that the children keep their original order
+        for (int i = 0; i < widgets.size(); i++) {
+            int parentIndex = parentIndices[i];
+            if (parentIndex >= widgets.size() || parentIndex == i) {
+                throw new IllegalStateException("Illegal parent index: " + parentIndex);
+            }
+            if (parentIndex >= 0) {
+                widgets.get(i).linkToParent(widgets.get(parentIndex));
+            }
+        }
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeByteArray(encode(widgets));
+    }
+
+    protected WidgetHierarchy(Parcel in) {
+        byte[] encoded = in.createByteArray();
+        this.widgets = encoded == null ? Collections.<Widget>emptyList() : decode(encoded);
+    }
+
+    public static final Parcelable.Creator<WidgetHierarchy> CREATOR
+            = new Parcelable.Creator<WidgetHierarchy>() {
+        @Override
+        public WidgetHierarchy createFromParcel(Parcel source) {
+            return new WidgetHierarchy(source);
+        }
+
+        @Override
+        public WidgetHierarchy[] newArray(int size) {
+            return new WidgetHierarchy[size];
+        }
+    };
+}
@@ -0,0 +1,90 @@
+package org.mate.commons.interaction.action.ui;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+/**
+ * Describes the widgets of the current screen relative to the screen the client received
+ * previously. A delta is produced by a {@link WidgetHierarchyDiffer} in the representation layer
+ * and applied by a {@link WidgetHierarchyPatcher} on the client side.
+ *
+ * The encoding extends the flat encoding of {@link WidgetHierarchy}: a header holding the token
+ * of the base screen (0 if the delta describes the entire screen) and the token of the new
+ * screen, the strings that have been added to the string table since the base screen, the
+ * number of widgets and finally a sequence of operations in the pre-order of the widgets. An
+ * operation either introduces a single new row ({@link #LITERAL}) or copies an entire unchanged
+ * subtree of the base screen ({@link #COPY}).
+ */
+public class WidgetHierarchyDelta implements Parcelable {
+
+    /**
+     * A new row: the index of the parent row followed by the attributes of the widget.
+     */
+    static final byte LITERAL = 0;
+
+    /**
+     * An unchanged subtree: the index of the parent row of the subtree root, the row of the
+     * subtree root in the base screen and the number of rows of the subtree.
+     */
+    static final byte COPY = 1;
+
+    /**
+     * The encoded delta.
+     */
+    private final byte[] encoded;
+
+    /**
+     * Creates a new delta.
+     *
+     * @param encoded The encoded delta.
+     */
+    WidgetHierarchyDelta(byte[] encoded) {
+        this.encoded = encoded;
+    }
+
+    /**
+     * Returns the encoded delta.
+     *
+     * @return Returns the encoded delta.
+     */
+    byte[] getEncoded() {
+        return encoded;
+    }
+
+    /**
+     * Returns the number of bytes that are transferred for this delta.
+     *
+     * @return Returns the size of the encoded delta.
+     */
+    public int getSize() {
+        return encoded.length;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeByteArray(encoded);
+    }
+
+    protected WidgetHierarchyDelta(Parcel in) {
+        byte[] encoded = in.createByteArray();
+        this.encoded = encoded == null ? new byte[0] : encoded;
+    }
+
+    public static final Parcelable.Creator<WidgetHierarchyDelta> CREATOR
+            = new Parcelable.Creator<WidgetHierarchyDelta>() {
+        @Override
+        public WidgetHierarchyDelta createFromParcel(Parcel source) {
+            return new WidgetHierarchyDelta(source);
+        }
+
+        @Override
+        public WidgetHierarchyDelta[] newArray(int size) {
+            return new WidgetHierarchyDelta[size];
+        }
+    };
+}
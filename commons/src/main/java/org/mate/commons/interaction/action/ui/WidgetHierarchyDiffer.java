@@ -0,0 +1,270 @@
+package org.mate.commons.interaction.action.ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Computes the delta between the widgets of the current screen and the screen that has been
+ * sent to the client previously, see {@link WidgetHierarchyDelta}. The differ remembers the rows
+ * of the last screen together with a hash per subtree. A subtree of the current screen whose
+ * hash, size and rows match a subtree of the last screen is sent as a reference instead of its
+ * rows. This is used by the representation layer, where consecutive screens typically differ
+ * only in a few widgets.
+ *
+ * The last screen can only serve as base if the client confirms that it received it, i.e. it
+ * passes the token of the last screen. Otherwise, e.g. the client missed a delta or the
+ * representation layer has been restarted, the entire screen is sent.
+ */
+public class WidgetHierarchyDiffer {
+
+    /**
+     * The string table is reset once it exceeds this size, which enforces a full transfer.
+     */
+    private static final int MAX_NUMBER_OF_STRINGS = 1 << 16;
+
+    /**
+     * Generates the tokens that identify the transferred screens.
+     */
+    private final Random random = new Random();
+
+    /**
+     * The string table that is shared with the client, new strings are appended.
+     */
+    private final StringTable strings = new StringTable();
+
+    /**
+     * The token of the last screen, 0 if no screen has been sent yet.
+     */
+    private long token = 0;
+
+    /**
+     * The rows of the last screen, each spanning {@link Widget#ROW_SIZE} bytes.
+     */
+    private byte[] rows = new byte[0];
+
+    /**
+     * The parent row of each row of the last screen.
+     */
+    private int[] parents = new int[0];
+
+    /**
+     * The number of rows of the subtree rooted at each row of the last screen.
+     */
+    private int[] sizes = new int[0];
+
+    /**
+     * Maps a subtree hash to the first row of the last screen with that subtree hash.
+     */
+    private final Map<Long, Integer> subtrees = new HashMap<>();
+
+    /**
+     * Computes the delta between the given widgets and the last screen.
+     *
+     * @param widgets The widgets of the current screen in pre-order.
+     * @param baseToken The token of the last screen the client received, 0 if none.
+     * @return Returns the delta that transforms the screen of the client into the given widgets.
+     */
+    public synchronized WidgetHierarchyDelta diff(List<Widget> widgets, long baseToken) {
+
+        // validate the widgets before the string table is touched
+        int[] newParents = parentRows(widgets);
+
+        boolean full = baseToken == 0 || baseToken != token
+                || strings.size() > MAX_NUMBER_OF_STRINGS;
+
+        if (full) {
+            strings.clear();
+            rows = new byte[0];
+            parents = new int[0];
+            sizes = new int[0];
+            subtrees.clear();
+        }
+
+        int firstNewString = strings.size();
+        int numberOfWidgets = widgets.size();
+
+        byte[] newRows = encodeRows(widgets);
+        int[] newSizes = new int[numberOfWidgets];
+        long[] hashes = new long[numberOfWidgets];
+        computeSubtrees(newRows, newParents, newSizes, hashes);
+
+        long newToken = nextToken();
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeLong(full ? 0 : baseToken);
+            out.writeLong(newToken);
+            out.writeInt(firstNewString);
+            strings.write(out, firstNewString);
+            out.writeInt(numberOfWidgets);
+
+            int row = 0;
+            while (row < numberOfWidgets) {
+                Integer baseRow = subtrees.get(hashes[row]);
+                if (baseRow != null
+                        && isSameSubtree(baseRow, newRows, newParents, row, newSizes[row])) {
+                    out.writeByte(WidgetHierarchyDelta.COPY);
+                    out.writeInt(newParents[row]);
+                    out.writeInt(baseRow);
+                    out.writeInt(newSizes[row]);
+                    row += newSizes[row];
+                } else {
+                    out.writeByte(WidgetHierarchyDelta.LITERAL);
+                    out.writeInt(newParents[row]);
+                    out.write(newRows, row * Widget.ROW_SIZE, Widget.ROW_SIZE);
+                    row++;
+                }
+            }
+            out.flush();
+
+            token = newToken;
+            rows = newRows;
+            parents = newParents;
+            sizes = newSizes;
+            subtrees.clear();
+            for (int i = 0; i < numberOfWidgets; i++) {
+                if (!subtrees.containsKey(hashes[i])) {
+                    subtrees.put(hashes[i], i);
+                }
+            }
+
+            return new WidgetHierarchyDelta(bytes.toByteArray());
+        } catch (IOException e) {
+            // can't happen when writing into a byte array
+            throw new IllegalStateException("Couldn't encode widget delta!", e);
+        }
+    }
+
+    private long nextToken() {
+        long next;
+        do {
+            next = random.nextLong();
+        } while (next == 0 || next == token);
+        return next;
+    }
+
+    private byte[] encodeRows(List<Widget> widgets) {
+
+        try {
+            ByteArrayOutputStream bytes
+                    = new ByteArrayOutputStream(widgets.size() * Widget.ROW_SIZE);
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (Widget widget : widgets) {
+                widget.writeRow(out, strings);
+            }
+            out.flush();
+
+            if (bytes.size() != widgets.size() * Widget.ROW_SIZE) {
+                throw new IllegalStateException("Unexpected row size!");
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // can't happen when writing into a byte array
+            throw new IllegalStateException("Couldn't encode widgets!", e);
+        }
+    }
+
+    /**
+     * Determines the parent row of each widget and verifies that the widgets are in pre-order,
+     * i.e. each subtree occupies a contiguous range of rows.
+     */
+    private static int[] parentRows(List<Widget> widgets) {
+
+        Map<Widget, Integer> rowIndices = new IdentityHashMap<>();
+        for (int i = 0; i < widgets.size(); i++) {
+            rowIndices.put(widgets.get(i), i);
+        }
+
+        int[] parents = new int[widgets.size()];
+        Deque<Integer> path = new ArrayDeque<>();
+
+        for (int i = 0; i < widgets.size(); i++) {
+            Widget parent = widgets.get(i).getParent();
+            Integer parentRow = parent == null ? null : rowIndices.get(parent);
+            parents[i] = parentRow == null ? -1 : parentRow;
+
+            // the parent must be on the path from the root to the previous row
+            if (parentRow == null) {
+                path.clear();
+            } else {
+                while (!path.isEmpty() && !path.peek().equals(parentRow)) {
+                    path.pop();
+                }
+                if (path.isEmpty()) {
+                    throw new IllegalArgumentException("Widgets are not in pre-order!");
+                }
+            }
+            path.push(i);
+        }
+        return parents;
+    }
+
+    /**
+     * Computes the size and hash of the subtree rooted at each row. Since the rows are in
+     * pre-order, the descendants of a row succeed it, thus a single backwards pass suffices.
+     */
+    private static void computeSubtrees(byte[] rows, int[] parents, int[] sizes, long[] hashes) {
+
+        long[] childHashes = new long[parents.length];
+
+        for (int i = parents.length - 1; i >= 0; i--) {
+            long hash = childHashes[i] * 0x9E3779B97F4A7C15L + rowHash(rows, i);
+            hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+            hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+            hashes[i] = hash ^ (hash >>> 31);
+            sizes[i] += 1;
+
+            int parent = parents[i];
+            if (parent >= 0) {
+                sizes[parent] += sizes[i];
+                childHashes[parent] = childHashes[parent] * 31 + hashes[i];
+            }
+        }
+    }
+
+    private static long rowHash(byte[] rows, int row) {
+        long hash = 1;
+        int end = (row + 1) * Widget.ROW_SIZE;
+        for (int i = row * Widget.ROW_SIZE; i < end; i++) {
+            hash = hash * 31 + rows[i];
+        }
+        return hash;
+    }
+
+    /**
+     * Checks whether the subtree rooted at the given row of the last screen is identical to the
+     * subtree rooted at the given row of the current screen. This rules out hash collisions.
+     */
+    private boolean isSameSubtree(int baseRow, byte[] newRows, int[] newParents, int row,
+                                  int size) {
+
+        if (sizes[baseRow] != size) {
+            return false;
+        }
+
+        for (int k = 1; k < size; k++) {
+            if (parents[baseRow + k] - baseRow != newParents[row + k] - row) {
+                return false;
+            }
+        }
+
+        int offset = baseRow * Widget.ROW_SIZE;
+        int newOffset = row * Widget.ROW_SIZE;
+        for (int i = 0; i < size * Widget.ROW_SIZE; i++) {
+            if (rows[offset + i] != newRows[newOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,133 @@
+package org.mate.commons.interaction.action.ui;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the deltas produced by a {@link WidgetHierarchyDiffer} on the client side. The patcher
+ * caches the rows and the string table of the last received screen, which serve as base for the
+ * next delta. The widgets are re-created for every screen, since the global index and the
+ * parent of an unchanged subtree may differ between two screens.
+ */
+public class WidgetHierarchyPatcher {
+
+    /**
+     * The token of the last received screen, 0 if no screen has been received yet.
+     */
+    private long token = 0;
+
+    /**
+     * The string table of the last received screen.
+     */
+    private String[] strings = new String[0];
+
+    /**
+     * The rows of the last received screen, each spanning {@link Widget#ROW_SIZE} bytes.
+     */
+    private byte[] rows = new byte[0];
+
+    /**
+     * The parent row of each row of the last received screen.
+     */
+    private int[] parents = new int[0];
+
+    /**
+     * Returns the token of the last received screen, which needs to be passed to the differ in
+     * order to receive a delta relative to that screen.
+     *
+     * @return Returns the token of the last received screen or 0 if none has been received yet.
+     */
+    public synchronized long getToken() {
+        return token;
+    }
+
+    /**
+     * Applies the given delta to the last received screen.
+     *
+     * @param delta The delta to be applied.
+     * @return Returns the widgets of the new screen in pre-order.
+     */
+    public synchronized List<Widget> apply(WidgetHierarchyDelta delta) {
+
+        byte[] encoded = delta.getEncoded();
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+
+            long baseToken = in.readLong();
+            long newToken = in.readLong();
+            int firstNewString = in.readInt();
+
+            String[] baseStrings = baseToken == 0 ? new String[0] : strings;
+            byte[] baseRows = baseToken == 0 ? new byte[0] : rows;
+            int[] baseParents = baseToken == 0 ? new int[0] : parents;
+
+            if (baseToken != 0 && baseToken != token) {
+                throw new IllegalStateException("Delta doesn't refer to the last screen!");
+            }
+            if (firstNewString != baseStrings.length) {
+                throw new IllegalStateException("Delta doesn't match the string table!");
+            }
+
+            String[] newStrings = StringTable.read(in, baseStrings, encoded.length);
+
+            int numberOfWidgets = in.readInt();
+            if (numberOfWidgets < 0 || numberOfWidgets > encoded.length) {
+                throw new IllegalStateException("Illegal number of widgets: " + numberOfWidgets);
+            }
+
+            byte[] newRows = new byte[numberOfWidgets * Widget.ROW_SIZE];
+            int[] newParents = new int[numberOfWidgets];
+            int row = 0;
+
+            while (row < numberOfWidgets) {
+                byte operation = in.readByte();
+                int parent = in.readInt();
+                if (parent >= row) {
+                    throw new IllegalStateException("Illegal parent index: " + parent);
+                }
+
+                if (operation == WidgetHierarchyDelta.LITERAL) {
+                    in.readFully(newRows, row * Widget.ROW_SIZE, Widget.ROW_SIZE);
+                    newParents[row] = parent;
+                    row++;
+                } else if (operation == WidgetHierarchyDelta.COPY) {
+                    int baseRow = in.readInt();
+                    int size = in.readInt();
+                    if (baseRow < 0 || size <= 0 || baseRow + size > baseParents.length
+                            || row + size > numberOfWidgets) {
+                        throw new IllegalStateException("Illegal subtree: " + baseRow + ", " + size);
+                    }
+                    System.arraycopy(baseRows, baseRow * Widget.ROW_SIZE,
+                            newRows, row * Widget.ROW_SIZE, size * Widget.ROW_SIZE);
+                    newParents[row] = parent;
+                    for (int k = 1; k < size; k++) {
+                        // the parents within the subtree are shifted along with the subtree
+                        newParents[row + k] = baseParents[baseRow + k] - baseRow + row;
+                    }
+                    row += size;
+                } else {
+                    throw new IllegalStateException("Unknown operation: " + operation);
+                }
+            }
+
+            DataInputStream rowInput = new DataInputStream(new ByteArrayInputStream(newRows));
+            List<Widget> widgets = new ArrayList<>(numberOfWidgets);
+            for (int i = 0; i < numberOfWidgets; i++) {
+                widgets.add(new Widget(rowInput, newStrings, i));
+            }
+            WidgetHierarchy.link(widgets, newParents);
+
+            token = newToken;
+            strings = newStrings;
+            rows = newRows;
+            parents = newParents;
+            return widgets;
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't decode widget delta!", e);
+        }
+    }
+}
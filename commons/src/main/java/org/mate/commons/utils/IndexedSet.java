@@ -0,0 +1,258 @@
+package org.mate.commons.utils;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A set that additionally stores its elements in a dense array, thus an element can be retrieved
+ * by its position in constant time, see {@link Randomness#randomElement(IndexedSet)}. The elements
+ * are iterated in the order of their positions, which corresponds to the insertion order as long
+ * as no element is removed. Removing an element moves the last element to the position of the
+ * removed element, thus add, remove and contains are performed in constant time.
+ *
+ * @param <E> The element type.
+ */
+public class IndexedSet<E> extends AbstractSet<E> {
+
+    /**
+     * Maps each element to its position in {@link #elements}.
+     */
+    private final Map<E, Integer> positions;
+
+    /**
+     * The elements in the order of their positions.
+     */
+    private final List<E> elements;
+
+    /**
+     * Whether the set can be modified or represents an unmodifiable view.
+     */
+    private final boolean modifiable;
+
+    /**
+     * The set that is actually modified, i.e. this set itself or the backing set of a view.
+     */
+    private final IndexedSet<E> backingSet;
+
+    /**
+     * The number of structural modifications, used to detect concurrent modifications. Only
+     * maintained by the backing set.
+     */
+    private int modCount = 0;
+
+    /**
+     * Creates a new empty indexed set.
+     */
+    public IndexedSet() {
+        positions = new HashMap<>();
+        elements = new ArrayList<>();
+        modifiable = true;
+        backingSet = this;
+    }
+
+    /**
+     * Creates a new indexed set containing the given elements in their iteration order.
+     *
+     * @param collection The elements to be added.
+     */
+    public IndexedSet(Collection<? extends E> collection) {
+        positions = new HashMap<>(Math.max((int) (collection.size() / .75f) + 1, 16));
+        elements = new ArrayList<>(collection.size());
+        modifiable = true;
+        backingSet = this;
+        addAll(collection);
+    }
+
+    /**
+     * Creates an unmodifiable view of the given indexed set.
+     *
+     * @param set The backing indexed set.
+     */
+    private IndexedSet(IndexedSet<E> set) {
+        positions = set.positions;
+        elements = set.elements;
+        modifiable = false;
+        backingSet = set;
+    }
+
+    /**
+     * Returns an unmodifiable view of the given indexed set, which reflects later changes of the
+     * given set and still provides the retrieval of an element by its position.
+     *
+     * @param set The backing indexed set.
+     * @param <T> The element type.
+     * @return Returns an unmodifiable view of the given set.
+     */
+    public static <T> IndexedSet<T> unmodifiableIndexedSet(IndexedSet<T> set) {
+        return set.modifiable ? new IndexedSet<>(set) : set;
+    }
+
+    /**
+     * Returns the element at the given position.
+     *
+     * @param index The position of the element.
+     * @return Returns the element at the given position.
+     */
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+        return positions.containsKey(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(E element) {
+
+        checkModifiable();
+
+        if (positions.containsKey(element)) {
+            return false;
+        }
+
+        positions.put(element, elements.size());
+        elements.add(element);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object o) {
+
+        checkModifiable();
+
+        Integer position = positions.remove(o);
+
+        if (position == null) {
+            return false;
+        }
+
+        removeAt(position);
+        return true;
+    }
+
+    /**
+     * Removes the element at the given position by moving the last element to this position.
+     *
+     * @param position The position of the element to be removed.
+     */
+    private void removeAt(int position) {
+
+        int last = elements.size() - 1;
+        E lastElement = elements.remove(last);
+
+        if (position != last) {
+            elements.set(position, lastElement);
+            positions.put(lastElement, position);
+        }
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        checkModifiable();
+        positions.clear();
+        elements.clear();
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the elements in the order of their positions. The iterator of a
+     * view detects the modifications of the backing set.
+     *
+     * @return Returns an iterator over the elements.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            /**
+             * The position of the next element.
+             */
+            private int next = 0;
+
+            /**
+             * The position of the last returned element or {@code -1} if there is none.
+             */
+            private int lastReturned = -1;
+
+            private int expectedModCount = backingSet.modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next < elements.size();
+            }
+
+            @Override
+            public E next() {
+
+                if (expectedModCount != backingSet.modCount) {
+                    throw new ConcurrentModificationException();
+                }
+
+                if (next >= elements.size()) {
+                    throw new NoSuchElementException();
+                }
+
+                lastReturned = next++;
+                return elements.get(lastReturned);
+            }
+
+            @Override
+            public void remove() {
+
+                checkModifiable();
+
+                if (lastReturned == -1) {
+                    throw new IllegalStateException("No element to be removed!");
+                }
+
+                if (expectedModCount != backingSet.modCount) {
+                    throw new ConcurrentModificationException();
+                }
+
+                positions.remove(elements.get(lastReturned));
+                removeAt(lastReturned);
+
+                // the last element has been moved to the position of the removed element
+                next = lastReturned;
+                lastReturned = -1;
+                expectedModCount = backingSet.modCount;
+            }
+        };
+    }
+
+    private void checkModifiable() {
+        if (!modifiable) {
+            throw new UnsupportedOperationException("Unmodifiable indexed set!");
+        }
+    }
+}
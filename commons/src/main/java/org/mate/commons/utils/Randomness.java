@@ -35,6 +35,11 @@ public class Randomness {
      * @return Returns a random element from a given set.
      */
     public static <T> T randomElement(Set<T> set) {
+
+        if (set instanceof IndexedSet) {
+            return randomElement((IndexedSet<T>) set);
+        }
+
         int index = getRnd().nextInt(set.size());
         Iterator<T> iter = set.iterator();
         for (int i = 0; i < index; i++) {
@@ -44,6 +49,19 @@ public class Randomness {
         return iter.next();
     }
 
+    /**
+     * Randomly retrieves an element from a given indexed set in constant time. This consumes the
+     * same random number and returns the same element as {@link #randomElement(Set)}, since the
+     * indexed set is iterated in the order of the positions of its elements.
+     *
+     * @param set The input set.
+     * @param <T> The element type.
+     * @return Returns a random element from a given set.
+     */
+    public static <T> T randomElement(IndexedSet<T> set) {
+        return set.get(getRnd().nextInt(set.size()));
+    }
+
     /**
      * Selects with a probability of 0.5 either a random element
      * from a given set or {@code null}.
@@ -3,6 +3,8 @@ package org.mate.commons.utils.manifest.element;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import org.mate.commons.utils.IndexedSet;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -70,9 +72,10 @@ public class ComponentDescription implements Parcelable {
 
     /**
      * String constants discovered through a static analysis of the bytecode, see
-     * {@link org.mate.exploration.intent.parsers.IntentInfoParser}.
+     * {@link org.mate.exploration.intent.parsers.IntentInfoParser}. The string constants are
+     * sampled for every string extra, hence they are kept in an indexed set.
      */
-    private Set<String> stringConstants = new HashSet<>();
+    private IndexedSet<String> stringConstants = new IndexedSet<>();
 
     /**
      * Extras (key-value pairs) discovered through a static analysis of the bytecode, see
@@ -395,12 +398,14 @@ public class ComponentDescription implements Parcelable {
     }
 
     /**
-     * Returns the string constants of this component.
+     * Returns the string constants of this component. The returned set is an unmodifiable
+     * {@link IndexedSet}, thus {@link org.mate.commons.utils.Randomness#randomElement(Set)} picks
+     * a string constant in constant time.
      *
      * @return Returns the attached string constants.
      */
     public Set<String> getStringConstants() {
-        return Collections.unmodifiableSet(stringConstants);
+        return IndexedSet.unmodifiableIndexedSet(stringConstants);
     }
 
     /**
@@ -465,7 +470,7 @@ public class ComponentDescription implements Parcelable {
         this.intentFilters =
                 new HashSet<>(in.createTypedArrayList(IntentFilterDescription.CREATOR));
         this.isDynamicReceiver = in.readByte() != 0;
-        this.stringConstants = new HashSet<>(in.createStringArrayList());
+        this.stringConstants = new IndexedSet<>(in.createStringArrayList());
         int extrasSize = in.readInt();
         this.extras = new HashMap<String, String>(extrasSize);
         for (int i = 0; i < extrasSize; i++) {
@@ -0,0 +1,164 @@
+package org.mate.commons.interaction.action.ui;
+
+import android.graphics.Rect;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+/**
+ * An accessibility node whose attributes are assigned by a test instead of being read from a
+ * view, e.g. to build a synthetic ui hierarchy. Unless assigned otherwise, the node is enabled,
+ * visible and provides neither a text nor a resource id.
+ */
+public class SyntheticNode extends AccessibilityNodeInfo {
+
+    private final String className;
+    private String resourceID;
+    private String text;
+
+    /**
+     * The bounds of the node on the screen.
+     */
+    private int left;
+    private int top;
+    private int right;
+    private int bottom;
+
+    /**
+     * The number of children, which is only reported, i.e. the children are not linked.
+     */
+    private int childCount;
+
+    private boolean clickable;
+    private boolean longClickable;
+    private boolean checkable;
+    private boolean checked;
+    private boolean scrollable;
+    private boolean enabled = true;
+    private boolean visibleToUser = true;
+
+    /**
+     * Creates a new node of the given class.
+     *
+     * @param className The class name of the node, e.g. android.widget.TextView.
+     */
+    public SyntheticNode(String className) {
+        this.className = className;
+    }
+
+    public SyntheticNode withResourceID(String resourceID) {
+        this.resourceID = resourceID;
+        return this;
+    }
+
+    public SyntheticNode withText(String text) {
+        this.text = text;
+        return this;
+    }
+
+    public SyntheticNode withBounds(int left, int top, int right, int bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+        return this;
+    }
+
+    public SyntheticNode withChildCount(int childCount) {
+        this.childCount = childCount;
+        return this;
+    }
+
+    public SyntheticNode withClickable(boolean clickable) {
+        this.clickable = clickable;
+        return this;
+    }
+
+    public SyntheticNode withLongClickable(boolean longClickable) {
+        this.longClickable = longClickable;
+        return this;
+    }
+
+    public SyntheticNode withCheckable(boolean checkable) {
+        this.checkable = checkable;
+        return this;
+    }
+
+    public SyntheticNode withChecked(boolean checked) {
+        this.checked = checked;
+        return this;
+    }
+
+    public SyntheticNode withScrollable(boolean scrollable) {
+        this.scrollable = scrollable;
+        return this;
+    }
+
+    public SyntheticNode withEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public SyntheticNode withVisibleToUser(boolean visibleToUser) {
+        this.visibleToUser = visibleToUser;
+        return this;
+    }
+
+    @Override
+    public CharSequence getClassName() {
+        return className;
+    }
+
+    @Override
+    public String getViewIdResourceName() {
+        return resourceID;
+    }
+
+    @Override
+    public CharSequence getText() {
+        return text;
+    }
+
+    @Override
+    public void getBoundsInScreen(Rect outBounds) {
+        outBounds.set(left, top, right, bottom);
+    }
+
+    @Override
+    public int getChildCount() {
+        return childCount;
+    }
+
+    @Override
+    public boolean isClickable() {
+        return clickable;
+    }
+
+    @Override
+    public boolean isLongClickable() {
+        return longClickable;
+    }
+
+    @Override
+    public boolean isCheckable() {
+        return checkable;
+    }
+
+    @Override
+    public boolean isChecked() {
+        return checked;
+    }
+
+    @Override
+    public boolean isScrollable() {
+        return scrollable;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean isVisibleToUser() {
+        return visibleToUser;
+    }
+}
@@ -0,0 +1,204 @@
+package org.mate.commons.input_generation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mate.commons.input_generation.format_types.InputFieldType;
+import org.mate.commons.utils.Randomness;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the index of the {@link StaticStrings} yields the same random static strings as the
+ * previous lookup in the sets per class.
+ */
+public class StaticStringsTest {
+
+    private static final InputFieldType[] INPUT_FIELD_TYPES = {InputFieldType.TEXT_VARIATION_EMAIL,
+            InputFieldType.CLASS_NUMBER, InputFieldType.TEXT_VARIATION_PERSON_NAME,
+            InputFieldType.CLASS_PHONE, InputFieldType.TEXT_VARIATION_POSTAL_ADDRESS};
+
+    static final int NUMBER_OF_CLASSES = 200;
+
+    private Random previousRandom;
+
+    /**
+     * The static strings, which are shared between the tests due to the singleton.
+     */
+    private static StaticStrings staticStrings;
+
+    /**
+     * The previous lookup on the same static strings.
+     */
+    private static PreviousStaticStrings previousStaticStrings;
+
+    @Before
+    public void setUp() {
+        previousRandom = Randomness.getRnd();
+        addStaticStrings();
+    }
+
+    /**
+     * Adds the static strings of the synthetic classes once to both lookups.
+     */
+    static void addStaticStrings() {
+
+        if (staticStrings == null) {
+
+            staticStrings = StaticStrings.getInstance();
+            previousStaticStrings = new PreviousStaticStrings();
+            Random random = new Random(42);
+
+            for (int i = 0; i < NUMBER_OF_CLASSES; i++) {
+                // some classes share their simple name, some are given in the internal format
+                String className = i % 2 == 0 ? "com.example.app.ui" + i % 7 + ".Screen" + i % 150
+                        : "com.example.app/ui" + i % 7 + "/Screen" + i % 150;
+                Set<String> strings = new HashSet<>();
+                for (int j = 0; j < 50; j++) {
+                    switch (random.nextInt(4)) {
+                        case 0:
+                            strings.add("user" + random.nextInt(1000) + "@example.com");
+                            break;
+                        case 1:
+                            strings.add(String.valueOf(random.nextInt(100000)));
+                            break;
+                        case 2:
+                            strings.add("Main Street " + random.nextInt(100));
+                            break;
+                        default:
+                            strings.add("Label" + random.nextInt(1000));
+                    }
+                }
+                staticStrings.add(className, strings);
+                previousStaticStrings.add(className, strings);
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        Randomness.setRnd(previousRandom);
+    }
+
+    private static List<String> uiComponents(int step) {
+        List<String> uiComponents = new ArrayList<>();
+        // the activity names are resolved by the suffix of the class names
+        uiComponents.add("app.ui" + step % 7 + ".Screen" + step % 150);
+        uiComponents.add("Screen" + (step * 13) % 150);
+        uiComponents.add("com.example.app.ui" + step % 5 + ".Screen" + step % 11);
+        uiComponents.add("com.example.app.Unknown" + step);
+        return uiComponents;
+    }
+
+    static List<String> generateStrings(boolean previous, int steps) {
+
+        Randomness.setRnd(new Random(7));
+        List<String> strings = new ArrayList<>();
+
+        for (int step = 0; step < steps; step++) {
+            InputFieldType inputFieldType = INPUT_FIELD_TYPES[step % INPUT_FIELD_TYPES.length];
+            List<String> uiComponents = uiComponents(step);
+            if (previous) {
+                strings.add(previousStaticStrings.getRandomStringFor(inputFieldType, uiComponents));
+                strings.add(previousStaticStrings.getRandomStringFor(inputFieldType));
+                strings.add(previousStaticStrings.getRandomStringFor(uiComponents));
+            } else {
+                strings.add(staticStrings.getRandomStringFor(inputFieldType, uiComponents));
+                strings.add(staticStrings.getRandomStringFor(inputFieldType));
+                strings.add(staticStrings.getRandomStringFor(uiComponents));
+            }
+        }
+        return strings;
+    }
+
+    @Test
+    public void testSameStringsAsPreviousLookup() {
+        assertEquals(generateStrings(true, 2000), generateStrings(false, 2000));
+    }
+
+    /**
+     * The previous lookup of the static strings, see StaticStrings.
+     */
+    private static final class PreviousStaticStrings {
+
+        private final Map<String, Set<String>> allStrings = new HashMap<>();
+        private final Map<InputFieldType, Map<String, Set<String>>> inputFieldTypeMap = new HashMap<>();
+
+        private PreviousStaticStrings() {
+            for (InputFieldType inputField : InputFieldType.values()) {
+                if (inputField != InputFieldType.NOTHING) {
+                    inputFieldTypeMap.put(inputField, null);
+                }
+            }
+        }
+
+        private void add(String className, Set<String> values) {
+            extendMapByClassName(allStrings, className, new HashSet<>(values));
+            for (String value : values) {
+                for (InputFieldType input : InputFieldType.getInputFieldsMatchingRegex(value)) {
+                    Map<String, Set<String>> cache = inputFieldTypeMap.get(input);
+                    if (cache == null) {
+                        cache = new HashMap<>();
+                    }
+                    extendMapByClassName(cache, className, new HashSet<>(Collections.singleton(value)));
+                    inputFieldTypeMap.put(input, cache);
+                }
+            }
+        }
+
+        private String getRandomStringFor(List<String> classNames) {
+            String className = Randomness.randomElement(classNames);
+            return getRandomStringFor(allStrings, className);
+        }
+
+        private String getRandomStringFor(InputFieldType inputType, List<String> classNames) {
+            String className = Randomness.randomElement(classNames);
+            return getRandomStringFor(inputFieldTypeMap.get(inputType), className);
+        }
+
+        private String getRandomStringFor(InputFieldType inputType) {
+            Map<String, Set<String>> map = inputFieldTypeMap.get(inputType);
+            if (map == null) {
+                return null;
+            }
+            Set<String> concatenated = new HashSet<>();
+            for (Map.Entry<String, Set<String>> entrySet : map.entrySet()) {
+                concatenated.addAll(entrySet.getValue());
+            }
+            return concatenated.isEmpty() ? null : Randomness.randomElement(concatenated);
+        }
+
+        private void extendMapByClassName(Map<String, Set<String>> map, String className,
+                                          Set<String> strings) {
+            if (map.containsKey(className) && map.get(className) != null) {
+                strings.addAll(map.get(className));
+            }
+            map.put(className, strings);
+        }
+
+        private String getRandomStringFor(Map<String, Set<String>> map, String className) {
+            String convertedClassName = className.replaceAll("\\.", "/");
+            if (map != null) {
+                for (String key : map.keySet()) {
+                    if (key.endsWith("." + convertedClassName)) {
+                        convertedClassName = key;
+                        break;
+                    }
+                }
+                if (map.containsKey(convertedClassName) && map.get(convertedClassName) != null) {
+                    return Randomness.randomElement(map.get(convertedClassName));
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.mate.commons.input_generation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mate.commons.utils.Randomness;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that the {@link WordIndex} keeps the original order of the words and picks random words
+ * only among the words shorter than the given length.
+ */
+public class WordIndexTest {
+
+    private static final List<String> WORDS = Arrays.asList("house", "a", "tree", "be", "cat",
+            "elephant", "dog", "to", "garden");
+
+    private Random previousRandom;
+
+    @Before
+    public void setUp() {
+        previousRandom = Randomness.getRnd();
+        Randomness.setRnd(new Random(42));
+    }
+
+    @After
+    public void tearDown() {
+        Randomness.setRnd(previousRandom);
+    }
+
+    /**
+     * Collects the words picked by repeated random selections of words shorter than the given
+     * length.
+     */
+    private static Set<String> pickWordsShorterThan(WordIndex index, int maxLength) {
+        Set<String> picked = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            picked.add(index.getRandomWordShorterThan(maxLength));
+        }
+        return picked;
+    }
+
+    /**
+     * Returns the words shorter than the given length.
+     */
+    private static Set<String> wordsShorterThan(int maxLength) {
+        Set<String> words = new HashSet<>();
+        for (String word : WORDS) {
+            if (word.length() < maxLength) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    @Test
+    public void testWordsKeepTheirOrder() {
+
+        List<String> words = new ArrayList<>(WORDS);
+        WordIndex index = new WordIndex(words);
+
+        assertEquals(WORDS, index.getWords());
+
+        // the index keeps its own copy of the words
+        words.clear();
+        assertEquals(WORDS, index.getWords());
+    }
+
+    @Test
+    public void testPickOnlyShorterWords() {
+
+        WordIndex index = new WordIndex(WORDS);
+
+        for (int maxLength = 2; maxLength <= 9; maxLength++) {
+            assertEquals(wordsShorterThan(maxLength), pickWordsShorterThan(index, maxLength));
+        }
+    }
+
+    @Test
+    public void testClampMaxLength() {
+
+        WordIndex index = new WordIndex(WORDS);
+
+        // a length beyond the longest word allows every word
+        assertEquals(new HashSet<>(WORDS), pickWordsShorterThan(index, 100));
+        assertEquals(new HashSet<>(WORDS), pickWordsShorterThan(index, Integer.MAX_VALUE));
+
+        // no word is shorter than a single character
+        assertNull(index.getRandomWordShorterThan(1));
+        assertNull(index.getRandomWordShorterThan(0));
+        assertNull(index.getRandomWordShorterThan(-5));
+        assertNull(index.getRandomWordShorterThan(Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void testEmptyDictionary() {
+
+        WordIndex index = new WordIndex(Collections.<String>emptyList());
+
+        assertEquals(Collections.emptyList(), index.getWords());
+        assertNull(index.getRandomWordShorterThan(0));
+        assertNull(index.getRandomWordShorterThan(10));
+        assertNull(index.getRandomWordShorterThan(Integer.MAX_VALUE));
+    }
+}
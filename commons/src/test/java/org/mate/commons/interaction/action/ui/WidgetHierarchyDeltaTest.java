@@ -0,0 +1,160 @@
+package org.mate.commons.interaction.action.ui;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.state.executable.StateEquivalenceLevel;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the deltas computed by the {@link WidgetHierarchyDiffer} reproduce the screen on
+ * the client side.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WidgetHierarchyDeltaTest {
+
+    private static final String ACTIVITY = "com.example.app/.ListActivity";
+
+    /**
+     * Builds in pre-order a screen consisting of a root layout, a toolbar and a list, where each
+     * list item holds a title and a subtitle.
+     *
+     * @param title The title shown in the toolbar.
+     * @param items The titles of the list items.
+     */
+    static List<Widget> buildListScreen(String title, List<String> items) {
+
+        List<Widget> widgets = new ArrayList<>();
+        Widget root = add(widgets, null, "", 0, 0);
+        add(widgets, root, title, 1, 0);
+        Widget list = add(widgets, root, "", 1, 1);
+
+        for (int i = 0; i < items.size(); i++) {
+            Widget item = add(widgets, list, "", 2, i);
+            add(widgets, item, items.get(i), 3, 0);
+            add(widgets, item, "subtitle of " + items.get(i), 3, 1);
+        }
+        return widgets;
+    }
+
+    private static Widget add(List<Widget> widgets, Widget parent, String text, int depth,
+                              int localIndex) {
+        Widget widget = new Widget(parent,
+                new SyntheticNode("android.widget.TextView").withText(text), ACTIVITY, depth,
+                widgets.size(), localIndex, StateEquivalenceLevel.WIDGET);
+        if (parent != null) {
+            parent.addChild(widget);
+        }
+        widgets.add(widget);
+        return widget;
+    }
+
+    static List<String> items(int from, int count) {
+        List<String> items = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            items.add("item " + i);
+        }
+        return items;
+    }
+
+    private static void assertSameScreen(List<Widget> expected, List<Widget> actual) {
+
+        assertEquals(expected.size(), actual.size());
+        assertNull(actual.get(0).getParent());
+
+        for (int i = 0; i < expected.size(); i++) {
+            Widget widget = expected.get(i);
+            Widget copy = actual.get(i);
+            assertEquals(widget.getId(), copy.getId());
+            assertEquals(widget.getText(), copy.getText());
+            assertEquals(widget, copy);
+            assertEquals(widget.getChildren().size(), copy.getChildren().size());
+            if (widget.getParent() != null) {
+                assertEquals(widget.getParent().getId(), copy.getParent().getId());
+            }
+        }
+    }
+
+    @Test
+    public void testUnchangedScreen() {
+
+        WidgetHierarchyDiffer differ = new WidgetHierarchyDiffer();
+        WidgetHierarchyPatcher patcher = new WidgetHierarchyPatcher();
+
+        List<Widget> screen = buildListScreen("title", items(0, 10));
+        WidgetHierarchyDelta full = differ.diff(screen, patcher.getToken());
+        assertSameScreen(screen, patcher.apply(full));
+
+        List<Widget> same = buildListScreen("title", items(0, 10));
+        WidgetHierarchyDelta delta = differ.diff(same, patcher.getToken());
+        assertSameScreen(same, patcher.apply(delta));
+
+        // a single copy operation for the entire screen
+        assertTrue(delta.getSize() < 64);
+        assertTrue(delta.getSize() < full.getSize());
+    }
+
+    @Test
+    public void testChangedScreens() {
+
+        WidgetHierarchyDiffer differ = new WidgetHierarchyDiffer();
+        WidgetHierarchyPatcher patcher = new WidgetHierarchyPatcher();
+
+        List<List<Widget>> screens = new ArrayList<>();
+        screens.add(buildListScreen("title", items(0, 10)));
+        // a changed text
+        screens.add(buildListScreen("other title", items(0, 10)));
+        // an item inserted at the front
+        screens.add(buildListScreen("other title", items(-1, 11)));
+        // items removed at the end
+        screens.add(buildListScreen("other title", items(-1, 5)));
+        // a completely different screen
+        screens.add(buildListScreen("title", items(100, 3)));
+
+        for (List<Widget> screen : screens) {
+            assertSameScreen(screen, patcher.apply(differ.diff(screen, patcher.getToken())));
+        }
+    }
+
+    @Test
+    public void testUnknownBaseLeadsToFullTransfer() {
+
+        WidgetHierarchyDiffer differ = new WidgetHierarchyDiffer();
+        WidgetHierarchyPatcher patcher = new WidgetHierarchyPatcher();
+
+        List<Widget> screen = buildListScreen("title", items(0, 10));
+        patcher.apply(differ.diff(screen, patcher.getToken()));
+        long token = patcher.getToken();
+        assertNotEquals(0, token);
+
+        // the delta never reaches the client, hence the client refers to an outdated screen
+        differ.diff(buildListScreen("lost", items(0, 10)), token);
+
+        List<Widget> next = buildListScreen("title", items(5, 10));
+        assertSameScreen(next, patcher.apply(differ.diff(next, token)));
+
+        // a new client, e.g. after a restart, receives the entire screen as well
+        WidgetHierarchyPatcher newPatcher = new WidgetHierarchyPatcher();
+        assertSameScreen(next, newPatcher.apply(differ.diff(next, newPatcher.getToken())));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDeltaForOtherBaseIsRejected() {
+
+        WidgetHierarchyDiffer differ = new WidgetHierarchyDiffer();
+        WidgetHierarchyPatcher patcher = new WidgetHierarchyPatcher();
+        WidgetHierarchyPatcher otherPatcher = new WidgetHierarchyPatcher();
+
+        List<Widget> screen = buildListScreen("title", items(0, 10));
+        patcher.apply(differ.diff(screen, patcher.getToken()));
+        otherPatcher.apply(differ.diff(screen, otherPatcher.getToken()));
+        patcher.apply(differ.diff(screen, otherPatcher.getToken()));
+    }
+}
@@ -0,0 +1,133 @@
+package org.mate.commons.interaction.action.ui;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mate.commons.state.executable.StateEquivalenceLevel;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that the flat encoding of a {@link WidgetHierarchy} restores the widgets and their
+ * parent and children links.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WidgetHierarchyTest {
+
+    private static final String ACTIVITY = "com.example.app/.MainActivity";
+
+    /**
+     * The depth of the synthetic hierarchy.
+     */
+    static final int DEPTH = 30;
+
+    /**
+     * The number of leaves attached to each node of the spine.
+     */
+    private static final int LEAVES_PER_LEVEL = 10;
+
+    private static SyntheticNode label(String text) {
+        return new SyntheticNode("android.widget.TextView")
+                .withResourceID("com.example.app:id/label")
+                .withText(text);
+    }
+
+    /**
+     * Builds a spine of {@link #DEPTH} nested layouts, where each layout holds
+     * {@link #LEAVES_PER_LEVEL} leaves. The widgets are returned in pre-order like the
+     * representation layer traverses the ui hierarchy.
+     */
+    static List<Widget> buildDeepHierarchy() {
+
+        List<Widget> widgets = new ArrayList<>();
+        Widget parent = null;
+        int index = 0;
+
+        for (int depth = 0; depth < DEPTH; depth++) {
+
+            Widget layout = new Widget(parent, label("layout " + depth), ACTIVITY,
+                    depth, index++, 0, StateEquivalenceLevel.WIDGET);
+            if (parent != null) {
+                parent.addChild(layout);
+            }
+            widgets.add(layout);
+
+            for (int leaf = 0; leaf < LEAVES_PER_LEVEL; leaf++) {
+                // many leaves share the same text, which is stored only once in the string table
+                Widget child = new Widget(layout, label("item " + (leaf % 3)),
+                        ACTIVITY, depth + 1, index++, leaf + 1, StateEquivalenceLevel.WIDGET);
+                layout.addChild(child);
+                widgets.add(child);
+            }
+            parent = layout;
+        }
+        return widgets;
+    }
+
+    @Test
+    public void testRoundTripRestoresHierarchy() {
+
+        List<Widget> widgets = buildDeepHierarchy();
+        List<Widget> decoded = WidgetHierarchy.decode(WidgetHierarchy.encode(widgets));
+
+        assertEquals(widgets.size(), decoded.size());
+        assertNull(decoded.get(0).getParent());
+
+        for (int i = 0; i < widgets.size(); i++) {
+            Widget original = widgets.get(i);
+            Widget copy = decoded.get(i);
+
+            assertEquals(original.getId(), copy.getId());
+            assertEquals(original.getText(), copy.getText());
+            assertEquals(original.getClazz(), copy.getClazz());
+            assertEquals(original.getResourceID(), copy.getResourceID());
+            assertEquals(original.getX1(), copy.getX1());
+            assertEquals(original.getY2(), copy.getY2());
+            assertEquals(original, copy);
+
+            assertEquals(original.getChildren().size(), copy.getChildren().size());
+            for (int c = 0; c < copy.getChildren().size(); c++) {
+                Widget child = copy.getChildren().get(c);
+                assertSame(copy, child.getParent());
+                assertSame(decoded.get(widgets.indexOf(original.getChildren().get(c))), child);
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyHierarchy() {
+        assertEquals(0, WidgetHierarchy.decode(WidgetHierarchy.encode(new ArrayList<>())).size());
+    }
+
+    @Test
+    public void testFingerprintReflectsChanges() {
+
+        List<Widget> widgets = buildDeepHierarchy();
+        assertEquals(WidgetHierarchy.fingerprint(widgets),
+                WidgetHierarchy.fingerprint(buildDeepHierarchy()));
+
+        // the same structure with a changed text of the last leaf
+        Widget last = widgets.get(widgets.size() - 1);
+        Widget changed = new Widget(last.getParent(), label("changed"), ACTIVITY,
+                DEPTH, widgets.size() - 1, LEAVES_PER_LEVEL, StateEquivalenceLevel.WIDGET);
+        List<Widget> changedWidgets = new ArrayList<>(widgets);
+        changedWidgets.set(widgets.size() - 1, changed);
+
+        assertNotEquals(WidgetHierarchy.fingerprint(widgets),
+                WidgetHierarchy.fingerprint(changedWidgets));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTruncatedInputIsRejected() {
+        byte[] encoded = WidgetHierarchy.encode(buildDeepHierarchy());
+        byte[] truncated = new byte[encoded.length / 2];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+        WidgetHierarchy.decode(truncated);
+    }
+}
@@ -0,0 +1,161 @@
+package org.mate.commons.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the {@link IndexedSet} behaves like a set and that the random selection from an
+ * indexed set matches the iteration over the set.
+ */
+public class IndexedSetTest {
+
+    private Random previousRandom;
+
+    @Before
+    public void setUp() {
+        previousRandom = Randomness.getRnd();
+    }
+
+    @After
+    public void tearDown() {
+        Randomness.setRnd(previousRandom);
+    }
+
+    /**
+     * Selects an element like {@link Randomness#randomElement(Set)} by walking the iterator.
+     */
+    private static <T> T iterateToRandomElement(Set<T> set) {
+        int index = Randomness.getRnd().nextInt(set.size());
+        Iterator<T> iterator = set.iterator();
+        for (int i = 0; i < index; i++) {
+            iterator.next();
+        }
+        return iterator.next();
+    }
+
+    @Test
+    public void testSameContentAsHashSet() {
+
+        Random random = new Random(42);
+        IndexedSet<Integer> indexedSet = new IndexedSet<>();
+        Set<Integer> hashSet = new HashSet<>();
+
+        for (int i = 0; i < 20000; i++) {
+            int element = random.nextInt(500);
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(hashSet.remove(element), indexedSet.remove(element));
+                    break;
+                case 1:
+                    assertEquals(hashSet.contains(element), indexedSet.contains(element));
+                    break;
+                default:
+                    assertEquals(hashSet.add(element), indexedSet.add(element));
+            }
+            assertEquals(hashSet.size(), indexedSet.size());
+        }
+
+        assertEquals(hashSet, indexedSet);
+        assertEquals(hashSet.hashCode(), indexedSet.hashCode());
+
+        // removing through the iterator visits the element moved to the freed position as well
+        int size = indexedSet.size();
+        Set<Integer> visited = new HashSet<>();
+        for (Iterator<Integer> iterator = indexedSet.iterator(); iterator.hasNext();) {
+            int element = iterator.next();
+            visited.add(element);
+            if (element % 2 == 0) {
+                iterator.remove();
+                hashSet.remove(element);
+            }
+        }
+
+        assertEquals(size, visited.size());
+        assertEquals(hashSet, indexedSet);
+    }
+
+    @Test
+    public void testInsertionOrder() {
+
+        List<String> elements = Arrays.asList("c", "a", "b", "a", "d");
+        IndexedSet<String> indexedSet = new IndexedSet<>(elements);
+
+        assertEquals(new ArrayList<>(new LinkedHashSet<>(elements)), new ArrayList<>(indexedSet));
+
+        // the last element takes the position of the removed element
+        indexedSet.remove("c");
+        assertEquals(Arrays.asList("d", "a", "b"), new ArrayList<>(indexedSet));
+        assertEquals("a", indexedSet.get(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiableView() {
+
+        IndexedSet<String> indexedSet = new IndexedSet<>(Arrays.asList("a", "b"));
+        IndexedSet<String> view = IndexedSet.unmodifiableIndexedSet(indexedSet);
+
+        indexedSet.add("c");
+        assertEquals(3, view.size());
+        assertTrue(view.contains("c"));
+        assertEquals("c", view.get(2));
+        assertFalse(view.contains("d"));
+
+        view.add("d");
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testViewDetectsModificationOfBackingSet() {
+
+        IndexedSet<String> indexedSet = new IndexedSet<>(Arrays.asList("a", "b", "c"));
+        IndexedSet<String> view = IndexedSet.unmodifiableIndexedSet(indexedSet);
+
+        Iterator<String> iterator = view.iterator();
+        assertEquals("a", iterator.next());
+        indexedSet.remove("a");
+        iterator.next();
+    }
+
+    @Test
+    public void testSameSelectionAsIteration() {
+
+        IndexedSet<String> indexedSet = new IndexedSet<>();
+        for (int i = 0; i < 1000; i++) {
+            indexedSet.add("constant" + i);
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            indexedSet.remove("constant" + i);
+        }
+        Set<String> set = indexedSet;
+
+        Randomness.setRnd(new MersenneTwister(42));
+        List<String> iterated = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            iterated.add(iterateToRandomElement(set));
+        }
+
+        Randomness.setRnd(new MersenneTwister(42));
+        List<String> indexed = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            indexed.add(Randomness.randomElement(indexedSet));
+            // the selection from a plain set type uses the indexed selection as well
+            indexed.add(Randomness.randomElement(set));
+        }
+
+        assertEquals(iterated, indexed);
+    }
+}
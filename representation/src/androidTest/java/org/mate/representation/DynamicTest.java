@@ -13,6 +13,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mate.representation.mateservice.MATEServiceConnection;
+import org.mate.representation.state.activity.ActivityTracker;
 
 /**
  * DynamicTest is a special Espresso test.
@@ -42,6 +43,9 @@ public class DynamicTest {
         Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
         instrumentation.setInTouchMode(true);
 
+        // observe the window state change of the main activity
+        ActivityTracker.getInstance().start();
+
         // Which package name are we targeting?
         Context context = instrumentation.getTargetContext();
         String targetPackageName = context.getPackageName();
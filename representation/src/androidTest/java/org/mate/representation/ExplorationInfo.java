@@ -11,6 +11,7 @@ import org.mate.commons.state.executable.StateEquivalenceLevel;
 import org.mate.commons.utils.MATELog;
 import org.mate.commons.utils.MersenneTwister;
 import org.mate.commons.utils.Randomness;
+import org.mate.representation.state.activity.ActivityTracker;
 import org.mate.representation.test.BuildConfig;
 import org.mate.representation.util.MATERepLog;
 
@@ -146,6 +147,17 @@ public class ExplorationInfo {
      * @return the name of the currently visible activity.
      */
     public String getCurrentActivityName() {
+        return ActivityTracker.getInstance().getCurrentActivity(getCurrentPackageName(),
+                this::getCurrentActivityNameViaDumpsys);
+    }
+
+    /**
+     * Retrieves the name of the currently visible activity by parsing the output of dumpsys.
+     * This is the fallback if the {@link ActivityTracker} doesn't know the current activity.
+     *
+     * @return the name of the currently visible activity.
+     */
+    private String getCurrentActivityNameViaDumpsys() {
         try {
             if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N_MR1) {
                 return getCurrentActivityAPI21to24();
@@ -234,10 +246,23 @@ public class ExplorationInfo {
      * @return the currently visible fragments.
      */
     public List<String> getCurrentFragments() {
+        final String activityName = getCurrentActivityName();
+        return ActivityTracker.getInstance().getCurrentFragments(activityName,
+                () -> getCurrentFragmentsViaDumpsys(activityName));
+    }
+
+    /**
+     * Retrieves the currently visible fragments by parsing the output of dumpsys. This is the
+     * fallback if the {@link ActivityTracker} hasn't cached the fragments.
+     *
+     * @param activityName The name of the currently visible activity.
+     * @return the currently visible fragments.
+     */
+    private List<String> getCurrentFragmentsViaDumpsys(String activityName) {
         // https://stackoverflow.com/questions/24429049/get-info-of-current-visible-fragments-in-android-dumpsys
         try {
             String output =
-                    DeviceInfo.getInstance().executeShellCommand("dumpsys activity " + getCurrentActivityName());
+                    DeviceInfo.getInstance().executeShellCommand("dumpsys activity " + activityName);
             List<String> fragments = extractFragments(output);
             MATELog.log_debug("Currently active fragments: " + fragments);
             return fragments;
@@ -298,9 +323,23 @@ public class ExplorationInfo {
      * the external storage.
      */
     public void sendBroadcastToTracer() {
+        sendBroadcastToTracer(null);
+    }
+
+    /**
+     * Sends a broadcast to the tracer, which in turn streams the collected traces to the local
+     * socket with the given name. A tracer that doesn't support streaming ignores the channel
+     * and dumps the traces to a file on the external storage.
+     *
+     * @param channel The name of the local socket or {@code null} to request a file dump.
+     */
+    public void sendBroadcastToTracer(String channel) {
         Intent intent = new Intent("STORE_TRACES");
         intent.setComponent(new ComponentName(getTargetPackageName(),
                 "de.uni_passau.fim.auermich.tracer.Tracer"));
+        if (channel != null) {
+            intent.putExtra("channel", channel);
+        }
         DeviceInfo.getInstance().getAUTContext().sendBroadcast(intent);
     }
 }
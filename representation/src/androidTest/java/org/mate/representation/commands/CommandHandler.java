@@ -6,7 +6,9 @@ import android.os.RemoteException;
 import org.mate.commons.IMATEServiceInterface;
 import org.mate.commons.IRepresentationLayerInterface;
 import org.mate.commons.interaction.action.Action;
-import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.interaction.action.ui.WidgetHierarchy;
+import org.mate.commons.interaction.action.ui.WidgetHierarchyDelta;
+import org.mate.commons.interaction.action.ui.WidgetHierarchyDiffer;
 import org.mate.commons.state.executable.StateEquivalenceLevel;
 import org.mate.commons.utils.MATELog;
 import org.mate.representation.DeviceInfo;
@@ -14,6 +16,7 @@ import org.mate.representation.DynamicTest;
 import org.mate.representation.ExplorationInfo;
 import org.mate.representation.interaction.ActionExecutor;
 import org.mate.representation.interaction.ActionExecutorFactory;
+import org.mate.representation.state.activity.ActivityTracker;
 import org.mate.representation.state.widget.WidgetScreenParser;
 import org.mate.representation.test.BuildConfig;
 
@@ -26,6 +29,11 @@ import java.util.List;
  */
 public class CommandHandler extends IRepresentationLayerInterface.Stub {
 
+    /**
+     * Remembers the last screen sent to the client in order to send only deltas afterwards.
+     */
+    private final WidgetHierarchyDiffer widgetHierarchyDiffer = new WidgetHierarchyDiffer();
+
     public CommandHandler() {}
 
     @Override
@@ -37,6 +45,7 @@ public class CommandHandler extends IRepresentationLayerInterface.Stub {
     @Override
     public void exit() throws RemoteException {
         MATELog.log("MATE Representation Layer was asked to exit.");
+        ActivityTracker.getInstance().logStatistics();
         DynamicTest.keepRunning = false;
     }
 
@@ -82,11 +91,21 @@ public class CommandHandler extends IRepresentationLayerInterface.Stub {
         return DeviceInfo.getInstance().getTargetPackageFilesDir();
     }
 
+    @Override
+    public long getMillisSinceLastWindowChange() throws RemoteException {
+        return ActivityTracker.getInstance().getMillisSinceLastWindowChange();
+    }
+
     @Override
     public void sendBroadcastToTracer() throws RemoteException {
         ExplorationInfo.getInstance().sendBroadcastToTracer();
     }
 
+    @Override
+    public void sendBroadcastToTracerWithChannel(String channel) throws RemoteException {
+        ExplorationInfo.getInstance().sendBroadcastToTracer(channel);
+    }
+
     @Override
     public String getCurrentPackageName() throws RemoteException {
         return ExplorationInfo.getInstance().getCurrentPackageName();
@@ -135,9 +154,26 @@ public class CommandHandler extends IRepresentationLayerInterface.Stub {
     }
 
     @Override
-    public List<Widget> getCurrentScreenWidgets() throws RemoteException {
+    public WidgetHierarchy getCurrentScreenWidgets() throws RemoteException {
+        try {
+            return new WidgetHierarchy(new WidgetScreenParser().getWidgets());
+        } catch (Exception e) {
+            StringWriter sw = new StringWriter();
+            PrintWriter pw = new PrintWriter(sw, true);
+            e.printStackTrace(pw);
+            String stackTrace = sw.toString();
+
+            MATELog.log_error(String.format("Exception occurred: %s", stackTrace));
+
+            throw e;
+        }
+    }
+
+    @Override
+    public WidgetHierarchyDelta getCurrentScreenWidgetsDelta(long baseToken)
+            throws RemoteException {
         try {
-            return new WidgetScreenParser().getWidgets();
+            return widgetHierarchyDiffer.diff(new WidgetScreenParser().getWidgets(), baseToken);
         } catch (Exception e) {
             StringWriter sw = new StringWriter();
             PrintWriter pw = new PrintWriter(sw, true);
@@ -150,6 +186,12 @@ public class CommandHandler extends IRepresentationLayerInterface.Stub {
         }
     }
 
+    @Override
+    public long getCurrentScreenFingerprint() throws RemoteException {
+        // called repeatedly while the UI settles, thus failures are not logged
+        return WidgetHierarchy.fingerprint(new WidgetScreenParser().getWidgets());
+    }
+
     @Override
     public void setReplayMode() throws RemoteException {
         ExplorationInfo.getInstance().setReplayMode();
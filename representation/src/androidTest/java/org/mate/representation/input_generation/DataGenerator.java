@@ -16,10 +16,8 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
-import java.util.Set;
 
 /**
  * Generates random input strings.
@@ -129,14 +127,10 @@ public final class DataGenerator {
 
         // If no word with given length was found.
         if (stb.length() == 0) {
-            Set<String> wordsUpToMaxLength = new HashSet<>();
-            for (String word : words) {
-                if (word.length() < maxLength) {
-                    wordsUpToMaxLength.add(word);
-                }
+            String wordUpToMaxLength = Dictionary.getRandomWordShorterThan(maxLength);
+            if (wordUpToMaxLength != null) {
+                stb.append(wordUpToMaxLength);
             }
-
-            stb.append(Randomness.randomElement(wordsUpToMaxLength));
         } else {
 
             // Remove the last white space.
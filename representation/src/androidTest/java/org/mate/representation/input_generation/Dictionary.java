@@ -1,5 +1,6 @@
 package org.mate.representation.input_generation;
 
+import org.mate.commons.input_generation.WordIndex;
 import org.mate.commons.utils.MATELog;
 import org.mate.representation.DeviceInfo;
 
@@ -14,24 +15,44 @@ import java.util.List;
 
 /**
  * Dictionary that loads and caches all words from a file. The words must be separated by line
- * breaks.
+ * breaks. The words are indexed by their length once they are loaded, see {@link WordIndex}.
  */
 public class Dictionary {
 
     //https://github.com/dwyl/english-words
-    private static List<String> words = null;
+    private static WordIndex words = null;
+
+    /**
+     * The number of lookups after which the average lookup time is logged.
+     */
+    private static final int LOOKUP_LOG_INTERVAL = 1000;
+
+    /**
+     * The number of random word lookups so far.
+     */
+    private static long numberOfLookups = 0;
+
+    /**
+     * The total time in nanoseconds spent on the random word lookups so far.
+     */
+    private static long lookupTime = 0;
 
     /**
      * Loads the words from the words.txt file into a list and stores them temporarily.
      */
     private static void loadWords() {
-        words = new ArrayList<>();
+
+        long start = System.currentTimeMillis();
+        Runtime runtime = Runtime.getRuntime();
+        long usedMemoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        List<String> loadedWords = new ArrayList<>();
+
         try (InputStream file = DeviceInfo.getInstance().getRepresentationLayerContext()
                 .getResources().getAssets().open("words.txt")) {
             BufferedReader reader = new BufferedReader(new InputStreamReader(file));
             String line;
             while ((line = reader.readLine()) != null) {
-                words.add(line);
+                loadedWords.add(line);
             }
         } catch (IOException e) {
             MATELog.log_error("Unable to load words for Dictionary: " + e.getMessage());
@@ -41,17 +62,47 @@ public class Dictionary {
             e.printStackTrace(pw);
             MATELog.log_error(sw.toString());
         }
+
+        words = new WordIndex(loadedWords);
+
+        // the memory use is only an estimate, since the garbage collector may run in between
+        long usedMemory = runtime.totalMemory() - runtime.freeMemory() - usedMemoryBefore;
+        MATELog.log_debug("Loaded " + loadedWords.size() + " words for Dictionary in "
+                + (System.currentTimeMillis() - start) + " ms using about "
+                + usedMemory / 1024 + " KB");
     }
 
     /**
      * If the words have not yet been loaded, it loads those and then returns them. If this has
-     * already happened, the words are returned immediately.
+     * already happened, the words are returned immediately. The words keep the order of the file.
      *
      * @return The loaded words.
      */
     public static List<String> getWords() {
         if (words == null)
             loadWords();
-        return words;
+        return words.getWords();
+    }
+
+    /**
+     * Picks a random word that is shorter than the given length.
+     *
+     * @param maxLength The exclusive upper bound of the word length.
+     * @return Returns a random word shorter than the given length or {@code null} if there is no
+     *         such word.
+     */
+    public static String getRandomWordShorterThan(int maxLength) {
+        if (words == null)
+            loadWords();
+
+        long start = System.nanoTime();
+        String word = words.getRandomWordShorterThan(maxLength);
+        lookupTime += System.nanoTime() - start;
+
+        if (++numberOfLookups % LOOKUP_LOG_INTERVAL == 0) {
+            MATELog.log_debug("Dictionary lookups took " + lookupTime / numberOfLookups
+                    + " ns on average over " + numberOfLookups + " lookups");
+        }
+        return word;
     }
 }
@@ -0,0 +1,355 @@
+package org.mate.representation.state.activity;
+
+import android.app.UiAutomation;
+import android.content.ComponentName;
+import android.content.pm.PackageManager;
+import android.os.SystemClock;
+import android.view.accessibility.AccessibilityEvent;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.mate.commons.utils.MATELog;
+import org.mate.representation.DeviceInfo;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Keeps track of the resumed activity and the visible fragments by listening to the
+ * accessibility events of the {@link UiAutomation}. A window state change reports the activity
+ * that has been brought to the foreground, thus the current activity is known without parsing
+ * the output of 'dumpsys activity'. The visible fragments can't be derived from accessibility
+ * events, hence they are cached until the window state or the structure of the window content
+ * changes.
+ *
+ * The dumpsys based lookup is still used as fallback, e.g. before the first window state change
+ * has been observed or when the cached activity doesn't belong to the current package anymore,
+ * which happens when a window state change of another app has been missed. The number of cache
+ * hits and misses and the time spent for the lookups are recorded.
+ *
+ * In addition, the time of the last window change is recorded, which the client uses to detect
+ * when the UI has become idle.
+ *
+ * NOTE: The {@link UiAutomation} holds a single listener. Creating the UiDevice installs the
+ * listener of UiAutomator, which would silently replace this listener, thus the UiDevice is
+ * created before this listener is installed. In turn, the listener of UiAutomator is replaced,
+ * which only records the text traversed by accessibility focus movements
+ * (UiDevice#getLastTraversedText()). Waiting for events, e.g. UiDevice#waitForWindowUpdate(), is
+ * not affected.
+ */
+public class ActivityTracker implements UiAutomation.OnAccessibilityEventListener {
+
+    /**
+     * Singleton instance of this class.
+     */
+    private static ActivityTracker instance;
+
+    /**
+     * Caches whether a component, i.e. the class name reported by a window state change, refers
+     * to an activity or to another kind of window, e.g. a dialog or a popup window.
+     */
+    private final Map<ComponentName, Boolean> activities = new HashMap<>();
+
+    /**
+     * The resumed activity in the form 'package-name/class-name', {@code null} if unknown.
+     */
+    private String currentActivity = null;
+
+    /**
+     * The visible fragments of {@link #fragmentsActivity}, {@code null} if not cached.
+     */
+    private List<String> fragments = null;
+
+    /**
+     * The activity the cached fragments belong to.
+     */
+    private String fragmentsActivity = null;
+
+    /**
+     * Incremented whenever the cached fragments become invalid.
+     */
+    private long fragmentsGeneration = 0;
+
+    /**
+     * The uptime in milliseconds of the last window state or content change.
+     */
+    private volatile long lastWindowChange = SystemClock.uptimeMillis();
+
+    /**
+     * Whether the listener has been installed.
+     */
+    private boolean started = false;
+
+    private final LookupStatistics activityStatistics = new LookupStatistics();
+    private final LookupStatistics fragmentStatistics = new LookupStatistics();
+
+    private ActivityTracker() {}
+
+    /**
+     * @return the singleton instance of the ActivityTracker class.
+     */
+    public static synchronized ActivityTracker getInstance() {
+        if (instance == null) {
+            instance = new ActivityTracker();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Starts listening to accessibility events. This should happen before the AUT is launched,
+     * such that the window state change of the initial activity is observed.
+     */
+    public synchronized void start() {
+        if (!started) {
+            // creating the UiDevice afterwards would replace this listener
+            DeviceInfo.getInstance();
+            InstrumentationRegistry.getInstrumentation().getUiAutomation()
+                    .setOnAccessibilityEventListener(this);
+            started = true;
+        }
+    }
+
+    @Override
+    public void onAccessibilityEvent(AccessibilityEvent event) {
+        switch (event.getEventType()) {
+            case AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED:
+                lastWindowChange = SystemClock.uptimeMillis();
+                onWindowStateChanged(event);
+                break;
+            case AccessibilityEvent.TYPE_WINDOWS_CHANGED:
+                lastWindowChange = SystemClock.uptimeMillis();
+                break;
+            case AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED:
+                lastWindowChange = SystemClock.uptimeMillis();
+                // fragment transactions add or remove views
+                if ((event.getContentChangeTypes()
+                        & AccessibilityEvent.CONTENT_CHANGE_TYPE_SUBTREE) != 0) {
+                    invalidateFragments();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void onWindowStateChanged(AccessibilityEvent event) {
+
+        invalidateFragments();
+
+        if (event.getPackageName() == null || event.getClassName() == null) {
+            return;
+        }
+
+        ComponentName component = new ComponentName(event.getPackageName().toString(),
+                event.getClassName().toString());
+
+        if (isActivity(component)) {
+            synchronized (this) {
+                // same format as 'dumpsys activity', e.g. com.example/.MainActivity
+                currentActivity = component.flattenToShortString();
+            }
+        }
+    }
+
+    private synchronized void invalidateFragments() {
+        fragments = null;
+        fragmentsGeneration++;
+    }
+
+    private boolean isActivity(ComponentName component) {
+
+        synchronized (activities) {
+            Boolean isActivity = activities.get(component);
+            if (isActivity != null) {
+                return isActivity;
+            }
+        }
+
+        boolean isActivity;
+        try {
+            DeviceInfo.getInstance().getAUTContext().getPackageManager()
+                    .getActivityInfo(component, 0);
+            isActivity = true;
+        } catch (PackageManager.NameNotFoundException e) {
+            isActivity = false;
+        }
+
+        synchronized (activities) {
+            activities.put(component, isActivity);
+        }
+        return isActivity;
+    }
+
+    /**
+     * Returns the resumed activity. The cached activity is only used if it belongs to the given
+     * package, otherwise the given fallback is queried.
+     *
+     * @param currentPackageName The package name of the currently visible app.
+     * @param fallback Determines the current activity on a cache miss.
+     * @return the resumed activity in the form 'package-name/class-name' or {@code null} if the
+     *         activity couldn't be determined.
+     */
+    public String getCurrentActivity(String currentPackageName, Callable<String> fallback) {
+
+        long start = System.nanoTime();
+
+        synchronized (this) {
+            if (currentActivity != null && currentPackageName != null
+                    && currentActivity.startsWith(currentPackageName + "/")) {
+                activityStatistics.recordHit(System.nanoTime() - start);
+                return currentActivity;
+            }
+        }
+
+        String activity = call(fallback);
+
+        synchronized (this) {
+            if (activity != null) {
+                currentActivity = activity;
+            }
+        }
+
+        activityStatistics.recordMiss(System.nanoTime() - start);
+        MATELog.log_debug("Activity tracker miss, fallback returned: " + activity);
+        return activity;
+    }
+
+    /**
+     * Returns the visible fragments of the given activity.
+     *
+     * @param activity The current activity.
+     * @param fallback Determines the visible fragments on a cache miss.
+     * @return the visible fragments.
+     */
+    public List<String> getCurrentFragments(String activity, Callable<List<String>> fallback) {
+
+        long start = System.nanoTime();
+        long generation;
+
+        synchronized (this) {
+            if (fragments != null && activity != null && activity.equals(fragmentsActivity)) {
+                fragmentStatistics.recordHit(System.nanoTime() - start);
+                return fragments;
+            }
+            generation = fragmentsGeneration;
+        }
+
+        List<String> result = call(fallback);
+        if (result == null) {
+            result = Collections.emptyList();
+        }
+
+        synchronized (this) {
+            // don't cache the fragments if the screen has changed in the meantime
+            if (generation == fragmentsGeneration) {
+                fragments = Collections.unmodifiableList(result);
+                fragmentsActivity = activity;
+            }
+        }
+
+        fragmentStatistics.recordMiss(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Returns the time since the last window state or content change. If no change has been
+     * observed yet, the time since the creation of the tracker is returned.
+     *
+     * @return the time in milliseconds since the last window change.
+     */
+    public long getMillisSinceLastWindowChange() {
+        return SystemClock.uptimeMillis() - lastWindowChange;
+    }
+
+    private static <T> T call(Callable<T> fallback) {
+        try {
+            return fallback.call();
+        } catch (Exception e) {
+            MATELog.log_warn("Activity tracker fallback failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the statistics of the activity lookups.
+     */
+    public LookupStatistics getActivityStatistics() {
+        return activityStatistics;
+    }
+
+    /**
+     * @return the statistics of the fragment lookups.
+     */
+    public LookupStatistics getFragmentStatistics() {
+        return fragmentStatistics;
+    }
+
+    /**
+     * Logs the statistics of the activity and fragment lookups.
+     */
+    public void logStatistics() {
+        MATELog.log("Activity lookups: " + activityStatistics);
+        MATELog.log("Fragment lookups: " + fragmentStatistics);
+    }
+
+    /**
+     * Counts the cache hits and misses of a lookup and the time spent for them.
+     */
+    public static class LookupStatistics {
+
+        private long hits = 0;
+        private long misses = 0;
+        private long hitTime = 0;
+        private long missTime = 0;
+
+        private synchronized void recordHit(long time) {
+            hits++;
+            hitTime += time;
+        }
+
+        private synchronized void recordMiss(long time) {
+            misses++;
+            missTime += time;
+        }
+
+        /**
+         * @return the number of lookups answered by the cache.
+         */
+        public synchronized long getHits() {
+            return hits;
+        }
+
+        /**
+         * @return the number of lookups that required the fallback.
+         */
+        public synchronized long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return the total time in nanoseconds spent for lookups answered by the cache.
+         */
+        public synchronized long getHitTime() {
+            return hitTime;
+        }
+
+        /**
+         * @return the total time in nanoseconds spent for lookups that required the fallback.
+         */
+        public synchronized long getMissTime() {
+            return missTime;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format(Locale.US, "%d hits (avg %.1f us), %d misses (avg %.1f us)",
+                    hits, hits == 0 ? 0.0 : hitTime / 1000.0 / hits,
+                    misses, misses == 0 ? 0.0 : missTime / 1000.0 / misses);
+        }
+    }
+}
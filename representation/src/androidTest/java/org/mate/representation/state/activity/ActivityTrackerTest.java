@@ -0,0 +1,69 @@
+package org.mate.representation.state.activity;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.content.Intent;
+import android.os.SystemClock;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks on the device that the {@link ActivityTracker} keeps receiving accessibility events
+ * once the UiDevice has been created.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class ActivityTrackerTest {
+
+    /**
+     * The time in milliseconds to wait for pending window changes before the AUT is launched.
+     */
+    private static final long QUIET_PERIOD = 1000;
+
+    /**
+     * The time in milliseconds to wait for the window change of the launched AUT.
+     */
+    private static final long TIMEOUT = 5000;
+
+    @Test
+    public void testEventsArriveAfterUiDeviceIsCreated() {
+
+        Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+        ActivityTracker tracker = ActivityTracker.getInstance();
+        tracker.start();
+
+        // the UiDevice is requested afterwards like by the action executors
+        UiDevice device = UiDevice.getInstance(instrumentation);
+        device.pressHome();
+        device.waitForIdle();
+        SystemClock.sleep(QUIET_PERIOD);
+
+        long launch = SystemClock.uptimeMillis();
+
+        Context context = instrumentation.getTargetContext();
+        Intent intent = context.getPackageManager()
+                .getLaunchIntentForPackage(context.getPackageName());
+        assertNotNull("No launchable activity in " + context.getPackageName(), intent);
+        intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        context.startActivity(intent);
+        device.waitForWindowUpdate(context.getPackageName(), TIMEOUT);
+        device.waitForIdle();
+
+        long lastWindowChange = SystemClock.uptimeMillis()
+                - tracker.getMillisSinceLastWindowChange();
+        assertTrue("No window change observed since the launch of the AUT",
+                lastWindowChange >= launch);
+
+        String activity = tracker.getCurrentActivity(context.getPackageName(), () -> null);
+        assertNotNull("The window state change of the AUT has not been observed", activity);
+    }
+}